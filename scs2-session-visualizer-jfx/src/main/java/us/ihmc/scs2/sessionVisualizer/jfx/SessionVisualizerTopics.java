@@ -104,6 +104,8 @@ public class SessionVisualizerTopics
    private Topic<Integer> initializeBufferRecordTickPeriod;
    private Topic<Long> runMaxDuration;
    private Topic<SessionDataExportRequest> sessionDataExportRequest;
+   private Topic<SessionBufferStatisticsRequest> sessionBufferStatisticsRequest;
+   private Topic<Boolean> sessionLatencyHistogramsReset;
    private Topic<Session> startNewSessionRequest;
    private Topic<OpenSessionControlsRequest> openSessionControlsRequest;
 
@@ -114,6 +116,7 @@ public class SessionVisualizerTopics
    private Topic<YoEquationListChange> sessionYoEquationListChangeState;
 
    private Topic<Integer> yoBufferCurrentIndexRequest;
+   private Topic<Double> yoBufferCurrentTimeRequest;
    private Topic<Integer> yoBufferIncrementCurrentIndexRequest, yoBufferDecrementCurrentIndexRequest;
    private Topic<Integer> yoBufferInPointIndexRequest, yoBufferOutPointIndexRequest;
    private Topic<CropBufferRequest> yoBufferCropRequest;
@@ -203,6 +206,8 @@ public class SessionVisualizerTopics
       initializeBufferRecordTickPeriod = SessionMessagerAPI.InitializeBufferRecordTickPeriod;
       runMaxDuration = SessionMessagerAPI.RunMaxDuration;
       sessionDataExportRequest = SessionMessagerAPI.SessionDataExportRequest;
+      sessionBufferStatisticsRequest = SessionMessagerAPI.SessionBufferStatisticsRequest;
+      sessionLatencyHistogramsReset = SessionMessagerAPI.SessionLatencyHistogramsReset;
       startNewSessionRequest = SessionVisualizerMessagerAPI.SessionAPI.StartNewSessionRequest;
       openSessionControlsRequest = SessionVisualizerMessagerAPI.SessionAPI.OpenSessionControlsRequest;
 
@@ -213,6 +218,7 @@ public class SessionVisualizerTopics
       sessionYoEquationListChangeState = SessionMessagerAPI.SessionYoEquationListChangeState;
 
       yoBufferCurrentIndexRequest = YoSharedBufferMessagerAPI.CurrentIndexRequest;
+      yoBufferCurrentTimeRequest = YoSharedBufferMessagerAPI.CurrentTimeRequest;
       yoBufferIncrementCurrentIndexRequest = YoSharedBufferMessagerAPI.IncrementCurrentIndexRequest;
       yoBufferDecrementCurrentIndexRequest = YoSharedBufferMessagerAPI.DecrementCurrentIndexRequest;
       yoBufferInPointIndexRequest = YoSharedBufferMessagerAPI.InPointIndexRequest;
@@ -558,6 +564,16 @@ public class SessionVisualizerTopics
       return sessionDataExportRequest;
    }
 
+   public Topic<SessionBufferStatisticsRequest> getSessionBufferStatisticsRequest()
+   {
+      return sessionBufferStatisticsRequest;
+   }
+
+   public Topic<Boolean> getSessionLatencyHistogramsReset()
+   {
+      return sessionLatencyHistogramsReset;
+   }
+
    public Topic<Session> getStartNewSessionRequest()
    {
       return startNewSessionRequest;
@@ -593,6 +609,11 @@ public class SessionVisualizerTopics
       return yoBufferCurrentIndexRequest;
    }
 
+   public Topic<Double> getYoBufferCurrentTimeRequest()
+   {
+      return yoBufferCurrentTimeRequest;
+   }
+
    public Topic<Integer> getYoBufferIncrementCurrentIndexRequest()
    {
       return yoBufferIncrementCurrentIndexRequest;
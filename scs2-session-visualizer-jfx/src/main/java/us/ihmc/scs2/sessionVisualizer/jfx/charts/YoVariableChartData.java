@@ -8,6 +8,7 @@ import us.ihmc.scs2.sessionVisualizer.jfx.SessionVisualizerTopics;
 import us.ihmc.scs2.sharedMemory.BufferSample;
 import us.ihmc.scs2.sharedMemory.CropBufferRequest;
 import us.ihmc.scs2.sharedMemory.FillBufferRequest;
+import us.ihmc.scs2.sharedMemory.IncrementalBufferSample;
 import us.ihmc.scs2.sharedMemory.LinkedYoBoolean;
 import us.ihmc.scs2.sharedMemory.LinkedYoDouble;
 import us.ihmc.scs2.sharedMemory.LinkedYoEnum;
@@ -24,7 +25,6 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Function;
 
 public class YoVariableChartData
 {
@@ -47,8 +47,8 @@ public class YoVariableChartData
    private final AtomicBoolean requestEntireBuffer = new AtomicBoolean(true);
    private final AtomicBoolean requestUpdateBounds = new AtomicBoolean(false);
 
-   @SuppressWarnings("rawtypes")
-   private final Function<BufferSample<double[]>, BufferSample> bufferConverterFunction;
+   /** Reads the samples in their original type, avoiding a conversion of the entire sample to {@code double[]}. */
+   private final SampleValueReader sampleValueReader;
 
    private final TopicListener<CropBufferRequest> cropRequestListener = m -> requestEntireBuffer.set(true);
    private final TopicListener<FillBufferRequest> fillRequestListener = m -> requestEntireBuffer.set(true);
@@ -67,15 +67,15 @@ public class YoVariableChartData
       currentSessionMode = messager.createInput(topics.getSessionCurrentMode(), SessionMode.PAUSE);
 
       if (linkedYoVariable instanceof LinkedYoBoolean)
-         bufferConverterFunction = in -> booleanToDoubleBuffer(in);
+         sampleValueReader = (sample, index) -> ((boolean[]) sample)[index] ? 1.0 : 0.0;
       else if (linkedYoVariable instanceof LinkedYoDouble)
-         bufferConverterFunction = in -> in;
+         sampleValueReader = (sample, index) -> ((double[]) sample)[index];
       else if (linkedYoVariable instanceof LinkedYoEnum<?>)
-         bufferConverterFunction = in -> byteToDoubleBuffer(in);
+         sampleValueReader = (sample, index) -> ((byte[]) sample)[index];
       else if (linkedYoVariable instanceof LinkedYoInteger)
-         bufferConverterFunction = in -> integerToDoubleBuffer(in);
+         sampleValueReader = (sample, index) -> ((int[]) sample)[index];
       else if (linkedYoVariable instanceof LinkedYoLong)
-         bufferConverterFunction = in -> longToDoubleBuffer(in);
+         sampleValueReader = (sample, index) -> ((long[]) sample)[index];
       else
          throw new UnsupportedOperationException("Unsupported YoVariable type: " + linkedYoVariable.getLinkedYoVariable().getClass().getSimpleName());
 
@@ -155,11 +155,8 @@ public class YoVariableChartData
             linkedYoVariable.requestActiveBufferOnly();
          }
          else if (currentSessionMode.get() == SessionMode.RUNNING)
-         { // Request data from the last update point to the most recent out-point.
-            if (lastUpdateEndIndex == -1)
-               linkedYoVariable.requestActiveBufferOnly();
-            else
-               linkedYoVariable.requestBufferStartingFrom(lastUpdateEndIndex);
+         { // Request only the data recorded since the last update, the entire active buffer is sent back if it was modified in the meantime.
+            linkedYoVariable.requestIncrementalBuffer();
          }
       }
 
@@ -178,14 +175,15 @@ public class YoVariableChartData
       if (rawData == null || rawData.getSampleLength() == 0)
          return;
 
-      @SuppressWarnings("unchecked") BufferSample<double[]> newBufferSample = bufferConverterFunction.apply(rawData);
-      if (lastDataSet != null && newBufferSample.getBufferProperties().getSize() != lastDataSet.size)
+      if (lastDataSet != null && rawData.getBufferProperties().getSize() != lastDataSet.size)
          lastDataSet = null;
+      else if (rawData instanceof IncrementalBufferSample incrementalSample && incrementalSample.isStructuralChange())
+         lastDataSet = null; // The data previously received is no longer valid.
 
       DoubleArray dataSet;
 
       if (hasChartData.get())
-         dataSet = updateDataSet(lastDataSet, newBufferSample);
+         dataSet = updateDataSet(lastDataSet, rawData, sampleValueReader);
       else if (updateBounds)
          dataSet = updateBounds(lastProperties, lastDataSet);
       else
@@ -239,7 +237,7 @@ public class YoVariableChartData
       return !callerIDs.isEmpty();
    }
 
-   public static DoubleArray updateDataSet(DoubleArray lastDataSet, BufferSample<double[]> bufferSample)
+   public static DoubleArray updateDataSet(DoubleArray lastDataSet, BufferSample<?> bufferSample, SampleValueReader sampleValueReader)
    {
       int sampleLength = bufferSample.getSampleLength();
       YoBufferPropertiesReadOnly bufferProperties = bufferSample.getBufferProperties();
@@ -250,11 +248,11 @@ public class YoVariableChartData
 
       DoubleArray dataSet = new DoubleArray(bufferSize);
 
-      dataSet.values[0] = getValueAt(0, lastDataSet, bufferSample);
+      dataSet.values[0] = getValueAt(0, lastDataSet, bufferSample, sampleValueReader);
 
       for (int i = 1; i < bufferSize; i++)
       {
-         dataSet.values[i] = getValueAt(i, lastDataSet, bufferSample);
+         dataSet.values[i] = getValueAt(i, lastDataSet, bufferSample, sampleValueReader);
       }
 
       return updateBounds(bufferProperties, dataSet);
@@ -283,9 +281,9 @@ public class YoVariableChartData
       return dataSet;
    }
 
-   private static double getValueAt(int index, DoubleArray completeDataSet, BufferSample<double[]> partialBufferSample)
+   private static double getValueAt(int index, DoubleArray completeDataSet, BufferSample<?> partialBufferSample, SampleValueReader sampleValueReader)
    {
-      double[] sample = partialBufferSample.getSample();
+      Object sample = partialBufferSample.getSample();
       int sampleStart = partialBufferSample.getFrom();
       int sampleEnd = partialBufferSample.getTo();
       int bufferSize = partialBufferSample.getBufferProperties().getSize();
@@ -295,16 +293,16 @@ public class YoVariableChartData
       if (sampleStart <= sampleEnd)
       {
          if (index >= sampleStart && index <= sampleEnd)
-            y = sample[index - sampleStart];
+            y = sampleValueReader.getValue(sample, index - sampleStart);
          else if (completeDataSet != null)
             y = completeDataSet.values[index];
       }
       else
       {
          if (index <= sampleEnd)
-            y = sample[index - sampleStart + bufferSize];
+            y = sampleValueReader.getValue(sample, index - sampleStart + bufferSize);
          else if (index >= sampleStart)
-            y = sample[index - sampleStart];
+            y = sampleValueReader.getValue(sample, index - sampleStart);
          else if (completeDataSet != null)
             y = completeDataSet.values[index];
       }
@@ -374,39 +372,12 @@ public class YoVariableChartData
       }
    }
 
-   private static BufferSample<double[]> booleanToDoubleBuffer(BufferSample<?> yoVariableBuffer)
-   {
-      int from = yoVariableBuffer.getFrom();
-      YoBufferPropertiesReadOnly bufferProperties = yoVariableBuffer.getBufferProperties();
-      double[] sample = SharedMemoryTools.toDoubleArray((boolean[]) yoVariableBuffer.getSample());
-      int sampleLength = yoVariableBuffer.getSampleLength();
-      return new BufferSample<>(from, sample, sampleLength, bufferProperties);
-   }
-
-   private static BufferSample<double[]> byteToDoubleBuffer(BufferSample<?> yoVariableBuffer)
-   {
-      int from = yoVariableBuffer.getFrom();
-      YoBufferPropertiesReadOnly bufferProperties = yoVariableBuffer.getBufferProperties();
-      double[] sample = SharedMemoryTools.toDoubleArray((byte[]) yoVariableBuffer.getSample());
-      int sampleLength = yoVariableBuffer.getSampleLength();
-      return new BufferSample<>(from, sample, sampleLength, bufferProperties);
-   }
-
-   private static BufferSample<double[]> integerToDoubleBuffer(BufferSample<?> yoVariableBuffer)
-   {
-      int from = yoVariableBuffer.getFrom();
-      YoBufferPropertiesReadOnly bufferProperties = yoVariableBuffer.getBufferProperties();
-      double[] sample = SharedMemoryTools.toDoubleArray((int[]) yoVariableBuffer.getSample());
-      int sampleLength = yoVariableBuffer.getSampleLength();
-      return new BufferSample<>(from, sample, sampleLength, bufferProperties);
-   }
-
-   private static BufferSample<double[]> longToDoubleBuffer(BufferSample<?> yoVariableBuffer)
+   /**
+    * Reads an element of a buffer sample, which is a primitive array of the type of the variable, as a
+    * {@code double}.
+    */
+   public interface SampleValueReader
    {
-      int from = yoVariableBuffer.getFrom();
-      YoBufferPropertiesReadOnly bufferProperties = yoVariableBuffer.getBufferProperties();
-      double[] sample = SharedMemoryTools.toDoubleArray((long[]) yoVariableBuffer.getSample());
-      int sampleLength = yoVariableBuffer.getSampleLength();
-      return new BufferSample<>(from, sample, sampleLength, bufferProperties);
+      double getValue(Object sample, int index);
    }
 }
\ No newline at end of file
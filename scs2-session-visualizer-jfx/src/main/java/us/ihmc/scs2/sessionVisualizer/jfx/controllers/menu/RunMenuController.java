@@ -101,6 +101,12 @@ public class RunMenuController implements VisualizerController
       messager.submitMessage(topics.getSessionCurrentMode(), SessionMode.PAUSE);
    }
 
+   @FXML
+   private void resetLatencyHistograms()
+   {
+      messager.submitMessage(topics.getSessionLatencyHistogramsReset(), true);
+   }
+
    @FXML
    private void setInPoint()
    {
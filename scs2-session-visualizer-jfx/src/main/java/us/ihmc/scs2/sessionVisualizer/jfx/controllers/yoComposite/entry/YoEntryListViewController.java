@@ -4,14 +4,21 @@ import javafx.beans.property.Property;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.fxml.FXML;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
+import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
+import javafx.scene.control.MenuItem;
 import javafx.scene.control.SelectionMode;
 import javafx.scene.input.*;
+import javafx.scene.layout.GridPane;
 import us.ihmc.log.LogTools;
 import us.ihmc.messager.MessagerAPIFactory.Topic;
 import us.ihmc.messager.javafx.JavaFXMessager;
 import us.ihmc.scs2.definition.yoEntry.YoEntryDefinition;
 import us.ihmc.scs2.definition.yoEntry.YoEntryListDefinition;
+import us.ihmc.scs2.session.SessionBufferStatisticsRequest;
+import us.ihmc.scs2.sessionVisualizer.jfx.SessionVisualizerIOTools;
 import us.ihmc.scs2.sessionVisualizer.jfx.SessionVisualizerTopics;
 import us.ihmc.scs2.sessionVisualizer.jfx.YoNameDisplay;
 import us.ihmc.scs2.sessionVisualizer.jfx.controllers.yoComposite.search.YoCompositeListCell;
@@ -19,10 +26,13 @@ import us.ihmc.scs2.sessionVisualizer.jfx.managers.SessionVisualizerToolkit;
 import us.ihmc.scs2.sessionVisualizer.jfx.managers.YoCompositeSearchManager;
 import us.ihmc.scs2.sessionVisualizer.jfx.managers.YoManager;
 import us.ihmc.scs2.sessionVisualizer.jfx.tools.DragAndDropTools;
+import us.ihmc.scs2.sessionVisualizer.jfx.tools.JavaFXMissingTools;
 import us.ihmc.scs2.sessionVisualizer.jfx.tools.MenuTools;
+import us.ihmc.scs2.sessionVisualizer.jfx.tools.NumberFormatTools;
 import us.ihmc.scs2.sessionVisualizer.jfx.yoComposite.YoComposite;
 import us.ihmc.scs2.sessionVisualizer.jfx.yoComposite.YoCompositeCollection;
 import us.ihmc.scs2.sessionVisualizer.jfx.yoComposite.YoCompositePattern;
+import us.ihmc.scs2.sharedMemory.YoBufferStatistics;
 import us.ihmc.yoVariables.variable.YoVariable;
 
 import java.util.ArrayList;
@@ -41,21 +51,23 @@ public class YoEntryListViewController
    private YoManager yoManager;
    private YoCompositeSearchManager yoCompositeSearchManager;
    private JavaFXMessager messager;
+   private SessionVisualizerTopics topics;
+   private Property<Integer> numberPrecision;
    private Topic<List<String>> yoCompositeSelectedTopic;
    private AtomicReference<List<String>> yoCompositeSelected;
 
    public void initialize(SessionVisualizerToolkit toolkit)
    {
       messager = toolkit.getMessager();
-      SessionVisualizerTopics topics = toolkit.getTopics();
-      Property<Integer> numberPrecision = messager.createPropertyInput(topics.getControlsNumberPrecision(), 3);
+      topics = toolkit.getTopics();
+      numberPrecision = messager.createPropertyInput(topics.getControlsNumberPrecision(), 3);
       Property<YoNameDisplay> yoVariableNameDisplay = messager.createPropertyInput(topics.getYoVariableNameDisplay());
 
       yoManager = toolkit.getYoManager();
       yoCompositeSearchManager = toolkit.getYoCompositeSearchManager();
       yoEntryListView.setCellFactory(param -> new YoCompositeListCell(toolkit.getYoManager(), yoVariableNameDisplay, numberPrecision, param));
       yoEntryListView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
-      MenuTools.setupContextMenu(yoEntryListView, removeMenuItemFactory(true));
+      MenuTools.setupContextMenu(yoEntryListView, removeMenuItemFactory(true), this::newStatisticsMenuItem);
 
       yoEntryListView.setOnDragDetected(this::handleDragDetected);
       yoEntryListView.setOnDragEntered(this::handleDragEntered);
@@ -76,6 +88,67 @@ public class YoEntryListViewController
                                                                              });
    }
 
+   private MenuItem newStatisticsMenuItem(ListView<YoComposite> listView)
+   {
+      List<YoComposite> selectedItems = new ArrayList<>(listView.getSelectionModel().getSelectedItems());
+      if (selectedItems.isEmpty())
+         return null;
+
+      MenuItem statisticsMenuItem = new MenuItem("Show statistics");
+      statisticsMenuItem.setOnAction(e ->
+      {
+         List<YoVariable> yoVariables = selectedItems.stream().flatMap(item -> item.getYoComponents().stream()).toList();
+         SessionBufferStatisticsRequest request = new SessionBufferStatisticsRequest(yoVariables);
+         request.setOnStatisticsComputedCallback(statistics -> JavaFXMissingTools.runLater(getClass(),
+                                                                                           () -> showStatistics(yoVariables,
+                                                                                                                request.getPercentileLevels(),
+                                                                                                                statistics)));
+         messager.submitMessage(topics.getSessionBufferStatisticsRequest(), request);
+      });
+      return statisticsMenuItem;
+   }
+
+   private void showStatistics(List<YoVariable> yoVariables, double[] percentileLevels, List<YoBufferStatistics> statistics)
+   {
+      GridPane gridPane = new GridPane();
+      gridPane.setHgap(10.0);
+      gridPane.setVgap(2.0);
+
+      List<String> headers = new ArrayList<>(Arrays.asList("Variable", "Min", "Max", "Mean", "RMS", "Std-dev"));
+      for (double percentileLevel : percentileLevels)
+         headers.add("p" + NumberFormatTools.doubleToString(percentileLevel, 1));
+      for (int column = 0; column < headers.size(); column++)
+         gridPane.add(new Label(headers.get(column)), column, 0);
+
+      int precision = numberPrecision.getValue();
+
+      for (int row = 0; row < yoVariables.size(); row++)
+      {
+         YoBufferStatistics variableStatistics = statistics.get(row);
+         gridPane.add(new Label(yoVariables.get(row).getName()), 0, row + 1);
+
+         if (variableStatistics == null)
+            continue;
+
+         double[] values = {variableStatistics.getMin(),
+                            variableStatistics.getMax(),
+                            variableStatistics.getMean(),
+                            variableStatistics.getRMS(),
+                            variableStatistics.getStandardDeviation()};
+         for (int column = 0; column < values.length; column++)
+            gridPane.add(new Label(NumberFormatTools.doubleToString(values[column], precision)), column + 1, row + 1);
+         for (int i = 0; i < variableStatistics.getNumberOfPercentiles(); i++)
+            gridPane.add(new Label(NumberFormatTools.doubleToString(variableStatistics.getPercentile(i), precision)), values.length + i + 1, row + 1);
+      }
+
+      Alert alert = new Alert(AlertType.INFORMATION);
+      alert.setTitle("Statistics");
+      alert.setHeaderText("Statistics from the in-point to the out-point");
+      alert.getDialogPane().setContent(gridPane);
+      SessionVisualizerIOTools.addSCSIconToDialog(alert);
+      alert.show();
+   }
+
    public void setInput(YoEntryListDefinition input)
    {
       if (input.getName() != null)
@@ -5,18 +5,43 @@ import java.lang.management.CompilationMXBean;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
 
 import us.ihmc.yoVariables.registry.YoRegistry;
 import us.ihmc.yoVariables.tools.YoTools;
 import us.ihmc.yoVariables.variable.YoDouble;
 import us.ihmc.yoVariables.variable.YoInteger;
 import us.ihmc.yoVariables.variable.YoLong;
-
+import us.ihmc.yoVariables.variable.YoVariable;
+
+/**
+ * Publishes statistics on the JVM running the session as {@link YoVariable}s, such that they are
+ * recorded in the buffer alongside the session data.
+ * <p>
+ * In addition to the memory, class loading, and compilation statistics, this generator tracks the
+ * bytes allocated by the thread calling {@link #update()} and the GC pauses occurring between two
+ * updates. Since the session calls {@link #update()} once per tick, this allows to correlate spikes
+ * in the tick duration with allocations or GC pauses, and to catch a tick that should be
+ * allocation-free but is not.
+ * </p>
+ */
 public class JVMStatisticsGenerator
 {
+   /** Period over which the allocation rate is averaged. */
+   private static final long ALLOCATION_RATE_WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1L);
+
    private final YoRegistry registry;
 
    private final YoTimer timer;
@@ -35,6 +60,20 @@ public class JVMStatisticsGenerator
 
    private final YoLong totalCompilationTime;
 
+   /** Bytes allocated by the updating thread since the previous update, i.e. during the last tick. */
+   private final YoLong tickAllocatedBytes;
+   /** Bytes allocated per second by the updating thread, averaged over the last complete window. */
+   private final YoDouble allocationRateInBytesPerSecond;
+
+   /** Number of GC pauses that ended since the previous update. */
+   private final YoInteger tickGCPauseCount;
+   /** Cumulated duration of the GC pauses that ended since the previous update. */
+   private final YoLong tickGCPauseDurationMs;
+   /** Total number of GC pauses since the creation of this generator. */
+   private final YoLong totalGCPauseCount;
+   /** Duration of the longest GC pause since the creation of this generator. */
+   private final YoLong maxGCPauseDurationMs;
+
    private final YoInteger availableProcessors;
    private final YoDouble systemLoadAverage;
 
@@ -42,6 +81,19 @@ public class JVMStatisticsGenerator
    private final ClassLoadingMXBean classLoadingMXBean = ManagementFactory.getClassLoadingMXBean();
    private final CompilationMXBean compilationMXBean = ManagementFactory.getCompilationMXBean();
    private final OperatingSystemMXBean operatingSystemMXBean = ManagementFactory.getOperatingSystemMXBean();
+   private final com.sun.management.ThreadMXBean threadMXBean;
+
+   private Thread allocationThread = null;
+   private long lastThreadAllocatedBytes;
+   private long allocationWindowStartTimestamp;
+   private long allocationWindowAllocatedBytes;
+
+   /** Accumulated by the GC notification thread and drained at every update. */
+   private final AtomicLong pendingGCPauseCount = new AtomicLong();
+   private final AtomicLong pendingGCPauseDurationMs = new AtomicLong();
+   private final AtomicLong pendingMaxGCPauseDurationMs = new AtomicLong();
+   private final NotificationListener gcNotificationListener = this::handleGCNotification;
+   private final List<NotificationEmitter> gcNotificationEmitters = new ArrayList<>();
 
    public JVMStatisticsGenerator(String prefix, YoRegistry parentRegistry)
    {
@@ -63,10 +115,19 @@ public class JVMStatisticsGenerator
 
       totalCompilationTime = new YoLong(prefix + "TotalCompilationTimeMs", registry);
 
+      tickAllocatedBytes = new YoLong(prefix + "TickAllocatedBytes", registry);
+      allocationRateInBytesPerSecond = new YoDouble(prefix + "AllocationRateInBytesPerSecond", registry);
+
+      tickGCPauseCount = new YoInteger(prefix + "TickGCPauseCount", registry);
+      tickGCPauseDurationMs = new YoLong(prefix + "TickGCPauseDurationMs", registry);
+      totalGCPauseCount = new YoLong(prefix + "TotalGCPauseCount", registry);
+      maxGCPauseDurationMs = new YoLong(prefix + "MaxGCPauseDurationMs", registry);
+
       availableProcessors = new YoInteger(prefix + "AvailableProcessors", registry);
       systemLoadAverage = new YoDouble(prefix + "SystemLoadAverage", registry);
 
       createGCBeanHolders();
+      threadMXBean = createThreadMXBean();
 
       availableProcessors.set(operatingSystemMXBean.getAvailableProcessors());
       maxMemory.set(Runtime.getRuntime().maxMemory());
@@ -80,6 +141,8 @@ public class JVMStatisticsGenerator
       updateGCStatistics();
       updateClassLoadingStatistics();
       updateMemoryUsageStatistics();
+      updateAllocationStatistics();
+      updateGCPauseStatistics();
 
       if (compilationMXBean != null)
       {
@@ -90,6 +153,29 @@ public class JVMStatisticsGenerator
       timer.stop();
    }
 
+   /**
+    * Discards what happened since the previous update from the per-tick statistics, such that the
+    * next update only measures what happens after this call.
+    * <p>
+    * This is meant to be called after running many ticks without updating this generator, e.g. after
+    * a batch run, to prevent attributing the allocations and GC pauses of the whole batch to a single
+    * tick. The GC pauses are still accounted for in the totals.
+    * </p>
+    */
+   public void resetTickStatistics()
+   {
+      // The next update starts the allocation counter over as it does when the updating thread changes.
+      allocationThread = null;
+      tickAllocatedBytes.set(0L);
+
+      long pauseCount = pendingGCPauseCount.getAndSet(0L);
+      pendingGCPauseDurationMs.set(0L);
+      tickGCPauseCount.set(0);
+      tickGCPauseDurationMs.set(0L);
+      totalGCPauseCount.set(totalGCPauseCount.getLongValue() + pauseCount);
+      maxGCPauseDurationMs.set(Math.max(maxGCPauseDurationMs.getLongValue(), pendingMaxGCPauseDurationMs.get()));
+   }
+
    private void updateMemoryUsageStatistics()
    {
       freeMemory.set(Runtime.getRuntime().freeMemory());
@@ -97,6 +183,48 @@ public class JVMStatisticsGenerator
       usedMemory.set(totalMemory.getLongValue() - freeMemory.getLongValue());
    }
 
+   private void updateAllocationStatistics()
+   {
+      if (threadMXBean == null)
+         return;
+
+      Thread currentThread = Thread.currentThread();
+      long currentTimestamp = System.nanoTime();
+      long threadAllocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes();
+
+      if (currentThread != allocationThread)
+      { // The session thread changes when the session is restarted, the counter of the new thread starts over.
+         allocationThread = currentThread;
+         lastThreadAllocatedBytes = threadAllocatedBytes;
+         allocationWindowStartTimestamp = currentTimestamp;
+         allocationWindowAllocatedBytes = 0L;
+         tickAllocatedBytes.set(0L);
+         return;
+      }
+
+      tickAllocatedBytes.set(threadAllocatedBytes - lastThreadAllocatedBytes);
+      lastThreadAllocatedBytes = threadAllocatedBytes;
+      allocationWindowAllocatedBytes += tickAllocatedBytes.getLongValue();
+
+      long windowDuration = currentTimestamp - allocationWindowStartTimestamp;
+
+      if (windowDuration >= ALLOCATION_RATE_WINDOW_NANOS)
+      {
+         allocationRateInBytesPerSecond.set(allocationWindowAllocatedBytes / (windowDuration * 1.0e-9));
+         allocationWindowStartTimestamp = currentTimestamp;
+         allocationWindowAllocatedBytes = 0L;
+      }
+   }
+
+   private void updateGCPauseStatistics()
+   {
+      long pauseCount = pendingGCPauseCount.getAndSet(0L);
+      tickGCPauseCount.set((int) pauseCount);
+      tickGCPauseDurationMs.set(pendingGCPauseDurationMs.getAndSet(0L));
+      totalGCPauseCount.set(totalGCPauseCount.getLongValue() + pauseCount);
+      maxGCPauseDurationMs.set(Math.max(maxGCPauseDurationMs.getLongValue(), pendingMaxGCPauseDurationMs.get()));
+   }
+
    private void updateClassLoadingStatistics()
    {
       loadedClassCount.set(classLoadingMXBean.getLoadedClassCount());
@@ -130,7 +258,62 @@ public class JVMStatisticsGenerator
          GarbageCollectorMXBean gcbean = gcbeans.get(i);
          String name = YoTools.ILLEGAL_CHARACTERS_PATTERN.matcher(gcbean.getName()).replaceAll("");
          gcBeanHolders.add(new GCBeanHolder(name, gcbean));
+
+         if (gcbean instanceof NotificationEmitter emitter)
+         {
+            emitter.addNotificationListener(gcNotificationListener, null, null);
+            gcNotificationEmitters.add(emitter);
+         }
+      }
+   }
+
+   private static com.sun.management.ThreadMXBean createThreadMXBean()
+   {
+      ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+      if (!(threadMXBean instanceof com.sun.management.ThreadMXBean sunThreadMXBean) || !sunThreadMXBean.isThreadAllocatedMemorySupported())
+         return null;
+
+      if (!sunThreadMXBean.isThreadAllocatedMemoryEnabled())
+         sunThreadMXBean.setThreadAllocatedMemoryEnabled(true);
+      return sunThreadMXBean;
+   }
+
+   private void handleGCNotification(Notification notification, Object handback)
+   {
+      if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType()))
+         return;
+
+      GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+
+      // Concurrent collectors such as ZGC or Shenandoah report whole GC cycles which mostly run concurrently with the application.
+      if ("end of GC cycle".equals(info.getGcAction()))
+         return;
+
+      long duration = info.getGcInfo().getDuration();
+      pendingGCPauseCount.incrementAndGet();
+      pendingGCPauseDurationMs.addAndGet(duration);
+      pendingMaxGCPauseDurationMs.accumulateAndGet(duration, Math::max);
+   }
+
+   /**
+    * Removes the listeners registered to the garbage collectors, to be called when the session is
+    * shutdown.
+    */
+   public void dispose()
+   {
+      for (NotificationEmitter emitter : gcNotificationEmitters)
+      {
+         try
+         {
+            emitter.removeNotificationListener(gcNotificationListener);
+         }
+         catch (ListenerNotFoundException e)
+         {
+            // Already removed.
+         }
       }
+      gcNotificationEmitters.clear();
    }
 
    private class GCBeanHolder
@@ -0,0 +1,176 @@
+package us.ihmc.scs2.session;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-memory histogram of durations in nanoseconds, used to track the tail latency of the session
+ * tick phases.
+ * <p>
+ * The buckets are log-linear in the manner of HdrHistogram: the range {@code [0, 2^N)} is divided
+ * into power-of-two ranges, each of which is divided into {@value #SUB_BUCKET_HALF_COUNT} linear
+ * sub-buckets. The relative error of the reported values is therefore bounded by
+ * {@code 1/}{@value #SUB_BUCKET_HALF_COUNT}, i.e. about 1.6%. Recording a value is constant-time and
+ * does not allocate.
+ * </p>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ */
+public class LatencyHistogram
+{
+   private static final int SUB_BUCKET_BITS = 7;
+   private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+   private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+   /** Values greater or equal to {@code 2^40}ns, about 18 minutes, are clamped to the last bucket. */
+   private static final int MAX_VALUE_BITS = 40;
+   private static final long MAX_TRACKABLE_VALUE = (1L << MAX_VALUE_BITS) - 1L;
+
+   private final long[] counts = new long[indexOf(MAX_TRACKABLE_VALUE) + 1];
+   private long totalCount = 0L;
+   private long min = Long.MAX_VALUE;
+   private long max = 0L;
+   private double sum = 0.0;
+
+   // Scratch arrays such that querying a single percentile does not allocate.
+   private final double[] singlePercentile = new double[1];
+   private final long[] singleValue = new long[1];
+
+   /**
+    * Creates a new empty histogram.
+    */
+   public LatencyHistogram()
+   {
+   }
+
+   private static int indexOf(long value)
+   {
+      if (value < SUB_BUCKET_COUNT)
+         return (int) value;
+
+      // Value in [2^(e + 6), 2^(e + 7)), it falls in the sub-bucket (value >> e) in [64, 128).
+      int exponent = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+      return exponent * SUB_BUCKET_HALF_COUNT + (int) (value >>> exponent);
+   }
+
+   private static long highestEquivalentValue(int index)
+   {
+      if (index < SUB_BUCKET_COUNT)
+         return index;
+
+      int exponent = index / SUB_BUCKET_HALF_COUNT - 1;
+      long subBucket = index - exponent * SUB_BUCKET_HALF_COUNT;
+      return ((subBucket + 1L) << exponent) - 1L;
+   }
+
+   /**
+    * Records a duration.
+    *
+    * @param valueNanos the duration in nanoseconds. Negative values are recorded as {@code 0}.
+    */
+   public void record(long valueNanos)
+   {
+      long value = Math.min(Math.max(valueNanos, 0L), MAX_TRACKABLE_VALUE);
+      counts[indexOf(value)]++;
+      totalCount++;
+      sum += value;
+      if (value < min)
+         min = value;
+      if (value > max)
+         max = value;
+   }
+
+   /**
+    * Removes all the recorded values.
+    */
+   public void reset()
+   {
+      Arrays.fill(counts, 0L);
+      totalCount = 0L;
+      min = Long.MAX_VALUE;
+      max = 0L;
+      sum = 0.0;
+   }
+
+   /**
+    * Gets the number of recorded values.
+    *
+    * @return the number of values.
+    */
+   public long getTotalCount()
+   {
+      return totalCount;
+   }
+
+   /**
+    * Gets the smallest recorded value.
+    *
+    * @return the minimum in nanoseconds, or {@code 0} if the histogram is empty.
+    */
+   public long getMin()
+   {
+      return totalCount == 0L ? 0L : min;
+   }
+
+   /**
+    * Gets the largest recorded value.
+    *
+    * @return the maximum in nanoseconds, or {@code 0} if the histogram is empty.
+    */
+   public long getMax()
+   {
+      return max;
+   }
+
+   /**
+    * Gets the average of the recorded values.
+    *
+    * @return the mean in nanoseconds, or {@code 0} if the histogram is empty.
+    */
+   public double getMean()
+   {
+      return totalCount == 0L ? 0.0 : sum / totalCount;
+   }
+
+   /**
+    * Gets the value below which the given percentage of the recorded values fall.
+    *
+    * @param percentile the percentile in [0, 100].
+    * @return the value in nanoseconds, or {@code 0} if the histogram is empty.
+    */
+   public long getValueAtPercentile(double percentile)
+   {
+      singlePercentile[0] = percentile;
+      getValuesAtPercentiles(singlePercentile, singleValue);
+      return singleValue[0];
+   }
+
+   /**
+    * Gets the values at several percentiles in a single pass over the histogram.
+    *
+    * @param percentiles the percentiles in [0, 100], sorted in ascending order. Not modified.
+    * @param valuesToPack the array in which the values in nanoseconds are stored. Modified.
+    */
+   public void getValuesAtPercentiles(double[] percentiles, long[] valuesToPack)
+   {
+      if (totalCount == 0L)
+      {
+         Arrays.fill(valuesToPack, 0, percentiles.length, 0L);
+         return;
+      }
+
+      int index = 0;
+      long cumulativeCount = counts[0];
+
+      for (int i = 0; i < percentiles.length; i++)
+      {
+         double percentile = Math.min(Math.max(percentiles[i], 0.0), 100.0);
+         long countAtPercentile = Math.max(1L, (long) Math.ceil(percentile / 100.0 * totalCount));
+
+         while (cumulativeCount < countAtPercentile)
+            cumulativeCount += counts[++index];
+
+         // The first value is the minimum, and the bucket bounds are clamped by the maximum, such that p0 and p100 are exact.
+         valuesToPack[i] = countAtPercentile == 1L ? min : Math.min(max, highestEquivalentValue(index));
+      }
+   }
+}
@@ -13,20 +13,32 @@ import us.ihmc.scs2.definition.yoGraphic.YoGraphicDefinition;
 import us.ihmc.scs2.definition.yoVariable.YoEquationDefinition;
 import us.ihmc.scs2.sharedMemory.CropBufferRequest;
 import us.ihmc.scs2.sharedMemory.FillBufferRequest;
+import us.ihmc.scs2.sharedMemory.LinkedBufferStatistics;
 import us.ihmc.scs2.sharedMemory.LinkedYoVariable;
+import us.ihmc.scs2.sharedMemory.YoBufferStatistics;
 import us.ihmc.scs2.sharedMemory.YoSharedBuffer;
+import us.ihmc.scs2.sharedMemory.YoVariableBufferList;
 import us.ihmc.scs2.sharedMemory.interfaces.LinkedYoVariableFactory;
 import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
+import us.ihmc.scs2.sharedMemory.storage.CompressedBufferStorage;
+import us.ihmc.scs2.sharedMemory.storage.MappedBufferStorage;
+import us.ihmc.scs2.sharedMemory.storage.PackedBufferStorage;
+import us.ihmc.scs2.sharedMemory.storage.SegmentedBufferStorage;
+import us.ihmc.scs2.sharedMemory.storage.SharedMemoryBufferStorage;
+import us.ihmc.scs2.sharedMemory.storage.SparseBufferStorage;
+import us.ihmc.scs2.sharedMemory.storage.YoBufferStorage;
 import us.ihmc.scs2.symbolic.YoEquationManager;
 import us.ihmc.scs2.symbolic.YoEquationManager.YoEquationListChange;
 import us.ihmc.yoVariables.registry.YoNamespace;
 import us.ihmc.yoVariables.registry.YoRegistry;
 import us.ihmc.yoVariables.variable.YoDouble;
+import us.ihmc.yoVariables.variable.YoLong;
 import us.ihmc.yoVariables.variable.YoVariable;
 
 import jakarta.xml.bind.JAXBException;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
@@ -36,6 +48,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -73,6 +86,139 @@ public abstract class Session
     * </p>
     */
    public static final int DEFAULT_INITIAL_BUFFER_SIZE = SessionPropertiesHelper.loadIntegerProperty("scs2.session.buffer.initialsize", 8192);
+   /**
+    * Default value for whether the buffer data should be stored off-heap in memory-mapped files instead
+    * of primitive arrays on the Java heap.
+    * <p>
+    * When enabled, the buffer files are created in {@link SessionIOTools#SCS2_TEMP_FOLDER_PATH} and
+    * the buffer size is not clamped with {@link #ADMISSIBLE_BUFFER_TO_MAX_MEMORY_RATIO}, allowing to
+    * record long sessions with a large number of variables without requiring a large heap.
+    * </p>
+    * <p>
+    * The default value is loaded from the system property: <tt>"scs2.session.buffer.offheap"</tt>.
+    * </p>
+    */
+   public static final boolean DEFAULT_BUFFER_OFF_HEAP = SessionPropertiesHelper.loadBooleanProperty("scs2.session.buffer.offheap", false);
+   /**
+    * Whether the history of the {@code YoDouble}s and {@code YoLong}s should be compressed in the
+    * buffer.
+    * <p>
+    * When enabled, the buffer is split into blocks that are compressed once the session moves past
+    * them, reducing the memory used by slowly varying signals at the cost of slower random accesses.
+    * This can be combined with {@link #DEFAULT_BUFFER_OFF_HEAP}, in which case the variables that
+    * cannot be compressed are stored off-heap.
+    * </p>
+    * <p>
+    * The default value is loaded from the system property: <tt>"scs2.session.buffer.compressed"</tt>.
+    * </p>
+    */
+   public static final boolean DEFAULT_BUFFER_COMPRESSED = SessionPropertiesHelper.loadBooleanProperty("scs2.session.buffer.compressed", false);
+   /**
+    * Whether the history of each variable should be stored in fixed-size segments.
+    * <p>
+    * When enabled, resizing or cropping the buffer only rearranges the segments instead of copying the
+    * history of every variable, which avoids freezing the session and doubling the memory used when
+    * growing a large buffer. This can be combined with {@link #DEFAULT_BUFFER_OFF_HEAP}, in which case
+    * the segments are stored off-heap, and with {@link #DEFAULT_BUFFER_COMPRESSED}, in which case only
+    * the variables that cannot be compressed are segmented.
+    * </p>
+    * <p>
+    * The default value is loaded from the system property: <tt>"scs2.session.buffer.segmented"</tt>.
+    * </p>
+    */
+   public static final boolean DEFAULT_BUFFER_SEGMENTED = SessionPropertiesHelper.loadBooleanProperty("scs2.session.buffer.segmented", false);
+   /**
+    * Whether the history of the {@code YoBoolean}s and {@code YoEnum}s should be bit-packed in the
+    * buffer, using a single bit per element for booleans and the narrowest width fitting the number of
+    * constants for enums.
+    * <p>
+    * The default value is loaded from the system property: <tt>"scs2.session.buffer.packed"</tt>.
+    * </p>
+    */
+   public static final boolean DEFAULT_BUFFER_PACKED = SessionPropertiesHelper.loadBooleanProperty("scs2.session.buffer.packed", false);
+   /**
+    * Whether the history of the {@code YoInteger}s should also be packed, as deltas stored in bytes or
+    * shorts, when {@link #DEFAULT_BUFFER_PACKED} is enabled.
+    * <p>
+    * The default value is loaded from the system property:
+    * <tt>"scs2.session.buffer.packedintegers"</tt>.
+    * </p>
+    */
+   public static final boolean DEFAULT_BUFFER_PACKED_INTEGERS = SessionPropertiesHelper.loadBooleanProperty("scs2.session.buffer.packedintegers", false);
+   /**
+    * Whether the buffer should only record the changes of the variables.
+    * <p>
+    * When enabled, the history of each variable is stored as a list of change points, which
+    * considerably reduces the memory used by parameters, gains, and other variables that rarely
+    * change. The variables changing too often are automatically switched to the storage configured
+    * by the other buffer properties.
+    * </p>
+    * <p>
+    * The default value is loaded from the system property: <tt>"scs2.session.buffer.sparse"</tt>.
+    * </p>
+    */
+   public static final boolean DEFAULT_BUFFER_SPARSE = SessionPropertiesHelper.loadBooleanProperty("scs2.session.buffer.sparse", false);
+   /**
+    * Whether the buffer should be shared with other processes via memory-mapped files.
+    * <p>
+    * When enabled, the history of each variable is stored in memory-mapped files alongside a header
+    * describing the recording, which can be read by external tools while the session is running using
+    * {@link us.ihmc.scs2.sharedMemory.storage.SharedMemoryBufferReader}. The files are created in
+    * {@link #DEFAULT_BUFFER_SHARED_MEMORY_DIRECTORY} if set, or in a new directory under
+    * <tt>/dev/shm</tt> otherwise. This option takes precedence over the other buffer storage options.
+    * </p>
+    * <p>
+    * The default value is loaded from the system property:
+    * <tt>"scs2.session.buffer.sharedmemory"</tt>.
+    * </p>
+    */
+   public static final boolean DEFAULT_BUFFER_SHARED_MEMORY = SessionPropertiesHelper.loadBooleanProperty("scs2.session.buffer.sharedmemory", false);
+   /**
+    * The directory in which the shared buffer is created when {@link #DEFAULT_BUFFER_SHARED_MEMORY} is
+    * enabled, {@code null} to create a new directory under <tt>/dev/shm</tt>.
+    * <p>
+    * The default value is loaded from the system property:
+    * <tt>"scs2.session.buffer.sharedmemory.directory"</tt>.
+    * </p>
+    */
+   public static final String DEFAULT_BUFFER_SHARED_MEMORY_DIRECTORY = SessionPropertiesHelper.loadStringProperty("scs2.session.buffer.sharedmemory.directory",
+                                                                                                                null);
+   /**
+    * Whether the buffer should maintain a summary of the history of each variable.
+    * <p>
+    * When enabled, the min/max/sum over a range of the buffer and the decimated envelopes used for
+    * plotting are computed by reading only the boundaries of the range, at the cost of a constant
+    * overhead at every write and about 30 bytes per 64 elements of the buffer for each variable.
+    * </p>
+    * <p>
+    * The default value is loaded from the system property: <tt>"scs2.session.buffer.summary"</tt>.
+    * </p>
+    */
+   public static final boolean DEFAULT_BUFFER_SUMMARY = SessionPropertiesHelper.loadBooleanProperty("scs2.session.buffer.summary", false);
+   /**
+    * Number of threads used to write and read the buffer in parallel, {@code 0} to write and read it
+    * from the session thread only.
+    * <p>
+    * When enabled, the variables are split into shards processed by a dedicated fork-join pool, which
+    * can reduce the duration of a tick for registries with a very large number of variables. The
+    * listeners attached to the variables are then notified from the pool's threads during playback.
+    * </p>
+    * <p>
+    * The default value is loaded from the system property: <tt>"scs2.session.buffer.parallelism"</tt>.
+    * </p>
+    */
+   public static final int DEFAULT_BUFFER_PARALLELISM = SessionPropertiesHelper.loadIntegerProperty("scs2.session.buffer.parallelism", 0);
+   /**
+    * Minimum number of variables for the buffer to be written and read in parallel when
+    * {@link #DEFAULT_BUFFER_PARALLELISM} is enabled, smaller registries are always processed from the
+    * session thread.
+    * <p>
+    * The default value is loaded from the system property:
+    * <tt>"scs2.session.buffer.parallelthreshold"</tt>.
+    * </p>
+    */
+   public static final int DEFAULT_BUFFER_PARALLEL_THRESHOLD = SessionPropertiesHelper.loadIntegerProperty("scs2.session.buffer.parallelthreshold",
+                                                                                                          YoVariableBufferList.DEFAULT_PARALLEL_THRESHOLD);
    /**
     * Default period at which {@link YoVariable}s are saved into the buffer.
     * <p>
@@ -124,6 +270,38 @@ public abstract class Session
     */
    public static final long DEFAULT_BUFFER_PUBLISH_PERIOD = SessionPropertiesHelper.loadLongProperty("scs2.session.buffer.publishperiod",
                                                                                                      (long) (1.0 / 30.0 * 1.0e9));
+   /**
+    * Default strategy used by the session thread to wait for the start of its next period.
+    * <p>
+    * The default is {@link SessionTimingStrategy#SLEEP} which does not use any CPU while waiting.
+    * {@link SessionTimingStrategy#HYBRID} and {@link SessionTimingStrategy#SPIN} reduce the wake-up
+    * jitter from about 50-100us to a few microseconds but keep a core busy, for the duration of the
+    * spin window each period or permanently respectively, and should be opted in when accurate
+    * real-time rate or playback matters more than the CPU usage.
+    * </p>
+    * <p>
+    * The value can be change via:
+    * <ul>
+    * <li>{@link #setTimingStrategy(SessionTimingStrategy, long)}
+    * </ul>
+    * The default value is loaded from the system property: <tt>"scs2.session.timing.strategy"</tt>.
+    * </p>
+    */
+   public static final SessionTimingStrategy DEFAULT_TIMING_STRATEGY = SessionPropertiesHelper.loadEnumProperty("scs2.session.timing.strategy",
+                                                                                                                SessionTimingStrategy.class,
+                                                                                                                SessionTimingStrategy.SLEEP);
+   /**
+    * Default duration in nanoseconds before the start of the next period during which the session
+    * thread busy-waits when using {@link SessionTimingStrategy#HYBRID}.
+    * <p>
+    * The value can be change via:
+    * <ul>
+    * <li>{@link #setTimingStrategy(SessionTimingStrategy, long)}
+    * </ul>
+    * The default value is loaded from the system property: <tt>"scs2.session.timing.spinwindow"</tt>.
+    * </p>
+    */
+   public static final long DEFAULT_TIMING_SPIN_WINDOW = SessionPropertiesHelper.loadLongProperty("scs2.session.timing.spinwindow", 100000L);
 
    /**
     * Name of the root registry for any session.
@@ -256,12 +434,73 @@ public abstract class Session
     * Timer used to measure the total time spent in each call of {@link #pauseTick()}.
     */
    private final YoTimer pauseTimer = new YoTimer("pauseTimer", TimeUnit.MILLISECONDS, pauseRegistry);
+   /**
+    * Histograms recording every measurement of the timers above to track their tail latency. The
+    * percentiles are published at the same rate as the session properties.
+    */
+   private final List<YoLatencyHistogram> latencyHistograms = List.of(runActualDT.enableHistogram(),
+                                                                      runTimer.enableHistogram(),
+                                                                      runInitializeTimer.enableHistogram(),
+                                                                      runSpecificTimer.enableHistogram(),
+                                                                      runFinalizeTimer.enableHistogram(),
+                                                                      playbackActualDT.enableHistogram(),
+                                                                      playbackTimer.enableHistogram(),
+                                                                      pauseActualDT.enableHistogram(),
+                                                                      pauseTimer.enableHistogram());
+   /**
+    * Flag used to reset the latency histograms from the session thread.
+    */
+   private final AtomicBoolean latencyHistogramsResetRequested = new AtomicBoolean(false);
+
+   /**
+    * Registry gathering debug variables related to the publication of the buffer to the buffer
+    * consumers, see {@link LinkedBufferStatistics}.
+    */
+   protected final YoRegistry bufferPublicationRegistry = new YoRegistry("bufferPublicationStatistics");
+   /**
+    * Number of times the values of the buffer were published to the buffer consumers.
+    */
+   private final YoLong bufferPublicationCount = new YoLong("bufferPublicationCount", bufferPublicationRegistry);
+   /**
+    * Number of publications skipped because a buffer consumer was modifying its linked buffers.
+    */
+   private final YoLong bufferSkippedPublicationCount = new YoLong("bufferSkippedPublicationCount", bufferPublicationRegistry);
+   /**
+    * Number of times the buffer consumers pulled new values.
+    */
+   private final YoLong bufferPullCount = new YoLong("bufferPullCount", bufferPublicationRegistry);
+   /**
+    * Number of times a buffer consumer had to read the values again because they were being published.
+    */
+   private final YoLong bufferPullRetryCount = new YoLong("bufferPullRetryCount", bufferPublicationRegistry);
+
+   /**
+    * Registry gathering debug variables related to the timing of the session thread.
+    */
+   protected final YoRegistry sessionThreadRegistry = new YoRegistry("sessionThreadStatistics");
+   /**
+    * Statistics on how accurately the session thread starts each period, shared by all the session
+    * modes.
+    */
+   private final SessionTimingStatistics sessionThreadTimingStatistics = new SessionTimingStatistics("sessionThread", sessionThreadRegistry);
+   /**
+    * The strategy used by the session thread to wait for the start of its next period.
+    */
+   private volatile SessionTimingStrategy timingStrategy = DEFAULT_TIMING_STRATEGY;
+   /**
+    * Duration in nanoseconds of the busy-wait when using {@link SessionTimingStrategy#HYBRID}.
+    */
+   private volatile long timingSpinWindow = DEFAULT_TIMING_SPIN_WINDOW;
 
    /**
     * Instance of the buffer used for this session. It is used to keep track of the history of every
     * {@link YoVariable} registered as a descendant of the {@link #rootRegistry}.
     */
-   protected final YoSharedBuffer sharedBuffer = new YoSharedBuffer(rootRegistry, DEFAULT_INITIAL_BUFFER_SIZE);
+   protected final YoSharedBuffer sharedBuffer = new YoSharedBuffer(rootRegistry, DEFAULT_INITIAL_BUFFER_SIZE, newDefaultBufferStorage());
+   /**
+    * Pool used to write and read the buffer in parallel, {@code null} when disabled.
+    */
+   private final ForkJoinPool bufferForkJoinPool = DEFAULT_BUFFER_PARALLELISM > 0 ? new ForkJoinPool(DEFAULT_BUFFER_PARALLELISM) : null;
 
    // TODO Not sure if that's the right place for this.
    /**
@@ -357,12 +596,14 @@ public abstract class Session
    private final SessionUserField<CropBufferRequest> pendingCropBufferRequest = new SessionUserField<>();
    private final SessionUserField<FillBufferRequest> pendingFillBufferRequest = new SessionUserField<>();
    private final SessionUserField<Integer> pendingBufferIndexRequest = new SessionUserField<>();
+   private final SessionUserField<Double> pendingBufferTimeRequest = new SessionUserField<>();
    private final SessionUserField<Integer> pendingBufferInPointIndexRequest = new SessionUserField<>();
    private final SessionUserField<Integer> pendingBufferOutPointIndexRequest = new SessionUserField<>();
    private final SessionUserField<Integer> pendingIncrementBufferIndexRequest = new SessionUserField<>();
    private final SessionUserField<Integer> pendingDecrementBufferIndexRequest = new SessionUserField<>();
    private final SessionUserField<Integer> pendingBufferSizeRequest = new SessionUserField<>();
    private final SessionUserField<SessionDataExportRequest> pendingDataExportRequest = new SessionUserField<>();
+   private final SessionUserField<SessionBufferStatisticsRequest> pendingBufferStatisticsRequest = new SessionUserField<>();
 
    // Strictly internal fields
    private final List<SessionTopicListenerManager> sessionTopicListenerManagers = new ArrayList<>();
@@ -394,8 +635,18 @@ public abstract class Session
       sessionRegistry.addChild(runRegistry);
       sessionRegistry.addChild(playbackRegistry);
       sessionRegistry.addChild(pauseRegistry);
+      sessionRegistry.addChild(bufferPublicationRegistry);
+      sessionRegistry.addChild(sessionThreadRegistry);
       rootRegistry.addChild(userRegistry);
 
+      if (bufferForkJoinPool != null)
+         sharedBuffer.setParallelExecution(bufferForkJoinPool, DEFAULT_BUFFER_PARALLEL_THRESHOLD);
+      if (DEFAULT_BUFFER_SUMMARY)
+         sharedBuffer.setSummaryEnabled(true);
+      sharedBuffer.setTimeVariable(time);
+      if (sharedBuffer.getStorage() instanceof SharedMemoryBufferStorage sharedMemoryStorage)
+         addCurrentBufferPropertiesListener(sharedMemoryStorage::publish);
+
       setSessionModeTask(SessionMode.RUNNING, this::runTick);
       setSessionModeTask(SessionMode.PLAYBACK, this::playbackTick);
       setSessionModeTask(SessionMode.PAUSE, this::pauseTick);
@@ -896,6 +1147,45 @@ public abstract class Session
       desiredBufferPublishPeriod.set(publishPeriod);
    }
 
+   /**
+    * Requests the latency histograms of the session timers to be reset.
+    * <p>
+    * This is a non-blocking operation and schedules the change to be performed as soon as possible.
+    * </p>
+    *
+    * @see #getLatencyHistograms()
+    */
+   public void resetLatencyHistograms()
+   {
+      latencyHistogramsResetRequested.set(true);
+   }
+
+   /**
+    * Sets the strategy used by the session thread to wait for the start of its next period.
+    * <p>
+    * The sleep-based strategies overshoot the desired wake-up time by the OS scheduler latency,
+    * typically 50 to 100 microseconds on Linux, which introduces significant jitter when running at
+    * real-time rate or playing back at high rates. The jitter can be monitored in the registry
+    * {@link #sessionThreadRegistry}.
+    * </p>
+    *
+    * @param timingStrategy  the new strategy. Default value {@link #DEFAULT_TIMING_STRATEGY}.
+    * @param spinWindowNanos the duration in nanoseconds before the start of the next period during
+    *                        which the thread busy-waits when using
+    *                        {@link SessionTimingStrategy#HYBRID}. It should be slightly larger than
+    *                        the observed jitter with {@link SessionTimingStrategy#PARK_NANOS}. Default
+    *                        value {@link #DEFAULT_TIMING_SPIN_WINDOW}.
+    */
+   public void setTimingStrategy(SessionTimingStrategy timingStrategy, long spinWindowNanos)
+   {
+      this.timingStrategy = Objects.requireNonNull(timingStrategy);
+      this.timingSpinWindow = Math.max(0L, spinWindowNanos);
+
+      PeriodicTaskWrapper task = activePeriodicTask;
+      if (task != null)
+         task.setTimingStrategy(this.timingStrategy, this.timingSpinWindow);
+   }
+
    /**
     * Requests the buffer to be cropped.
     * <p>
@@ -972,6 +1262,26 @@ public abstract class Session
       pendingBufferIndexRequest.submit(bufferIndexRequest);
    }
 
+   /**
+    * Requests to move the current buffer index to the sample which time is the closest to the given
+    * time.
+    * <p>
+    * This is a non-blocking operation and schedules the change to be performed as soon as possible.
+    * </p>
+    * <p>
+    * This request is only processed if the session is in {@link SessionMode#PAUSE}, it will be ignored
+    * otherwise. When the time goes backward in the buffer, e.g. after the session was reinitialized,
+    * the most recent part of the buffer covering the requested time is used.
+    * </p>
+    *
+    * @param bufferTimeRequest the time to go to.
+    * @see YoSharedBuffer#getTimeIndex()
+    */
+   public void submitBufferTimeRequest(Double bufferTimeRequest)
+   {
+      pendingBufferTimeRequest.submit(bufferTimeRequest);
+   }
+
    /**
     * Requests to increment the current buffer index, i.e. reading/writing position, by a given step
     * size.
@@ -1068,6 +1378,24 @@ public abstract class Session
       pendingDataExportRequest.submit(sessionDataExportRequest);
    }
 
+   /**
+    * Requests to compute the statistics of variables over this session's buffer.
+    * <p>
+    * This is a non-blocking operation, the result is provided to the callback of the request, see
+    * {@link SessionBufferStatisticsRequest#setOnStatisticsComputedCallback(java.util.function.Consumer)}.
+    * </p>
+    * <p>
+    * Unlike the requests modifying the buffer, this request is processed in any session mode.
+    * </p>
+    *
+    * @param bufferStatisticsRequest the request.
+    * @see SessionBufferStatisticsRequest
+    */
+   public void submitBufferStatisticsRequest(SessionBufferStatisticsRequest bufferStatisticsRequest)
+   {
+      pendingBufferStatisticsRequest.submit(bufferStatisticsRequest);
+   }
+
    /**
     * Requests the buffer to be cropped.
     * <p>
@@ -1181,6 +1509,35 @@ public abstract class Session
       }
    }
 
+   /**
+    * Requests to move the current buffer index to the sample which time is the closest to the given
+    * time.
+    * <p>
+    * This is a blocking operation and will return only when done. If the internal thread is not
+    * running, this operation is performed immediately.
+    * </p>
+    * <p>
+    * This request is only processed if the session is in {@link SessionMode#PAUSE}, it will be ignored
+    * otherwise.
+    * </p>
+    *
+    * @param bufferTimeRequest the time to go to.
+    * @see #submitBufferTimeRequest(Double)
+    */
+   public void submitBufferTimeRequestAndWait(Double bufferTimeRequest)
+   {
+      if (hasSessionStarted())
+      {
+         pendingBufferTimeRequest.submitAndWait(bufferTimeRequest);
+      }
+      else
+      {
+         pendingBufferTimeRequest.submit(bufferTimeRequest);
+         processBufferRequests(true);
+         sharedBuffer.readBuffer();
+      }
+   }
+
    /**
     * Requests to increment the current buffer index, i.e. reading/writing position, by a given step
     * size.
@@ -1335,6 +1692,33 @@ public abstract class Session
       }
    }
 
+   /**
+    * Requests to compute the statistics of variables over this session's buffer.
+    * <p>
+    * This is a blocking operation and will return only when done, the result can then be retrieved
+    * with {@link SessionBufferStatisticsRequest#getStatistics()}. If the internal thread is not
+    * running, this operation is performed immediately.
+    * </p>
+    * <p>
+    * Unlike the requests modifying the buffer, this request is processed in any session mode.
+    * </p>
+    *
+    * @param bufferStatisticsRequest the request.
+    * @see SessionBufferStatisticsRequest
+    */
+   public void submitBufferStatisticsRequestAndWait(SessionBufferStatisticsRequest bufferStatisticsRequest)
+   {
+      if (hasSessionStarted())
+      {
+         pendingBufferStatisticsRequest.submitAndWait(bufferStatisticsRequest);
+      }
+      else
+      {
+         pendingBufferStatisticsRequest.submit(bufferStatisticsRequest);
+         processBufferRequests(false);
+      }
+   }
+
    /**
     * Starts the internal thread of this session running the current session mode.
     *
@@ -1419,9 +1803,12 @@ public abstract class Session
       sessionTopicListenerManagers.forEach(SessionTopicListenerManager::detachFromMessager);
       sessionTopicListenerManagers.clear();
       sharedBuffer.dispose();
+      jvmStatisticsGenerator.dispose();
       rootRegistry.destroy();
 
       executorService.shutdown();
+      if (bufferForkJoinPool != null)
+         bufferForkJoinPool.shutdown();
       inertialFrame.removeListeners();
       inertialFrame.clearChildren();
    }
@@ -1471,6 +1858,7 @@ public abstract class Session
       runActualDT.reset();
       playbackActualDT.reset();
       pauseActualDT.reset();
+      sessionThreadTimingStatistics.reset();
 
       Runnable command;
       Runnable sessionModeTask = sessionModeToTaskMap.get(newMode);
@@ -1513,6 +1901,8 @@ public abstract class Session
          return;
 
       activePeriodicTask = new PeriodicTaskWrapper(command, computeThreadPeriod(newMode), TimeUnit.NANOSECONDS);
+      activePeriodicTask.setTimingStrategy(timingStrategy, timingSpinWindow);
+      activePeriodicTask.setTimingStatistics(sessionThreadTimingStatistics);
       activeMode.set(newMode);
       schedulingSessionMode(previousMode, newMode);
       executorService.execute(activePeriodicTask);
@@ -1628,9 +2018,13 @@ public abstract class Session
 
       long currentTimestamp = System.nanoTime();
 
+      if (latencyHistogramsResetRequested.getAndSet(false))
+         latencyHistograms.forEach(YoLatencyHistogram::reset);
+
       if (currentTimestamp - lastSessionPropertiesPublishTimestamp > sessionPropertiesPublishPeriod)
       {
          lastSessionPropertiesPublishTimestamp = currentTimestamp;
+         latencyHistograms.forEach(YoLatencyHistogram::updateVariables);
          reportActiveMode();
       }
 
@@ -1766,6 +2160,36 @@ public abstract class Session
     *                         {@code nextRunBufferRecordTickCounter} value.
     */
    protected void finalizeRunTick(boolean forceWriteBuffer)
+   {
+      if (recordRunTick(forceWriteBuffer))
+      {
+         long currentTimestamp = System.nanoTime();
+
+         if (currentTimestamp - lastPublishedBufferTimestamp > desiredBufferPublishPeriod.get())
+         {
+            if (prepareLinkedBuffersForPull())
+               lastPublishedBufferTimestamp = currentTimestamp;
+         }
+
+         processBufferRequests(false);
+         publishBufferProperties(sharedBuffer.getProperties());
+      }
+   }
+
+   /**
+    * Writes the {@code YoVariable}s into the buffer if the current run tick is a record tick, and
+    * updates the tick counters.
+    * <p>
+    * This is the part of {@link #finalizeRunTick(boolean)} that is also performed at every tick of
+    * {@link #runBatch(long, BooleanSupplier)}, the publication of the buffer being deferred to the end
+    * of the batch.
+    * </p>
+    *
+    * @param forceWriteBuffer whether to write the buffer even if the current tick is not a record
+    *                         tick.
+    * @return {@code true} if the buffer was written, {@code false} otherwise.
+    */
+   protected boolean recordRunTick(boolean forceWriteBuffer)
    {
       boolean writeBuffer = nextRunBufferRecordTickCounter <= 0;
 
@@ -1778,23 +2202,12 @@ public abstract class Session
       if (writeBuffer)
       {
          sharedBuffer.writeBuffer();
-
-         long currentTimestamp = System.nanoTime();
-
-         if (currentTimestamp - lastPublishedBufferTimestamp > desiredBufferPublishPeriod.get())
-         {
-            sharedBuffer.prepareLinkedBuffersForPull();
-            lastPublishedBufferTimestamp = currentTimestamp;
-         }
-
-         processBufferRequests(false);
-         publishBufferProperties(sharedBuffer.getProperties());
-
          nextRunBufferRecordTickCounter = Math.max(1, bufferRecordTickPeriod.get());
       }
 
       runTickCounter++;
       nextRunBufferRecordTickCounter--;
+      return writeBuffer;
    }
 
    /**
@@ -1808,6 +2221,94 @@ public abstract class Session
       return nextRunBufferRecordTickCounter == Math.max(1, bufferRecordTickPeriod.get()) - 1;
    }
 
+   /**
+    * Performs run ticks in a tight loop, favoring throughput over observability.
+    * <p>
+    * This is meant for headless sessions, e.g. CI or parameter sweeps. Compared to calling
+    * {@link #runTick()} repeatedly, the run timers, the real-time rate, and the JVM statistics are not
+    * updated at every tick, and the publication of the buffer to the listeners and the processing of
+    * the buffer requests are deferred to the end of the batch. The buffer is still written every
+    * {@link #getBufferRecordTickPeriod()} ticks, see {@link #recordRunTick(boolean)}. At the end of
+    * the batch, {@code runRealtimeRate} is set to the average real-time rate of the batch and the
+    * per-tick JVM statistics are reset such that the batch is not reported as a single tick.
+    * </p>
+    * <p>
+    * The internal thread of this session has to be stopped. The session is switched to
+    * {@link SessionMode#RUNNING} if needed. As with {@link #runTick()}, the batch stops and the session
+    * is paused once the maximum run duration, see {@link #submitRunMaxDuration(long)}, is reached.
+    * </p>
+    *
+    * @param numberOfTicks     the number of ticks to perform, use {@link Long#MAX_VALUE} to run until
+    *                          the terminal condition is met.
+    * @param terminalCondition [Optional] condition evaluated after every tick to stop the batch
+    *                          early. Can be {@code null}.
+    * @return the result of the batch including the achieved number of ticks per second.
+    * @throws IllegalStateException if the internal thread of this session is running.
+    */
+   public SessionBatchRunResult runBatch(long numberOfTicks, BooleanSupplier terminalCondition)
+   {
+      if (hasSessionStarted())
+         throw new IllegalStateException("The session thread has to be stopped to run a batch.");
+
+      if (getActiveMode() != SessionMode.RUNNING)
+         setSessionMode(SessionMode.RUNNING);
+
+      doGeneric(SessionMode.RUNNING);
+
+      double startTime = time.getValue();
+      long startTimestamp = System.nanoTime();
+      long tick = 0L;
+      boolean caughtException = false;
+      boolean reachedRunMaxDuration = false;
+
+      while (tick < numberOfTicks && !isSessionShutdown())
+      {
+         initializeRunTick();
+
+         try
+         {
+            time.set(doSpecificRunTick());
+
+            if (nextRunBufferRecordTickCounter <= 0)
+               equationManager.update(time.getValue());
+         }
+         catch (Throwable e)
+         {
+            e.printStackTrace();
+            runThrowableListeners.forEach(listener -> listener.accept(e));
+            caughtException = true;
+         }
+
+         recordRunTick(false);
+         tick++;
+
+         if (caughtException || terminalCondition != null && terminalCondition.getAsBoolean())
+            break;
+
+         if (runMaxDuration.get() > 0L && runTickCounter * sessionDTNanoseconds.get() >= runMaxDuration.get())
+         {
+            reachedRunMaxDuration = true;
+            break;
+         }
+      }
+
+      long elapsedNanoseconds = System.nanoTime() - startTimestamp;
+      SessionBatchRunResult result = new SessionBatchRunResult(tick, elapsedNanoseconds, time.getValue() - startTime, !caughtException);
+
+      // Deferred updates and publication.
+      runRealtimeRate.set(result.getRealTimeRate());
+      jvmStatisticsGenerator.resetTickStatistics();
+      if (prepareLinkedBuffersForPull())
+         lastPublishedBufferTimestamp = System.nanoTime();
+      processBufferRequests(false);
+      publishBufferProperties(sharedBuffer.getProperties());
+
+      if (caughtException || reachedRunMaxDuration)
+         setSessionMode(SessionMode.PAUSE);
+
+      return result;
+   }
+
    /**
     * Calculates the period in nanoseconds the periodic thread should be running at for
     * {@link SessionMode#PLAYBACK}.
@@ -1906,8 +2407,8 @@ public abstract class Session
 
       if (currentTimestamp - lastPublishedBufferTimestamp > desiredBufferPublishPeriod.get())
       {
-         sharedBuffer.prepareLinkedBuffersForPull();
-         lastPublishedBufferTimestamp = currentTimestamp;
+         if (prepareLinkedBuffersForPull())
+            lastPublishedBufferTimestamp = currentTimestamp;
       }
 
       processBufferRequests(true, false);
@@ -1999,13 +2500,33 @@ public abstract class Session
 
       if (currentTimestamp - lastPublishedBufferTimestamp > desiredBufferPublishPeriod.get())
       {
-         sharedBuffer.prepareLinkedBuffersForPull();
-         lastPublishedBufferTimestamp = currentTimestamp;
+         if (prepareLinkedBuffersForPull())
+            lastPublishedBufferTimestamp = currentTimestamp;
       }
 
       publishBufferProperties(sharedBuffer.getProperties());
    }
 
+   /**
+    * Publishes the current values of the buffer to the buffer consumers and updates the statistics of
+    * the publication.
+    *
+    * @return {@code true} if the values were published, {@code false} if the publication was skipped
+    *         because a consumer was modifying its linked buffers, in which case it should be attempted
+    *         again at the next tick.
+    */
+   protected boolean prepareLinkedBuffersForPull()
+   {
+      boolean published = sharedBuffer.prepareLinkedBuffersForPull();
+
+      LinkedBufferStatistics statistics = sharedBuffer.getLinkedBufferStatistics();
+      bufferPublicationCount.set(statistics.getPublicationCount());
+      bufferSkippedPublicationCount.set(statistics.getSkippedPublicationCount());
+      bufferPullCount.set(statistics.getPullCount());
+      bufferPullRetryCount.set(statistics.getPullRetryCount());
+      return published;
+   }
+
    /**
     * Submits the given buffer properties to all the listeners.
     *
@@ -2039,7 +2560,8 @@ public abstract class Session
     * Handles user requests for modifying the buffer.
     * <p>
     * Operations handled here are: changing indices (current, in-point, out-point), resizing, cropping,
-    * filling.
+    * filling. The statistics requests do not modify the buffer and are processed regardless of the
+    * permissions.
     * </p>
     *
     * @param bufferIndexChangePermitted indicates whether changing the current index is permitted.
@@ -2064,6 +2586,7 @@ public abstract class Session
       }
 
       Integer newIndex = pendingBufferIndexRequest.poll();
+      Double newTime = pendingBufferTimeRequest.poll();
       Integer newInPoint = pendingBufferInPointIndexRequest.poll();
       Integer newOutPoint = pendingBufferOutPointIndexRequest.poll();
       Integer incStepSize = pendingIncrementBufferIndexRequest.poll();
@@ -2071,9 +2594,20 @@ public abstract class Session
       Integer newSize = pendingBufferSizeRequest.poll();
       FillBufferRequest fillBufferRequest = pendingFillBufferRequest.poll();
       SessionDataExportRequest dataExportRequest = pendingDataExportRequest.poll();
+      SessionBufferStatisticsRequest bufferStatisticsRequest = pendingBufferStatisticsRequest.poll();
+
+      if (bufferStatisticsRequest != null)
+         processBufferStatisticsRequest(bufferStatisticsRequest);
 
       if (bufferIndexChangePermitted)
       {
+         if (newIndex == null && newTime != null && sharedBuffer.getTimeIndex() != null)
+         {
+            int indexAtTime = sharedBuffer.getTimeIndex().indexAtTime(newTime);
+            if (indexAtTime != -1)
+               newIndex = indexAtTime;
+         }
+
          if (newIndex != null)
             hasBufferBeenUpdated |= sharedBuffer.setCurrentIndex(newIndex);
       }
@@ -2119,7 +2653,7 @@ public abstract class Session
 
       if (newSize != null)
       {
-         if (newSize > sharedBuffer.getProperties().getSize())
+         if (newSize > sharedBuffer.getProperties().getSize() && sharedBuffer.getStorage().isHeapBacked())
          {
             long maxMemory = Runtime.getRuntime().maxMemory();
             long singleFrame = sharedBuffer.getSingleBufferFrameMemorySize();
@@ -2137,6 +2671,53 @@ public abstract class Session
       return hasBufferBeenUpdated;
    }
 
+   private void processBufferStatisticsRequest(SessionBufferStatisticsRequest request)
+   {
+      YoRegistry rootRegistry = sharedBuffer.getRootRegistry();
+      List<YoVariable> variables = new ArrayList<>();
+
+      for (String variableFullname : request.getVariableFullnames())
+         variables.add(rootRegistry.findVariable(variableFullname));
+
+      YoBufferPropertiesReadOnly properties = sharedBuffer.getProperties();
+      int from = request.getFromIndex() == -1 ? properties.getInPoint() : request.getFromIndex();
+      int to = request.getToIndex() == -1 ? properties.getOutPoint() : request.getToIndex();
+      ForkJoinPool forkJoinPool = bufferForkJoinPool != null ? bufferForkJoinPool : ForkJoinPool.commonPool();
+      request.setStatistics(sharedBuffer.computeStatistics(variables, from, to, request.getPercentileLevels(), forkJoinPool));
+   }
+
+   private static YoBufferStorage newDefaultBufferStorage()
+   {
+      if (DEFAULT_BUFFER_SHARED_MEMORY)
+      { // The other storages would hide the variables from the external readers.
+         if (DEFAULT_BUFFER_SHARED_MEMORY_DIRECTORY != null)
+            return new SharedMemoryBufferStorage(Path.of(DEFAULT_BUFFER_SHARED_MEMORY_DIRECTORY));
+         else
+            return new SharedMemoryBufferStorage();
+      }
+
+      YoBufferStorage storage;
+
+      if (DEFAULT_BUFFER_OFF_HEAP)
+         storage = new MappedBufferStorage(SessionIOTools.SCS2_TEMP_FOLDER_PATH.resolve("buffer"));
+      else
+         storage = YoBufferStorage.HEAP;
+
+      if (DEFAULT_BUFFER_SEGMENTED)
+         storage = new SegmentedBufferStorage(storage);
+
+      if (DEFAULT_BUFFER_PACKED)
+         storage = new PackedBufferStorage(storage, DEFAULT_BUFFER_PACKED_INTEGERS);
+
+      if (DEFAULT_BUFFER_COMPRESSED)
+         storage = new CompressedBufferStorage(storage);
+
+      if (DEFAULT_BUFFER_SPARSE)
+         storage = new SparseBufferStorage(storage);
+
+      return storage;
+   }
+
    /**
     * Gets the variable holding the current time (in seconds) in this session.
     *
@@ -2260,6 +2841,42 @@ public abstract class Session
       return desiredBufferPublishPeriod.get();
    }
 
+   /**
+    * Returns the histograms tracking the tail latency of each phase of the session ticks, e.g.
+    * {@link #runTick()} or {@link #doSpecificRunTick()}.
+    * <p>
+    * The histograms are updated by the session thread, reading them from another thread can result
+    * in inconsistent values.
+    * </p>
+    *
+    * @return the latency histograms.
+    */
+   public List<YoLatencyHistogram> getLatencyHistograms()
+   {
+      return latencyHistograms;
+   }
+
+   /**
+    * Returns the strategy used by the session thread to wait for the start of its next period.
+    *
+    * @return the timing strategy.
+    */
+   public SessionTimingStrategy getTimingStrategy()
+   {
+      return timingStrategy;
+   }
+
+   /**
+    * Returns the duration in nanoseconds of the busy-wait when using
+    * {@link SessionTimingStrategy#HYBRID}.
+    *
+    * @return the spin window in nanoseconds.
+    */
+   public long getTimingSpinWindow()
+   {
+      return timingSpinWindow;
+   }
+
    /**
     * The max duration in nanoseconds for the running mode before switching back to pause mode.
     *
@@ -2401,6 +3018,7 @@ public abstract class Session
       private final TopicListener<CropBufferRequest> cropRequestListener = Session.this::submitCropBufferRequest;
       private final TopicListener<FillBufferRequest> fillRequestListener = Session.this::submitFillBufferRequest;
       private final TopicListener<Integer> currentIndexListener = Session.this::submitBufferIndexRequest;
+      private final TopicListener<Double> currentTimeListener = Session.this::submitBufferTimeRequest;
       private final TopicListener<Integer> inPointIndexListener = Session.this::submitBufferInPointIndexRequest;
       private final TopicListener<Integer> outPointIndexListener = Session.this::submitBufferOutPointIndexRequest;
       private final TopicListener<Integer> incrementCurrentIndexListener = Session.this::submitIncrementBufferIndexRequest;
@@ -2424,6 +3042,12 @@ public abstract class Session
       private final TopicListener<Integer> initializeBufferRecordTickPeriodListener = Session.this::initializeBufferRecordTickPeriod;
       private final TopicListener<Long> runMaxDurationListener = Session.this::submitRunMaxDuration;
       private final TopicListener<SessionDataExportRequest> sessionDataExportRequestListener = Session.this::submitSessionDataExportRequest;
+      private final TopicListener<SessionBufferStatisticsRequest> bufferStatisticsRequestListener = Session.this::submitBufferStatisticsRequest;
+      private final TopicListener<Boolean> latencyHistogramsResetListener = reset ->
+      {
+         if (reset)
+            resetLatencyHistograms();
+      };
 
       private final TopicListener<SessionRobotDefinitionListChange> robotDefinitionListChangeRequestListener = Session.this::submitRobotDefinitionListChange;
       private final TopicListener<YoEquationListChange> equationListChangeRequestListener = Session.this::submitEquationListChange;
@@ -2438,6 +3062,7 @@ public abstract class Session
          messager.addTopicListener(YoSharedBufferMessagerAPI.CropRequest, cropRequestListener);
          messager.addTopicListener(YoSharedBufferMessagerAPI.FillRequest, fillRequestListener);
          messager.addTopicListener(YoSharedBufferMessagerAPI.CurrentIndexRequest, currentIndexListener);
+         messager.addTopicListener(YoSharedBufferMessagerAPI.CurrentTimeRequest, currentTimeListener);
          messager.addTopicListener(YoSharedBufferMessagerAPI.InPointIndexRequest, inPointIndexListener);
          messager.addTopicListener(YoSharedBufferMessagerAPI.OutPointIndexRequest, outPointIndexListener);
          messager.addTopicListener(YoSharedBufferMessagerAPI.IncrementCurrentIndexRequest, incrementCurrentIndexListener);
@@ -2457,6 +3082,8 @@ public abstract class Session
          messager.addTopicListener(SessionMessagerAPI.InitializeBufferRecordTickPeriod, initializeBufferRecordTickPeriodListener);
          messager.addTopicListener(SessionMessagerAPI.RunMaxDuration, runMaxDurationListener);
          messager.addTopicListener(SessionMessagerAPI.SessionDataExportRequest, sessionDataExportRequestListener);
+         messager.addTopicListener(SessionMessagerAPI.SessionBufferStatisticsRequest, bufferStatisticsRequestListener);
+         messager.addTopicListener(SessionMessagerAPI.SessionLatencyHistogramsReset, latencyHistogramsResetListener);
 
          bufferListenerForceUpdateListeners.add(() ->
                                                 {
@@ -2484,6 +3111,7 @@ public abstract class Session
          messager.removeTopicListener(YoSharedBufferMessagerAPI.CropRequest, cropRequestListener);
          messager.removeTopicListener(YoSharedBufferMessagerAPI.FillRequest, fillRequestListener);
          messager.removeTopicListener(YoSharedBufferMessagerAPI.CurrentIndexRequest, currentIndexListener);
+         messager.removeTopicListener(YoSharedBufferMessagerAPI.CurrentTimeRequest, currentTimeListener);
          messager.removeTopicListener(YoSharedBufferMessagerAPI.InPointIndexRequest, inPointIndexListener);
          messager.removeTopicListener(YoSharedBufferMessagerAPI.OutPointIndexRequest, outPointIndexListener);
          messager.removeTopicListener(YoSharedBufferMessagerAPI.IncrementCurrentIndexRequest, incrementCurrentIndexListener);
@@ -2500,6 +3128,8 @@ public abstract class Session
          messager.removeTopicListener(SessionMessagerAPI.InitializeBufferRecordTickPeriod, initializeBufferRecordTickPeriodListener);
          messager.removeTopicListener(SessionMessagerAPI.RunMaxDuration, runMaxDurationListener);
          messager.removeTopicListener(SessionMessagerAPI.SessionDataExportRequest, sessionDataExportRequestListener);
+         messager.removeTopicListener(SessionMessagerAPI.SessionBufferStatisticsRequest, bufferStatisticsRequestListener);
+         messager.removeTopicListener(SessionMessagerAPI.SessionLatencyHistogramsReset, latencyHistogramsResetListener);
 
          messager.removeTopicListener(SessionMessagerAPI.SessionRobotDefinitionListChangeRequest, robotDefinitionListChangeRequestListener);
          messager.removeTopicListener(SessionMessagerAPI.SessionYoEquationListChangeRequest, equationListChangeRequestListener);
@@ -2631,13 +3261,22 @@ public abstract class Session
       protected final long desiredPeriodInNanos;
 
       /**
-       * Variable to track the next absolute desired time to run the task.
+       * The strategy used to wait for the start of the next period.
        */
-      private long desiredTimeNanos = Long.MIN_VALUE;
+      private volatile SessionTimingStrategy timingStrategy = SessionTimingStrategy.SLEEP;
+      /**
+       * The duration of the busy-wait when using {@link SessionTimingStrategy#HYBRID}.
+       */
+      private volatile long spinWindowNanos = 0L;
+      /**
+       * [Optional] Statistics on the delay between the desired and actual start of each period.
+       */
+      private SessionTimingStatistics timingStatistics;
+
       /**
-       * Variable to track the current measured time spent running the task.
+       * Variable to track the next absolute desired time to run the task.
        */
-      private long currentTimeNanos = Long.MIN_VALUE;
+      private long desiredTimeNanos = Long.MIN_VALUE;
 
       /**
        * Whether the task is being run or not.
@@ -2656,6 +3295,31 @@ public abstract class Session
          desiredPeriodInNanos = timeUnit.toNanos(period);
       }
 
+      /**
+       * Sets the strategy used to wait for the start of the next period, it can be changed while the
+       * task is running.
+       *
+       * @param timingStrategy  the new strategy. Default value {@link SessionTimingStrategy#SLEEP}.
+       * @param spinWindowNanos the duration of the busy-wait when using
+       *                        {@link SessionTimingStrategy#HYBRID}.
+       */
+      public void setTimingStrategy(SessionTimingStrategy timingStrategy, long spinWindowNanos)
+      {
+         this.timingStrategy = timingStrategy;
+         this.spinWindowNanos = spinWindowNanos;
+      }
+
+      /**
+       * Sets the statistics to be updated at each period, they are updated from the thread running
+       * the task. Has to be called before starting the task.
+       *
+       * @param timingStatistics the statistics to update, can be {@code null}.
+       */
+      public void setTimingStatistics(SessionTimingStatistics timingStatistics)
+      {
+         this.timingStatistics = timingStatistics;
+      }
+
       public void stop()
       {
          running.set(false);
@@ -2723,35 +3387,21 @@ public abstract class Session
 
       public void singleExecuteAndSleep()
       {
-         long startTime = System.nanoTime();
+         if (desiredTimeNanos == Long.MIN_VALUE)
+            desiredTimeNanos = System.nanoTime();
+
          task.run();
          // Using absolute timing provides better average accuracy when trying to run at a given rate.
          desiredTimeNanos += desiredPeriodInNanos;
-         long currentTimeAdjusted = currentTimeNanos + System.nanoTime() - startTime;
+         SessionTimingStrategy strategy = timingStrategy;
+         boolean overrun = System.nanoTime() - desiredTimeNanos >= 0L;
 
-         if (currentTimeAdjusted < desiredTimeNanos)
-         {
-            sleep(desiredTimeNanos - currentTimeAdjusted);
-         }
-         currentTimeNanos += System.nanoTime() - startTime;
-      }
+         if (!overrun && !strategy.waitUntil(desiredTimeNanos, spinWindowNanos))
+            running.set(false); // Interrupted
 
-      protected static final int ONE_MILLION = 1000000;
-
-      protected void sleep(long nanos)
-      {
-         long millis = nanos / ONE_MILLION;
-         nanos -= millis * ONE_MILLION;
-
-         try
-         {
-            Thread.sleep(millis, (int) nanos);
-         }
-         catch (InterruptedException e)
-         {
-            e.printStackTrace();
-            running.set(false);
-         }
+         // A period of 1ns is used to run as fast as possible, no point in measuring the timing.
+         if (timingStatistics != null && desiredPeriodInNanos > 1L)
+            timingStatistics.update(strategy, System.nanoTime() - desiredTimeNanos, overrun);
       }
    }
 
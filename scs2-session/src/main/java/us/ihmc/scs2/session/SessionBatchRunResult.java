@@ -0,0 +1,57 @@
+package us.ihmc.scs2.session;
+
+import us.ihmc.commons.Conversions;
+
+/**
+ * Outcome of a batch of run ticks, see {@link Session#runBatch(long, java.util.function.BooleanSupplier)}.
+ *
+ * @param numberOfTicks      the number of run ticks performed.
+ * @param elapsedNanoseconds the wall-clock duration of the batch in nanoseconds.
+ * @param sessionDuration    the session time elapsed during the batch in seconds, e.g. the simulated
+ *                           duration.
+ * @param success            {@code false} if the batch was interrupted by an exception or by a
+ *                           terminal condition reporting a failure.
+ */
+public record SessionBatchRunResult(long numberOfTicks, long elapsedNanoseconds, double sessionDuration, boolean success)
+{
+   /**
+    * Gets the average number of run ticks performed per second of wall-clock time.
+    *
+    * @return the throughput of the batch in ticks per second.
+    */
+   public double getTicksPerSecond()
+   {
+      return elapsedNanoseconds == 0L ? 0.0 : numberOfTicks / Conversions.nanosecondsToSeconds(elapsedNanoseconds);
+   }
+
+   /**
+    * Gets the average real-time rate of the batch.
+    *
+    * @return the ratio of the session duration over the wall-clock duration.
+    */
+   public double getRealTimeRate()
+   {
+      return elapsedNanoseconds == 0L ? 0.0 : sessionDuration / Conversions.nanosecondsToSeconds(elapsedNanoseconds);
+   }
+
+   /**
+    * Creates a copy of this result marked as failed.
+    *
+    * @return the failed result.
+    */
+   public SessionBatchRunResult toFailure()
+   {
+      return new SessionBatchRunResult(numberOfTicks, elapsedNanoseconds, sessionDuration, false);
+   }
+
+   @Override
+   public String toString()
+   {
+      return String.format("%d ticks in %.3f s: %.1f ticks/s, real-time rate: %.2f%s",
+                           numberOfTicks,
+                           Conversions.nanosecondsToSeconds(elapsedNanoseconds),
+                           getTicksPerSecond(),
+                           getRealTimeRate(),
+                           success ? "" : " (failed)");
+   }
+}
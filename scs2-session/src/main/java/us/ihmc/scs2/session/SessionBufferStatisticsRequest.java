@@ -0,0 +1,186 @@
+package us.ihmc.scs2.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import us.ihmc.scs2.sharedMemory.YoBufferStatistics;
+import us.ihmc.yoVariables.variable.YoVariable;
+
+/**
+ * This class contains the information required to request the statistics of variables over the
+ * session's buffer.
+ * <p>
+ * The statistics are computed by the session directly from its buffer, the variables are identified
+ * by their full name such that the request can be created from a copy of the session's registry,
+ * e.g. from the session visualizer.
+ * </p>
+ */
+public class SessionBufferStatisticsRequest
+{
+   /** The full name of the variables to compute the statistics of. */
+   private final List<String> variableFullnames = new ArrayList<>();
+   /** The levels, in [0, 100], of the percentiles to compute. */
+   private double[] percentileLevels = {50.0, 99.0, 99.9};
+   /** The first index of the range, {@code -1} to use the in-point. */
+   private int fromIndex = -1;
+   /** The last index of the range, {@code -1} to use the out-point. */
+   private int toIndex = -1;
+
+   /** Callback invoked with the statistics once computed. */
+   private Consumer<List<YoBufferStatistics>> onStatisticsComputedCallback = null;
+   /** The statistics computed by the session, one per variable. */
+   private List<YoBufferStatistics> statistics = null;
+
+   /**
+    * Creates a new empty request.
+    */
+   public SessionBufferStatisticsRequest()
+   {
+   }
+
+   /**
+    * Creates a new request for the given variables.
+    *
+    * @param variables the variables to compute the statistics of.
+    */
+   public SessionBufferStatisticsRequest(List<? extends YoVariable> variables)
+   {
+      for (YoVariable variable : variables)
+         addVariable(variable);
+   }
+
+   /**
+    * Adds a variable to compute the statistics of.
+    *
+    * @param variable the variable, only its full name is stored in the request.
+    */
+   public void addVariable(YoVariable variable)
+   {
+      addVariableFullname(variable.getFullNameString());
+   }
+
+   /**
+    * Adds a variable to compute the statistics of.
+    *
+    * @param variableFullname the full name of the variable.
+    */
+   public void addVariableFullname(String variableFullname)
+   {
+      variableFullnames.add(variableFullname);
+   }
+
+   /**
+    * [Optional] Sets the percentiles to compute.
+    *
+    * @param percentileLevels the levels, in [0, 100], of the percentiles. Default value
+    *                         {@code {50.0, 99.0, 99.9}}.
+    */
+   public void setPercentileLevels(double... percentileLevels)
+   {
+      this.percentileLevels = percentileLevels;
+   }
+
+   /**
+    * [Optional] Sets the range of the buffer to compute the statistics over.
+    * <p>
+    * By default, the statistics are computed from the in-point to the out-point.
+    * </p>
+    *
+    * @param fromIndex the first index of the range (inclusive), or {@code -1} to use the in-point.
+    * @param toIndex   the last index of the range (inclusive), or {@code -1} to use the out-point.
+    */
+   public void setRange(int fromIndex, int toIndex)
+   {
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+   }
+
+   /**
+    * Sets a callback to be notified when the statistics have been computed.
+    * <p>
+    * The callback is invoked from the session thread.
+    * </p>
+    *
+    * @param onStatisticsComputedCallback the callback.
+    */
+   public void setOnStatisticsComputedCallback(Consumer<List<YoBufferStatistics>> onStatisticsComputedCallback)
+   {
+      this.onStatisticsComputedCallback = onStatisticsComputedCallback;
+   }
+
+   /**
+    * Gets the full name of the variables to compute the statistics of.
+    *
+    * @return the variable full names.
+    */
+   public List<String> getVariableFullnames()
+   {
+      return variableFullnames;
+   }
+
+   /**
+    * Gets the levels of the percentiles to compute.
+    *
+    * @return the percentile levels.
+    */
+   public double[] getPercentileLevels()
+   {
+      return percentileLevels;
+   }
+
+   /**
+    * Gets the first index of the range.
+    *
+    * @return the first index, or {@code -1} for the in-point.
+    */
+   public int getFromIndex()
+   {
+      return fromIndex;
+   }
+
+   /**
+    * Gets the last index of the range.
+    *
+    * @return the last index, or {@code -1} for the out-point.
+    */
+   public int getToIndex()
+   {
+      return toIndex;
+   }
+
+   /**
+    * Gets the callback to be notified when the statistics have been computed.
+    *
+    * @return the callback.
+    */
+   public Consumer<List<YoBufferStatistics>> getOnStatisticsComputedCallback()
+   {
+      return onStatisticsComputedCallback;
+   }
+
+   /**
+    * Sets the statistics computed for this request, operation for the session only.
+    *
+    * @param statistics the statistics of each variable.
+    */
+   public void setStatistics(List<YoBufferStatistics> statistics)
+   {
+      this.statistics = statistics;
+
+      if (onStatisticsComputedCallback != null)
+         onStatisticsComputedCallback.accept(statistics);
+   }
+
+   /**
+    * Gets the statistics computed by the session.
+    *
+    * @return the statistics of each variable, in the same order as the variables were added. An
+    *         element is {@code null} if the corresponding variable could not be found. The list itself
+    *         is {@code null} until the request has been processed.
+    */
+   public List<YoBufferStatistics> getStatistics()
+   {
+      return statistics;
+   }
+}
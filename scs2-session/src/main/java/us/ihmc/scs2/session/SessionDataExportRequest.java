@@ -1,6 +1,7 @@
 package us.ihmc.scs2.session;
 
 import java.io.File;
+import java.util.function.DoubleConsumer;
 import java.util.function.Predicate;
 
 import us.ihmc.scs2.sharedMemory.tools.SharedMemoryIOTools.DataFormat;
@@ -38,11 +39,17 @@ public class SessionDataExportRequest
    private boolean exportRobotStateDefinitions = true;
    /** The output format for storing the buffered data. */
    private DataFormat exportSessionBufferDataFormat = DataFormat.CSV;
+   /** Whether to compress the buffered data, only used with {@link DataFormat#BINARY}. */
+   private boolean compressSessionBufferData = false;
+   /** Whether to export the latency histograms of the session timers. */
+   private boolean exportLatencyHistograms = false;
 
    /** Callback invoked when the export starts. */
    private Runnable onExportStartCallback = null;
    /** Callback invoked when the export ends. */
    private Runnable onExportEndCallback = null;
+   /** Callback invoked with the fraction of the buffered data exported so far. */
+   private DoubleConsumer onExportProgressCallback = null;
 
    /**
     * Creates a new request.
@@ -194,6 +201,35 @@ public class SessionDataExportRequest
       this.exportSessionBufferDataFormat = exportSessionBufferDataFormat;
    }
 
+   /**
+    * Sets whether to compress the buffered data, only supported by the {@link DataFormat#BINARY}
+    * format.
+    *
+    * @param compressSessionBufferData {@code true} to compress the data, {@code false} to store it
+    *                                  as is such that it can be memory-mapped when loaded. Default
+    *                                  value {@code false}.
+    */
+   public void setCompressSessionBufferData(boolean compressSessionBufferData)
+   {
+      this.compressSessionBufferData = compressSessionBufferData;
+   }
+
+   /**
+    * Sets whether to export the latency histograms of the session timers, see
+    * {@link Session#getLatencyHistograms()}.
+    * <p>
+    * The histograms are summarized in a CSV file with one row per timer, allowing for instance to
+    * verify the tail latency of a real-time-rate run.
+    * </p>
+    *
+    * @param exportLatencyHistograms {@code true} to export the histograms, {@code false} to skip.
+    *                                Default value {@code false}.
+    */
+   public void setExportLatencyHistograms(boolean exportLatencyHistograms)
+   {
+      this.exportLatencyHistograms = exportLatencyHistograms;
+   }
+
    /**
     * Sets a callback to be notified when the export is starting.
     *
@@ -214,6 +250,20 @@ public class SessionDataExportRequest
       this.onExportEndCallback = onExportEndCallback;
    }
 
+   /**
+    * Sets a callback to be notified of the progress of the export of the buffered data.
+    * <p>
+    * The callback is invoked with the fraction, in [0, 1], of the buffered data written so far. Only
+    * the {@link DataFormat#ASCII} and {@link DataFormat#CSV} formats report their progress.
+    * </p>
+    *
+    * @param onExportProgressCallback the callback.
+    */
+   public void setOnExportProgressCallback(DoubleConsumer onExportProgressCallback)
+   {
+      this.onExportProgressCallback = onExportProgressCallback;
+   }
+
    /**
     * The destination folder where the session data is to be exported.
     *
@@ -314,6 +364,26 @@ public class SessionDataExportRequest
       return exportSessionBufferDataFormat;
    }
 
+   /**
+    * Whether to compress the buffered data.
+    *
+    * @return {@code true} to compress the data.
+    */
+   public boolean getCompressSessionBufferData()
+   {
+      return compressSessionBufferData;
+   }
+
+   /**
+    * Whether to export the latency histograms of the session timers.
+    *
+    * @return {@code true} to enable export.
+    */
+   public boolean getExportLatencyHistograms()
+   {
+      return exportLatencyHistograms;
+   }
+
    /**
     * The callback to be notified when the export is starting.
     *
@@ -334,6 +404,16 @@ public class SessionDataExportRequest
       return onExportEndCallback;
    }
 
+   /**
+    * The callback to be notified of the progress of the export of the buffered data.
+    *
+    * @return the callback.
+    */
+   public DoubleConsumer getOnExportProgressCallback()
+   {
+      return onExportProgressCallback;
+   }
+
    @Override
    public String toString()
    {
@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.PrintWriter;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -66,6 +67,7 @@ public class SessionIOTools
    public static final String terrainObjectDefinitionFileExtension = ".scs2.terrain";
    public static final String yoGraphicConfigurationFileExtension = ".scs2.yoGraphic";
    public static final String yoRegistryDefinitionFileExtension = ".scs2.registry";
+   public static final String latencyHistogramsFileExtension = ".scs2.latency.csv";
 
    public static void exportSessionData(Session session, SessionDataExportRequest request) throws JAXBException, IOException, URISyntaxException
    {
@@ -136,7 +138,8 @@ public class SessionIOTools
                                          robotDefinitionFileExtension,
                                          terrainObjectDefinitionFileExtension,
                                          yoGraphicConfigurationFileExtension,
-                                         yoRegistryDefinitionFileExtension};
+                                         yoRegistryDefinitionFileExtension,
+                                         latencyHistogramsFileExtension};
                allExtensions = SharedMemoryTools.concatenate(allExtensions,
                                                              Arrays.stream(DataFormat.values()).map(DataFormat::getFileExtension).toArray(String[]::new));
 
@@ -299,14 +302,20 @@ public class SessionIOTools
          switch (request.getExportSessionBufferDataFormat())
          {
             case ASCII:
-               buffer.exportDataASCII(new FileOutputStream(dataFile), variableFilter, registryFilter);
+               buffer.exportDataASCII(dataFile, variableFilter, registryFilter, request.getOnExportProgressCallback());
                break;
             case CSV:
-               buffer.exportDataCSV(new FileOutputStream(dataFile), variableFilter, registryFilter);
+               buffer.exportDataCSV(dataFile, variableFilter, registryFilter, request.getOnExportProgressCallback());
                break;
             case MATLAB:
                buffer.exportDataMatlab(dataFile, variableFilter, registryFilter);
                break;
+            case BINARY:
+               buffer.exportDataBinary(dataFile, request.getCompressSessionBufferData(), variableFilter, registryFilter);
+               break;
+            case ARROW:
+               buffer.exportDataArrow(dataFile, variableFilter, registryFilter);
+               break;
             default:
                LogTools.error("Unhandled data format: {}", request.getExportSessionBufferDataFormat());
                break;
@@ -315,10 +324,46 @@ public class SessionIOTools
          LogTools.info("Done exporting session data.");
       }
 
+      if (request.getExportLatencyHistograms())
+      {
+         File latencyFile = new File(file, "latency" + latencyHistogramsFileExtension);
+         LogTools.info("Exporting latency histograms. File: {}", latencyFile);
+         exportLatencyHistograms(session.getLatencyHistograms(), latencyFile);
+      }
+
       File sessionInfoFile = new File(file, "session" + infoFileExtension);
       DefinitionIOTools.saveSessionInformationDefinition(new FileOutputStream(sessionInfoFile), sessionInfo);
    }
 
+   /**
+    * Writes a summary of the given histograms in a CSV file, one row per histogram with the
+    * percentiles in nanoseconds.
+    *
+    * @param histograms the histograms to export.
+    * @param file       the destination file.
+    * @throws IOException if an I/O error occurs writing the file.
+    */
+   public static void exportLatencyHistograms(List<YoLatencyHistogram> histograms, File file) throws IOException
+   {
+      double[] percentiles = {50.0, 90.0, 99.0, 99.9, 99.99};
+      long[] values = new long[percentiles.length];
+
+      try (PrintWriter writer = new PrintWriter(file))
+      {
+         writer.println("name,count,min[ns],mean[ns],p50[ns],p90[ns],p99[ns],p99.9[ns],p99.99[ns],max[ns]");
+
+         for (YoLatencyHistogram yoHistogram : histograms)
+         {
+            LatencyHistogram histogram = yoHistogram.getHistogram();
+            histogram.getValuesAtPercentiles(percentiles, values);
+            writer.print(yoHistogram.getName() + "," + histogram.getTotalCount() + "," + histogram.getMin() + "," + Math.round(histogram.getMean()));
+            for (long value : values)
+               writer.print("," + value);
+            writer.println("," + histogram.getMax());
+         }
+      }
+   }
+
    public static boolean emptyDirectory(File directoryToEmpty)
    {
       if (!directoryToEmpty.isDirectory())
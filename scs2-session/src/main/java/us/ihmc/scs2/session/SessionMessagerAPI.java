@@ -24,6 +24,7 @@ public class SessionMessagerAPI
    private static final CategoryTheme Session = apiFactory.createCategoryTheme("Session");
    private static final CategoryTheme Record = apiFactory.createCategoryTheme("Record");
    private static final CategoryTheme Export = apiFactory.createCategoryTheme("Export");
+   private static final CategoryTheme Statistics = apiFactory.createCategoryTheme("Statistics");
    private static final CategoryTheme Initialize = apiFactory.createCategoryTheme("Initialize");
 
    private static final CategoryTheme Run = apiFactory.createCategoryTheme("Run");
@@ -40,6 +41,7 @@ public class SessionMessagerAPI
    private static final TopicTheme TickPeriod = apiFactory.createTypedTopicTheme("TickPeriod");
    private static final TopicTheme Data = apiFactory.createTypedTopicTheme("Data");
    private static final TopicTheme Request = apiFactory.createTypedTopicTheme("Request");
+   private static final TopicTheme LatencyHistogramsReset = apiFactory.createTopicTheme("LatencyHistogramsReset");
 
    public static final Topic<Long> SessionDTNanoseconds = root.child(Session).child(Run).topic(Period);
    public static final Topic<SessionState> SessionCurrentState = root.child(Session).topic(State);
@@ -53,6 +55,8 @@ public class SessionMessagerAPI
    public static final Topic<Long> RunMaxDuration = root.child(Session).child(Run).topic(MaxDuration);
 
    public static final Topic<SessionDataExportRequest> SessionDataExportRequest = root.child(Session).child(Export).topic(Data);
+   public static final Topic<SessionBufferStatisticsRequest> SessionBufferStatisticsRequest = root.child(Session).child(Statistics).topic(Request);
+   public static final Topic<Boolean> SessionLatencyHistogramsReset = root.child(Session).child(Statistics).topic(LatencyHistogramsReset);
    public static final Topic<SessionRobotDefinitionListChange> SessionRobotDefinitionListChangeRequest = root.child(Session)
                                                                                                              .child(Change)
                                                                                                              .child(RobotDefinition)
@@ -0,0 +1,99 @@
+package us.ihmc.scs2.session;
+
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoDouble;
+import us.ihmc.yoVariables.variable.YoEnum;
+import us.ihmc.yoVariables.variable.YoLong;
+import us.ihmc.yoVariables.variable.YoVariable;
+
+/**
+ * Statistics on the timing accuracy of the session thread, see {@link Session.PeriodicTaskWrapper}.
+ * The statistics are backed by {@link YoVariable}s allowing to visualize them in the SCS2 GUI.
+ */
+public class SessionTimingStatistics
+{
+   /** The strategy used by the session thread to wait for its next period. */
+   private final YoEnum<SessionTimingStrategy> timingStrategy;
+   /** Delay between the desired and actual start of the last period. */
+   private final YoDouble wakeUpJitter;
+   /** Maximum delay between the desired and actual start of a period since the last reset. */
+   private final YoDouble maxWakeUpJitter;
+   /** Average delay between the desired and actual start of a period since the last reset. */
+   private final YoDouble averageWakeUpJitter;
+   /** Number of periods since the last reset for which the task took longer than the period. */
+   private final YoLong overrunCount;
+
+   private long numberOfPeriods = 0L;
+
+   /**
+    * Creates a new set of statistics.
+    *
+    * @param namePrefix the name prefix used for creating the variables.
+    * @param registry   the registry to attach the variables to.
+    */
+   public SessionTimingStatistics(String namePrefix, YoRegistry registry)
+   {
+      timingStrategy = new YoEnum<>(namePrefix + "TimingStrategy", registry, SessionTimingStrategy.class);
+      wakeUpJitter = new YoDouble(namePrefix + "WakeUpJitter[us]", registry);
+      maxWakeUpJitter = new YoDouble(namePrefix + "MaxWakeUpJitter[us]", registry);
+      averageWakeUpJitter = new YoDouble(namePrefix + "AverageWakeUpJitter[us]", registry);
+      overrunCount = new YoLong(namePrefix + "OverrunCount", registry);
+   }
+
+   /**
+    * Resets the statistics, typically called when the session mode changes.
+    */
+   public void reset()
+   {
+      wakeUpJitter.set(0.0);
+      maxWakeUpJitter.set(0.0);
+      averageWakeUpJitter.set(0.0);
+      overrunCount.set(0L);
+      numberOfPeriods = 0L;
+   }
+
+   /**
+    * Updates the statistics with the timing of a period.
+    *
+    * @param strategy         the strategy used to wait for the start of the period.
+    * @param wakeUpDelayNanos the delay between the desired and actual start of the period.
+    * @param overrun          whether the task took longer than the period, in which case no wait was
+    *                         performed.
+    */
+   public void update(SessionTimingStrategy strategy, long wakeUpDelayNanos, boolean overrun)
+   {
+      timingStrategy.set(strategy);
+
+      if (overrun)
+      {
+         overrunCount.increment();
+         return;
+      }
+
+      double jitter = wakeUpDelayNanos * 1.0e-3;
+      numberOfPeriods++;
+      wakeUpJitter.set(jitter);
+      maxWakeUpJitter.set(Math.max(maxWakeUpJitter.getValue(), jitter));
+      averageWakeUpJitter.add((jitter - averageWakeUpJitter.getValue()) / numberOfPeriods);
+   }
+
+   /**
+    * Gets the number of periods since the last reset for which the task took longer than the period.
+    *
+    * @return the number of overruns.
+    */
+   public long getOverrunCount()
+   {
+      return overrunCount.getValue();
+   }
+
+   /**
+    * Gets the maximum delay between the desired and actual start of a period since the last reset.
+    *
+    * @return the maximum jitter in microseconds.
+    */
+   public double getMaxWakeUpJitter()
+   {
+      return maxWakeUpJitter.getValue();
+   }
+}
@@ -0,0 +1,118 @@
+package us.ihmc.scs2.session;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This enum represents the different strategies the session thread can use to wait for the start of
+ * its next period, see {@link Session.PeriodicTaskWrapper}.
+ * <p>
+ * The strategies trade CPU usage for timing accuracy. On Linux, the sleep-based strategies
+ * typically overshoot the desired wake-up time by 50 to 100 microseconds, which is significant when
+ * running at 1kHz, while spinning holds the deadline within a few microseconds at the cost of a full
+ * core.
+ * </p>
+ */
+public enum SessionTimingStrategy
+{
+   /**
+    * Waits using {@link Thread#sleep(long, int)}. This is the cheapest strategy but also the least
+    * accurate as the JVM may round the duration to the millisecond.
+    */
+   SLEEP
+   {
+      @Override
+      public boolean waitUntil(long deadlineNanos, long spinWindowNanos)
+      {
+         long remainingNanos = deadlineNanos - System.nanoTime();
+
+         if (remainingNanos <= 0L)
+            return true;
+
+         try
+         {
+            Thread.sleep(remainingNanos / ONE_MILLION, (int) (remainingNanos % ONE_MILLION));
+            return true;
+         }
+         catch (InterruptedException e)
+         {
+            e.printStackTrace();
+            return false;
+         }
+      }
+   },
+   /**
+    * Waits using {@link LockSupport#parkNanos(long)}, which has a nanosecond resolution but is still
+    * subject to the scheduler latency of the OS.
+    */
+   PARK_NANOS
+   {
+      @Override
+      public boolean waitUntil(long deadlineNanos, long spinWindowNanos)
+      {
+         return park(deadlineNanos, 0L);
+      }
+   },
+   /**
+    * Busy-waits until the deadline. This is the most accurate strategy but it keeps a core busy.
+    */
+   SPIN
+   {
+      @Override
+      public boolean waitUntil(long deadlineNanos, long spinWindowNanos)
+      {
+         return spin(deadlineNanos);
+      }
+   },
+   /**
+    * Parks the thread until the deadline minus the spin window, then busy-waits for the remaining
+    * time. With a spin window slightly larger than the OS wake-up latency, this achieves the accuracy
+    * of {@link #SPIN} while only keeping the core busy for the duration of the spin window each
+    * period.
+    */
+   HYBRID
+   {
+      @Override
+      public boolean waitUntil(long deadlineNanos, long spinWindowNanos)
+      {
+         return park(deadlineNanos, spinWindowNanos) && spin(deadlineNanos);
+      }
+   };
+
+   private static final int ONE_MILLION = 1000000;
+
+   /**
+    * Blocks the calling thread until the given deadline.
+    *
+    * @param deadlineNanos   the deadline as given by {@link System#nanoTime()}.
+    * @param spinWindowNanos the duration before the deadline during which the thread is
+    *                        busy-waiting, only used by {@link #HYBRID}.
+    * @return {@code false} if the thread was interrupted while waiting, {@code true} otherwise.
+    */
+   public abstract boolean waitUntil(long deadlineNanos, long spinWindowNanos);
+
+   private static boolean park(long deadlineNanos, long marginNanos)
+   {
+      long remainingNanos;
+
+      // Parking can return early, e.g. spurious wake-up, so we loop until the deadline is reached.
+      while ((remainingNanos = deadlineNanos - System.nanoTime() - marginNanos) > 0L)
+      {
+         LockSupport.parkNanos(remainingNanos);
+
+         if (Thread.interrupted())
+            return false;
+      }
+      return true;
+   }
+
+   private static boolean spin(long deadlineNanos)
+   {
+      while (deadlineNanos - System.nanoTime() > 0L)
+      {
+         if (Thread.interrupted())
+            return false;
+         Thread.onSpinWait();
+      }
+      return true;
+   }
+}
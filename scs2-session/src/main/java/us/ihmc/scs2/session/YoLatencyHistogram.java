@@ -0,0 +1,108 @@
+package us.ihmc.scs2.session;
+
+import java.util.concurrent.TimeUnit;
+
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoDouble;
+import us.ihmc.yoVariables.variable.YoLong;
+import us.ihmc.yoVariables.variable.YoVariable;
+
+/**
+ * {@link LatencyHistogram} which percentiles are backed by {@link YoVariable}s allowing to
+ * visualize the tail latency of a {@link YoTimer} in the SCS2 GUI.
+ * <p>
+ * Recording a value only updates the histogram, the maximum, and the count. The percentiles require
+ * a pass over the histogram and are only updated when calling {@link #updateVariables()}.
+ * </p>
+ */
+public class YoLatencyHistogram
+{
+   /** The percentiles published as variables. */
+   private static final double[] PERCENTILES = {50.0, 99.0, 99.9};
+
+   private final String name;
+   private final LatencyHistogram histogram = new LatencyHistogram();
+   private final double scaleFromNanoseconds;
+   private final long[] percentileValues = new long[PERCENTILES.length];
+
+   private final YoDouble p50;
+   private final YoDouble p99;
+   private final YoDouble p999;
+   private final YoDouble max;
+   private final YoLong count;
+
+   /**
+    * Creates a new histogram.
+    *
+    * @param namePrefix the name prefix used for creating the variables.
+    * @param timeUnit   the unit to use for the variables.
+    * @param registry   the registry to attach the variables to.
+    */
+   public YoLatencyHistogram(String namePrefix, TimeUnit timeUnit, YoRegistry registry)
+   {
+      name = namePrefix;
+      scaleFromNanoseconds = YoTimer.scaleFromNanoseconds(timeUnit);
+      String suffix = "[" + YoTimer.timeUnitSuffix(timeUnit) + "]";
+      p50 = new YoDouble(namePrefix + "P50" + suffix, registry);
+      p99 = new YoDouble(namePrefix + "P99" + suffix, registry);
+      p999 = new YoDouble(namePrefix + "P999" + suffix, registry);
+      max = new YoDouble(namePrefix + "Max" + suffix, registry);
+      count = new YoLong(namePrefix + "Count", registry);
+   }
+
+   /**
+    * Records a duration.
+    *
+    * @param valueNanos the duration in nanoseconds.
+    */
+   public void record(long valueNanos)
+   {
+      histogram.record(valueNanos);
+      max.set(histogram.getMax() * scaleFromNanoseconds);
+      count.set(histogram.getTotalCount());
+   }
+
+   /**
+    * Updates the percentile variables from the current state of the histogram.
+    */
+   public void updateVariables()
+   {
+      histogram.getValuesAtPercentiles(PERCENTILES, percentileValues);
+      p50.set(percentileValues[0] * scaleFromNanoseconds);
+      p99.set(percentileValues[1] * scaleFromNanoseconds);
+      p999.set(percentileValues[2] * scaleFromNanoseconds);
+   }
+
+   /**
+    * Removes all the recorded values and resets the variables.
+    */
+   public void reset()
+   {
+      histogram.reset();
+      p50.set(0.0);
+      p99.set(0.0);
+      p999.set(0.0);
+      max.set(0.0);
+      count.set(0L);
+   }
+
+   /**
+    * Gets the name of this histogram, i.e. the name prefix of its variables.
+    *
+    * @return the name.
+    */
+   public String getName()
+   {
+      return name;
+   }
+
+   /**
+    * Gets the internal histogram.
+    *
+    * @return the histogram.
+    */
+   public LatencyHistogram getHistogram()
+   {
+      return histogram;
+   }
+}
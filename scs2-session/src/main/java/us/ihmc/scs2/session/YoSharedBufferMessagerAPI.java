@@ -21,6 +21,7 @@ public class YoSharedBufferMessagerAPI
    private static final Category root = apiFactory.createRootCategory("YoSharedBufferAPI");
 
    private static final CategoryTheme Index = apiFactory.createCategoryTheme("Index");
+   private static final CategoryTheme Time = apiFactory.createCategoryTheme("Time");
    private static final CategoryTheme Increment = apiFactory.createCategoryTheme("Increment");
    private static final CategoryTheme Decrement = apiFactory.createCategoryTheme("Decrement");
    private static final CategoryTheme Initialize = apiFactory.createCategoryTheme("Initialize");
@@ -28,6 +29,7 @@ public class YoSharedBufferMessagerAPI
    private static final CategoryTheme Listener = apiFactory.createCategoryTheme("Listener");
 
    private static final TypedTopicTheme<Integer> Current = apiFactory.createTypedTopicTheme("Current");
+   private static final TypedTopicTheme<Double> CurrentTime = apiFactory.createTypedTopicTheme("CurrentTime");
    private static final TypedTopicTheme<Integer> InPoint = apiFactory.createTypedTopicTheme("InPoint");
    private static final TypedTopicTheme<Integer> OutPoint = apiFactory.createTypedTopicTheme("OutPoint");
    private static final TypedTopicTheme<YoBufferPropertiesReadOnly> Properties = apiFactory.createTypedTopicTheme("Properties");
@@ -38,6 +40,7 @@ public class YoSharedBufferMessagerAPI
    private static final TypedTopicTheme<Boolean> Update = apiFactory.createTypedTopicTheme("Update");
 
    public static final Topic<Integer> CurrentIndexRequest = root.child(Index).topic(Current);
+   public static final Topic<Double> CurrentTimeRequest = root.child(Time).topic(CurrentTime);
    public static final Topic<Integer> IncrementCurrentIndexRequest = root.child(Index).child(Increment).topic(Current);
    public static final Topic<Integer> DecrementCurrentIndexRequest = root.child(Index).child(Decrement).topic(Current);
    public static final Topic<Integer> InPointIndexRequest = root.child(Index).topic(InPoint);
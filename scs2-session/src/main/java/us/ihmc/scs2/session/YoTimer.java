@@ -19,6 +19,8 @@ public class YoTimer
 
    private long start = -1;
    private long lastUpdateTime = -1;
+   /** [Optional] Histogram in which each measurement is recorded. */
+   private YoLatencyHistogram histogram;
 
    /**
     * Creates a new instance of a timer.
@@ -34,7 +36,7 @@ public class YoTimer
       scaleFromNanoseconds = scaleFromNanoseconds(timerUnit);
    }
 
-   private static String timeUnitSuffix(TimeUnit timeUnit)
+   static String timeUnitSuffix(TimeUnit timeUnit)
    {
       switch (timeUnit)
       {
@@ -57,7 +59,7 @@ public class YoTimer
       }
    }
 
-   private static double scaleFromNanoseconds(TimeUnit timeUnit)
+   static double scaleFromNanoseconds(TimeUnit timeUnit)
    {
       switch (timeUnit)
       {
@@ -80,6 +82,35 @@ public class YoTimer
       }
    }
 
+   /**
+    * Creates a histogram, in the same registry as the timer variable, that records every measurement
+    * of this timer to track its tail latency.
+    * <p>
+    * Calling this method more than once has no effect.
+    * </p>
+    *
+    * @return the histogram.
+    */
+   public YoLatencyHistogram enableHistogram()
+   {
+      if (histogram == null)
+      {
+         String name = timer.getName();
+         histogram = new YoLatencyHistogram(name.substring(0, name.lastIndexOf('[')), timerUnit, timer.getRegistry());
+      }
+      return histogram;
+   }
+
+   /**
+    * Gets the histogram recording every measurement of this timer.
+    *
+    * @return the histogram, or {@code null} if {@link #enableHistogram()} has not been called.
+    */
+   public YoLatencyHistogram getHistogram()
+   {
+      return histogram;
+   }
+
    /**
     * Marks the start of a new measurement.
     * <p>
@@ -161,6 +192,8 @@ public class YoTimer
          throw new IllegalOperationException("Call start before each call of stop.");
 
       timer.set((nowNanosec - start) * scaleFromNanoseconds);
+      if (histogram != null)
+         histogram.record(nowNanosec - start);
       start = -1;
    }
 
@@ -205,6 +238,8 @@ public class YoTimer
       if (lastUpdateTime > -1)
       {
          timer.set((double) (nowNanosec - lastUpdateTime) * scaleFromNanoseconds);
+         if (histogram != null)
+            histogram.record(nowNanosec - lastUpdateTime);
       }
 
       lastUpdateTime = nowNanosec;
@@ -0,0 +1,128 @@
+package us.ihmc.scs2.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest
+{
+   private static final int ITERATIONS = 100;
+   /** Largest value that can be recorded, larger values are clamped. */
+   private static final long MAX_TRACKABLE_VALUE = (1L << 40) - 1L;
+
+   @Test
+   public void testBucketBoundaries()
+   {
+      // The values below 128 have their own bucket.
+      for (long value = 0; value < 128; value++)
+         assertEquals(value, valueOfBucket(value));
+
+      for (int exponent = 7; exponent < 40; exponent++)
+      {
+         long powerOfTwo = 1L << exponent;
+         long bucketWidth = 1L << (exponent - 6);
+
+         // A power of two starts a bucket which ends before the next multiple of the bucket width.
+         assertEquals(powerOfTwo + bucketWidth - 1L, valueOfBucket(powerOfTwo), "2^" + exponent);
+         assertEquals(powerOfTwo + bucketWidth - 1L, valueOfBucket(powerOfTwo + bucketWidth - 1L), "2^" + exponent);
+         assertEquals(powerOfTwo + 2L * bucketWidth - 1L, valueOfBucket(powerOfTwo + bucketWidth), "2^" + exponent);
+         // The last bucket of the previous power-of-two range.
+         long previousWidth = exponent == 7 ? 1L : bucketWidth >> 1;
+         assertEquals(powerOfTwo - 1L, valueOfBucket(powerOfTwo - 1L), "2^" + exponent);
+         assertEquals(powerOfTwo - 1L, valueOfBucket(powerOfTwo - previousWidth), "2^" + exponent);
+         assertEquals(powerOfTwo - previousWidth - 1L, valueOfBucket(powerOfTwo - previousWidth - 1L), "2^" + exponent);
+      }
+   }
+
+   /**
+    * Records the value together with the bounds of the histogram such that the value reported for its
+    * bucket is not clamped by the extrema.
+    */
+   private static long valueOfBucket(long value)
+   {
+      LatencyHistogram histogram = new LatencyHistogram();
+      histogram.record(0L);
+      histogram.record(value);
+      histogram.record(MAX_TRACKABLE_VALUE);
+      return histogram.getValueAtPercentile(50.0);
+   }
+
+   @Test
+   public void testPercentilesAgainstSortedValues()
+   {
+      Random random = new Random(6723);
+      double[] percentiles = {0.0, 1.0, 10.0, 25.0, 50.0, 75.0, 90.0, 99.0, 99.9, 99.99, 100.0};
+      long[] values = new long[percentiles.length];
+
+      for (int iteration = 0; iteration < ITERATIONS; iteration++)
+      {
+         LatencyHistogram histogram = new LatencyHistogram();
+         long[] samples = new long[random.nextInt(10000) + 1];
+
+         for (int i = 0; i < samples.length; i++)
+         { // Log-normal, typical of latencies, spanning from a few ns to a few s.
+            samples[i] = (long) Math.exp(random.nextGaussian() * 3.0 + 12.0);
+            histogram.record(samples[i]);
+         }
+
+         long[] sortedSamples = samples.clone();
+         Arrays.sort(sortedSamples);
+         histogram.getValuesAtPercentiles(percentiles, values);
+
+         assertEquals(samples.length, histogram.getTotalCount());
+         assertEquals(sortedSamples[0], histogram.getMin());
+         assertEquals(sortedSamples[samples.length - 1], histogram.getMax());
+         assertEquals(Arrays.stream(samples).average().getAsDouble(), histogram.getMean(), 1.0e-9 * histogram.getMax());
+
+         for (int i = 0; i < percentiles.length; i++)
+         {
+            int rank = Math.max(1, (int) Math.ceil(percentiles[i] / 100.0 * samples.length));
+            long expected = sortedSamples[rank - 1];
+            long actual = histogram.getValueAtPercentile(percentiles[i]);
+            assertEquals(values[i], actual);
+
+            // Upper bound of the bucket of the expected value, within the relative error of 1/64.
+            assertTrue(actual >= expected, "p" + percentiles[i] + ", expected: " + expected + ", actual: " + actual);
+            assertTrue(actual - expected <= expected / 64, "p" + percentiles[i] + ", expected: " + expected + ", actual: " + actual);
+         }
+
+         assertEquals(sortedSamples[0], values[0]);
+         assertEquals(sortedSamples[samples.length - 1], values[percentiles.length - 1]);
+      }
+   }
+
+   @Test
+   public void testOverflow()
+   {
+      LatencyHistogram histogram = new LatencyHistogram();
+
+      // Out-of-range values are clamped.
+      histogram.record(Long.MAX_VALUE);
+      histogram.record(MAX_TRACKABLE_VALUE + 1L);
+      histogram.record(-1L);
+      histogram.record(Long.MIN_VALUE);
+
+      assertEquals(4L, histogram.getTotalCount());
+      assertEquals(0L, histogram.getMin());
+      assertEquals(MAX_TRACKABLE_VALUE, histogram.getMax());
+      assertEquals(0L, histogram.getValueAtPercentile(50.0));
+      assertEquals(MAX_TRACKABLE_VALUE, histogram.getValueAtPercentile(75.0));
+      assertEquals(MAX_TRACKABLE_VALUE, histogram.getValueAtPercentile(100.0));
+      assertEquals(0.5 * MAX_TRACKABLE_VALUE, histogram.getMean());
+
+      // Out-of-range percentiles are clamped.
+      assertEquals(0L, histogram.getValueAtPercentile(-10.0));
+      assertEquals(MAX_TRACKABLE_VALUE, histogram.getValueAtPercentile(110.0));
+
+      histogram.reset();
+      assertEquals(0L, histogram.getTotalCount());
+      assertEquals(0L, histogram.getMin());
+      assertEquals(0L, histogram.getMax());
+      assertEquals(0.0, histogram.getMean());
+      assertEquals(0L, histogram.getValueAtPercentile(99.0));
+   }
+}
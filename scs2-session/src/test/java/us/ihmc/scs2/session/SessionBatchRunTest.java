@@ -0,0 +1,171 @@
+package us.ihmc.scs2.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.scs2.definition.robot.RobotDefinition;
+import us.ihmc.scs2.definition.terrain.TerrainObjectDefinition;
+import us.ihmc.scs2.sharedMemory.LinkedYoRegistry;
+import us.ihmc.scs2.sharedMemory.YoSharedBuffer;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoLong;
+
+public class SessionBatchRunTest
+{
+   private static final long DT = TimeUnit.MILLISECONDS.toNanos(1);
+
+   private TestSession session;
+
+   @BeforeEach
+   public void setup()
+   {
+      session = new TestSession();
+      session.setSessionDTNanoseconds(DT);
+   }
+
+   @AfterEach
+   public void tearDown()
+   {
+      session.shutdownSession();
+      session = null;
+   }
+
+   @Test
+   public void testNumberOfTicks()
+   {
+      SessionBatchRunResult result = session.runBatch(1000, null);
+
+      assertTrue(result.success());
+      assertEquals(1000L, result.numberOfTicks());
+      assertEquals(1000L, session.tickCounter.getValue());
+      assertEquals(1.0, result.sessionDuration(), 1.0e-9);
+      assertEquals(SessionMode.RUNNING, session.getActiveMode());
+   }
+
+   @Test
+   public void testBufferIsWrittenAtRecordPeriod()
+   {
+      int recordPeriod = 7;
+      int numberOfTicks = 100;
+      session.setBufferRecordTickPeriod(recordPeriod);
+      session.runBatch(numberOfTicks, null);
+
+      // The first tick and then every record period are written, each write moving to the next index.
+      int expectedNumberOfWrites = (numberOfTicks + recordPeriod - 1) / recordPeriod;
+      YoSharedBuffer buffer = session.getBuffer();
+      assertEquals(expectedNumberOfWrites, buffer.getProperties().getCurrentIndex());
+
+      for (int write = 0; write < expectedNumberOfWrites; write++)
+      {
+         buffer.setCurrentIndex(write + 1);
+         buffer.readBuffer();
+         assertEquals(write * recordPeriod + 1L, session.tickCounter.getValue(), "Write " + write);
+      }
+   }
+
+   @Test
+   public void testTerminalCondition()
+   {
+      SessionBatchRunResult result = session.runBatch(Long.MAX_VALUE, () -> session.tickCounter.getValue() >= 250L);
+
+      assertTrue(result.success());
+      assertEquals(250L, result.numberOfTicks());
+      assertEquals(250L, session.tickCounter.getValue());
+   }
+
+   @Test
+   public void testRunMaxDuration()
+   {
+      session.submitRunMaxDuration(300L * DT);
+      SessionBatchRunResult result = session.runBatch(1000, null);
+
+      assertTrue(result.success());
+      assertEquals(300L, result.numberOfTicks());
+      assertEquals(300L, session.tickCounter.getValue());
+      assertEquals(SessionMode.PAUSE, session.getActiveMode());
+   }
+
+   @Test
+   public void testPublicationAtEndOfBatch()
+   {
+      int[] listenerCallCount = {0};
+      long[] tickAtListenerCall = {-1L};
+      session.addCurrentBufferPropertiesListener(properties ->
+      {
+         listenerCallCount[0]++;
+         tickAtListenerCall[0] = session.tickCounter.getValue();
+      });
+      // Making sure the linked buffers would be published at every tick if it was not deferred.
+      session.setDesiredBufferPublishPeriod(0L);
+      LinkedYoRegistry linkedRegistry = session.getBuffer().newLinkedYoRegistry();
+      linkedRegistry.linkYoVariable(session.tickCounter, this);
+      long publicationCountBefore = session.getBuffer().getLinkedBufferStatistics().getPublicationCount();
+
+      session.runBatch(500, null);
+
+      assertEquals(1, listenerCallCount[0]);
+      assertEquals(500L, tickAtListenerCall[0]);
+      assertEquals(publicationCountBefore + 1L, session.getBuffer().getLinkedBufferStatistics().getPublicationCount());
+      assertTrue(linkedRegistry.pull());
+   }
+
+   @Test
+   public void testTickStatisticsAreReset()
+   {
+      session.allocationPerTick = 1 << 16;
+      session.runBatch(500, null);
+
+      // The allocations of the batch are not reported as the allocations of a single tick.
+      YoLong tickAllocatedBytes = (YoLong) session.getRootRegistry().findVariable("SCS2StatsTickAllocatedBytes");
+      assertEquals(0L, tickAllocatedBytes.getValue());
+   }
+
+   private static class TestSession extends Session
+   {
+      private final YoRegistry registry = new YoRegistry("batch");
+      private final YoLong tickCounter = new YoLong("tickCounter", registry);
+      private int allocationPerTick = 0;
+      @SuppressWarnings("unused")
+      private long[] lastAllocation;
+
+      public TestSession()
+      {
+         getRootRegistry().addChild(registry);
+      }
+
+      @Override
+      protected double doSpecificRunTick()
+      {
+         if (allocationPerTick > 0)
+            lastAllocation = new long[allocationPerTick];
+         tickCounter.increment();
+         return tickCounter.getValue() * 1.0e-9 * getSessionDTNanoseconds();
+      }
+
+      @Override
+      public String getSessionName()
+      {
+         return getClass().getSimpleName();
+      }
+
+      @Override
+      public List<RobotDefinition> getRobotDefinitions()
+      {
+         return Collections.emptyList();
+      }
+
+      @Override
+      public List<TerrainObjectDefinition> getTerrainObjectDefinitions()
+      {
+         return Collections.emptyList();
+      }
+   }
+}
@@ -0,0 +1,70 @@
+package us.ihmc.scs2.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoDouble;
+import us.ihmc.yoVariables.variable.YoEnum;
+
+public class SessionTimingStatisticsTest
+{
+   private static final int ITERATIONS = 1000;
+   private static final double EPSILON = 1.0e-9;
+
+   @Test
+   public void testUpdate()
+   {
+      Random random = new Random(8734);
+      YoRegistry registry = new YoRegistry("test");
+      SessionTimingStatistics statistics = new SessionTimingStatistics("session", registry);
+      YoDouble wakeUpJitter = (YoDouble) registry.findVariable("sessionWakeUpJitter[us]");
+      YoDouble averageWakeUpJitter = (YoDouble) registry.findVariable("sessionAverageWakeUpJitter[us]");
+      YoEnum<?> timingStrategy = (YoEnum<?>) registry.findVariable("sessionTimingStrategy");
+
+      for (int reset = 0; reset < 3; reset++)
+      {
+         long expectedOverrunCount = 0L;
+         int numberOfPeriods = 0;
+         double sum = 0.0;
+         double max = 0.0;
+
+         for (int i = 0; i < ITERATIONS; i++)
+         {
+            SessionTimingStrategy strategy = SessionTimingStrategy.values()[random.nextInt(SessionTimingStrategy.values().length)];
+            long delay = random.nextInt(200000) - 1000;
+            boolean overrun = random.nextInt(10) == 0;
+            double previousJitter = wakeUpJitter.getValue();
+
+            statistics.update(strategy, delay, overrun);
+            assertEquals(strategy, timingStrategy.getValue());
+
+            if (overrun)
+            { // No wait was performed, the jitter is left unchanged.
+               expectedOverrunCount++;
+               assertEquals(previousJitter, wakeUpJitter.getValue());
+            }
+            else
+            {
+               numberOfPeriods++;
+               sum += delay * 1.0e-3;
+               max = Math.max(max, delay * 1.0e-3);
+               assertEquals(delay * 1.0e-3, wakeUpJitter.getValue(), EPSILON);
+            }
+
+            assertEquals(expectedOverrunCount, statistics.getOverrunCount());
+            assertEquals(max, statistics.getMaxWakeUpJitter(), EPSILON);
+            assertEquals(numberOfPeriods == 0 ? 0.0 : sum / numberOfPeriods, averageWakeUpJitter.getValue(), 1.0e-6);
+         }
+
+         statistics.reset();
+         assertEquals(0L, statistics.getOverrunCount());
+         assertEquals(0.0, statistics.getMaxWakeUpJitter());
+         assertEquals(0.0, averageWakeUpJitter.getValue());
+         assertEquals(0.0, wakeUpJitter.getValue());
+      }
+   }
+}
@@ -0,0 +1,143 @@
+package us.ihmc.scs2.session;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.scs2.session.Session.PeriodicTaskWrapper;
+import us.ihmc.yoVariables.registry.YoRegistry;
+
+public class SessionTimingStrategyTest
+{
+   private static final int ITERATIONS = 50;
+   private static final long WAIT_DURATION = TimeUnit.MILLISECONDS.toNanos(2);
+   private static final long SPIN_WINDOW = TimeUnit.MICROSECONDS.toNanos(500);
+
+   @Test
+   public void testWaitAccuracy()
+   {
+      for (SessionTimingStrategy strategy : SessionTimingStrategy.values())
+      {
+         long[] errors = new long[ITERATIONS];
+
+         for (int i = 0; i < ITERATIONS; i++)
+         {
+            long deadline = System.nanoTime() + WAIT_DURATION;
+            assertTrue(strategy.waitUntil(deadline, SPIN_WINDOW));
+            errors[i] = System.nanoTime() - deadline;
+         }
+
+         Arrays.sort(errors);
+
+         if (strategy == SessionTimingStrategy.SLEEP)
+         { // Thread.sleep may round the duration to the millisecond.
+            assertTrue(errors[0] > -TimeUnit.MILLISECONDS.toNanos(1), strategy + ": " + errors[0]);
+         }
+         else
+         { // The other strategies never return before the deadline.
+            assertTrue(errors[0] >= 0L, strategy + ": " + errors[0]);
+         }
+
+         if (strategy == SessionTimingStrategy.SPIN || strategy == SessionTimingStrategy.HYBRID)
+         { // Loose bound on the median to tolerate a loaded machine, the typical error is a few microseconds.
+            long median = errors[ITERATIONS / 2];
+            assertTrue(median < TimeUnit.MICROSECONDS.toNanos(200), strategy + ": " + median);
+         }
+      }
+   }
+
+   @Test
+   public void testPastDeadline()
+   {
+      for (SessionTimingStrategy strategy : SessionTimingStrategy.values())
+      {
+         long start = System.nanoTime();
+         assertTrue(strategy.waitUntil(start - WAIT_DURATION, SPIN_WINDOW));
+         assertTrue(System.nanoTime() - start < WAIT_DURATION, strategy.toString());
+      }
+   }
+
+   @Test
+   public void testInterruption()
+   {
+      for (SessionTimingStrategy strategy : SessionTimingStrategy.values())
+      {
+         long start = System.nanoTime();
+         Thread.currentThread().interrupt();
+         assertFalse(strategy.waitUntil(start + TimeUnit.SECONDS.toNanos(10), SPIN_WINDOW), strategy.toString());
+         assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), strategy.toString());
+         Thread.interrupted(); // Clearing the flag in case the strategy did not consume it.
+      }
+   }
+
+   @Test
+   public void testPeriodicTaskTiming() throws InterruptedException
+   {
+      for (SessionTimingStrategy strategy : SessionTimingStrategy.values())
+      {
+         long period = TimeUnit.MILLISECONDS.toNanos(5);
+         int numberOfTicks = 20;
+         List<Long> startTimes = new ArrayList<>();
+         PeriodicTaskWrapper[] wrapper = new PeriodicTaskWrapper[1];
+         wrapper[0] = new PeriodicTaskWrapper(() ->
+         {
+            startTimes.add(System.nanoTime());
+            if (startTimes.size() == numberOfTicks)
+               wrapper[0].stop();
+         }, period, TimeUnit.NANOSECONDS);
+         wrapper[0].setTimingStrategy(strategy, SPIN_WINDOW);
+
+         Thread thread = new Thread(wrapper[0], "periodic-" + strategy);
+         long startTime = System.nanoTime();
+         thread.start();
+         thread.join(TimeUnit.SECONDS.toMillis(10));
+         assertTrue(wrapper[0].isDone());
+
+         assertEquals(numberOfTicks, startTimes.size());
+
+         // The timing is absolute, the tick k does not start before k periods after the start of the thread.
+         long tolerance = strategy == SessionTimingStrategy.SLEEP ? TimeUnit.MILLISECONDS.toNanos(1) : 0L;
+         for (int k = 1; k < numberOfTicks; k++)
+            assertTrue(startTimes.get(k) - startTime >= k * period - tolerance, strategy + ", tick " + k);
+      }
+   }
+
+   @Test
+   public void testOverrunAccounting() throws InterruptedException
+   {
+      for (SessionTimingStrategy strategy : SessionTimingStrategy.values())
+      {
+         int numberOfTicks = 10;
+         int[] tickCount = {0};
+         SessionTimingStatistics statistics = new SessionTimingStatistics("test", new YoRegistry("test"));
+         PeriodicTaskWrapper[] wrapper = new PeriodicTaskWrapper[1];
+         // The task always takes longer than the period: each tick is an overrun and no wait is performed.
+         wrapper[0] = new PeriodicTaskWrapper(() ->
+         {
+            long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(3);
+            while (System.nanoTime() < end)
+               Thread.onSpinWait();
+            if (++tickCount[0] == numberOfTicks)
+               wrapper[0].stop();
+         }, 1, TimeUnit.MILLISECONDS);
+         wrapper[0].setTimingStrategy(strategy, SPIN_WINDOW);
+         wrapper[0].setTimingStatistics(statistics);
+
+         Thread thread = new Thread(wrapper[0], "overrun-" + strategy);
+         thread.start();
+         thread.join(TimeUnit.SECONDS.toMillis(10));
+         assertTrue(wrapper[0].isDone());
+
+         assertEquals(numberOfTicks, statistics.getOverrunCount(), strategy.toString());
+         // The overruns do not count as jitter.
+         assertEquals(0.0, statistics.getMaxWakeUpJitter(), strategy.toString());
+      }
+   }
+}
@@ -5,7 +5,7 @@ import us.ihmc.yoVariables.variable.YoBoolean;
 public class BooleanPullRequest implements PullRequest<YoBoolean>
 {
    private final YoBoolean variableToUpdate;
-   private final boolean valueToPull;
+   private boolean valueToPull;
 
    public BooleanPullRequest(YoBoolean variableToUpdate, boolean valueToPull)
    {
@@ -24,6 +24,11 @@ public class BooleanPullRequest implements PullRequest<YoBoolean>
       return variableToUpdate;
    }
 
+   void setValueToPull(boolean valueToPull)
+   {
+      this.valueToPull = valueToPull;
+   }
+
    public boolean getValueToPull()
    {
       return valueToPull;
@@ -4,7 +4,7 @@ import us.ihmc.yoVariables.variable.YoBoolean;
 
 public class BooleanPushRequest implements PushRequest<YoBoolean>
 {
-   private final boolean valueToPush;
+   private boolean valueToPush;
    private final YoBoolean variableToUpdate;
 
    public BooleanPushRequest(boolean valueToPush, YoBoolean variableToUpdate)
@@ -29,6 +29,11 @@ public class BooleanPushRequest implements PushRequest<YoBoolean>
       return variableToUpdate;
    }
 
+   void setValueToPush(boolean valueToPush)
+   {
+      this.valueToPush = valueToPush;
+   }
+
    boolean getValueToPush()
    {
       return valueToPush;
@@ -5,7 +5,7 @@ import us.ihmc.yoVariables.variable.YoDouble;
 public class DoublePullRequest implements PullRequest<YoDouble>
 {
    private final YoDouble variableToUpdate;
-   private final double valueToPull;
+   private double valueToPull;
 
    public DoublePullRequest(YoDouble variableToUpdate, double valueToPull)
    {
@@ -24,6 +24,11 @@ public class DoublePullRequest implements PullRequest<YoDouble>
       return variableToUpdate;
    }
 
+   void setValueToPull(double valueToPull)
+   {
+      this.valueToPull = valueToPull;
+   }
+
    public double getValueToPull()
    {
       return valueToPull;
@@ -4,7 +4,7 @@ import us.ihmc.yoVariables.variable.YoDouble;
 
 public class DoublePushRequest implements PushRequest<YoDouble>
 {
-   private final double valueToPush;
+   private double valueToPush;
    private final YoDouble variableToUpdate;
 
    public DoublePushRequest(double valueToPush, YoDouble variableToUpdate)
@@ -29,6 +29,11 @@ public class DoublePushRequest implements PushRequest<YoDouble>
       return variableToUpdate;
    }
 
+   void setValueToPush(double valueToPush)
+   {
+      this.valueToPush = valueToPush;
+   }
+
    double getValueToPush()
    {
       return valueToPush;
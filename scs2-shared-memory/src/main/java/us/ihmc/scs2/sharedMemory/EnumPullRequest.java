@@ -5,7 +5,7 @@ import us.ihmc.yoVariables.variable.YoEnum;
 public class EnumPullRequest<E extends Enum<E>> implements PullRequest<YoEnum<E>>
 {
    private final YoEnum<E> variableToUpdate;
-   private final int valueToPull;
+   private int valueToPull;
 
    public EnumPullRequest(YoEnum<E> variableToUpdate, int valueToPull)
    {
@@ -24,6 +24,11 @@ public class EnumPullRequest<E extends Enum<E>> implements PullRequest<YoEnum<E>
       return variableToUpdate;
    }
 
+   void setValueToPull(int valueToPull)
+   {
+      this.valueToPull = valueToPull;
+   }
+
    public int getValueToPull()
    {
       return valueToPull;
@@ -4,7 +4,7 @@ import us.ihmc.yoVariables.variable.YoEnum;
 
 public class EnumPushRequest<E extends Enum<E>> implements PushRequest<YoEnum<E>>
 {
-   private final int valueToPush;
+   private int valueToPush;
    private final YoEnum<E> variableToUpdate;
 
    public EnumPushRequest(int valueToPush, YoEnum<E> variableToUpdate)
@@ -29,6 +29,11 @@ public class EnumPushRequest<E extends Enum<E>> implements PushRequest<YoEnum<E>
       return variableToUpdate;
    }
 
+   void setValueToPush(int valueToPush)
+   {
+      this.valueToPush = valueToPush;
+   }
+
    int getValueToPush()
    {
       return valueToPush;
@@ -0,0 +1,71 @@
+package us.ihmc.scs2.sharedMemory;
+
+/**
+ * Buffer sample delivered in response to {@link LinkedYoVariable#requestIncrementalBuffer()}.
+ * <p>
+ * When {@link #isStructuralChange()} is {@code false}, the sample only contains the elements appended
+ * to the buffer since the last incremental sample polled by the consumer, starting with the last
+ * element of that previous sample which may have been modified since. The consumer should write the
+ * sample in place on top of the data it already has.
+ * </p>
+ * <p>
+ * When {@link #isStructuralChange()} is {@code true}, the buffer has been modified in a way that
+ * invalidates the data previously delivered, e.g. resized, cropped, filled, or re-written before its
+ * out-point. The sample then contains the entire active part of the buffer and the consumer should
+ * discard the data it already has.
+ * </p>
+ *
+ * @param <D> the type of the sample, i.e. a primitive array.
+ */
+public class IncrementalBufferSample<D> extends BufferSample<D>
+{
+   private final boolean structuralChange;
+   private final long appendCount;
+   private final long structuralChangeCount;
+
+   IncrementalBufferSample(BufferSample<D> sample, boolean structuralChange, long appendCount, long structuralChangeCount)
+   {
+      super(sample);
+      this.structuralChange = structuralChange;
+      this.appendCount = appendCount;
+      this.structuralChangeCount = structuralChangeCount;
+   }
+
+   /**
+    * Whether the data previously delivered has been invalidated and this sample contains the entire
+    * active part of the buffer.
+    *
+    * @return {@code true} if the consumer should discard the data it already has.
+    */
+   public boolean isStructuralChange()
+   {
+      return structuralChange;
+   }
+
+   long getAppendCount()
+   {
+      return appendCount;
+   }
+
+   long getStructuralChangeCount()
+   {
+      return structuralChangeCount;
+   }
+
+   @Override
+   public boolean equals(Object object)
+   {
+      if (object == this)
+         return true;
+      else if (object instanceof IncrementalBufferSample other)
+         return structuralChange == other.structuralChange && super.equals(other);
+      else
+         return false;
+   }
+
+   @Override
+   public String toString()
+   {
+      return super.toString() + ", structural change: " + structuralChange;
+   }
+}
@@ -5,7 +5,7 @@ import us.ihmc.yoVariables.variable.YoInteger;
 public class IntegerPullRequest implements PullRequest<YoInteger>
 {
    private final YoInteger variableToUpdate;
-   private final int valueToPull;
+   private int valueToPull;
 
    public IntegerPullRequest(YoInteger variableToUpdate, int valueToPull)
    {
@@ -24,6 +24,11 @@ public class IntegerPullRequest implements PullRequest<YoInteger>
       return variableToUpdate;
    }
 
+   void setValueToPull(int valueToPull)
+   {
+      this.valueToPull = valueToPull;
+   }
+
    public int getValueToPull()
    {
       return valueToPull;
@@ -4,7 +4,7 @@ import us.ihmc.yoVariables.variable.YoInteger;
 
 public class IntegerPushRequest implements PushRequest<YoInteger>
 {
-   private final int valueToPush;
+   private int valueToPush;
    private final YoInteger variableToUpdate;
 
    public IntegerPushRequest(int valueToPush, YoInteger variableToUpdate)
@@ -29,6 +29,11 @@ public class IntegerPushRequest implements PushRequest<YoInteger>
       return variableToUpdate;
    }
 
+   void setValueToPush(int valueToPush)
+   {
+      this.valueToPush = valueToPush;
+   }
+
    int getValueToPush()
    {
       return valueToPush;
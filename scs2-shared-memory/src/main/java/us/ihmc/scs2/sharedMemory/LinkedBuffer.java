@@ -49,8 +49,11 @@ public abstract class LinkedBuffer
     * <p>
     * Operation for the buffer manager only.
     * </p>
+    *
+    * @return {@code false} if the publication was skipped because a buffer consumer was holding the
+    *         lock, {@code true} otherwise.
     */
-   abstract void prepareForPull();
+   abstract boolean prepareForPull();
 
    /**
     * Tests whether a buffer consumer is still waiting for a buffer sample.
@@ -119,6 +119,18 @@ public class LinkedBufferArray extends LinkedBuffer
       return size;
    }
 
+   /**
+    * Returns the array backing this list, only the first {@link #size()} elements are valid.
+    * <p>
+    * This gives access to the elements without modifying the list, e.g. to read them while another
+    * thread may modify the list.
+    * </p>
+    */
+   LinkedBuffer[] getLinkedBuffers()
+   {
+      return linkedBuffers;
+   }
+
    public void addChangeListener(LinkedBufferChangeListener listener)
    {
       if (isDisposed)
@@ -225,10 +237,12 @@ public class LinkedBufferArray extends LinkedBuffer
    }
 
    @Override
-   public void prepareForPull()
+   public boolean prepareForPull()
    {
       if (isDisposed)
-         return;
+         return true;
+
+      boolean published = true;
 
       for (int i = size - 1; i >= 0; i--)
       {
@@ -246,9 +260,11 @@ public class LinkedBufferArray extends LinkedBuffer
 
          if (!linkedBuffer.isActive())
             remove(i);
-         else
-            linkedBuffer.prepareForPull();
+         else if (!linkedBuffer.prepareForPull())
+            published = false;
       }
+
+      return published;
    }
 
    @Override
@@ -7,6 +7,8 @@ public class LinkedBufferProperties
    private final YoBufferProperties bufferProperties;
 
    private YoBufferPropertiesReadOnly currentBufferProperties;
+   /** Last snapshot of the properties, reused as long as they do not change. */
+   private YoBufferPropertiesReadOnly lastBufferProperties;
 
    LinkedBufferProperties(YoBufferProperties bufferProperties)
    {
@@ -15,7 +17,10 @@ public class LinkedBufferProperties
 
    void prepareForPull()
    {
-      currentBufferProperties = bufferProperties.copy();
+      // The snapshots may be held by the consumers, so a new one is created only when the properties have changed.
+      if (lastBufferProperties == null || !bufferProperties.equals(lastBufferProperties))
+         lastBufferProperties = bufferProperties.copy();
+      currentBufferProperties = lastBufferProperties;
    }
 
    public YoBufferPropertiesReadOnly peekCurrentBufferProperties()
@@ -33,5 +38,6 @@ public class LinkedBufferProperties
    public void dispose()
    {
       currentBufferProperties = null;
+      lastBufferProperties = null;
    }
 }
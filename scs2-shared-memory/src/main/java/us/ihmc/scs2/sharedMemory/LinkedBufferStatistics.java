@@ -0,0 +1,89 @@
+package us.ihmc.scs2.sharedMemory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters describing the contention between the buffer manager publishing new values and the buffer
+ * consumers pulling them.
+ * <p>
+ * The buffer manager never waits on the consumers: when a consumer is modifying the set of linked
+ * buffers, the publication is skipped and will be done at the next call to
+ * {@link YoSharedBuffer#prepareLinkedBuffersForPull()}. A consumer reading the published values while
+ * they are being updated retries its read.
+ * </p>
+ */
+public class LinkedBufferStatistics
+{
+   private final AtomicLong publicationCount = new AtomicLong();
+   private final AtomicLong skippedPublicationCount = new AtomicLong();
+   private final AtomicLong pullCount = new AtomicLong();
+   private final AtomicLong pullRetryCount = new AtomicLong();
+
+   void incrementPublicationCount()
+   {
+      publicationCount.incrementAndGet();
+   }
+
+   void incrementSkippedPublicationCount()
+   {
+      skippedPublicationCount.incrementAndGet();
+   }
+
+   void incrementPullCount()
+   {
+      pullCount.incrementAndGet();
+   }
+
+   void incrementPullRetryCount()
+   {
+      pullRetryCount.incrementAndGet();
+   }
+
+   /**
+    * Gets the number of times the values have been published to the linked buffers.
+    *
+    * @return the number of publications.
+    */
+   public long getPublicationCount()
+   {
+      return publicationCount.get();
+   }
+
+   /**
+    * Gets the number of publications that were skipped to avoid waiting on a buffer consumer.
+    *
+    * @return the number of skipped publications.
+    */
+   public long getSkippedPublicationCount()
+   {
+      return skippedPublicationCount.get();
+   }
+
+   /**
+    * Gets the number of times new values were pulled by the linked registries.
+    *
+    * @return the number of pulls.
+    */
+   public long getPullCount()
+   {
+      return pullCount.get();
+   }
+
+   /**
+    * Gets the number of times a linked buffer had to read the published values again because they
+    * were updated while being read.
+    *
+    * @return the number of retried pulls.
+    */
+   public long getPullRetryCount()
+   {
+      return pullRetryCount.get();
+   }
+
+   @Override
+   public String toString()
+   {
+      return "publications: " + getPublicationCount() + ", skipped publications: " + getSkippedPublicationCount() + ", pulls: " + getPullCount()
+            + ", pull retries: " + getPullRetryCount();
+   }
+}
@@ -4,21 +4,37 @@ import us.ihmc.yoVariables.variable.YoBoolean;
 
 public class LinkedYoBoolean extends LinkedYoVariable<YoBoolean>
 {
+   private final BooleanPullRequest pullRequest;
+   private final BooleanPullRequest consumerPullRequest;
+   private final BooleanPushRequest pushRequest;
+
    LinkedYoBoolean(YoBoolean linkedVariable, YoBooleanBuffer buffer, Object initialUser)
    {
       super(linkedVariable, buffer, initialUser);
+      pullRequest = new BooleanPullRequest(linkedVariable, buffer.getYoVariable().getValue());
+      consumerPullRequest = new BooleanPullRequest(linkedVariable, buffer.getYoVariable().getValue());
+      pushRequest = new BooleanPushRequest(linkedVariable.getValue(), buffer.getYoVariable());
    }
 
    @Override
    BooleanPullRequest toPullRequest()
    {
-      return new BooleanPullRequest(linkedYoVariable, buffer.getYoVariable().getValue());
+      pullRequest.setValueToPull(buffer.getYoVariable().getValue());
+      return pullRequest;
+   }
+
+   @Override
+   BooleanPullRequest readPullRequest()
+   {
+      consumerPullRequest.setValueToPull(pullRequest.getValueToPull());
+      return consumerPullRequest;
    }
 
    @Override
    protected BooleanPushRequest toPushRequest()
    {
-      return new BooleanPushRequest(linkedYoVariable.getValue(), buffer.getYoVariable());
+      pushRequest.setValueToPush(linkedYoVariable.getValue());
+      return pushRequest;
    }
 
    @Override
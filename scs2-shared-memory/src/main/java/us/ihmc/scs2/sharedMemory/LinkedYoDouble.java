@@ -4,21 +4,37 @@ import us.ihmc.yoVariables.variable.YoDouble;
 
 public class LinkedYoDouble extends LinkedYoVariable<YoDouble>
 {
+   private final DoublePullRequest pullRequest;
+   private final DoublePullRequest consumerPullRequest;
+   private final DoublePushRequest pushRequest;
+
    LinkedYoDouble(YoDouble linkedVariable, YoDoubleBuffer buffer, Object initialUser)
    {
       super(linkedVariable, buffer, initialUser);
+      pullRequest = new DoublePullRequest(linkedVariable, buffer.getYoVariable().getValue());
+      consumerPullRequest = new DoublePullRequest(linkedVariable, buffer.getYoVariable().getValue());
+      pushRequest = new DoublePushRequest(linkedVariable.getValue(), buffer.getYoVariable());
    }
 
    @Override
    DoublePullRequest toPullRequest()
    {
-      return new DoublePullRequest(linkedYoVariable, buffer.getYoVariable().getValue());
+      pullRequest.setValueToPull(buffer.getYoVariable().getValue());
+      return pullRequest;
+   }
+
+   @Override
+   DoublePullRequest readPullRequest()
+   {
+      consumerPullRequest.setValueToPull(pullRequest.getValueToPull());
+      return consumerPullRequest;
    }
 
    @Override
    protected DoublePushRequest toPushRequest()
    {
-      return new DoublePushRequest(linkedYoVariable.getValue(), buffer.getYoVariable());
+      pushRequest.setValueToPush(linkedYoVariable.getValue());
+      return pushRequest;
    }
 
    @Override
@@ -4,21 +4,37 @@ import us.ihmc.yoVariables.variable.YoEnum;
 
 public class LinkedYoEnum<E extends Enum<E>> extends LinkedYoVariable<YoEnum<E>>
 {
+   private final EnumPullRequest<E> pullRequest;
+   private final EnumPullRequest<E> consumerPullRequest;
+   private final EnumPushRequest<E> pushRequest;
+
    LinkedYoEnum(YoEnum<E> linkedVariable, YoEnumBuffer<E> buffer, Object initialUser)
    {
       super(linkedVariable, buffer, initialUser);
+      pullRequest = new EnumPullRequest<>(linkedVariable, buffer.getYoVariable().getOrdinal());
+      consumerPullRequest = new EnumPullRequest<>(linkedVariable, buffer.getYoVariable().getOrdinal());
+      pushRequest = new EnumPushRequest<>(linkedVariable.getOrdinal(), buffer.getYoVariable());
    }
 
    @Override
    EnumPullRequest<E> toPullRequest()
    {
-      return new EnumPullRequest<>(linkedYoVariable, buffer.getYoVariable().getOrdinal());
+      pullRequest.setValueToPull(buffer.getYoVariable().getOrdinal());
+      return pullRequest;
+   }
+
+   @Override
+   EnumPullRequest<E> readPullRequest()
+   {
+      consumerPullRequest.setValueToPull(pullRequest.getValueToPull());
+      return consumerPullRequest;
    }
 
    @Override
    protected EnumPushRequest<E> toPushRequest()
    {
-      return new EnumPushRequest<>(linkedYoVariable.getOrdinal(), buffer.getYoVariable());
+      pushRequest.setValueToPush(linkedYoVariable.getOrdinal());
+      return pushRequest;
    }
 
    @Override
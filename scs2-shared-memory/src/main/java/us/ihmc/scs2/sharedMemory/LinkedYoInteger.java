@@ -4,21 +4,37 @@ import us.ihmc.yoVariables.variable.YoInteger;
 
 public class LinkedYoInteger extends LinkedYoVariable<YoInteger>
 {
+   private final IntegerPullRequest pullRequest;
+   private final IntegerPullRequest consumerPullRequest;
+   private final IntegerPushRequest pushRequest;
+
    LinkedYoInteger(YoInteger linkedVariable, YoIntegerBuffer buffer, Object initialUser)
    {
       super(linkedVariable, buffer, initialUser);
+      pullRequest = new IntegerPullRequest(linkedVariable, buffer.getYoVariable().getValue());
+      consumerPullRequest = new IntegerPullRequest(linkedVariable, buffer.getYoVariable().getValue());
+      pushRequest = new IntegerPushRequest(linkedVariable.getValue(), buffer.getYoVariable());
    }
 
    @Override
    IntegerPullRequest toPullRequest()
    {
-      return new IntegerPullRequest(linkedYoVariable, buffer.getYoVariable().getValue());
+      pullRequest.setValueToPull(buffer.getYoVariable().getValue());
+      return pullRequest;
+   }
+
+   @Override
+   IntegerPullRequest readPullRequest()
+   {
+      consumerPullRequest.setValueToPull(pullRequest.getValueToPull());
+      return consumerPullRequest;
    }
 
    @Override
    protected IntegerPushRequest toPushRequest()
    {
-      return new IntegerPushRequest(linkedYoVariable.getValue(), buffer.getYoVariable());
+      pushRequest.setValueToPush(linkedYoVariable.getValue());
+      return pushRequest;
    }
 
    @Override
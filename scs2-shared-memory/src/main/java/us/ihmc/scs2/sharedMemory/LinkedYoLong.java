@@ -4,21 +4,37 @@ import us.ihmc.yoVariables.variable.YoLong;
 
 public class LinkedYoLong extends LinkedYoVariable<YoLong>
 {
+   private final LongPullRequest pullRequest;
+   private final LongPullRequest consumerPullRequest;
+   private final LongPushRequest pushRequest;
+
    LinkedYoLong(YoLong linkedVariable, YoLongBuffer buffer, Object initialUser)
    {
       super(linkedVariable, buffer, initialUser);
+      pullRequest = new LongPullRequest(linkedVariable, buffer.getYoVariable().getValue());
+      consumerPullRequest = new LongPullRequest(linkedVariable, buffer.getYoVariable().getValue());
+      pushRequest = new LongPushRequest(linkedVariable.getValue(), buffer.getYoVariable());
    }
 
    @Override
    LongPullRequest toPullRequest()
    {
-      return new LongPullRequest(linkedYoVariable, buffer.getYoVariable().getValue());
+      pullRequest.setValueToPull(buffer.getYoVariable().getValue());
+      return pullRequest;
+   }
+
+   @Override
+   LongPullRequest readPullRequest()
+   {
+      consumerPullRequest.setValueToPull(pullRequest.getValueToPull());
+      return consumerPullRequest;
    }
 
    @Override
    protected LongPushRequest toPushRequest()
    {
-      return new LongPushRequest(linkedYoVariable.getValue(), buffer.getYoVariable());
+      pushRequest.setValueToPush(linkedYoVariable.getValue());
+      return pushRequest;
    }
 
    @Override
@@ -17,11 +17,28 @@ public class LinkedYoRegistry extends LinkedBuffer
    private final YoRegistry rootRegistry;
    private final YoRegistryBuffer yoRegistryBuffer;
 
+   /**
+    * Lock shared with the registry buffer, it guards the structure of this linked registry, e.g. adding
+    * or removing linked variables, and the push requests. The buffer manager never waits on it when
+    * publishing new values.
+    */
    private final ReentrantLock lock;
+   /** Lock used to serialize the buffer consumers pulling this registry, the buffer manager never uses it. */
+   private final ReentrantLock pullLock = new ReentrantLock();
+   /** Lock used to publish the values of all the linked variables at once. */
+   private final SequenceLock sequenceLock;
+   private final LinkedBufferStatistics statistics;
+   /** The linked variables read during the last pull, only used by the buffer consumer. */
+   private LinkedYoVariable[] variablesToPull = new LinkedYoVariable[8];
+   private long lastPulledSequence = 0L;
    private final LinkedBufferArray linkedYoVariables = new LinkedBufferArray();
    private final Map<YoVariable, LinkedYoVariable> linkedYoVariableMap = new HashMap<>();
    private final List<PushRequestListener> listeners = new ArrayList<>();
-   private final PushRequestListener pushRequestForwarder = target -> listeners.forEach(listener -> listener.pushRequested(this));
+   private final PushRequestListener pushRequestForwarder = target ->
+   {
+      for (int i = 0; i < listeners.size(); i++)
+         listeners.get(i).pushRequested(this);
+   };
 
    private YoRegistryChangedListener rootRegistryListener;
    private YoRegistryChangedListener bufferRootRegistryListener;
@@ -34,6 +51,8 @@ public class LinkedYoRegistry extends LinkedBuffer
       this.rootRegistry = rootRegistry;
       this.yoRegistryBuffer = yoRegistryBuffer;
       lock = yoRegistryBuffer.getLock();
+      statistics = yoRegistryBuffer.getLinkedBufferStatistics();
+      sequenceLock = new SequenceLock(statistics);
       setup();
    }
 
@@ -112,17 +131,29 @@ public class LinkedYoRegistry extends LinkedBuffer
       if (isDisposed)
          return null;
 
-      LinkedYoVariable linkedYoVariable = linkedYoVariableMap.get(variableToLink);
+      // Prevents consumers from reading the list of linked variables while it is modified.
+      pullLock.lock();
+      lock.lock();
+      try
+      {
+         LinkedYoVariable linkedYoVariable = linkedYoVariableMap.get(variableToLink);
+
+         if (linkedYoVariable == null)
+         {
+            YoVariableBuffer yoVariableBuffer = yoRegistryBuffer.findYoVariableBuffer(variableToLink);
+            linkedYoVariable = yoVariableBuffer.newLinkedYoVariable(variableToLink, initialUser);
+            linkedYoVariable.setSequenceLock(sequenceLock);
+            linkedYoVariable.addPushRequestListener(pushRequestForwarder);
+            linkedYoVariables.add(linkedYoVariable);
+         }
 
-      if (linkedYoVariable == null)
+         return (L) linkedYoVariable;
+      }
+      finally
       {
-         YoVariableBuffer yoVariableBuffer = yoRegistryBuffer.findYoVariableBuffer(variableToLink);
-         linkedYoVariable = yoVariableBuffer.newLinkedYoVariable(variableToLink, initialUser);
-         linkedYoVariable.addPushRequestListener(pushRequestForwarder);
-         linkedYoVariables.add(linkedYoVariable);
+         lock.unlock();
+         pullLock.unlock();
       }
-
-      return (L) linkedYoVariable;
    }
 
    /** {@inheritDoc} */
@@ -144,24 +175,79 @@ public class LinkedYoRegistry extends LinkedBuffer
       }
    }
 
-   /** {@inheritDoc} */
+   /**
+    * {@inheritDoc}
+    * <p>
+    * The values are copied without locking the buffer manager, the copy is retried if a new
+    * publication happens in the meantime such that all the variables are pulled from the same
+    * publication.
+    * </p>
+    */
    @Override
    public boolean pull()
    {
       if (isDisposed)
          return false;
 
-      lock.lock();
+      pullLock.lock();
       try
       {
-         return linkedYoVariables.pull();
+         long sequence;
+         int numberOfVariables;
+
+         do
+         {
+            sequence = sequenceLock.beginRead();
+
+            if (sequence == lastPulledSequence)
+               return false;
+
+            numberOfVariables = readPublishedValues();
+         }
+         while (!sequenceLock.validateRead(sequence));
+
+         for (int i = 0; i < numberOfVariables; i++)
+         {
+            variablesToPull[i].applyPublishedValue(sequence);
+            variablesToPull[i] = null;
+         }
+
+         lastPulledSequence = sequence;
+         statistics.incrementPullCount();
+         return numberOfVariables > 0;
       }
       finally
       {
-         lock.unlock();
+         pullLock.unlock();
       }
    }
 
+   /**
+    * Copies the values published for each linked variable. The buffer manager may be removing inactive
+    * variables at the same time, in which case the copy is invalid and will be discarded.
+    */
+   private int readPublishedValues()
+   {
+      LinkedBuffer[] linkedBuffers = linkedYoVariables.getLinkedBuffers();
+      int size = Math.min(linkedYoVariables.size(), linkedBuffers.length);
+
+      if (variablesToPull.length < size)
+         variablesToPull = new LinkedYoVariable[size];
+
+      int numberOfVariables = 0;
+
+      for (int i = 0; i < size; i++)
+      {
+         if (linkedBuffers[i] instanceof LinkedYoVariable linkedYoVariable)
+         {
+            linkedYoVariable.readPublishedValue();
+            variablesToPull[numberOfVariables++] = linkedYoVariable;
+         }
+      }
+
+      return numberOfVariables;
+   }
+
    /** {@inheritDoc} */
    // Operation for the buffer manager only.
    @Override
@@ -218,18 +304,38 @@ public class LinkedYoRegistry extends LinkedBuffer
       return listeners.remove(listener);
    }
 
-   /** {@inheritDoc} */
+   /**
+    * {@inheritDoc}
+    * <p>
+    * The publication is skipped if a buffer consumer is modifying this linked registry, the buffer
+    * manager never waits on the consumers.
+    * </p>
+    */
    // Operation for the buffer manager only.
    @Override
-   void prepareForPull()
+   boolean prepareForPull()
    {
       if (isDisposed)
-         return;
+         return true;
+
+      if (!lock.tryLock())
+      {
+         statistics.incrementSkippedPublicationCount();
+         return false;
+      }
 
-      lock.lock();
       try
       {
-         linkedYoVariables.prepareForPull();
+         sequenceLock.beginWrite();
+         try
+         {
+            linkedYoVariables.prepareForPull();
+         }
+         finally
+         {
+            sequenceLock.endWrite();
+         }
+         return true;
       }
       finally
       {
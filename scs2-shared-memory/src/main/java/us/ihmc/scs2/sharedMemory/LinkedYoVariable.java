@@ -5,6 +5,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
 import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
@@ -17,13 +19,33 @@ import us.ihmc.yoVariables.variable.YoVariable;
 
 public abstract class LinkedYoVariable<T extends YoVariable> extends LinkedBuffer
 {
+   private static final long NO_BUFFER_SAMPLE_REQUEST = Long.MIN_VALUE;
+
    protected final T linkedYoVariable;
    protected final YoVariableBuffer<T> buffer;
 
-   protected PushRequest<T> pushRequestToProcess;
-   protected PullRequest<T> pullRequest;
-
-   protected BufferSampleRequest bufferSampleRequest;
+   /*
+    * The push and pull requests are preallocated by each implementation and recycled, the pending flag
+    * and the sequence lock are used to publish them between the buffer manager and the buffer consumers
+    * without generating garbage at the publish rate.
+    */
+   private final AtomicBoolean isPushRequestPending = new AtomicBoolean(false);
+   private PushRequest<T> pushRequestToProcess;
+   /**
+    * Lock guarding the publication of the pull request, shared with the other variables of the linked
+    * registry this variable belongs to, if any.
+    */
+   private SequenceLock sequenceLock = new SequenceLock(null);
+   private boolean isSequenceLockShared = false;
+   /** The sequence of the last publication pulled by the consumer. */
+   private long lastPulledSequence = 0L;
+   private PullRequest<T> pullRequestToApply;
+
+   /** The requested window packed as {@code (from << 32) | length}. */
+   private final AtomicLong bufferSampleRequest = new AtomicLong(NO_BUFFER_SAMPLE_REQUEST);
+   private final AtomicBoolean isIncrementalBufferSampleRequested = new AtomicBoolean(false);
+   /** The last incremental sample polled by the consumer, the next incremental sample starts from it. */
+   private volatile IncrementalBufferSample<?> acknowledgedIncrementalSample;
    @SuppressWarnings("rawtypes")
    protected BufferSample bufferSample;
 
@@ -80,12 +102,30 @@ public abstract class LinkedYoVariable<T extends YoVariable> extends LinkedBuffe
       requestBufferWindow(from, -1);
    }
 
+   /**
+    * Requests the elements written in the buffer since the last incremental sample that was polled,
+    * see {@link IncrementalBufferSample}.
+    * <p>
+    * This is meant for consumers that keep a copy of the buffer up-to-date while the session is running,
+    * only the new elements are copied unless the buffer was structurally changed in the meantime, e.g.
+    * resized or cropped, in which case the entire active part of the buffer is delivered. Requests for
+    * a buffer window have priority over this request.
+    * </p>
+    */
+   public void requestIncrementalBuffer()
+   {
+      if (isDisposed)
+         return;
+
+      isIncrementalBufferSampleRequested.set(true);
+   }
+
    public void requestBufferWindow(int from, int length)
    {
       if (isDisposed)
          return;
 
-      bufferSampleRequest = new BufferSampleRequest(from, length);
+      bufferSampleRequest.set(((long) from << 32) | (length & 0xFFFFFFFFL));
    }
 
    @Override
@@ -110,19 +150,19 @@ public abstract class LinkedYoVariable<T extends YoVariable> extends LinkedBuffe
          return;
 
       pushRequestToProcess = toPushRequest();
-      pushRequestListeners.forEach(listener -> listener.pushRequested(this));
+      isPushRequestPending.set(true);
+
+      for (int i = 0; i < pushRequestListeners.size(); i++)
+         pushRequestListeners.get(i).pushRequested(this);
    }
 
    @Override
    boolean processPush(boolean writeBuffer)
    {
-      if (isDisposed || pushRequestToProcess == null)
+      if (isDisposed || !isPushRequestPending.getAndSet(false))
          return false;
 
-      PushRequest<T> push = pushRequestToProcess;
-      pushRequestToProcess = null;
-
-      boolean modified = push.push();
+      boolean modified = pushRequestToProcess.push();
 
       if (modified && writeBuffer)
          buffer.writeBuffer();
@@ -133,30 +173,62 @@ public abstract class LinkedYoVariable<T extends YoVariable> extends LinkedBuffe
    @Override
    void flushPush()
    {
-      pushRequestToProcess = null;
+      isPushRequestPending.set(false);
+   }
+
+   /**
+    * Shares the lock of the linked registry this variable belongs to, such that the variables of the
+    * registry are all published at once.
+    */
+   void setSequenceLock(SequenceLock sequenceLock)
+   {
+      this.sequenceLock = sequenceLock;
+      isSequenceLockShared = true;
+      lastPulledSequence = sequenceLock.getSequence();
    }
 
    @Override
-   void prepareForPull()
+   boolean prepareForPull()
    {
       if (isDisposed)
-         return;
+         return true;
+
+      if (isSequenceLockShared)
+      { // The linked registry is taking care of the lock.
+         toPullRequest();
+      }
+      else
+      {
+         sequenceLock.beginWrite();
+         try
+         {
+            toPullRequest();
+         }
+         finally
+         {
+            sequenceLock.endWrite();
+         }
+      }
 
-      pullRequest = toPullRequest();
       consumeBufferSampleRequest();
+      return true;
    }
 
    private void consumeBufferSampleRequest()
    {
-      if (isDisposed || bufferSampleRequest == null)
+      if (isDisposed)
          return;
 
-      BufferSampleRequest localRequest = bufferSampleRequest;
-      bufferSampleRequest = null;
+      long localRequest = bufferSampleRequest.getAndSet(NO_BUFFER_SAMPLE_REQUEST);
 
-      int from = localRequest.getFrom();
-      int length = localRequest.getLength();
+      if (localRequest != NO_BUFFER_SAMPLE_REQUEST)
+         consumeBufferWindowRequest((int) (localRequest >> 32), (int) localRequest);
+      else if (isIncrementalBufferSampleRequested.getAndSet(false))
+         consumeIncrementalBufferSampleRequest();
+   }
 
+   private void consumeBufferWindowRequest(int from, int length)
+   {
       YoBufferPropertiesReadOnly properties = buffer.getProperties();
 
       if (length > properties.getSize())
@@ -192,27 +264,85 @@ public abstract class LinkedYoVariable<T extends YoVariable> extends LinkedBuffe
       bufferSample = buffer.copy(from, length, properties.copy());
    }
 
+   @SuppressWarnings({"rawtypes", "unchecked"})
+   private void consumeIncrementalBufferSampleRequest()
+   {
+      YoBufferPropertiesReadOnly properties = buffer.getProperties();
+      IncrementalBufferSample<?> acknowledgedSample = acknowledgedIncrementalSample;
+      int lastAppendIndex = buffer.getLastAppendIndex();
+      long appendCount = buffer.getAppendCount();
+      long structuralChangeCount = buffer.getStructuralChangeCount();
+
+      boolean structuralChange;
+
+      if (acknowledgedSample == null || lastAppendIndex == -1)
+         structuralChange = true;
+      else if (acknowledgedSample.getStructuralChangeCount() != structuralChangeCount)
+         structuralChange = true;
+      else // The consumer is lagging more than the buffer size, the previous elements have been overwritten.
+         structuralChange = appendCount - acknowledgedSample.getAppendCount() >= properties.getSize();
+
+      int from, length;
+
+      if (structuralChange)
+      {
+         from = properties.getInPoint();
+         length = properties.getActiveBufferLength();
+      }
+      else
+      { // Starting from the last element previously delivered as it may have been modified since.
+         length = (int) (appendCount - acknowledgedSample.getAppendCount()) + 1;
+         from = SharedMemoryTools.computeFromIndex(lastAppendIndex, length, properties.getSize());
+      }
+
+      bufferSample = new IncrementalBufferSample(buffer.copy(from, length, properties.copy()), structuralChange, appendCount, structuralChangeCount);
+   }
+
    @Override
    public boolean pull()
    {
       if (isDisposed)
          return false;
 
-      PullRequest<T> pull = pullRequest;
-      pullRequest = null;
+      long sequence;
 
-      if (pull != null)
+      do
       {
-         pull.pull();
+         sequence = sequenceLock.beginRead();
+
+         if (sequence == lastPulledSequence)
+            return false;
+
+         readPublishedValue();
       }
+      while (!sequenceLock.validateRead(sequence));
 
-      return pull != null;
+      applyPublishedValue(sequence);
+      return true;
+   }
+
+   /**
+    * Copies the value last published by the buffer manager, the copy has to be validated against the
+    * sequence lock before being applied.
+    */
+   void readPublishedValue()
+   {
+      pullRequestToApply = readPullRequest();
+   }
+
+   /**
+    * Updates the linked variable with the value copied in {@link #readPublishedValue()}.
+    */
+   void applyPublishedValue(long sequence)
+   {
+      pullRequestToApply.pull();
+      lastPulledSequence = sequence;
    }
 
    @Override
    public boolean hasRequestPending()
    {
-      return bufferSampleRequest != null;
+      return bufferSampleRequest.get() != NO_BUFFER_SAMPLE_REQUEST || isIncrementalBufferSampleRequested.get();
    }
 
    public boolean isRequestedBufferSampleAvailable()
@@ -228,11 +358,37 @@ public abstract class LinkedYoVariable<T extends YoVariable> extends LinkedBuffe
 
       BufferSample localSample = bufferSample;
       bufferSample = null;
+      if (localSample instanceof IncrementalBufferSample incrementalSample)
+         acknowledgedIncrementalSample = incrementalSample;
       return localSample;
    }
 
+   /**
+    * Updates and returns the pull request preallocated for this linked variable with the current value
+    * of the buffer's variable.
+    *
+    * @return the recycled pull request.
+    */
    abstract PullRequest<T> toPullRequest();
 
+   /**
+    * Copies the pull request last updated by {@link #toPullRequest()} into a second preallocated pull
+    * request owned by the buffer consumer.
+    * <p>
+    * This is called by the buffer consumer while the buffer manager may be updating the pull request,
+    * see {@link SequenceLock}.
+    * </p>
+    *
+    * @return the consumer's copy of the pull request.
+    */
+   abstract PullRequest<T> readPullRequest();
+
+   /**
+    * Updates and returns the push request preallocated for this linked variable with the current value
+    * of the linked variable.
+    *
+    * @return the recycled push request.
+    */
    abstract PushRequest<T> toPushRequest();
 
    public T getLinkedYoVariable()
@@ -268,9 +424,10 @@ public abstract class LinkedYoVariable<T extends YoVariable> extends LinkedBuffe
          return;
 
       isDisposed = true;
-      pushRequestToProcess = null;
-      pullRequest = null;
-      bufferSampleRequest = null;
+      isPushRequestPending.set(false);
+      bufferSampleRequest.set(NO_BUFFER_SAMPLE_REQUEST);
+      isIncrementalBufferSampleRequested.set(false);
+      acknowledgedIncrementalSample = null;
       bufferSample = null;
       pushRequestListeners.clear();
       users.clear();
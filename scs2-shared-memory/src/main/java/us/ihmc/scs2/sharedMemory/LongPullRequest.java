@@ -5,7 +5,7 @@ import us.ihmc.yoVariables.variable.YoLong;
 public class LongPullRequest implements PullRequest<YoLong>
 {
    private final YoLong variableToUpdate;
-   private final long valueToPull;
+   private long valueToPull;
 
    public LongPullRequest(YoLong variableToUpdate, long valueToPull)
    {
@@ -24,6 +24,11 @@ public class LongPullRequest implements PullRequest<YoLong>
       return variableToUpdate;
    }
 
+   void setValueToPull(long valueToPull)
+   {
+      this.valueToPull = valueToPull;
+   }
+
    public long getValueToPull()
    {
       return valueToPull;
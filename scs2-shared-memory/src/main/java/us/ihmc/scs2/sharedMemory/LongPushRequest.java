@@ -4,7 +4,7 @@ import us.ihmc.yoVariables.variable.YoLong;
 
 public class LongPushRequest implements PushRequest<YoLong>
 {
-   private final long valueToPush;
+   private long valueToPush;
    private final YoLong variableToUpdate;
 
    public LongPushRequest(long valueToPush, YoLong variableToUpdate)
@@ -29,6 +29,11 @@ public class LongPushRequest implements PushRequest<YoLong>
       return variableToUpdate;
    }
 
+   void setValueToPush(long valueToPush)
+   {
+      this.valueToPush = valueToPush;
+   }
+
    long getValueToPush()
    {
       return valueToPush;
@@ -0,0 +1,94 @@
+package us.ihmc.scs2.sharedMemory;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sequence lock used to publish the values of the buffer's variables to the linked variables without
+ * the buffer manager ever waiting on the buffer consumers.
+ * <p>
+ * The buffer manager, which is the only writer, makes the sequence odd while updating the published
+ * values and even once done. A buffer consumer reads the sequence, copies the published values, and
+ * then validates the copy by checking that the sequence has not changed in the meantime, retrying
+ * otherwise.
+ * </p>
+ */
+final class SequenceLock
+{
+   private final AtomicLong sequence = new AtomicLong(0L);
+   private final LinkedBufferStatistics statistics;
+
+   /**
+    * Creates a new lock.
+    *
+    * @param statistics where to record the failed reads. Can be {@code null}.
+    */
+   SequenceLock(LinkedBufferStatistics statistics)
+   {
+      this.statistics = statistics;
+   }
+
+   /**
+    * Marks the beginning of a publication, operation for the buffer manager only.
+    */
+   void beginWrite()
+   {
+      // The atomic increment prevents the following writes from being reordered before it.
+      sequence.incrementAndGet();
+   }
+
+   /**
+    * Marks the end of a publication, the values written since {@link #beginWrite()} become visible to
+    * the consumers.
+    */
+   void endWrite()
+   {
+      sequence.incrementAndGet();
+   }
+
+   /**
+    * Waits for any publication in progress to complete and returns the sequence to validate the read
+    * against.
+    *
+    * @return the current sequence, always even.
+    */
+   long beginRead()
+   {
+      long currentSequence;
+
+      while (((currentSequence = sequence.get()) & 1L) != 0L)
+         Thread.onSpinWait();
+
+      return currentSequence;
+   }
+
+   /**
+    * Checks that no publication happened since {@link #beginRead()}, in which case the values read in
+    * between are consistent.
+    *
+    * @param readSequence the sequence returned by {@link #beginRead()}.
+    * @return {@code true} if the read is valid, {@code false} if it should be retried.
+    */
+   boolean validateRead(long readSequence)
+   {
+      // Prevents the reads of the published values from being reordered after the read of the sequence.
+      VarHandle.acquireFence();
+
+      if (sequence.get() == readSequence)
+         return true;
+
+      if (statistics != null)
+         statistics.incrementPullRetryCount();
+      return false;
+   }
+
+   /**
+    * Returns the current sequence, even when no publication is in progress.
+    *
+    * @return the current sequence.
+    */
+   long getSequence()
+   {
+      return sequence.get();
+   }
+}
@@ -0,0 +1,387 @@
+package us.ihmc.scs2.sharedMemory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index over a sequence of timestamps allowing to find the sample at a given time in
+ * {@code O(log n)}.
+ * <p>
+ * The timestamps are expected to be non-decreasing, but a time going backward, e.g. after the
+ * session was reinitialized, is detected and splits the sequence into monotonic segments. Each
+ * segment is searched independently, when several segments cover a given time, the most recent one
+ * is used.
+ * </p>
+ * <p>
+ * The samples are identified by their position in the sequence, the timestamps are read on demand
+ * from a {@link TimeSource} such that the index only stores the start of each segment. This allows
+ * to use the same index for the session's buffer, see {@link YoBufferTimeIndex}, and for aligning
+ * external data such as logs or videos, see {@link #fromTimestamps(double[])}.
+ * </p>
+ */
+public class TimeIndex
+{
+   /**
+    * Provides the timestamp of the samples of a sequence.
+    */
+   @FunctionalInterface
+   public interface TimeSource
+   {
+      /**
+       * Gets the timestamp of a sample.
+       *
+       * @param position the position of the sample in the sequence.
+       * @return the timestamp of the sample.
+       */
+      double getTime(int position);
+   }
+
+   /**
+    * Range of samples, bounds inclusive.
+    *
+    * @param from the first sample of the range.
+    * @param to   the last sample of the range.
+    */
+   public record Range(int from, int to)
+   {
+   }
+
+   private final TimeSource timeSource;
+   private int length = 0;
+   /** Position of the first sample of each monotonic segment, the first segment starts at 0. */
+   private int[] segmentStarts = new int[4];
+   private int numberOfSegments = 0;
+
+   /**
+    * Creates an index for the timestamps in the given array.
+    *
+    * @param timestamps the timestamps, in seconds. Not modified.
+    * @return the index over all the timestamps.
+    */
+   public static TimeIndex fromTimestamps(double[] timestamps)
+   {
+      TimeIndex timeIndex = new TimeIndex(position -> timestamps[position]);
+      timeIndex.append(timestamps.length);
+      return timeIndex;
+   }
+
+   /**
+    * Creates an index for the timestamps in the given array, e.g. the timestamps of video frames or
+    * MCAP messages.
+    *
+    * @param timestamps the timestamps, in nanoseconds. Not modified.
+    * @return the index over all the timestamps, the times used by the index are in seconds.
+    */
+   public static TimeIndex fromNanoseconds(long[] timestamps)
+   {
+      TimeIndex timeIndex = new TimeIndex(position -> timestamps[position] * 1.0e-9);
+      timeIndex.append(timestamps.length);
+      return timeIndex;
+   }
+
+   /**
+    * Creates a new empty index.
+    *
+    * @param timeSource the source of the timestamps, it is only queried for the samples that were
+    *                   added to this index.
+    */
+   public TimeIndex(TimeSource timeSource)
+   {
+      this.timeSource = timeSource;
+   }
+
+   /**
+    * Removes all the samples from this index.
+    */
+   public void clear()
+   {
+      length = 0;
+      numberOfSegments = 0;
+   }
+
+   /**
+    * Adds samples at the end of the sequence.
+    * <p>
+    * This scans the timestamps of the new samples to detect the time going backward.
+    * </p>
+    *
+    * @param numberOfSamples the number of samples to add.
+    */
+   public void append(int numberOfSamples)
+   {
+      if (numberOfSamples <= 0)
+         return;
+
+      int end = length + numberOfSamples;
+      double previousTime = length == 0 ? Double.NaN : timeSource.getTime(length - 1);
+
+      for (int position = length; position < end; position++)
+      {
+         double time = timeSource.getTime(position);
+
+         // Also starts a new segment after a NaN, in which case the comparison is false.
+         if (numberOfSegments == 0 || !(time >= previousTime))
+            addSegment(position);
+         previousTime = time;
+      }
+
+      length = end;
+   }
+
+   private void addSegment(int start)
+   {
+      if (numberOfSegments == segmentStarts.length)
+         segmentStarts = Arrays.copyOf(segmentStarts, 2 * numberOfSegments);
+      segmentStarts[numberOfSegments++] = start;
+   }
+
+   /**
+    * Removes samples from the start of the sequence, the position of the remaining samples is shifted
+    * accordingly.
+    *
+    * @param numberOfSamples the number of samples to remove.
+    */
+   public void removeFirst(int numberOfSamples)
+   {
+      if (numberOfSamples <= 0)
+         return;
+      if (numberOfSamples >= length)
+      {
+         clear();
+         return;
+      }
+
+      length -= numberOfSamples;
+
+      int firstRemainingSegment = 0;
+      while (firstRemainingSegment + 1 < numberOfSegments && segmentStarts[firstRemainingSegment + 1] <= numberOfSamples)
+         firstRemainingSegment++;
+
+      numberOfSegments -= firstRemainingSegment;
+      System.arraycopy(segmentStarts, firstRemainingSegment, segmentStarts, 0, numberOfSegments);
+      segmentStarts[0] = 0;
+
+      for (int segment = 1; segment < numberOfSegments; segment++)
+         segmentStarts[segment] -= numberOfSamples;
+   }
+
+   /**
+    * Removes samples from the end of the sequence.
+    *
+    * @param numberOfSamples the number of samples to remove.
+    */
+   public void removeLast(int numberOfSamples)
+   {
+      if (numberOfSamples <= 0)
+         return;
+      if (numberOfSamples >= length)
+      {
+         clear();
+         return;
+      }
+
+      length -= numberOfSamples;
+
+      while (segmentStarts[numberOfSegments - 1] >= length)
+         numberOfSegments--;
+   }
+
+   /**
+    * Gets the number of samples in the sequence.
+    *
+    * @return the number of samples.
+    */
+   public int getLength()
+   {
+      return length;
+   }
+
+   /**
+    * Whether the timestamps never go backward in the entire sequence.
+    *
+    * @return {@code true} if the sequence is made of a single monotonic segment.
+    */
+   public boolean isMonotonic()
+   {
+      return numberOfSegments <= 1;
+   }
+
+   /**
+    * Gets the number of monotonic segments in the sequence.
+    *
+    * @return the number of segments, {@code 0} when the sequence is empty.
+    */
+   public int getNumberOfSegments()
+   {
+      return numberOfSegments;
+   }
+
+   /**
+    * Gets the position of the first sample of a monotonic segment.
+    *
+    * @param segment the segment index, segments are ordered as they appear in the sequence.
+    * @return the position of the first sample of the segment.
+    */
+   public int getSegmentStart(int segment)
+   {
+      if (segment < 0 || segment >= numberOfSegments)
+         throw new IndexOutOfBoundsException("Segment " + segment + " out of bounds for " + numberOfSegments + " segments.");
+      return segmentStarts[segment];
+   }
+
+   /**
+    * Gets the position of the last sample of a monotonic segment.
+    *
+    * @param segment the segment index, segments are ordered as they appear in the sequence.
+    * @return the position of the last sample of the segment.
+    */
+   public int getSegmentEnd(int segment)
+   {
+      if (segment < 0 || segment >= numberOfSegments)
+         throw new IndexOutOfBoundsException("Segment " + segment + " out of bounds for " + numberOfSegments + " segments.");
+      return segment + 1 < numberOfSegments ? segmentStarts[segment + 1] - 1 : length - 1;
+   }
+
+   /**
+    * Gets the timestamp of a sample.
+    *
+    * @param position the position of the sample.
+    * @return the timestamp of the sample.
+    */
+   public double timeAtPosition(int position)
+   {
+      if (position < 0 || position >= length)
+         throw new IndexOutOfBoundsException("Position " + position + " out of bounds for length " + length);
+      return timeSource.getTime(position);
+   }
+
+   /**
+    * Finds the most recent monotonic segment that covers the given time.
+    *
+    * @param time the query time.
+    * @return the index of the segment, or {@code -1} if no segment covers the given time.
+    */
+   public int findSegment(double time)
+   {
+      for (int segment = numberOfSegments - 1; segment >= 0; segment--)
+      {
+         if (timeSource.getTime(segmentStarts[segment]) <= time && time <= timeSource.getTime(getSegmentEnd(segment)))
+            return segment;
+      }
+      return -1;
+   }
+
+   /**
+    * Finds the sample which timestamp is the closest to the given time.
+    * <p>
+    * The search is performed in the most recent segment covering the given time. When no segment
+    * covers it, the closest end of all the segments is used.
+    * </p>
+    *
+    * @param time the query time.
+    * @return the position of the closest sample, or {@code -1} if the sequence is empty.
+    */
+   public int positionAtTime(double time)
+   {
+      if (numberOfSegments == 0)
+         return -1;
+
+      int segment = findSegment(time);
+
+      if (segment == -1)
+      {
+         int closestPosition = -1;
+         double closestDistance = Double.POSITIVE_INFINITY;
+
+         for (segment = numberOfSegments - 1; segment >= 0; segment--)
+         {
+            int start = segmentStarts[segment];
+            int end = getSegmentEnd(segment);
+            int position = time < timeSource.getTime(start) ? start : end;
+            double distance = Math.abs(timeSource.getTime(position) - time);
+
+            if (closestPosition == -1 || distance < closestDistance)
+            {
+               closestDistance = distance;
+               closestPosition = position;
+            }
+         }
+
+         return closestPosition;
+      }
+
+      int start = segmentStarts[segment];
+      int end = getSegmentEnd(segment);
+      int position = lowerBound(time, start, end);
+
+      if (position > end)
+         return end;
+      if (position > start && time - timeSource.getTime(position - 1) <= timeSource.getTime(position) - time)
+         return position - 1;
+      return position;
+   }
+
+   /**
+    * Finds the samples which timestamp is in {@code [startTime, endTime]}.
+    * <p>
+    * When the sequence is not monotonic, there is one range per segment that overlaps the time
+    * interval.
+    * </p>
+    *
+    * @param startTime the start of the time interval (inclusive).
+    * @param endTime   the end of the time interval (inclusive).
+    * @return the ranges of positions ordered as they appear in the sequence.
+    */
+   public List<Range> findRanges(double startTime, double endTime)
+   {
+      List<Range> ranges = new ArrayList<>();
+
+      for (int segment = 0; segment < numberOfSegments; segment++)
+      {
+         int start = segmentStarts[segment];
+         int end = getSegmentEnd(segment);
+         int from = lowerBound(startTime, start, end);
+         int to = upperBound(endTime, from, end) - 1;
+
+         if (from <= to)
+            ranges.add(new Range(from, to));
+      }
+
+      return ranges;
+   }
+
+   /** Returns the first position in {@code [start, end]} with a time greater or equal to the given one, or {@code end + 1}. */
+   private int lowerBound(double time, int start, int end)
+   {
+      int low = start;
+      int high = end + 1;
+
+      while (low < high)
+      {
+         int mid = (low + high) >>> 1;
+         if (timeSource.getTime(mid) < time)
+            low = mid + 1;
+         else
+            high = mid;
+      }
+      return low;
+   }
+
+   /** Returns the first position in {@code [start, end]} with a time strictly greater than the given one, or {@code end + 1}. */
+   private int upperBound(double time, int start, int end)
+   {
+      int low = start;
+      int high = end + 1;
+
+      while (low < high)
+      {
+         int mid = (low + high) >>> 1;
+         if (timeSource.getTime(mid) <= time)
+            low = mid + 1;
+         else
+            high = mid;
+      }
+      return low;
+   }
+}
@@ -1,78 +1,94 @@
 package us.ihmc.scs2.sharedMemory;
 
 import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
-import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.scs2.sharedMemory.storage.YoBufferStorage;
 import us.ihmc.yoVariables.variable.YoBoolean;
 
 public class YoBooleanBuffer extends YoVariableBuffer<YoBoolean>
 {
-   private boolean[] buffer;
-
    public YoBooleanBuffer(YoBoolean yoBoolean, YoBufferPropertiesReadOnly properties)
    {
-      super(yoBoolean, properties);
-      buffer = new boolean[properties.getSize()];
+      this(yoBoolean, properties, YoBufferStorage.HEAP);
    }
 
-   @Override
-   public void resizeBuffer(int from, int length)
+   public YoBooleanBuffer(YoBoolean yoBoolean, YoBufferPropertiesReadOnly properties, YoBufferStorage storage)
    {
-      if (from == 0 && length == buffer.length)
-         return;
-      buffer = SharedMemoryTools.ringArrayCopy(buffer, from, length);
+      super(yoBoolean, properties, storage);
    }
 
    @Override
    public void writeBufferAt(int index)
    {
-      buffer[index] = yoVariable.getValue();
+      setValueAt(index, yoVariable.getValue());
    }
 
    @Override
    public void readBufferAt(int index)
    {
-      yoVariable.set(buffer[index]);
+      yoVariable.set(getValueAt(index));
    }
 
-   @Override
-   long getValueAsLongBits(int index)
+   /**
+    * Returns the value stored in the buffer at the given index.
+    *
+    * @param index the index in the buffer.
+    * @return the buffered value.
+    */
+   public boolean getValueAt(int index)
    {
-      return buffer[index] ? 1 : 0;
+      return column.getLongBits(index) != 0L;
+   }
+
+   /**
+    * Sets the value stored in the buffer at the given index.
+    *
+    * @param index the index in the buffer.
+    * @param value the new value.
+    */
+   public void setValueAt(int index, boolean value)
+   {
+      writeLongBits(index, value ? 1L : 0L);
    }
 
    @Override
-   public BufferSample<boolean[]> copy(int from, int length, YoBufferPropertiesReadOnly properties)
+   long getValueAsLongBits(int index)
    {
-      return new BufferSample<>(from, SharedMemoryTools.ringArrayCopy(buffer, from, length), length, properties);
+      return getValueAt(index) ? 1 : 0;
    }
 
    @Override
-   public void fillBuffer(boolean zeroFill, int from, int length)
+   double longBitsToDouble(long bits)
    {
-      SharedMemoryTools.ringArrayFill(buffer, zeroFill ? false : yoVariable.getValue(), from, length);
+      return bits;
    }
 
    @Override
-   LinkedYoBoolean newLinkedYoVariable(YoBoolean variableToLink, Object initialUser)
+   public BufferSample<boolean[]> copy(int from, int length, YoBufferPropertiesReadOnly properties)
    {
-      return new LinkedYoBoolean(variableToLink, this, initialUser);
+      return new BufferSample<>(from, (boolean[]) column.copy(from, length), length, properties);
    }
 
    @Override
-   public boolean[] getBuffer()
+   public void fillBuffer(boolean zeroFill, int from, int length)
    {
-      return buffer;
+      fillLongBits(!zeroFill && yoVariable.getValue() ? 1L : 0L, from, length);
    }
 
    @Override
-   public double[] getAsDoubleBuffer()
+   LinkedYoBoolean newLinkedYoVariable(YoBoolean variableToLink, Object initialUser)
    {
-      return SharedMemoryTools.toDoubleArray(buffer);
+      return new LinkedYoBoolean(variableToLink, this, initialUser);
    }
 
+   /**
+    * Returns the array backing this buffer.
+    *
+    * @throws UnsupportedOperationException if the buffer is not stored on the heap, in which case
+    *                                       {@link #getValueAt(int)} should be used instead.
+    */
    @Override
-   public void dispose()
+   public boolean[] getBuffer()
    {
-      buffer = null;
+      return (boolean[]) column.getArray();
    }
 }
@@ -0,0 +1,371 @@
+package us.ihmc.scs2.sharedMemory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Predicate;
+
+import us.ihmc.scs2.sharedMemory.YoBufferDiffReport.VariableDiff;
+import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryIOTools;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoEnum;
+import us.ihmc.yoVariables.variable.YoVariable;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Compares the history of the variables of two buffers, for instance to find which variables
+ * diverged between two runs of the same scenario.
+ * <p>
+ * The variables are matched by full name and compared over the active part of the buffers, sample by
+ * sample starting from the in-point of each buffer. For each variable, the first sample where the
+ * error exceeds the tolerance, the maximum absolute error, and the RMS error are computed. The error
+ * of enums is {@code 1} when the constants differ, the constants being matched by name such that
+ * reordering or adding constants to an enum does not show as a divergence. A {@code NaN} compared to
+ * a number has an infinite error.
+ * </p>
+ * <p>
+ * The variables are processed in parallel, each variable being read by chunks such that only a few
+ * samples per variable are in memory at once. Combined with buffers loaded with
+ * {@link SharedMemoryIOTools#importDataBinary(File, YoSharedBuffer)} which maps the data from the
+ * disk, this allows to compare recordings larger than the memory.
+ * </p>
+ * <p>
+ * The buffers should not be modified during the comparison.
+ * </p>
+ */
+public class YoBufferDiff
+{
+   /** Number of samples read at once from each buffer. */
+   private static final int CHUNK_SIZE = 4096;
+
+   private final EnumMap<YoVariableType, Double> tolerances = new EnumMap<>(YoVariableType.class);
+   private Predicate<YoVariable> variableFilter = null;
+   private ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+
+   /**
+    * Creates a new diff engine, by default the variables have to be exactly equal.
+    */
+   public YoBufferDiff()
+   {
+      for (YoVariableType type : YoVariableType.values())
+         tolerances.put(type, 0.0);
+   }
+
+   /**
+    * Sets the largest error for which the values of a given type are considered equal.
+    *
+    * @param type      the variable type.
+    * @param tolerance the tolerance, default value {@code 0.0}.
+    */
+   public void setTolerance(YoVariableType type, double tolerance)
+   {
+      if (tolerance < 0.0)
+         throw new IllegalArgumentException("The tolerance cannot be negative: " + tolerance);
+      tolerances.put(type, tolerance);
+   }
+
+   /**
+    * Gets the tolerance for a given type.
+    *
+    * @param type the variable type.
+    * @return the tolerance.
+    */
+   public double getTolerance(YoVariableType type)
+   {
+      return tolerances.get(type);
+   }
+
+   /**
+    * [Optional] Sets a filter to select the variables of the reference buffer to compare.
+    *
+    * @param variableFilter the filter, or {@code null} to compare all the variables.
+    */
+   public void setVariableFilter(Predicate<YoVariable> variableFilter)
+   {
+      this.variableFilter = variableFilter;
+   }
+
+   /**
+    * [Optional] Sets the pool used to compare the variables in parallel.
+    *
+    * @param forkJoinPool the pool, default value {@link ForkJoinPool#commonPool()}.
+    */
+   public void setForkJoinPool(ForkJoinPool forkJoinPool)
+   {
+      this.forkJoinPool = forkJoinPool;
+   }
+
+   /**
+    * Loads and compares two data files.
+    * <p>
+    * The format of each file is determined from its extension, see
+    * {@link SharedMemoryIOTools#importData(File, YoSharedBuffer)}. The buffers are disposed once
+    * compared.
+    * </p>
+    *
+    * @param referenceFile     the data file of the reference recording.
+    * @param referenceRegistry the registry describing the variables of the reference file, typically
+    *                          loaded with {@link SharedMemoryIOTools#importRegistry(java.io.InputStream)}.
+    * @param otherFile         the data file of the recording to compare.
+    * @param otherRegistry     the registry describing the variables of the other file.
+    * @return the report of the comparison.
+    * @throws IOException if an I/O error occurs while loading the files.
+    */
+   public YoBufferDiffReport compare(File referenceFile, YoRegistry referenceRegistry, File otherFile, YoRegistry otherRegistry) throws IOException
+   {
+      YoSharedBuffer reference = null;
+      YoSharedBuffer other = null;
+
+      try
+      {
+         reference = SharedMemoryIOTools.importData(referenceFile, new YoSharedBuffer(referenceRegistry, 1));
+         other = SharedMemoryIOTools.importData(otherFile, new YoSharedBuffer(otherRegistry, 1));
+         return compare(reference, other);
+      }
+      finally
+      {
+         if (reference != null)
+            reference.dispose();
+         if (other != null)
+            other.dispose();
+      }
+   }
+
+   /**
+    * Compares two buffers.
+    *
+    * @param reference the buffer of the reference recording.
+    * @param other     the buffer of the recording to compare.
+    * @return the report of the comparison.
+    */
+   public YoBufferDiffReport compare(YoSharedBuffer reference, YoSharedBuffer other)
+   {
+      Map<String, YoVariableBuffer<?>> otherBuffers = new LinkedHashMap<>();
+      for (YoVariableBuffer<?> otherBuffer : other.getRegistryBuffer().getYoVariableBuffers())
+         otherBuffers.put(otherBuffer.getYoVariable().getFullNameString(), otherBuffer);
+
+      List<YoVariableBuffer<?>> referenceBuffers = new ArrayList<>();
+      List<YoVariableBuffer<?>> matchingBuffers = new ArrayList<>();
+      List<String> variablesOnlyInReference = new ArrayList<>();
+
+      for (YoVariableBuffer<?> referenceBuffer : reference.getRegistryBuffer().getYoVariableBuffers())
+      {
+         YoVariable variable = referenceBuffer.getYoVariable();
+         if (variableFilter != null && !variableFilter.test(variable))
+            continue;
+
+         YoVariableBuffer<?> otherBuffer = otherBuffers.remove(variable.getFullNameString());
+
+         if (otherBuffer == null)
+         {
+            variablesOnlyInReference.add(variable.getFullNameString());
+         }
+         else
+         {
+            referenceBuffers.add(referenceBuffer);
+            matchingBuffers.add(otherBuffer);
+         }
+      }
+
+      List<String> variablesOnlyInOther = new ArrayList<>();
+      for (YoVariableBuffer<?> otherBuffer : otherBuffers.values())
+      {
+         if (variableFilter == null || variableFilter.test(otherBuffer.getYoVariable()))
+            variablesOnlyInOther.add(otherBuffer.getYoVariable().getFullNameString());
+      }
+
+      int referenceLength = reference.getProperties().getActiveBufferLength();
+      int otherLength = other.getProperties().getActiveBufferLength();
+      int length = Math.min(referenceLength, otherLength);
+      VariableDiff[] variableDiffs = new VariableDiff[referenceBuffers.size()];
+
+      if (!referenceBuffers.isEmpty())
+      {
+         forkJoinPool.invoke(new DiffAction(referenceBuffers.toArray(new YoVariableBuffer<?>[0]),
+                                            matchingBuffers.toArray(new YoVariableBuffer<?>[0]),
+                                            length,
+                                            variableDiffs,
+                                            0,
+                                            variableDiffs.length));
+      }
+
+      YoBufferTimeIndex timeIndex = reference.getTimeIndex();
+
+      if (timeIndex != null)
+      { // Adding the time of divergence from the reference time.
+         YoBufferPropertiesReadOnly properties = reference.getProperties();
+
+         for (int i = 0; i < variableDiffs.length; i++)
+         {
+            VariableDiff diff = variableDiffs[i];
+            if (!diff.hasDiverged())
+               continue;
+            double time = timeIndex.timeAtIndex(SharedMemoryTools.increment(properties.getInPoint(), diff.firstDivergenceIndex(), properties.getSize()));
+            variableDiffs[i] = new VariableDiff(diff.fullName(),
+                                               diff.type(),
+                                               diff.firstDivergenceIndex(),
+                                               time,
+                                               diff.maxAbsoluteError(),
+                                               diff.maxAbsoluteErrorIndex(),
+                                               diff.rmsError(),
+                                               diff.numberOfDivergentSamples());
+         }
+      }
+
+      Arrays.sort(variableDiffs, YoBufferDiffReport.RANKING);
+      return new YoBufferDiffReport(referenceLength, otherLength, new ArrayList<>(Arrays.asList(variableDiffs)), variablesOnlyInReference, variablesOnlyInOther);
+   }
+
+   /**
+    * Compares the history of a single variable, reading both buffers by chunks.
+    */
+   private VariableDiff compare(YoVariableBuffer<?> reference, YoVariableBuffer<?> other, int length)
+   {
+      YoVariableType type = reference.getYoVariable().getType();
+      boolean isEnum = type == YoVariableType.ENUM && other.getYoVariable().getType() == YoVariableType.ENUM;
+      double[] otherToReferenceOrdinals = isEnum ? newOrdinalTranslation((YoEnum<?>) reference.getYoVariable(), (YoEnum<?>) other.getYoVariable()) : null;
+      double tolerance = tolerances.get(type);
+
+      int referenceSize = reference.getProperties().getSize();
+      int otherSize = other.getProperties().getSize();
+      int referenceInPoint = reference.getProperties().getInPoint();
+      int otherInPoint = other.getProperties().getInPoint();
+
+      double[] referenceChunk = new double[Math.min(length, CHUNK_SIZE)];
+      double[] otherChunk = new double[referenceChunk.length];
+
+      int firstDivergenceIndex = -1;
+      double maxAbsoluteError = 0.0;
+      int maxAbsoluteErrorIndex = -1;
+      double sumOfSquaredErrors = 0.0;
+      int numberOfDivergentSamples = 0;
+
+      for (int offset = 0; offset < length; offset += referenceChunk.length)
+      {
+         int chunkLength = Math.min(referenceChunk.length, length - offset);
+         reference.getValuesAsDouble(SharedMemoryTools.increment(referenceInPoint, offset, referenceSize), chunkLength, referenceChunk, 0);
+         other.getValuesAsDouble(SharedMemoryTools.increment(otherInPoint, offset, otherSize), chunkLength, otherChunk, 0);
+
+         for (int i = 0; i < chunkLength; i++)
+         {
+            double referenceValue = referenceChunk[i];
+            double otherValue = isEnum ? translateOrdinal(otherChunk[i], otherToReferenceOrdinals) : otherChunk[i];
+
+            if (referenceValue == otherValue || Double.isNaN(referenceValue) && Double.isNaN(otherValue))
+               continue;
+
+            double error;
+            if (isEnum)
+               error = 1.0;
+            else if (Double.isNaN(referenceValue) || Double.isNaN(otherValue))
+               error = Double.POSITIVE_INFINITY;
+            else
+               error = Math.abs(referenceValue - otherValue);
+
+            sumOfSquaredErrors += error * error;
+
+            if (error > maxAbsoluteError)
+            {
+               maxAbsoluteError = error;
+               maxAbsoluteErrorIndex = offset + i;
+            }
+
+            if (error > tolerance)
+            {
+               numberOfDivergentSamples++;
+               if (firstDivergenceIndex == -1)
+                  firstDivergenceIndex = offset + i;
+            }
+         }
+      }
+
+      double rmsError = length == 0 ? 0.0 : Math.sqrt(sumOfSquaredErrors / length);
+      return new VariableDiff(reference.getYoVariable().getFullNameString(),
+                              type,
+                              firstDivergenceIndex,
+                              Double.NaN,
+                              maxAbsoluteError,
+                              maxAbsoluteErrorIndex,
+                              rmsError,
+                              numberOfDivergentSamples);
+   }
+
+   /**
+    * Maps each ordinal of the other enum to the ordinal of the reference constant of the same name.
+    * The constants missing in the reference are mapped to distinct values that never match a
+    * reference ordinal.
+    */
+   private static double[] newOrdinalTranslation(YoEnum<?> reference, YoEnum<?> other)
+   {
+      List<String> referenceConstants = Arrays.asList(reference.getEnumValuesAsString());
+      String[] otherConstants = other.getEnumValuesAsString();
+      double[] otherToReferenceOrdinals = new double[otherConstants.length];
+
+      for (int i = 0; i < otherConstants.length; i++)
+      {
+         int ordinal = referenceConstants.indexOf(otherConstants[i]);
+         otherToReferenceOrdinals[i] = ordinal != -1 ? ordinal : -2.0 - i;
+      }
+
+      return otherToReferenceOrdinals;
+   }
+
+   private static double translateOrdinal(double otherOrdinal, double[] otherToReferenceOrdinals)
+   {
+      // The null value, YoEnum.NULL_VALUE, is the same for both enums.
+      if (otherOrdinal < 0.0 || otherOrdinal >= otherToReferenceOrdinals.length)
+         return otherOrdinal;
+      return otherToReferenceOrdinals[(int) otherOrdinal];
+   }
+
+   private class DiffAction extends RecursiveAction
+   {
+      private static final long serialVersionUID = 1L;
+
+      private final YoVariableBuffer<?>[] referenceBuffers;
+      private final YoVariableBuffer<?>[] otherBuffers;
+      private final int length;
+      private final VariableDiff[] variableDiffs;
+      private final int start;
+      private final int end;
+
+      private DiffAction(YoVariableBuffer<?>[] referenceBuffers,
+                         YoVariableBuffer<?>[] otherBuffers,
+                         int length,
+                         VariableDiff[] variableDiffs,
+                         int start,
+                         int end)
+      {
+         this.referenceBuffers = referenceBuffers;
+         this.otherBuffers = otherBuffers;
+         this.length = length;
+         this.variableDiffs = variableDiffs;
+         this.start = start;
+         this.end = end;
+      }
+
+      @Override
+      protected void compute()
+      {
+         if (end - start > 1)
+         {
+            int middle = (start + end) >>> 1;
+            invokeAll(new DiffAction(referenceBuffers, otherBuffers, length, variableDiffs, start, middle),
+                      new DiffAction(referenceBuffers, otherBuffers, length, variableDiffs, middle, end));
+            return;
+         }
+
+         for (int i = start; i < end; i++)
+            variableDiffs[i] = compare(referenceBuffers[i], otherBuffers[i], length);
+      }
+   }
+}
@@ -0,0 +1,213 @@
+package us.ihmc.scs2.sharedMemory;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Result of the comparison of two buffers, see {@link YoBufferDiff}.
+ * <p>
+ * The variables are ranked such that the variables that diverged first come first, as they are the
+ * most likely to be the cause of the other divergences. Variables diverging at the same sample are
+ * ranked by decreasing maximum error, and the variables that did not diverge come last.
+ * </p>
+ */
+public class YoBufferDiffReport
+{
+   /** Ranks the variables by first divergence, then by decreasing maximum error. */
+   static final Comparator<VariableDiff> RANKING = Comparator.comparing((VariableDiff diff) -> !diff.hasDiverged())
+                                                             .thenComparingInt(VariableDiff::firstDivergenceIndex)
+                                                             .thenComparing(Comparator.comparingDouble(VariableDiff::maxAbsoluteError).reversed())
+                                                             .thenComparing(VariableDiff::fullName);
+
+   /**
+    * Comparison of the history of a variable in the two buffers.
+    * <p>
+    * Sample indices are relative to the in-point of each buffer, i.e. the index {@code 0} is the
+    * first sample of the active part of both buffers.
+    * </p>
+    *
+    * @param fullName                 the full name of the variable.
+    * @param type                     the type of the variable in the reference buffer.
+    * @param firstDivergenceIndex     the first sample where the error exceeds the tolerance, or
+    *                                 {@code -1} if the variable did not diverge.
+    * @param firstDivergenceTime      the time of the first divergence in the reference buffer, or
+    *                                 {@code NaN} if the variable did not diverge or the reference
+    *                                 buffer has no time index.
+    * @param maxAbsoluteError         the maximum absolute error over the compared samples.
+    * @param maxAbsoluteErrorIndex    the sample where the maximum error occurs, or {@code -1} if the
+    *                                 variable is identical in both buffers.
+    * @param rmsError                 the root-mean-square of the error over the compared samples.
+    * @param numberOfDivergentSamples the number of samples where the error exceeds the tolerance.
+    */
+   public record VariableDiff(String fullName,
+                              YoVariableType type,
+                              int firstDivergenceIndex,
+                              double firstDivergenceTime,
+                              double maxAbsoluteError,
+                              int maxAbsoluteErrorIndex,
+                              double rmsError,
+                              int numberOfDivergentSamples)
+   {
+      /**
+       * Whether the error exceeds the tolerance for at least one sample.
+       *
+       * @return {@code true} if the variable diverged.
+       */
+      public boolean hasDiverged()
+      {
+         return firstDivergenceIndex != -1;
+      }
+
+      @Override
+      public String toString()
+      {
+         if (!hasDiverged())
+            return fullName + ": identical within tolerance, max error: " + maxAbsoluteError;
+         return fullName + ": diverged at sample " + firstDivergenceIndex + (Double.isNaN(firstDivergenceTime) ? "" : " (t = " + firstDivergenceTime + ")")
+               + ", max error: " + maxAbsoluteError + " at sample " + maxAbsoluteErrorIndex + ", RMS error: " + rmsError + ", divergent samples: "
+               + numberOfDivergentSamples;
+      }
+   }
+
+   private final int referenceLength;
+   private final int otherLength;
+   private final List<VariableDiff> variableDiffs;
+   private final List<String> variablesOnlyInReference;
+   private final List<String> variablesOnlyInOther;
+
+   YoBufferDiffReport(int referenceLength,
+                      int otherLength,
+                      List<VariableDiff> variableDiffs,
+                      List<String> variablesOnlyInReference,
+                      List<String> variablesOnlyInOther)
+   {
+      this.referenceLength = referenceLength;
+      this.otherLength = otherLength;
+      this.variableDiffs = Collections.unmodifiableList(variableDiffs);
+      this.variablesOnlyInReference = Collections.unmodifiableList(variablesOnlyInReference);
+      this.variablesOnlyInOther = Collections.unmodifiableList(variablesOnlyInOther);
+   }
+
+   /**
+    * Whether all the variables of both buffers match and are equal within tolerance.
+    *
+    * @return {@code true} if the buffers are equivalent.
+    */
+   public boolean isIdentical()
+   {
+      return referenceLength == otherLength && variablesOnlyInReference.isEmpty() && variablesOnlyInOther.isEmpty() && getNumberOfDivergentVariables() == 0;
+   }
+
+   /**
+    * Gets the number of samples in the active part of the reference buffer.
+    *
+    * @return the length of the reference.
+    */
+   public int getReferenceLength()
+   {
+      return referenceLength;
+   }
+
+   /**
+    * Gets the number of samples in the active part of the other buffer.
+    * <p>
+    * When the lengths differ, only the first samples common to both buffers are compared.
+    * </p>
+    *
+    * @return the length of the other buffer.
+    */
+   public int getOtherLength()
+   {
+      return otherLength;
+   }
+
+   /**
+    * Gets the comparison of the variables present in both buffers.
+    *
+    * @return the ranked list of the variable comparisons.
+    */
+   public List<VariableDiff> getVariableDiffs()
+   {
+      return variableDiffs;
+   }
+
+   /**
+    * Gets the number of variables for which the error exceeds the tolerance.
+    *
+    * @return the number of divergent variables.
+    */
+   public int getNumberOfDivergentVariables()
+   {
+      int count = 0;
+      while (count < variableDiffs.size() && variableDiffs.get(count).hasDiverged())
+         count++;
+      return count;
+   }
+
+   /**
+    * Gets the comparison of the variables for which the error exceeds the tolerance.
+    *
+    * @return the ranked list of the divergent variables.
+    */
+   public List<VariableDiff> getDivergentVariableDiffs()
+   {
+      return variableDiffs.subList(0, getNumberOfDivergentVariables());
+   }
+
+   /**
+    * Gets the full name of the variables that are only recorded in the reference buffer.
+    *
+    * @return the full names.
+    */
+   public List<String> getVariablesOnlyInReference()
+   {
+      return variablesOnlyInReference;
+   }
+
+   /**
+    * Gets the full name of the variables that are only recorded in the other buffer.
+    *
+    * @return the full names.
+    */
+   public List<String> getVariablesOnlyInOther()
+   {
+      return variablesOnlyInOther;
+   }
+
+   /**
+    * Summarizes this report with the given number of top ranked divergent variables.
+    *
+    * @param maxNumberOfVariables the maximum number of divergent variables to list.
+    * @return the summary.
+    */
+   public String toString(int maxNumberOfVariables)
+   {
+      StringBuilder sb = new StringBuilder();
+      int numberOfDivergentVariables = getNumberOfDivergentVariables();
+      sb.append("Compared ").append(variableDiffs.size()).append(" variables over ").append(Math.min(referenceLength, otherLength)).append(" samples");
+      if (referenceLength != otherLength)
+         sb.append(" (lengths differ: ").append(referenceLength).append(" vs ").append(otherLength).append(")");
+      sb.append(", ").append(numberOfDivergentVariables).append(" diverged.");
+
+      if (!variablesOnlyInReference.isEmpty())
+         sb.append("\nOnly in reference: ").append(variablesOnlyInReference.size()).append(" variables.");
+      if (!variablesOnlyInOther.isEmpty())
+         sb.append("\nOnly in other: ").append(variablesOnlyInOther.size()).append(" variables.");
+
+      for (int i = 0; i < Math.min(maxNumberOfVariables, numberOfDivergentVariables); i++)
+         sb.append("\n").append(i + 1).append(". ").append(variableDiffs.get(i));
+      if (numberOfDivergentVariables > maxNumberOfVariables)
+         sb.append("\n... ").append(numberOfDivergentVariables - maxNumberOfVariables).append(" more.");
+
+      return sb.toString();
+   }
+
+   @Override
+   public String toString()
+   {
+      return toString(20);
+   }
+}
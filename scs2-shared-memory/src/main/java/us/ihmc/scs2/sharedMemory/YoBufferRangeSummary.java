@@ -0,0 +1,126 @@
+package us.ihmc.scs2.sharedMemory;
+
+/**
+ * Summary of the values stored in a range of a {@link YoVariableBuffer}.
+ * <p>
+ * {@code NaN} values are ignored, when the range only contains {@code NaN} values the count is
+ * zero and the minimum and maximum are respectively {@link Double#POSITIVE_INFINITY} and
+ * {@link Double#NEGATIVE_INFINITY}.
+ * </p>
+ *
+ * @see YoVariableBuffer#computeRangeSummary(int, int, YoBufferRangeSummary)
+ */
+public class YoBufferRangeSummary
+{
+   private double min;
+   private double max;
+   private double sum;
+   private int count;
+
+   /**
+    * Creates a new summary of an empty range.
+    */
+   public YoBufferRangeSummary()
+   {
+      clear();
+   }
+
+   /**
+    * Resets this summary to represent an empty range.
+    */
+   public void clear()
+   {
+      min = Double.POSITIVE_INFINITY;
+      max = Double.NEGATIVE_INFINITY;
+      sum = 0.0;
+      count = 0;
+   }
+
+   void add(double value)
+   {
+      if (Double.isNaN(value))
+         return;
+
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+      sum += value;
+      count++;
+   }
+
+   void add(double min, double max, double sum, int count)
+   {
+      if (count == 0)
+         return;
+
+      this.min = Math.min(this.min, min);
+      this.max = Math.max(this.max, max);
+      this.sum += sum;
+      this.count += count;
+   }
+
+   /**
+    * Gets the smallest value in the range.
+    *
+    * @return the minimum value.
+    */
+   public double getMin()
+   {
+      return min;
+   }
+
+   /**
+    * Gets the largest value in the range.
+    *
+    * @return the maximum value.
+    */
+   public double getMax()
+   {
+      return max;
+   }
+
+   /**
+    * Gets the sum of the values in the range.
+    *
+    * @return the sum of the values.
+    */
+   public double getSum()
+   {
+      return sum;
+   }
+
+   /**
+    * Gets the number of values in the range, not counting {@code NaN}s.
+    *
+    * @return the number of values.
+    */
+   public int getCount()
+   {
+      return count;
+   }
+
+   /**
+    * Gets the average of the values in the range.
+    *
+    * @return the mean value, or {@code NaN} if the range is empty.
+    */
+   public double getMean()
+   {
+      return count == 0 ? Double.NaN : sum / count;
+   }
+
+   /**
+    * Whether the range contains at least one value.
+    *
+    * @return {@code true} if the range is empty.
+    */
+   public boolean isEmpty()
+   {
+      return count == 0;
+   }
+
+   @Override
+   public String toString()
+   {
+      return "min: " + min + ", max: " + max + ", sum: " + sum + ", count: " + count;
+   }
+}
@@ -0,0 +1,251 @@
+package us.ihmc.scs2.sharedMemory;
+
+import java.util.Arrays;
+
+/**
+ * Statistics of the values stored in a range of a {@link YoVariableBuffer}.
+ * <p>
+ * {@code NaN} values are ignored, when the range only contains {@code NaN} values the count is
+ * zero and all the statistics are {@code NaN}.
+ * </p>
+ *
+ * @see YoVariableBuffer#computeStatistics(int, int, double[], YoBufferStatistics)
+ */
+public class YoBufferStatistics
+{
+   private double min;
+   private double max;
+   private double mean;
+   /** Sum of the squared differences to the mean. */
+   private double m2;
+   private double sumOfSquares;
+   private int count;
+
+   private double[] percentileLevels = new double[0];
+   private double[] percentiles = new double[0];
+
+   /**
+    * Creates new statistics of an empty range.
+    */
+   public YoBufferStatistics()
+   {
+      clear();
+   }
+
+   /**
+    * Resets these statistics to represent an empty range.
+    */
+   public void clear()
+   {
+      min = Double.POSITIVE_INFINITY;
+      max = Double.NEGATIVE_INFINITY;
+      mean = 0.0;
+      m2 = 0.0;
+      sumOfSquares = 0.0;
+      count = 0;
+      Arrays.fill(percentiles, Double.NaN);
+   }
+
+   /**
+    * Adds the values in {@code [start, end[} to these statistics.
+    * <p>
+    * The chunk is first reduced on its own, in loops over the primitive array without any dependency
+    * between iterations, and then merged using the pairwise update of the mean and variance which
+    * remains accurate for long ranges.
+    * </p>
+    */
+   void accumulate(double[] values, int start, int end)
+   {
+      double chunkMin = Double.POSITIVE_INFINITY;
+      double chunkMax = Double.NEGATIVE_INFINITY;
+      double chunkSum = 0.0;
+      int chunkCount = 0;
+
+      for (int i = start; i < end; i++)
+      {
+         double value = values[i];
+         if (Double.isNaN(value))
+            continue;
+         chunkMin = Math.min(chunkMin, value);
+         chunkMax = Math.max(chunkMax, value);
+         chunkSum += value;
+         chunkCount++;
+      }
+
+      if (chunkCount == 0)
+         return;
+
+      double chunkMean = chunkSum / chunkCount;
+      double chunkM2 = 0.0;
+
+      for (int i = start; i < end; i++)
+      {
+         double delta = values[i] - chunkMean;
+         if (!Double.isNaN(delta))
+            chunkM2 += delta * delta;
+      }
+
+      min = Math.min(min, chunkMin);
+      max = Math.max(max, chunkMax);
+      sumOfSquares += chunkM2 + chunkCount * chunkMean * chunkMean;
+
+      int newCount = count + chunkCount;
+      double delta = chunkMean - mean;
+      mean += delta * chunkCount / newCount;
+      m2 += chunkM2 + delta * delta * ((double) count * chunkCount / newCount);
+      count = newCount;
+   }
+
+   /**
+    * Computes the percentiles from the values of the range, the values are sorted in place.
+    */
+   void computePercentiles(double[] percentileLevels, double[] values, int length)
+   {
+      if (this.percentileLevels.length != percentileLevels.length)
+      {
+         this.percentileLevels = new double[percentileLevels.length];
+         percentiles = new double[percentileLevels.length];
+      }
+      System.arraycopy(percentileLevels, 0, this.percentileLevels, 0, percentileLevels.length);
+
+      if (percentileLevels.length == 0)
+         return;
+
+      int numberOfValues = 0;
+
+      for (int i = 0; i < length; i++)
+      {
+         if (!Double.isNaN(values[i]))
+            values[numberOfValues++] = values[i];
+      }
+
+      Arrays.sort(values, 0, numberOfValues);
+
+      for (int i = 0; i < percentileLevels.length; i++)
+      {
+         if (numberOfValues == 0)
+         {
+            percentiles[i] = Double.NaN;
+            continue;
+         }
+
+         // Linear interpolation between the closest ranks.
+         double rank = Math.min(Math.max(percentileLevels[i], 0.0), 100.0) / 100.0 * (numberOfValues - 1);
+         int lowerRank = (int) rank;
+         int upperRank = Math.min(lowerRank + 1, numberOfValues - 1);
+         percentiles[i] = values[lowerRank] + (rank - lowerRank) * (values[upperRank] - values[lowerRank]);
+      }
+   }
+
+   /**
+    * Gets the smallest value in the range.
+    *
+    * @return the minimum value.
+    */
+   public double getMin()
+   {
+      return count == 0 ? Double.NaN : min;
+   }
+
+   /**
+    * Gets the largest value in the range.
+    *
+    * @return the maximum value.
+    */
+   public double getMax()
+   {
+      return count == 0 ? Double.NaN : max;
+   }
+
+   /**
+    * Gets the average of the values in the range.
+    *
+    * @return the mean value.
+    */
+   public double getMean()
+   {
+      return count == 0 ? Double.NaN : mean;
+   }
+
+   /**
+    * Gets the root mean square of the values in the range.
+    *
+    * @return the RMS value.
+    */
+   public double getRMS()
+   {
+      return count == 0 ? Double.NaN : Math.sqrt(sumOfSquares / count);
+   }
+
+   /**
+    * Gets the population standard deviation of the values in the range.
+    *
+    * @return the standard deviation.
+    */
+   public double getStandardDeviation()
+   {
+      return count == 0 ? Double.NaN : Math.sqrt(m2 / count);
+   }
+
+   /**
+    * Gets the number of values in the range, not counting {@code NaN}s.
+    *
+    * @return the number of values.
+    */
+   public int getCount()
+   {
+      return count;
+   }
+
+   /**
+    * Whether the range contains at least one value.
+    *
+    * @return {@code true} if the range is empty.
+    */
+   public boolean isEmpty()
+   {
+      return count == 0;
+   }
+
+   /**
+    * Gets the number of percentiles that were requested.
+    *
+    * @return the number of percentiles.
+    */
+   public int getNumberOfPercentiles()
+   {
+      return percentileLevels.length;
+   }
+
+   /**
+    * Gets the level, in {@code [0, 100]}, of the i<sup>th</sup> percentile requested.
+    *
+    * @param index the index of the percentile.
+    * @return the level of the percentile, e.g. {@code 99.0} for the 99<sup>th</sup> percentile.
+    */
+   public double getPercentileLevel(int index)
+   {
+      return percentileLevels[index];
+   }
+
+   /**
+    * Gets the value of the i<sup>th</sup> percentile requested.
+    *
+    * @param index the index of the percentile.
+    * @return the value of the percentile.
+    */
+   public double getPercentile(int index)
+   {
+      return percentiles[index];
+   }
+
+   @Override
+   public String toString()
+   {
+      String result = "min: " + getMin() + ", max: " + getMax() + ", mean: " + getMean() + ", RMS: " + getRMS() + ", std-dev: " + getStandardDeviation()
+            + ", count: " + count;
+      for (int i = 0; i < percentileLevels.length; i++)
+         result += ", p" + percentileLevels[i] + ": " + percentiles[i];
+      return result;
+   }
+}
@@ -0,0 +1,224 @@
+package us.ihmc.scs2.sharedMemory;
+
+import java.util.Arrays;
+
+/**
+ * Multi-resolution summary of a {@link YoVariableBuffer} used to compute the min/max/sum over a range
+ * of the buffer without scanning every element.
+ * <p>
+ * The buffer is split into blocks of 64, 4096, and 262144 elements, each level only being created if
+ * the buffer is larger than the blocks of the level below. Writing an element updates the summary of
+ * the blocks containing it in constant time. When the summary of a block cannot be updated
+ * incrementally, e.g. the previous value was the minimum of the block and the new value is larger,
+ * the block is marked dirty and is recomputed from the level below the next time it is queried.
+ * </p>
+ */
+final class YoBufferSummaryPyramid
+{
+   private static final int[] LEVEL_SHIFTS = {6, 12, 18};
+
+   private final YoVariableBuffer<?> buffer;
+   private final int size;
+   private final int numberOfLevels;
+
+   private final double[][] blockMins;
+   private final double[][] blockMaxs;
+   private final double[][] blockSums;
+   private final int[][] blockCounts;
+   private final boolean[][] dirtyBlocks;
+
+   /**
+    * Creates the summary of the given buffer, every block starts dirty and is computed on the first
+    * query.
+    */
+   YoBufferSummaryPyramid(YoVariableBuffer<?> buffer, int size)
+   {
+      this.buffer = buffer;
+      this.size = size;
+
+      int numberOfLevels = 1;
+      while (numberOfLevels < LEVEL_SHIFTS.length && size > 1 << LEVEL_SHIFTS[numberOfLevels - 1])
+         numberOfLevels++;
+      this.numberOfLevels = numberOfLevels;
+
+      blockMins = new double[numberOfLevels][];
+      blockMaxs = new double[numberOfLevels][];
+      blockSums = new double[numberOfLevels][];
+      blockCounts = new int[numberOfLevels][];
+      dirtyBlocks = new boolean[numberOfLevels][];
+
+      for (int level = 0; level < numberOfLevels; level++)
+      {
+         int shift = LEVEL_SHIFTS[level];
+         int numberOfBlocks = (size + (1 << shift) - 1) >>> shift;
+         blockMins[level] = new double[numberOfBlocks];
+         blockMaxs[level] = new double[numberOfBlocks];
+         blockSums[level] = new double[numberOfBlocks];
+         blockCounts[level] = new int[numberOfBlocks];
+         dirtyBlocks[level] = new boolean[numberOfBlocks];
+         Arrays.fill(dirtyBlocks[level], true);
+      }
+   }
+
+   /**
+    * Updates the summary after an element of the buffer has changed.
+    *
+    * @param index         the index of the element that changed.
+    * @param previousValue the value of the element before the change.
+    * @param newValue      the value of the element after the change.
+    */
+   void update(int index, double previousValue, double newValue)
+   {
+      boolean isIncremental = Double.isFinite(previousValue) && Double.isFinite(newValue);
+
+      for (int level = 0; level < numberOfLevels; level++)
+      {
+         int block = index >>> LEVEL_SHIFTS[level];
+         boolean[] dirty = dirtyBlocks[level];
+
+         if (dirty[block])
+            continue;
+
+         double[] mins = blockMins[level];
+         double[] maxs = blockMaxs[level];
+
+         if (!isIncremental || previousValue <= mins[block] && newValue > previousValue || previousValue >= maxs[block] && newValue < previousValue)
+         { // The previous value may have been the extremum of the block.
+            dirty[block] = true;
+         }
+         else
+         {
+            mins[block] = Math.min(mins[block], newValue);
+            maxs[block] = Math.max(maxs[block], newValue);
+            blockSums[level][block] += newValue - previousValue;
+         }
+      }
+   }
+
+   /**
+    * Marks the blocks overlapping the given range as dirty.
+    *
+    * @param from   the first index of the range.
+    * @param length the number of elements in the range, wrapping around the end of the buffer if
+    *               needed.
+    */
+   void invalidate(int from, int length)
+   {
+      if (length <= 0)
+         return;
+
+      if (length >= size)
+      {
+         for (boolean[] dirty : dirtyBlocks)
+            Arrays.fill(dirty, true);
+      }
+      else if (from + length <= size)
+      {
+         invalidateLinearRange(from, from + length);
+      }
+      else
+      {
+         invalidateLinearRange(from, size);
+         invalidateLinearRange(0, from + length - size);
+      }
+   }
+
+   private void invalidateLinearRange(int start, int end)
+   {
+      for (int level = 0; level < numberOfLevels; level++)
+      {
+         int shift = LEVEL_SHIFTS[level];
+         Arrays.fill(dirtyBlocks[level], start >>> shift, ((end - 1) >>> shift) + 1, true);
+      }
+   }
+
+   /**
+    * Adds the elements in {@code [start, end[} to the given summary, using the largest blocks fitting in
+    * the range and reading the individual elements only at the boundaries of the range.
+    */
+   void accumulate(int start, int end, YoBufferRangeSummary summaryToPack)
+   {
+      int index = start;
+
+      while (index < end)
+      {
+         int level = numberOfLevels - 1;
+
+         for (; level >= 0; level--)
+         {
+            int blockSize = 1 << LEVEL_SHIFTS[level];
+            if ((index & (blockSize - 1)) == 0 && Math.min(index + blockSize, size) <= end)
+               break;
+         }
+
+         if (level < 0)
+         {
+            summaryToPack.add(buffer.getValueAsDouble(index));
+            index++;
+         }
+         else
+         {
+            int shift = LEVEL_SHIFTS[level];
+            int block = index >>> shift;
+            updateBlock(level, block);
+            summaryToPack.add(blockMins[level][block], blockMaxs[level][block], blockSums[level][block], blockCounts[level][block]);
+            index = Math.min(index + (1 << shift), size);
+         }
+      }
+   }
+
+   private void updateBlock(int level, int block)
+   {
+      if (!dirtyBlocks[level][block])
+         return;
+
+      int shift = LEVEL_SHIFTS[level];
+      int start = block << shift;
+      int end = Math.min(start + (1 << shift), size);
+
+      double min = Double.POSITIVE_INFINITY;
+      double max = Double.NEGATIVE_INFINITY;
+      double sum = 0.0;
+      int count = 0;
+
+      if (level == 0)
+      {
+         for (int index = start; index < end; index++)
+         {
+            double value = buffer.getValueAsDouble(index);
+
+            if (Double.isNaN(value))
+               continue;
+
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            sum += value;
+            count++;
+         }
+      }
+      else
+      {
+         int childShift = LEVEL_SHIFTS[level - 1];
+         int lastChild = (end - 1) >>> childShift;
+
+         for (int child = start >>> childShift; child <= lastChild; child++)
+         {
+            updateBlock(level - 1, child);
+
+            if (blockCounts[level - 1][child] == 0)
+               continue;
+
+            min = Math.min(min, blockMins[level - 1][child]);
+            max = Math.max(max, blockMaxs[level - 1][child]);
+            sum += blockSums[level - 1][child];
+            count += blockCounts[level - 1][child];
+         }
+      }
+
+      blockMins[level][block] = min;
+      blockMaxs[level][block] = max;
+      blockSums[level][block] = sum;
+      blockCounts[level][block] = count;
+      dirtyBlocks[level][block] = false;
+   }
+}
@@ -0,0 +1,172 @@
+package us.ihmc.scs2.sharedMemory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+
+/**
+ * {@link TimeIndex} over the active part of a buffer, from the in-point to the out-point, using the
+ * history of a time variable.
+ * <p>
+ * The index is brought up-to-date lazily when queried. Samples appended at the out-point, including
+ * when the in-point moves forward as the buffer wraps around, are indexed incrementally. Any other
+ * modification of the time buffer, e.g. crop, resize, or writing before the out-point, triggers a
+ * full scan of the active part of the buffer.
+ * </p>
+ * <p>
+ * Like the buffer, this class is not thread-safe and should only be used from the thread owning the
+ * buffer.
+ * </p>
+ */
+public class YoBufferTimeIndex
+{
+   private final YoDoubleBuffer timeBuffer;
+   private final YoBufferPropertiesReadOnly properties;
+   private final TimeIndex timeIndex;
+
+   private boolean isInitialized = false;
+   private int size;
+   private int inPoint;
+   private long appendCount;
+   private long structuralChangeCount;
+
+   /**
+    * Creates a new index for the given time buffer.
+    *
+    * @param timeBuffer the buffer of the time variable.
+    */
+   public YoBufferTimeIndex(YoDoubleBuffer timeBuffer)
+   {
+      this.timeBuffer = timeBuffer;
+      properties = timeBuffer.getProperties();
+      timeIndex = new TimeIndex(position -> timeBuffer.getValueAt(toBufferIndex(position)));
+   }
+
+   /**
+    * Brings the index up-to-date with the buffer.
+    *
+    * @return the index over the active part of the buffer, positions are relative to the in-point.
+    */
+   public TimeIndex update()
+   {
+      int newSize = properties.getSize();
+      int newInPoint = properties.getInPoint();
+      int newLength = properties.getActiveBufferLength();
+      long newAppendCount = timeBuffer.getAppendCount();
+      long newStructuralChangeCount = timeBuffer.getStructuralChangeCount();
+
+      boolean rebuild = !isInitialized || newSize != size || newStructuralChangeCount != structuralChangeCount;
+
+      if (!rebuild)
+      {
+         long numberOfAppendedSamples = newAppendCount - appendCount;
+         long numberOfDroppedSamples = timeIndex.getLength() + numberOfAppendedSamples - newLength;
+
+         rebuild = numberOfAppendedSamples > newLength || numberOfDroppedSamples < 0
+               || newInPoint != SharedMemoryTools.increment(inPoint, (int) numberOfDroppedSamples, size);
+
+         if (!rebuild)
+         {
+            inPoint = newInPoint;
+            timeIndex.removeFirst((int) numberOfDroppedSamples);
+            // The last appended sample can be re-written without being counted as a modification.
+            int numberOfRevisitedSamples = timeIndex.getLength() > 0 ? 1 : 0;
+            timeIndex.removeLast(numberOfRevisitedSamples);
+            timeIndex.append((int) numberOfAppendedSamples + numberOfRevisitedSamples);
+            rebuild = timeIndex.getLength() != newLength;
+         }
+      }
+
+      if (rebuild)
+      {
+         size = newSize;
+         inPoint = newInPoint;
+         timeIndex.clear();
+         timeIndex.append(newLength);
+         isInitialized = true;
+      }
+
+      appendCount = newAppendCount;
+      structuralChangeCount = newStructuralChangeCount;
+      return timeIndex;
+   }
+
+   /**
+    * Finds the buffer index which time is the closest to the given time.
+    * <p>
+    * When the time goes backward in the buffer, e.g. after the session was reinitialized, the most
+    * recent part of the buffer covering the given time is used.
+    * </p>
+    *
+    * @param time the query time.
+    * @return the buffer index, or {@code -1} if the buffer is empty.
+    * @see TimeIndex#positionAtTime(double)
+    */
+   public int indexAtTime(double time)
+   {
+      int position = update().positionAtTime(time);
+      return position == -1 ? -1 : toBufferIndex(position);
+   }
+
+   /**
+    * Gets the time at the given buffer index.
+    *
+    * @param index the buffer index.
+    * @return the value of the time variable at the index.
+    */
+   public double timeAtIndex(int index)
+   {
+      return timeBuffer.getValueAt(index);
+   }
+
+   /**
+    * Finds the parts of the buffer which time is in {@code [startTime, endTime]}.
+    * <p>
+    * The returned ranges can be used for instance with
+    * {@link YoVariableBuffer#computeStatistics(int, int, double[], YoBufferStatistics)}.
+    * </p>
+    *
+    * @param startTime the start of the time interval (inclusive).
+    * @param endTime   the end of the time interval (inclusive).
+    * @return the ranges of buffer indices, the range wraps around the end of the buffer when
+    *         {@code to < from}. One range is returned per monotonic segment overlapping the time
+    *         interval, ordered from the oldest to the most recent.
+    */
+   public List<TimeIndex.Range> findIndexRanges(double startTime, double endTime)
+   {
+      List<TimeIndex.Range> positionRanges = update().findRanges(startTime, endTime);
+      List<TimeIndex.Range> indexRanges = new ArrayList<>(positionRanges.size());
+
+      for (TimeIndex.Range range : positionRanges)
+         indexRanges.add(new TimeIndex.Range(toBufferIndex(range.from()), toBufferIndex(range.to())));
+
+      return indexRanges;
+   }
+
+   /**
+    * Whether the time never goes backward in the active part of the buffer.
+    *
+    * @return {@code true} if the time is monotonic from the in-point to the out-point.
+    */
+   public boolean isMonotonic()
+   {
+      return update().isMonotonic();
+   }
+
+   /**
+    * Gets the buffer of the time variable indexed.
+    *
+    * @return the time buffer.
+    */
+   public YoDoubleBuffer getTimeBuffer()
+   {
+      return timeBuffer;
+   }
+
+   private int toBufferIndex(int position)
+   {
+      return SharedMemoryTools.increment(inPoint, position, size);
+   }
+}
@@ -1,55 +1,77 @@
 package us.ihmc.scs2.sharedMemory;
 
 import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
-import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.scs2.sharedMemory.storage.YoBufferStorage;
 import us.ihmc.yoVariables.variable.YoDouble;
 
 public class YoDoubleBuffer extends YoVariableBuffer<YoDouble>
 {
-   private double[] buffer;
-
    public YoDoubleBuffer(YoDouble yoDouble, YoBufferPropertiesReadOnly properties)
    {
-      super(yoDouble, properties);
-      buffer = new double[properties.getSize()];
+      this(yoDouble, properties, YoBufferStorage.HEAP);
    }
 
-   @Override
-   public void resizeBuffer(int from, int length)
+   public YoDoubleBuffer(YoDouble yoDouble, YoBufferPropertiesReadOnly properties, YoBufferStorage storage)
    {
-      if (from == 0 && length == buffer.length)
-         return;
-      buffer = SharedMemoryTools.ringArrayCopy(buffer, from, length);
+      super(yoDouble, properties, storage);
    }
 
    @Override
    public void writeBufferAt(int index)
    {
-      buffer[index] = yoVariable.getValue();
+      setValueAt(index, yoVariable.getValue());
    }
 
    @Override
    public void readBufferAt(int index)
    {
-      yoVariable.set(buffer[index]);
+      yoVariable.set(getValueAt(index));
+   }
+
+   /**
+    * Returns the value stored in the buffer at the given index.
+    *
+    * @param index the index in the buffer.
+    * @return the buffered value.
+    */
+   public double getValueAt(int index)
+   {
+      return Double.longBitsToDouble(column.getLongBits(index));
+   }
+
+   /**
+    * Sets the value stored in the buffer at the given index.
+    *
+    * @param index the index in the buffer.
+    * @param value the new value.
+    */
+   public void setValueAt(int index, double value)
+   {
+      writeLongBits(index, Double.doubleToRawLongBits(value));
    }
 
    @Override
    long getValueAsLongBits(int index)
    {
-      return Double.doubleToLongBits(buffer[index]);
+      return Double.doubleToLongBits(getValueAt(index));
+   }
+
+   @Override
+   double longBitsToDouble(long bits)
+   {
+      return Double.longBitsToDouble(bits);
    }
 
    @Override
    public BufferSample<double[]> copy(int from, int length, YoBufferPropertiesReadOnly properties)
    {
-      return new BufferSample<>(from, SharedMemoryTools.ringArrayCopy(buffer, from, length), length, properties);
+      return new BufferSample<>(from, (double[]) column.copy(from, length), length, properties);
    }
 
    @Override
    public void fillBuffer(boolean zeroFill, int from, int length)
    {
-      SharedMemoryTools.ringArrayFill(buffer, zeroFill ? 0.0 : yoVariable.getValue(), from, length);
+      fillLongBits(Double.doubleToRawLongBits(zeroFill ? 0.0 : yoVariable.getValue()), from, length);
    }
 
    @Override
@@ -58,21 +80,24 @@ public class YoDoubleBuffer extends YoVariableBuffer<YoDouble>
       return new LinkedYoDouble(variableToLink, this, initialUser);
    }
 
+   /**
+    * Returns the array backing this buffer.
+    *
+    * @throws UnsupportedOperationException if the buffer is not stored on the heap, in which case
+    *                                       {@link #getValueAt(int)} should be used instead.
+    */
    @Override
    public double[] getBuffer()
    {
-      return buffer;
+      return (double[]) column.getArray();
    }
 
    @Override
    public double[] getAsDoubleBuffer()
    {
-      return buffer;
-   }
-
-   @Override
-   public void dispose()
-   {
-      buffer = null;
+      if (column.isHeapBacked())
+         return (double[]) column.getArray();
+      else
+         return (double[]) column.copy(0, column.getSize());
    }
 }
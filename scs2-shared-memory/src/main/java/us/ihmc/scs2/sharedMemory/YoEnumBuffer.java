@@ -1,78 +1,94 @@
 package us.ihmc.scs2.sharedMemory;
 
 import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
-import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.scs2.sharedMemory.storage.YoBufferStorage;
 import us.ihmc.yoVariables.variable.YoEnum;
 
 public class YoEnumBuffer<E extends Enum<E>> extends YoVariableBuffer<YoEnum<E>>
 {
-   private byte[] buffer;
-
    public YoEnumBuffer(YoEnum<E> yoEnum, YoBufferPropertiesReadOnly properties)
    {
-      super(yoEnum, properties);
-      buffer = new byte[properties.getSize()];
+      this(yoEnum, properties, YoBufferStorage.HEAP);
    }
 
-   @Override
-   public void resizeBuffer(int from, int length)
+   public YoEnumBuffer(YoEnum<E> yoEnum, YoBufferPropertiesReadOnly properties, YoBufferStorage storage)
    {
-      if (from == 0 && length == buffer.length)
-         return;
-      buffer = SharedMemoryTools.ringArrayCopy(buffer, from, length);
+      super(yoEnum, properties, storage);
    }
 
    @Override
    public void writeBufferAt(int index)
    {
-      buffer[index] = (byte) yoVariable.getOrdinal();
+      setOrdinalAt(index, (byte) yoVariable.getOrdinal());
    }
 
    @Override
    public void readBufferAt(int index)
    {
-      yoVariable.set(buffer[index]);
+      yoVariable.set(getOrdinalAt(index));
    }
 
-   @Override
-   long getValueAsLongBits(int index)
+   /**
+    * Returns the ordinal stored in the buffer at the given index.
+    *
+    * @param index the index in the buffer.
+    * @return the buffered ordinal, {@link YoEnum#NULL_VALUE} for the null value.
+    */
+   public byte getOrdinalAt(int index)
    {
-      return buffer[index];
+      return (byte) column.getLongBits(index);
+   }
+
+   /**
+    * Sets the ordinal stored in the buffer at the given index.
+    *
+    * @param index   the index in the buffer.
+    * @param ordinal the new ordinal, {@link YoEnum#NULL_VALUE} for the null value.
+    */
+   public void setOrdinalAt(int index, byte ordinal)
+   {
+      writeLongBits(index, ordinal);
    }
 
    @Override
-   public BufferSample<byte[]> copy(int from, int length, YoBufferPropertiesReadOnly properties)
+   long getValueAsLongBits(int index)
    {
-      return new BufferSample<>(from, SharedMemoryTools.ringArrayCopy(buffer, from, length), length, properties);
+      return getOrdinalAt(index);
    }
 
    @Override
-   public void fillBuffer(boolean zeroFill, int from, int length)
+   double longBitsToDouble(long bits)
    {
-      SharedMemoryTools.ringArrayFill(buffer, zeroFill ? 0 : (byte) yoVariable.getOrdinal(), from, length);
+      return bits;
    }
 
    @Override
-   LinkedYoEnum<E> newLinkedYoVariable(YoEnum<E> variableToLink, Object initialUser)
+   public BufferSample<byte[]> copy(int from, int length, YoBufferPropertiesReadOnly properties)
    {
-      return new LinkedYoEnum<>(variableToLink, this, initialUser);
+      return new BufferSample<>(from, (byte[]) column.copy(from, length), length, properties);
    }
 
    @Override
-   public byte[] getBuffer()
+   public void fillBuffer(boolean zeroFill, int from, int length)
    {
-      return buffer;
+      fillLongBits(zeroFill ? 0 : (byte) yoVariable.getOrdinal(), from, length);
    }
 
    @Override
-   public double[] getAsDoubleBuffer()
+   LinkedYoEnum<E> newLinkedYoVariable(YoEnum<E> variableToLink, Object initialUser)
    {
-      return SharedMemoryTools.toDoubleArray(buffer);
+      return new LinkedYoEnum<>(variableToLink, this, initialUser);
    }
 
+   /**
+    * Returns the array backing this buffer.
+    *
+    * @throws UnsupportedOperationException if the buffer is not stored on the heap, in which case
+    *                                       {@link #getOrdinalAt(int)} should be used instead.
+    */
    @Override
-   public void dispose()
+   public byte[] getBuffer()
    {
-      buffer = null;
+      return (byte[]) column.getArray();
    }
 }
@@ -1,78 +1,94 @@
 package us.ihmc.scs2.sharedMemory;
 
 import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
-import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.scs2.sharedMemory.storage.YoBufferStorage;
 import us.ihmc.yoVariables.variable.YoInteger;
 
 public class YoIntegerBuffer extends YoVariableBuffer<YoInteger>
 {
-   private int[] buffer;
-
    public YoIntegerBuffer(YoInteger yoInteger, YoBufferPropertiesReadOnly properties)
    {
-      super(yoInteger, properties);
-      buffer = new int[properties.getSize()];
+      this(yoInteger, properties, YoBufferStorage.HEAP);
    }
 
-   @Override
-   public void resizeBuffer(int from, int length)
+   public YoIntegerBuffer(YoInteger yoInteger, YoBufferPropertiesReadOnly properties, YoBufferStorage storage)
    {
-      if (from == 0 && length == buffer.length)
-         return;
-      buffer = SharedMemoryTools.ringArrayCopy(buffer, from, length);
+      super(yoInteger, properties, storage);
    }
 
    @Override
    public void writeBufferAt(int index)
    {
-      buffer[index] = yoVariable.getValue();
+      setValueAt(index, yoVariable.getValue());
    }
 
    @Override
    public void readBufferAt(int index)
    {
-      yoVariable.set(buffer[index]);
+      yoVariable.set(getValueAt(index));
    }
 
-   @Override
-   long getValueAsLongBits(int index)
+   /**
+    * Returns the value stored in the buffer at the given index.
+    *
+    * @param index the index in the buffer.
+    * @return the buffered value.
+    */
+   public int getValueAt(int index)
    {
-      return buffer[index];
+      return (int) column.getLongBits(index);
+   }
+
+   /**
+    * Sets the value stored in the buffer at the given index.
+    *
+    * @param index the index in the buffer.
+    * @param value the new value.
+    */
+   public void setValueAt(int index, int value)
+   {
+      writeLongBits(index, value);
    }
 
    @Override
-   public BufferSample<int[]> copy(int from, int length, YoBufferPropertiesReadOnly properties)
+   long getValueAsLongBits(int index)
    {
-      return new BufferSample<>(from, SharedMemoryTools.ringArrayCopy(buffer, from, length), length, properties);
+      return getValueAt(index);
    }
 
    @Override
-   public void fillBuffer(boolean zeroFill, int from, int length)
+   double longBitsToDouble(long bits)
    {
-      SharedMemoryTools.ringArrayFill(buffer, zeroFill ? 0 : yoVariable.getValue(), from, length);
+      return bits;
    }
 
    @Override
-   LinkedYoInteger newLinkedYoVariable(YoInteger variableToLink, Object initialUser)
+   public BufferSample<int[]> copy(int from, int length, YoBufferPropertiesReadOnly properties)
    {
-      return new LinkedYoInteger(variableToLink, this, initialUser);
+      return new BufferSample<>(from, (int[]) column.copy(from, length), length, properties);
    }
 
    @Override
-   public int[] getBuffer()
+   public void fillBuffer(boolean zeroFill, int from, int length)
    {
-      return buffer;
+      fillLongBits(zeroFill ? 0 : yoVariable.getValue(), from, length);
    }
 
    @Override
-   public double[] getAsDoubleBuffer()
+   LinkedYoInteger newLinkedYoVariable(YoInteger variableToLink, Object initialUser)
    {
-      return SharedMemoryTools.toDoubleArray(buffer);
+      return new LinkedYoInteger(variableToLink, this, initialUser);
    }
 
+   /**
+    * Returns the array backing this buffer.
+    *
+    * @throws UnsupportedOperationException if the buffer is not stored on the heap, in which case
+    *                                       {@link #getValueAt(int)} should be used instead.
+    */
    @Override
-   public void dispose()
+   public int[] getBuffer()
    {
-      buffer = null;
+      return (int[]) column.getArray();
    }
 }
@@ -1,78 +1,94 @@
 package us.ihmc.scs2.sharedMemory;
 
 import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
-import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.scs2.sharedMemory.storage.YoBufferStorage;
 import us.ihmc.yoVariables.variable.YoLong;
 
 public class YoLongBuffer extends YoVariableBuffer<YoLong>
 {
-   private long[] buffer;
-
    public YoLongBuffer(YoLong yoLong, YoBufferPropertiesReadOnly properties)
    {
-      super(yoLong, properties);
-      buffer = new long[properties.getSize()];
+      this(yoLong, properties, YoBufferStorage.HEAP);
    }
 
-   @Override
-   public void resizeBuffer(int from, int length)
+   public YoLongBuffer(YoLong yoLong, YoBufferPropertiesReadOnly properties, YoBufferStorage storage)
    {
-      if (from == 0 && length == buffer.length)
-         return;
-      buffer = SharedMemoryTools.ringArrayCopy(buffer, from, length);
+      super(yoLong, properties, storage);
    }
 
    @Override
    public void writeBufferAt(int index)
    {
-      buffer[index] = yoVariable.getValue();
+      setValueAt(index, yoVariable.getValue());
    }
 
    @Override
    public void readBufferAt(int index)
    {
-      yoVariable.set(buffer[index]);
+      yoVariable.set(getValueAt(index));
    }
 
-   @Override
-   long getValueAsLongBits(int index)
+   /**
+    * Returns the value stored in the buffer at the given index.
+    *
+    * @param index the index in the buffer.
+    * @return the buffered value.
+    */
+   public long getValueAt(int index)
    {
-      return buffer[index];
+      return column.getLongBits(index);
+   }
+
+   /**
+    * Sets the value stored in the buffer at the given index.
+    *
+    * @param index the index in the buffer.
+    * @param value the new value.
+    */
+   public void setValueAt(int index, long value)
+   {
+      writeLongBits(index, value);
    }
 
    @Override
-   public BufferSample<long[]> copy(int from, int length, YoBufferPropertiesReadOnly properties)
+   long getValueAsLongBits(int index)
    {
-      return new BufferSample<>(from, SharedMemoryTools.ringArrayCopy(buffer, from, length), length, properties);
+      return getValueAt(index);
    }
 
    @Override
-   public void fillBuffer(boolean zeroFill, int from, int length)
+   double longBitsToDouble(long bits)
    {
-      SharedMemoryTools.ringArrayFill(buffer, zeroFill ? 0 : yoVariable.getValue(), from, length);
+      return bits;
    }
 
    @Override
-   LinkedYoLong newLinkedYoVariable(YoLong variableToLink, Object initialUser)
+   public BufferSample<long[]> copy(int from, int length, YoBufferPropertiesReadOnly properties)
    {
-      return new LinkedYoLong(variableToLink, this, initialUser);
+      return new BufferSample<>(from, (long[]) column.copy(from, length), length, properties);
    }
 
    @Override
-   public long[] getBuffer()
+   public void fillBuffer(boolean zeroFill, int from, int length)
    {
-      return buffer;
+      fillLongBits(zeroFill ? 0L : yoVariable.getValue(), from, length);
    }
 
    @Override
-   public double[] getAsDoubleBuffer()
+   LinkedYoLong newLinkedYoVariable(YoLong variableToLink, Object initialUser)
    {
-      return SharedMemoryTools.toDoubleArray(buffer);
+      return new LinkedYoLong(variableToLink, this, initialUser);
    }
 
+   /**
+    * Returns the array backing this buffer.
+    *
+    * @throws UnsupportedOperationException if the buffer is not stored on the heap, in which case
+    *                                       {@link #getValueAt(int)} should be used instead.
+    */
    @Override
-   public void dispose()
+   public long[] getBuffer()
    {
-      buffer = null;
+      return (long[]) column.getArray();
    }
 }
@@ -1,6 +1,7 @@
 package us.ihmc.scs2.sharedMemory;
 
 import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
+import us.ihmc.scs2.sharedMemory.storage.YoBufferStorage;
 import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
 import us.ihmc.yoVariables.listener.YoRegistryChangedListener;
 import us.ihmc.yoVariables.registry.YoRegistry;
@@ -10,6 +11,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class YoRegistryBuffer
@@ -18,17 +20,27 @@ public class YoRegistryBuffer
    private final YoVariableBufferList yoVariableBuffers = new YoVariableBufferList();
    private final Map<String, YoVariableBuffer<?>> yoVariableFullnameToBufferMap = new HashMap<>();
    private final YoBufferPropertiesReadOnly properties;
+   private final YoBufferStorage storage;
    private final YoRegistryChangedListener registryBufferUpdater;
 
    /** The size of a single buffer frame in bytes. */
    private long registryMemorySize;
+   /** Whether the buffers maintain a summary of their history, see {@link #setSummaryEnabled(boolean)}. */
+   private boolean summaryEnabled = false;
 
    private final ReentrantLock lock = new ReentrantLock();
+   private final LinkedBufferStatistics linkedBufferStatistics = new LinkedBufferStatistics();
 
    public YoRegistryBuffer(YoRegistry rootRegistry, YoBufferPropertiesReadOnly properties)
+   {
+      this(rootRegistry, properties, YoBufferStorage.HEAP);
+   }
+
+   public YoRegistryBuffer(YoRegistry rootRegistry, YoBufferPropertiesReadOnly properties, YoBufferStorage storage)
    {
       this.rootRegistry = rootRegistry;
       this.properties = properties;
+      this.storage = storage;
 
       for (YoVariable yoVariable : rootRegistry.collectSubtreeVariables())
          registerNewYoVariable(yoVariable);
@@ -59,7 +71,8 @@ public class YoRegistryBuffer
       if (yoVariableFullnameToBufferMap.containsKey(fullName))
          return;
 
-      YoVariableBuffer<?> yoVariableBuffer = YoVariableBuffer.newYoVariableBuffer(yoVariable, properties);
+      YoVariableBuffer<?> yoVariableBuffer = YoVariableBuffer.newYoVariableBuffer(yoVariable, properties, storage);
+      yoVariableBuffer.setSummaryEnabled(summaryEnabled);
 
       lock.lock();
       try
@@ -88,6 +101,23 @@ public class YoRegistryBuffer
       return registryMemorySize;
    }
 
+   /**
+    * Returns an estimate of the memory currently used to store the history of all the variables.
+    * <p>
+    * Unlike {@link #getRegistryMemorySize()} multiplied by the buffer size, this accounts for the
+    * storage actually used, for instance when compressed.
+    * </p>
+    *
+    * @return the memory used by the buffers in bytes.
+    */
+   public long getBufferMemorySize()
+   {
+      long memorySize = 0;
+      for (int i = 0; i < yoVariableBuffers.size(); i++)
+         memorySize += yoVariableBuffers.get(i).getBufferMemorySize();
+      return memorySize;
+   }
+
    public void resizeBuffer(int from, int length)
    {
       yoVariableBuffers.resizeBuffer(from, length);
@@ -108,6 +138,38 @@ public class YoRegistryBuffer
       yoVariableBuffers.writeBufferAt(index);
    }
 
+   /**
+    * Enables reading and writing the buffers in parallel for large registries.
+    *
+    * @param forkJoinPool      the pool used to process the buffers, or {@code null} to disable.
+    * @param parallelThreshold the minimum number of variables to process the buffers in parallel.
+    * @see YoVariableBufferList#setParallelExecution(ForkJoinPool, int)
+    */
+   public void setParallelExecution(ForkJoinPool forkJoinPool, int parallelThreshold)
+   {
+      yoVariableBuffers.setParallelExecution(forkJoinPool, parallelThreshold);
+   }
+
+   /**
+    * Enables or disables the summary of the buffers, including the buffers of the variables registered
+    * later on.
+    *
+    * @param enable whether the summaries should be maintained.
+    * @see YoVariableBuffer#setSummaryEnabled(boolean)
+    */
+   public void setSummaryEnabled(boolean enable)
+   {
+      summaryEnabled = enable;
+
+      for (int i = 0; i < yoVariableBuffers.size(); i++)
+         yoVariableBuffers.get(i).setSummaryEnabled(enable);
+   }
+
+   public boolean isSummaryEnabled()
+   {
+      return summaryEnabled;
+   }
+
    public void readBuffer()
    {
       readBufferAt(properties.getCurrentIndex());
@@ -140,7 +202,8 @@ public class YoRegistryBuffer
          if (duplicate == null)
             duplicate = yoVariable.duplicate(registry);
 
-         yoVariableBuffer = YoVariableBuffer.newYoVariableBuffer(duplicate, properties);
+         yoVariableBuffer = YoVariableBuffer.newYoVariableBuffer(duplicate, properties, storage);
+         yoVariableBuffer.setSummaryEnabled(summaryEnabled);
          yoVariableBuffers.add(yoVariableBuffer);
          yoVariableFullnameToBufferMap.put(variableFullName, yoVariableBuffer);
       }
@@ -163,6 +226,16 @@ public class YoRegistryBuffer
       return lock;
    }
 
+   /**
+    * Gets the counters describing the contention between the buffer manager and the linked registries.
+    *
+    * @return the statistics of the linked buffers.
+    */
+   public LinkedBufferStatistics getLinkedBufferStatistics()
+   {
+      return linkedBufferStatistics;
+   }
+
    public YoRegistry getRootRegistry()
    {
       return rootRegistry;
@@ -173,6 +246,11 @@ public class YoRegistryBuffer
       return properties;
    }
 
+   public YoBufferStorage getStorage()
+   {
+      return storage;
+   }
+
    public void dispose()
    {
       rootRegistry.removeListener(registryBufferUpdater);
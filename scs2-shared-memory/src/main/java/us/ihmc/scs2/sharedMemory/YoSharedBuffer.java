@@ -2,17 +2,24 @@ package us.ihmc.scs2.sharedMemory;
 
 import us.ihmc.scs2.sharedMemory.interfaces.LinkedYoVariableFactory;
 import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
+import us.ihmc.scs2.sharedMemory.storage.YoBufferStorage;
 import us.ihmc.scs2.sharedMemory.tools.SharedMemoryIOTools;
 import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
 import us.ihmc.yoVariables.buffer.interfaces.YoBufferProcessor;
 import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoDouble;
 import us.ihmc.yoVariables.variable.YoVariable;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoubleConsumer;
 import java.util.function.Predicate;
 
 /**
@@ -84,13 +91,34 @@ public class YoSharedBuffer implements LinkedYoVariableFactory
    private final ConcurrentLinkedQueue<LinkedBufferProperties> linkedBufferProperties = new ConcurrentLinkedQueue<>();
 
    private final YoBufferProperties properties = new YoBufferProperties();
+   /** Index over the history of the time variable, {@code null} until a time variable is set. */
+   private YoBufferTimeIndex timeIndex = null;
 
    private boolean isDisposed = false;
 
    public YoSharedBuffer(YoRegistry rootRegistry, int initialBufferSize)
+   {
+      this(rootRegistry, initialBufferSize, YoBufferStorage.HEAP);
+   }
+
+   /**
+    * Creates a new buffer which data is kept in the given storage.
+    * <p>
+    * The storage is used for all the variables recorded by this buffer, including the ones registered
+    * afterward, and is disposed with this buffer.
+    * </p>
+    *
+    * @param rootRegistry      the registry containing the variables to record.
+    * @param initialBufferSize the initial number of entries in the buffer.
+    * @param storage           the storage to use for the buffer data, e.g.
+    *                          {@link YoBufferStorage#HEAP} or a
+    *                          {@link us.ihmc.scs2.sharedMemory.storage.MappedBufferStorage} to keep
+    *                          the data off the Java heap.
+    */
+   public YoSharedBuffer(YoRegistry rootRegistry, int initialBufferSize, YoBufferStorage storage)
    {
       properties.setSize(initialBufferSize);
-      registryBuffer = new YoRegistryBuffer(rootRegistry, properties);
+      registryBuffer = new YoRegistryBuffer(rootRegistry, properties, storage);
    }
 
    /**
@@ -214,6 +242,16 @@ public class YoSharedBuffer implements LinkedYoVariableFactory
       return registryBuffer.getRegistryMemorySize();
    }
 
+   /**
+    * Returns an estimate of the memory currently used to store the history of all the variables.
+    *
+    * @return the memory used by the buffer in bytes.
+    */
+   public long getBufferMemorySize()
+   {
+      return registryBuffer.getBufferMemorySize();
+   }
+
    /**
     * Changes the current position in the buffer.
     * <p>
@@ -362,28 +400,100 @@ public class YoSharedBuffer implements LinkedYoVariableFactory
       registryBuffer.writeBuffer();
    }
 
+   /**
+    * Enables splitting {@link #readBuffer()} and {@link #writeBuffer()} into shards processed in
+    * parallel when the buffer has at least {@code parallelThreshold} variables.
+    * <p>
+    * This is meant for very large registries, e.g. when playing back a log with 100k variables, where
+    * updating all the variables serially dominates the tick. Reading the buffer then updates the
+    * variables from the pool's threads, so the listeners attached to the variables must be
+    * thread-safe.
+    * </p>
+    *
+    * @param forkJoinPool      the pool used to process the shards, or {@code null} to always process
+    *                          the buffer from the calling thread.
+    * @param parallelThreshold the minimum number of variables to process the buffer in parallel, see
+    *                          {@link YoVariableBufferList#DEFAULT_PARALLEL_THRESHOLD}.
+    */
+   public void setParallelExecution(ForkJoinPool forkJoinPool, int parallelThreshold)
+   {
+      registryBuffer.setParallelExecution(forkJoinPool, parallelThreshold);
+   }
+
+   /**
+    * Enables or disables the summary of the history of each variable, allowing to compute the range
+    * statistics and the decimated envelopes used for plotting without scanning the entire range.
+    * <p>
+    * The summary costs a constant time at every write and about 30 bytes per 64 elements of the buffer
+    * for each variable, i.e. about half a byte per element.
+    * </p>
+    *
+    * @param enable whether the summaries should be maintained.
+    * @see YoVariableBuffer#setSummaryEnabled(boolean)
+    */
+   public void setSummaryEnabled(boolean enable)
+   {
+      registryBuffer.setSummaryEnabled(enable);
+   }
+
    /**
     * Packs the values of this buffer's {@code YoVariable}s to be available to the linked variables.
     * <p>
+    * This never waits on the buffer consumers: the consumers copy the values without locking, and the
+    * publication is skipped when a consumer is currently adding or removing linked buffers or
+    * modifying one of the linked registries. The contention can be monitored with
+    * {@link #getLinkedBufferStatistics()}. When skipped, the buffer properties are not published
+    * either, such that the consumers never see properties that do not match the values.
+    * </p>
+    * <p>
     * Operation for the buffer manager only.
     * </p>
+    *
+    * @return {@code true} if the values were published, {@code false} if the publication was skipped
+    *         and should be attempted again.
     */
-   public void prepareLinkedBuffersForPull()
+   public boolean prepareLinkedBuffersForPull()
    {
       if (isDisposed)
-         return;
+         return false;
+
+      LinkedBufferStatistics statistics = registryBuffer.getLinkedBufferStatistics();
+
+      if (!linkedBuffersLock.tryLock())
+      {
+         statistics.incrementSkippedPublicationCount();
+         return false;
+      }
+
+      boolean published;
 
-      linkedBuffersLock.lock();
       try
       {
-         linkedBuffers.prepareForPull();
+         // A linked registry being modified by its consumer is skipped and has already counted it.
+         published = linkedBuffers.prepareForPull();
       }
       finally
       {
          linkedBuffersLock.unlock();
       }
 
+      if (!published)
+         return false;
+
+      statistics.incrementPublicationCount();
       linkedBufferProperties.forEach(LinkedBufferProperties::prepareForPull);
+      return true;
+   }
+
+   /**
+    * Gets the counters describing the contention between the buffer manager publishing new values and
+    * the buffer consumers pulling them.
+    *
+    * @return the statistics of the linked buffers.
+    */
+   public LinkedBufferStatistics getLinkedBufferStatistics()
+   {
+      return registryBuffer.getLinkedBufferStatistics();
    }
 
    /**
@@ -554,6 +664,154 @@ public class YoSharedBuffer implements LinkedYoVariableFactory
       }
    }
 
+   /**
+    * Computes the statistics of the given variables over the active part of the buffer, i.e. from the
+    * in-point to the out-point.
+    *
+    * @param variables        the variables to compute the statistics of.
+    * @param percentileLevels the levels, in {@code [0, 100]}, of the percentiles to compute.
+    * @return the statistics of each variable, in the same order as {@code variables}. An element is
+    *         {@code null} if the corresponding variable is not recorded in this buffer.
+    * @see #computeStatistics(List, int, int, double[], ForkJoinPool)
+    */
+   public List<YoBufferStatistics> computeStatistics(List<? extends YoVariable> variables, double... percentileLevels)
+   {
+      return computeStatistics(variables, properties.getInPoint(), properties.getOutPoint(), percentileLevels, ForkJoinPool.commonPool());
+   }
+
+   /**
+    * Computes the statistics of the given variables over a range of the buffer.
+    * <p>
+    * The statistics are computed directly from the storage of each variable, without copying the
+    * buffer. The variables are processed in parallel using the given pool.
+    * </p>
+    *
+    * @param variables        the variables to compute the statistics of, {@code null} elements are
+    *                         skipped.
+    * @param from             the first index of the range (inclusive).
+    * @param to               the last index of the range (inclusive), the range wraps around the end
+    *                         of the buffer when {@code to < from}.
+    * @param percentileLevels the levels, in {@code [0, 100]}, of the percentiles to compute. Can be
+    *                         {@code null}.
+    * @param forkJoinPool     the pool used to process the variables in parallel, or {@code null} to
+    *                         process them from the calling thread.
+    * @return the statistics of each variable, in the same order as {@code variables}. An element is
+    *         {@code null} if the corresponding variable is not recorded in this buffer.
+    */
+   public List<YoBufferStatistics> computeStatistics(List<? extends YoVariable> variables,
+                                                     int from,
+                                                     int to,
+                                                     double[] percentileLevels,
+                                                     ForkJoinPool forkJoinPool)
+   {
+      YoBufferStatistics[] statistics = new YoBufferStatistics[variables.size()];
+
+      if (isDisposed)
+         return Arrays.asList(statistics);
+
+      linkedBuffersLock.lock();
+      try
+      {
+         YoVariableBuffer<?>[] buffers = new YoVariableBuffer<?>[variables.size()];
+         for (int i = 0; i < buffers.length; i++)
+         {
+            YoVariable variable = variables.get(i);
+            buffers[i] = variable == null ? null : registryBuffer.findYoVariableBuffer(variable);
+         }
+
+         StatisticsAction action = new StatisticsAction(buffers, from, to, percentileLevels, statistics, 0, buffers.length);
+         if (forkJoinPool == null || buffers.length < 2)
+            action.compute();
+         else
+            forkJoinPool.invoke(action);
+      }
+      finally
+      {
+         linkedBuffersLock.unlock();
+      }
+
+      return Arrays.asList(statistics);
+   }
+
+   private static class StatisticsAction extends RecursiveAction
+   {
+      private static final long serialVersionUID = 1L;
+
+      private final YoVariableBuffer<?>[] buffers;
+      private final int from;
+      private final int to;
+      private final double[] percentileLevels;
+      private final YoBufferStatistics[] statistics;
+      private final int start;
+      private final int end;
+
+      private StatisticsAction(YoVariableBuffer<?>[] buffers, int from, int to, double[] percentileLevels, YoBufferStatistics[] statistics, int start, int end)
+      {
+         this.buffers = buffers;
+         this.from = from;
+         this.to = to;
+         this.percentileLevels = percentileLevels;
+         this.statistics = statistics;
+         this.start = start;
+         this.end = end;
+      }
+
+      @Override
+      protected void compute()
+      {
+         if (end - start > 1)
+         {
+            int middle = (start + end) >>> 1;
+            invokeAll(new StatisticsAction(buffers, from, to, percentileLevels, statistics, start, middle),
+                      new StatisticsAction(buffers, from, to, percentileLevels, statistics, middle, end));
+            return;
+         }
+
+         for (int i = start; i < end; i++)
+         {
+            if (buffers[i] != null)
+               statistics[i] = buffers[i].computeStatistics(from, to, percentileLevels, null);
+         }
+      }
+   }
+
+   /**
+    * Sets the variable holding the time, e.g. the session time, and creates an index over its history
+    * to address the buffer by time.
+    *
+    * @param timeVariable the time variable, it has to be registered in this buffer. Can be
+    *                     {@code null} to remove the current index.
+    * @see #getTimeIndex()
+    */
+   public void setTimeVariable(YoDouble timeVariable)
+   {
+      if (timeVariable == null)
+      {
+         timeIndex = null;
+         return;
+      }
+
+      YoVariableBuffer<?> timeBuffer = registryBuffer.findYoVariableBuffer(timeVariable);
+      if (timeBuffer == null)
+         throw new IllegalArgumentException("The variable " + timeVariable.getFullNameString() + " is not registered in this buffer.");
+      timeIndex = new YoBufferTimeIndex((YoDoubleBuffer) timeBuffer);
+   }
+
+   /**
+    * Gets the index allowing to find the buffer index at a given time, see
+    * {@link #setTimeVariable(YoDouble)}.
+    * <p>
+    * The index is maintained incrementally as the buffer is written and should only be used from the
+    * thread owning this buffer.
+    * </p>
+    *
+    * @return the time index, or {@code null} if no time variable has been set.
+    */
+   public YoBufferTimeIndex getTimeIndex()
+   {
+      return timeIndex;
+   }
+
    /**
     * Gets the read-only reference to this buffer properties.
     * <p>
@@ -588,6 +846,16 @@ public class YoSharedBuffer implements LinkedYoVariableFactory
       return registryBuffer;
    }
 
+   /**
+    * Returns the storage in which the buffer data is kept.
+    *
+    * @return the buffer storage.
+    */
+   public YoBufferStorage getStorage()
+   {
+      return registryBuffer.getStorage();
+   }
+
    /**
     * Writes all the yoVariable buffers to the given {@code outputStream} using a non-compressed format
     * where each variable is stored as on line.
@@ -644,6 +912,44 @@ public class YoSharedBuffer implements LinkedYoVariableFactory
       SharedMemoryIOTools.exportDataCSV(this, outputStream, variableFilter, registryFilter);
    }
 
+   /**
+    * Writes all the yoVariable buffers to the given {@code file} using the same format as
+    * {@link #exportDataASCII(OutputStream, Predicate, Predicate)}, the variables being formatted in
+    * parallel using the common pool.
+    *
+    * @param file             the file to write to.
+    * @param variableFilter   a filter to downselect the {@link YoVariable}s to be exported. Can be
+    *                         {@code null}, if so all variable are exported.
+    * @param registryFilter   a filter to downselect the {@link YoRegistry}s to be exported. Can be
+    *                         {@code null}, if so all registries are exported.
+    * @param progressCallback the callback notified with the fraction, in [0, 1], of the data written
+    *                         so far, can be {@code null}.
+    */
+   public void exportDataASCII(File file, Predicate<YoVariable> variableFilter, Predicate<YoRegistry> registryFilter, DoubleConsumer progressCallback)
+         throws IOException
+   {
+      SharedMemoryIOTools.exportDataASCII(this, file, variableFilter, registryFilter, null, progressCallback);
+   }
+
+   /**
+    * Writes all the yoVariable buffers to the given {@code file} using the same format as
+    * {@link #exportDataCSV(OutputStream, Predicate, Predicate)}, the rows being formatted in parallel
+    * using the common pool.
+    *
+    * @param file             the file to write to.
+    * @param variableFilter   a filter to downselect the {@link YoVariable}s to be exported. Can be
+    *                         {@code null}, if so all variable are exported.
+    * @param registryFilter   a filter to downselect the {@link YoRegistry}s to be exported. Can be
+    *                         {@code null}, if so all registries are exported.
+    * @param progressCallback the callback notified with the fraction, in [0, 1], of the data written
+    *                         so far, can be {@code null}.
+    */
+   public void exportDataCSV(File file, Predicate<YoVariable> variableFilter, Predicate<YoRegistry> registryFilter, DoubleConsumer progressCallback)
+         throws IOException
+   {
+      SharedMemoryIOTools.exportDataCSV(this, file, variableFilter, registryFilter, null, progressCallback);
+   }
+
    /**
     * Writes all the yoVariable buffers to the given {@code file} using Matlab data structure and file
     * format.
@@ -672,6 +978,53 @@ public class YoSharedBuffer implements LinkedYoVariableFactory
       SharedMemoryIOTools.exportDataMatlab(this, file, variableFilter, registryFilter);
    }
 
+   /**
+    * Writes all the yoVariable buffers to the given {@code file} using the native SCS2 binary format
+    * where each variable is stored as one column which can be memory-mapped when imported.
+    *
+    * @param file     the file to write to.
+    * @param compress whether to compress the columns.
+    */
+   public void exportDataBinary(File file, boolean compress) throws IOException
+   {
+      exportDataBinary(file, compress, null, null);
+   }
+
+   /**
+    * Writes all the yoVariable buffers to the given {@code file} using the native SCS2 binary format
+    * where each variable is stored as one column which can be memory-mapped when imported.
+    *
+    * @param file           the file to write to.
+    * @param compress       whether to compress the columns.
+    * @param variableFilter a filter to downselect the {@link YoVariable}s to be exported. A
+    *                       {@link YoVariable} is exported if the given predicate returns {@code true}.
+    *                       Can be {@code null}, if so all variable are exported.
+    * @param registryFilter a filter to downselect the {@link YoRegistry}s to be exported. A
+    *                       {@link YoRegistry} and its descendants are skipped if the predicate returns
+    *                       {@code false}.
+    */
+   public void exportDataBinary(File file, boolean compress, Predicate<YoVariable> variableFilter, Predicate<YoRegistry> registryFilter) throws IOException
+   {
+      SharedMemoryIOTools.exportDataBinary(this, file, compress, variableFilter, registryFilter);
+   }
+
+   /**
+    * Writes all the yoVariable buffers to the given {@code file} using the Apache Arrow IPC file
+    * format, also known as Feather V2, which can be loaded directly with pandas or polars.
+    *
+    * @param file           the file to write to.
+    * @param variableFilter a filter to downselect the {@link YoVariable}s to be exported. A
+    *                       {@link YoVariable} is exported if the given predicate returns {@code true}.
+    *                       Can be {@code null}, if so all variable are exported.
+    * @param registryFilter a filter to downselect the {@link YoRegistry}s to be exported. A
+    *                       {@link YoRegistry} and its descendants are skipped if the predicate returns
+    *                       {@code false}.
+    */
+   public void exportDataArrow(File file, Predicate<YoVariable> variableFilter, Predicate<YoRegistry> registryFilter) throws IOException
+   {
+      SharedMemoryIOTools.exportDataArrow(this, file, variableFilter, registryFilter);
+   }
+
    public void dispose()
    {
       if (isDisposed)
@@ -682,6 +1035,7 @@ public class YoSharedBuffer implements LinkedYoVariableFactory
          linkedBuffersLock.lock();
          isDisposed = true;
          registryBuffer.dispose();
+         registryBuffer.getStorage().dispose();
          linkedBuffers.dispose();
          linkedBufferProperties.forEach(l -> l.dispose());
          linkedBufferProperties.clear();
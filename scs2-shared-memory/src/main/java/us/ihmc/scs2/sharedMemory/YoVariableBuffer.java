@@ -1,6 +1,8 @@
 package us.ihmc.scs2.sharedMemory;
 
 import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
+import us.ihmc.scs2.sharedMemory.storage.BufferColumn;
+import us.ihmc.scs2.sharedMemory.storage.YoBufferStorage;
 import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
 import us.ihmc.yoVariables.variable.YoBoolean;
 import us.ihmc.yoVariables.variable.YoDouble;
@@ -12,29 +14,58 @@ import us.ihmc.yoVariables.variable.YoVariable;
 public abstract class YoVariableBuffer<T extends YoVariable>
 {
    public static YoVariableBuffer<?> newYoVariableBuffer(YoVariable yoVariable, YoBufferPropertiesReadOnly properties)
+   {
+      return newYoVariableBuffer(yoVariable, properties, YoBufferStorage.HEAP);
+   }
+
+   public static YoVariableBuffer<?> newYoVariableBuffer(YoVariable yoVariable, YoBufferPropertiesReadOnly properties, YoBufferStorage storage)
    {
       if (yoVariable instanceof YoDouble)
-         return new YoDoubleBuffer((YoDouble) yoVariable, properties);
+         return new YoDoubleBuffer((YoDouble) yoVariable, properties, storage);
       if (yoVariable instanceof YoInteger)
-         return new YoIntegerBuffer((YoInteger) yoVariable, properties);
+         return new YoIntegerBuffer((YoInteger) yoVariable, properties, storage);
       if (yoVariable instanceof YoLong)
-         return new YoLongBuffer((YoLong) yoVariable, properties);
+         return new YoLongBuffer((YoLong) yoVariable, properties, storage);
       if (yoVariable instanceof YoBoolean)
-         return new YoBooleanBuffer((YoBoolean) yoVariable, properties);
+         return new YoBooleanBuffer((YoBoolean) yoVariable, properties, storage);
       if (yoVariable instanceof YoEnum)
-         return new YoEnumBuffer<>((YoEnum<?>) yoVariable, properties);
+         return new YoEnumBuffer<>((YoEnum<?>) yoVariable, properties, storage);
       throw new UnsupportedOperationException("Unsupported YoVariable type: " + yoVariable.getClass().getSimpleName());
    }
 
+   /** Number of values read at once from the storage when computing statistics. */
+   private static final int STATISTICS_CHUNK_SIZE = 4096;
+   private static final double[] NO_PERCENTILES = new double[0];
+
    protected final T yoVariable;
    private final YoBufferPropertiesReadOnly properties;
+   private final YoBufferStorage storage;
    private final int variableMemorySize;
+   protected BufferColumn column;
+
+   /*
+    * Tracking of the modifications of the history used to provide incremental buffer samples. Writing
+    * at the out-point right after the last appended sample is an append, any other modification is a
+    * structural change.
+    */
+   private int lastAppendIndex = -1;
+   private long appendCount = 0;
+   private long structuralChangeCount = 0;
+   /** Optional summary used to compute statistics over ranges of the buffer, {@code null} when disabled. */
+   private YoBufferSummaryPyramid summary;
 
    public YoVariableBuffer(T yoVariable, YoBufferPropertiesReadOnly properties)
+   {
+      this(yoVariable, properties, YoBufferStorage.HEAP);
+   }
+
+   public YoVariableBuffer(T yoVariable, YoBufferPropertiesReadOnly properties, YoBufferStorage storage)
    {
       this.yoVariable = yoVariable;
       this.properties = properties;
+      this.storage = storage;
       variableMemorySize = SharedMemoryTools.getVariableMemorySize(yoVariable);
+      column = storage.newColumn(yoVariable, properties.getSize());
    }
 
    public int getVariableMemorySize()
@@ -42,7 +73,308 @@ public abstract class YoVariableBuffer<T extends YoVariable>
       return variableMemorySize;
    }
 
-   public abstract void resizeBuffer(int from, int length);
+   /**
+    * Returns an estimate of the memory currently used to store the history of the variable.
+    *
+    * @return the memory used by this buffer in bytes.
+    */
+   public long getBufferMemorySize()
+   {
+      return column.getMemorySize();
+   }
+
+   public void resizeBuffer(int from, int length)
+   {
+      // Even when the data is not moved, the in and out points are most likely changing.
+      structuralChangeCount++;
+      lastAppendIndex = -1;
+
+      if (from == 0 && length == column.getSize())
+         return;
+      column = column.resize(from, length);
+
+      if (summary != null)
+         summary = new YoBufferSummaryPyramid(this, length);
+   }
+
+   /**
+    * Replaces the column storing the history of the variable, the previous column is disposed.
+    * <p>
+    * This allows to adopt data loaded from a file without copying it, see
+    * {@link us.ihmc.scs2.sharedMemory.storage.ImportedBufferColumn}.
+    * </p>
+    *
+    * @param newColumn the new column, it must store the same type of variable and have the size of
+    *                  the buffer.
+    */
+   public void adoptColumn(BufferColumn newColumn)
+   {
+      if (newColumn.getType() != yoVariable.getType())
+         throw new IllegalArgumentException("Type mismatch, expected: " + yoVariable.getType() + ", was: " + newColumn.getType());
+      if (newColumn.getSize() != column.getSize())
+         throw new IllegalArgumentException("Size mismatch, expected: " + column.getSize() + ", was: " + newColumn.getSize());
+
+      structuralChangeCount++;
+      lastAppendIndex = -1;
+      column.dispose();
+      column = newColumn;
+
+      if (summary != null)
+         summary = new YoBufferSummaryPyramid(this, newColumn.getSize());
+   }
+
+   /**
+    * Writes an element in the buffer while keeping track of the modifications.
+    *
+    * @param index the index of the element to write.
+    * @param bits  the element encoded as a 64-bit word.
+    */
+   final void writeLongBits(int index, long bits)
+   {
+      if (index != lastAppendIndex)
+      { // Re-writing the last appended element is not a structural change, the incremental samples always include it.
+         boolean isOutPoint = index == properties.getOutPoint();
+
+         if (isOutPoint && lastAppendIndex != -1 && index == SharedMemoryTools.increment(lastAppendIndex, 1, column.getSize()))
+            appendCount++;
+         else
+            structuralChangeCount++;
+
+         if (isOutPoint)
+            lastAppendIndex = index;
+      }
+
+      if (summary != null)
+      {
+         long previousBits = column.getLongBits(index);
+         if (previousBits != bits)
+            summary.update(index, longBitsToDouble(previousBits), longBitsToDouble(bits));
+      }
+
+      column.setLongBits(index, bits);
+   }
+
+   /**
+    * Fills a portion of the buffer, this is always considered as a structural change.
+    *
+    * @param bits   the fill value encoded as a 64-bit word.
+    * @param from   the start index in the buffer.
+    * @param length the number of elements to fill.
+    */
+   final void fillLongBits(long bits, int from, int length)
+   {
+      structuralChangeCount++;
+      column.fill(bits, from, length);
+
+      if (summary != null)
+         summary.invalidate(from, length);
+   }
+
+   /**
+    * Returns the index of the last element appended to the buffer, {@code -1} if none since the last
+    * structural change.
+    */
+   int getLastAppendIndex()
+   {
+      return lastAppendIndex;
+   }
+
+   /**
+    * Returns the number of elements appended to the buffer since its creation.
+    */
+   long getAppendCount()
+   {
+      return appendCount;
+   }
+
+   /**
+    * Returns the number of modifications of the buffer other than appending elements at the out-point,
+    * e.g. resize, crop, fill, or writing before the out-point.
+    */
+   long getStructuralChangeCount()
+   {
+      return structuralChangeCount;
+   }
+
+   /**
+    * Enables or disables the summary of this buffer used to speed up
+    * {@link #computeRangeSummary(int, int, YoBufferRangeSummary)} and
+    * {@link #computeEnvelope(int, int, int, double[], double[], YoBufferRangeSummary)}.
+    * <p>
+    * When enabled, the summary is kept up-to-date at every write for a constant cost and uses about 30
+    * bytes per 64 elements of the buffer, i.e. the min, max, sum, count, and dirty flag of each block of
+    * 64 elements plus the coarser levels. Queries then only read the elements at the boundaries of the
+    * requested range instead of the entire range.
+    * </p>
+    *
+    * @param enable whether the summary should be maintained.
+    */
+   public void setSummaryEnabled(boolean enable)
+   {
+      if (enable == (summary != null))
+         return;
+
+      summary = enable ? new YoBufferSummaryPyramid(this, column.getSize()) : null;
+   }
+
+   /**
+    * Whether this buffer maintains a summary of its history.
+    *
+    * @return {@code true} if the summary is enabled.
+    */
+   public boolean isSummaryEnabled()
+   {
+      return summary != null;
+   }
+
+   /**
+    * Computes the min/max/sum of the values stored in the given range of the buffer.
+    * <p>
+    * Unless the summary is enabled, this requires scanning the entire range.
+    * </p>
+    *
+    * @param from          the first index of the range (inclusive).
+    * @param to            the last index of the range (inclusive), the range wraps around the end of
+    *                      the buffer when {@code to < from}.
+    * @param summaryToPack the summary used to store the result. Modified. Can be {@code null}.
+    * @return the summary of the range.
+    * @see #setSummaryEnabled(boolean)
+    */
+   public YoBufferRangeSummary computeRangeSummary(int from, int to, YoBufferRangeSummary summaryToPack)
+   {
+      if (summaryToPack == null)
+         summaryToPack = new YoBufferRangeSummary();
+      else
+         summaryToPack.clear();
+
+      int size = column.getSize();
+      int length = SharedMemoryTools.computeSubLength(from, to, size);
+
+      if (from + length <= size)
+      {
+         accumulate(from, from + length, summaryToPack);
+      }
+      else
+      {
+         accumulate(from, size, summaryToPack);
+         accumulate(0, from + length - size, summaryToPack);
+      }
+
+      return summaryToPack;
+   }
+
+   private void accumulate(int start, int end, YoBufferRangeSummary summaryToPack)
+   {
+      if (summary != null)
+      {
+         summary.accumulate(start, end, summaryToPack);
+      }
+      else
+      {
+         for (int index = start; index < end; index++)
+            summaryToPack.add(getValueAsDouble(index));
+      }
+   }
+
+   /**
+    * Computes the min/max envelope of the given range of the buffer at a lower resolution, e.g. to
+    * render a decimated plot of the range.
+    * <p>
+    * The range is split into bins of roughly equal size, and the minimum and maximum of each bin is
+    * packed in the given arrays. When the range has fewer elements than the number of bins, the extra
+    * bins are empty and their minimum and maximum are set to {@code NaN}.
+    * </p>
+    *
+    * @param from              the first index of the range (inclusive).
+    * @param to                the last index of the range (inclusive), the range wraps around the end
+    *                          of the buffer when {@code to < from}.
+    * @param numberOfBins      the resolution of the envelope.
+    * @param minEnvelopeToPack the array used to store the minimum of each bin. Modified.
+    * @param maxEnvelopeToPack the array used to store the maximum of each bin. Modified.
+    * @param binSummary        the summary used to compute each bin. Modified. Can be {@code null}.
+    * @see #setSummaryEnabled(boolean)
+    */
+   public void computeEnvelope(int from,
+                               int to,
+                               int numberOfBins,
+                               double[] minEnvelopeToPack,
+                               double[] maxEnvelopeToPack,
+                               YoBufferRangeSummary binSummary)
+   {
+      int size = column.getSize();
+      int length = SharedMemoryTools.computeSubLength(from, to, size);
+      if (binSummary == null)
+         binSummary = new YoBufferRangeSummary();
+
+      for (int bin = 0; bin < numberOfBins; bin++)
+      {
+         int binStart = (int) ((long) bin * length / numberOfBins);
+         int binEnd = (int) ((long) (bin + 1) * length / numberOfBins);
+
+         if (binStart == binEnd)
+         {
+            minEnvelopeToPack[bin] = Double.NaN;
+            maxEnvelopeToPack[bin] = Double.NaN;
+            continue;
+         }
+
+         computeRangeSummary(SharedMemoryTools.increment(from, binStart, size), SharedMemoryTools.increment(from, binEnd - 1, size), binSummary);
+         minEnvelopeToPack[bin] = binSummary.isEmpty() ? Double.NaN : binSummary.getMin();
+         maxEnvelopeToPack[bin] = binSummary.isEmpty() ? Double.NaN : binSummary.getMax();
+      }
+   }
+
+   /**
+    * Computes the statistics of the values stored in the given range of the buffer.
+    * <p>
+    * The values are read from the storage by chunks, so only the percentiles require a copy of the
+    * entire range.
+    * </p>
+    *
+    * @param from             the first index of the range (inclusive).
+    * @param to               the last index of the range (inclusive), the range wraps around the end
+    *                         of the buffer when {@code to < from}.
+    * @param percentileLevels the levels, in {@code [0, 100]}, of the percentiles to compute. Can be
+    *                         {@code null} or empty.
+    * @param statisticsToPack the statistics used to store the result. Modified. Can be {@code null}.
+    * @return the statistics of the range.
+    */
+   public YoBufferStatistics computeStatistics(int from, int to, double[] percentileLevels, YoBufferStatistics statisticsToPack)
+   {
+      if (statisticsToPack == null)
+         statisticsToPack = new YoBufferStatistics();
+      else
+         statisticsToPack.clear();
+
+      if (percentileLevels == null)
+         percentileLevels = NO_PERCENTILES;
+
+      int size = column.getSize();
+      int length = SharedMemoryTools.computeSubLength(from, to, size);
+
+      if (percentileLevels.length > 0)
+      {
+         double[] values = new double[length];
+         getValuesAsDouble(from, length, values, 0);
+         statisticsToPack.accumulate(values, 0, length);
+         statisticsToPack.computePercentiles(percentileLevels, values, length);
+      }
+      else
+      {
+         double[] chunk = new double[Math.min(length, STATISTICS_CHUNK_SIZE)];
+
+         for (int offset = 0; offset < length; offset += chunk.length)
+         {
+            int chunkLength = Math.min(chunk.length, length - offset);
+            getValuesAsDouble(SharedMemoryTools.increment(from, offset, size), chunkLength, chunk, 0);
+            statisticsToPack.accumulate(chunk, 0, chunkLength);
+         }
+
+         statisticsToPack.computePercentiles(NO_PERCENTILES, null, 0);
+      }
+
+      return statisticsToPack;
+   }
 
    public final void writeBuffer()
    {
@@ -70,6 +402,16 @@ public abstract class YoVariableBuffer<T extends YoVariable>
       return properties;
    }
 
+   /**
+    * Returns the storage in which the history of the variable is kept.
+    *
+    * @return the storage of this buffer.
+    */
+   public YoBufferStorage getStorage()
+   {
+      return storage;
+   }
+
    long getValueAsLongBits()
    {
       return getValueAsLongBits(properties.getCurrentIndex());
@@ -77,6 +419,16 @@ public abstract class YoVariableBuffer<T extends YoVariable>
 
    abstract long getValueAsLongBits(int index);
 
+   /**
+    * Converts an element of the column into its numerical value, e.g. {@code 1.0} for {@code true}.
+    */
+   abstract double longBitsToDouble(long bits);
+
+   final double getValueAsDouble(int index)
+   {
+      return longBitsToDouble(column.getLongBits(index));
+   }
+
    @SuppressWarnings("rawtypes")
    public abstract BufferSample copy(int from, int length, YoBufferPropertiesReadOnly properties);
 
@@ -84,9 +436,59 @@ public abstract class YoVariableBuffer<T extends YoVariable>
 
    public abstract Object getBuffer();
 
-   public abstract double[] getAsDoubleBuffer();
+   /**
+    * Returns the values of the buffer as numerical values, e.g. {@code 1.0} for {@code true}.
+    * <p>
+    * To avoid allocating a new array, see {@link #getValuesAsDouble(int, int, double[], int)}.
+    * </p>
+    *
+    * @return the new array containing the values of the buffer.
+    */
+   public double[] getAsDoubleBuffer()
+   {
+      double[] values = new double[column.getSize()];
+      getValuesAsDouble(0, values.length, values, 0);
+      return values;
+   }
+
+   /**
+    * Reads a range of the buffer as numerical values, e.g. {@code 1.0} for {@code true}, directly from
+    * the storage.
+    * <p>
+    * This allows to process a long buffer by chunks using a single array, instead of allocating a copy
+    * of the entire buffer.
+    * </p>
+    *
+    * @param from              the index of the first element to read.
+    * @param length            the number of elements to read, the range wraps around the end of the
+    *                          buffer if needed.
+    * @param destination       the array in which the values are stored. Modified.
+    * @param destinationOffset the index in {@code destination} of the first value.
+    */
+   public void getValuesAsDouble(int from, int length, double[] destination, int destinationOffset)
+   {
+      int size = column.getSize();
+
+      if (length > size)
+         throw new IllegalArgumentException("The length (" + length + ") cannot exceed the buffer size (" + size + ").");
 
-   public abstract void dispose();
+      int index = from;
+
+      for (int i = 0; i < length; i++)
+      {
+         destination[destinationOffset + i] = getValueAsDouble(index);
+         if (++index == size)
+            index = 0;
+      }
+   }
+
+   public void dispose()
+   {
+      if (column == null)
+         return;
+      column.dispose();
+      column = null;
+   }
 
    @Override
    public String toString()
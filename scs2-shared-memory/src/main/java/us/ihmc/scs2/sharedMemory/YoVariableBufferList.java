@@ -3,12 +3,61 @@ package us.ihmc.scs2.sharedMemory;
 import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
+import us.ihmc.yoVariables.variable.YoBoolean;
+import us.ihmc.yoVariables.variable.YoDouble;
+import us.ihmc.yoVariables.variable.YoEnum;
+import us.ihmc.yoVariables.variable.YoInteger;
+import us.ihmc.yoVariables.variable.YoLong;
+
+/**
+ * List of the buffers of a registry.
+ * <p>
+ * In addition to the list of buffers in the order they were added, the buffers and their variables
+ * are grouped per type such that reading and writing the buffers is done with one loop per type. Each
+ * loop only deals with a single type of buffer and variable, which avoids a megamorphic call per
+ * variable at every tick.
+ * </p>
+ * <p>
+ * For very large registries, reading and writing can optionally be split into shards processed in
+ * parallel, see {@link #setParallelExecution(ForkJoinPool, int)}.
+ * </p>
+ */
 public class YoVariableBufferList extends AbstractList<YoVariableBuffer<?>>
 {
    private int size = 0;
    private YoVariableBuffer<?>[] yoVariableBuffers = new YoVariableBuffer[8];
 
+   private int numberOfDoubles = 0;
+   private YoDoubleBuffer[] doubleBuffers = new YoDoubleBuffer[0];
+   private YoDouble[] doubleVariables = new YoDouble[0];
+
+   private int numberOfBooleans = 0;
+   private YoBooleanBuffer[] booleanBuffers = new YoBooleanBuffer[0];
+   private YoBoolean[] booleanVariables = new YoBoolean[0];
+
+   private int numberOfIntegers = 0;
+   private YoIntegerBuffer[] integerBuffers = new YoIntegerBuffer[0];
+   private YoInteger[] integerVariables = new YoInteger[0];
+
+   private int numberOfLongs = 0;
+   private YoLongBuffer[] longBuffers = new YoLongBuffer[0];
+   private YoLong[] longVariables = new YoLong[0];
+
+   private int numberOfEnums = 0;
+   private YoEnumBuffer<?>[] enumBuffers = new YoEnumBuffer[0];
+   private YoEnum<?>[] enumVariables = new YoEnum[0];
+
+   /** Default number of variables below which the buffers are always processed by the calling thread. */
+   public static final int DEFAULT_PARALLEL_THRESHOLD = 20000;
+   /** The number of variables processed by a single task when processing the buffers in parallel. */
+   private static final int SHARD_SIZE = 4096;
+
+   private ForkJoinPool forkJoinPool = null;
+   private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
    @Override
    public int size()
    {
@@ -27,9 +76,70 @@ public class YoVariableBufferList extends AbstractList<YoVariableBuffer<?>>
       size++;
       ensureCapacity(size);
       yoVariableBuffers[size - 1] = e;
+
+      if (e instanceof YoDoubleBuffer doubleBuffer)
+      {
+         if (numberOfDoubles == doubleBuffers.length)
+         {
+            doubleBuffers = Arrays.copyOf(doubleBuffers, newTypedArraySize(numberOfDoubles));
+            doubleVariables = Arrays.copyOf(doubleVariables, doubleBuffers.length);
+         }
+         doubleBuffers[numberOfDoubles] = doubleBuffer;
+         doubleVariables[numberOfDoubles++] = doubleBuffer.getYoVariable();
+      }
+      else if (e instanceof YoBooleanBuffer booleanBuffer)
+      {
+         if (numberOfBooleans == booleanBuffers.length)
+         {
+            booleanBuffers = Arrays.copyOf(booleanBuffers, newTypedArraySize(numberOfBooleans));
+            booleanVariables = Arrays.copyOf(booleanVariables, booleanBuffers.length);
+         }
+         booleanBuffers[numberOfBooleans] = booleanBuffer;
+         booleanVariables[numberOfBooleans++] = booleanBuffer.getYoVariable();
+      }
+      else if (e instanceof YoIntegerBuffer integerBuffer)
+      {
+         if (numberOfIntegers == integerBuffers.length)
+         {
+            integerBuffers = Arrays.copyOf(integerBuffers, newTypedArraySize(numberOfIntegers));
+            integerVariables = Arrays.copyOf(integerVariables, integerBuffers.length);
+         }
+         integerBuffers[numberOfIntegers] = integerBuffer;
+         integerVariables[numberOfIntegers++] = integerBuffer.getYoVariable();
+      }
+      else if (e instanceof YoLongBuffer longBuffer)
+      {
+         if (numberOfLongs == longBuffers.length)
+         {
+            longBuffers = Arrays.copyOf(longBuffers, newTypedArraySize(numberOfLongs));
+            longVariables = Arrays.copyOf(longVariables, longBuffers.length);
+         }
+         longBuffers[numberOfLongs] = longBuffer;
+         longVariables[numberOfLongs++] = longBuffer.getYoVariable();
+      }
+      else if (e instanceof YoEnumBuffer<?> enumBuffer)
+      {
+         if (numberOfEnums == enumBuffers.length)
+         {
+            enumBuffers = Arrays.copyOf(enumBuffers, newTypedArraySize(numberOfEnums));
+            enumVariables = Arrays.copyOf(enumVariables, enumBuffers.length);
+         }
+         enumBuffers[numberOfEnums] = enumBuffer;
+         enumVariables[numberOfEnums++] = enumBuffer.getYoVariable();
+      }
+      else
+      {
+         throw new UnsupportedOperationException("Unsupported buffer type: " + e.getClass().getSimpleName());
+      }
+
       return true;
    }
 
+   private static int newTypedArraySize(int currentSize)
+   {
+      return Math.max(8, currentSize + (currentSize >> 1));
+   }
+
    @Override
    public YoVariableBuffer<?> get(int index)
    {
@@ -49,26 +159,142 @@ public class YoVariableBufferList extends AbstractList<YoVariableBuffer<?>>
       if (length <= 0)
          return;
 
-      for (int i = 0; i < size; i++)
-      {
-         yoVariableBuffers[i].fillBuffer(zeroFill, from, length);
-      }
+      for (int i = 0; i < numberOfDoubles; i++)
+         doubleBuffers[i].fillBuffer(zeroFill, from, length);
+      for (int i = 0; i < numberOfBooleans; i++)
+         booleanBuffers[i].fillBuffer(zeroFill, from, length);
+      for (int i = 0; i < numberOfIntegers; i++)
+         integerBuffers[i].fillBuffer(zeroFill, from, length);
+      for (int i = 0; i < numberOfLongs; i++)
+         longBuffers[i].fillBuffer(zeroFill, from, length);
+      for (int i = 0; i < numberOfEnums; i++)
+         enumBuffers[i].fillBuffer(zeroFill, from, length);
+   }
+
+   /**
+    * Enables processing the buffers in parallel in {@link #writeBufferAt(int)} and
+    * {@link #readBufferAt(int)}.
+    * <p>
+    * The buffers are split into shards of a few thousand variables processed by the given pool, while
+    * registries with fewer variables than the threshold are still processed by the calling thread.
+    * Reading the buffers in parallel means that the variables are updated from the pool's threads, the
+    * listeners attached to the variables, if any, have to be thread-safe.
+    * </p>
+    *
+    * @param forkJoinPool      the pool used to process the shards, or {@code null} to always process
+    *                          the buffers from the calling thread.
+    * @param parallelThreshold the minimum number of variables to process the buffers in parallel.
+    */
+   public void setParallelExecution(ForkJoinPool forkJoinPool, int parallelThreshold)
+   {
+      this.forkJoinPool = forkJoinPool;
+      this.parallelThreshold = parallelThreshold;
+   }
+
+   private boolean isParallel()
+   {
+      return forkJoinPool != null && size >= parallelThreshold && size > SHARD_SIZE;
    }
 
    public void writeBufferAt(int index)
    {
-      Arrays.stream(yoVariableBuffers, 0, size).parallel().forEach(buffer -> buffer.writeBufferAt(index));
-//      for (int i = 0; i < size; i++)
-//      {
-//         yoVariableBuffers[i].writeBufferAt(index);
-//      }
+      if (isParallel())
+         forkJoinPool.invoke(new ShardAction(index, true, 0, size));
+      else
+         writeBufferAt(index, 0, size);
+   }
+
+   /**
+    * Writes the buffers in {@code [start, end[}, the buffers being indexed in the order of the typed
+    * arrays: the doubles first, then the booleans, integers, longs, and enums.
+    */
+   private void writeBufferAt(int index, int start, int end)
+   {
+      int offset = 0;
+
+      for (int i = Math.max(start - offset, 0), last = Math.min(end - offset, numberOfDoubles); i < last; i++)
+         doubleBuffers[i].setValueAt(index, doubleVariables[i].getValue());
+      offset += numberOfDoubles;
+      for (int i = Math.max(start - offset, 0), last = Math.min(end - offset, numberOfBooleans); i < last; i++)
+         booleanBuffers[i].setValueAt(index, booleanVariables[i].getValue());
+      offset += numberOfBooleans;
+      for (int i = Math.max(start - offset, 0), last = Math.min(end - offset, numberOfIntegers); i < last; i++)
+         integerBuffers[i].setValueAt(index, integerVariables[i].getValue());
+      offset += numberOfIntegers;
+      for (int i = Math.max(start - offset, 0), last = Math.min(end - offset, numberOfLongs); i < last; i++)
+         longBuffers[i].setValueAt(index, longVariables[i].getValue());
+      offset += numberOfLongs;
+      for (int i = Math.max(start - offset, 0), last = Math.min(end - offset, numberOfEnums); i < last; i++)
+         enumBuffers[i].setOrdinalAt(index, (byte) enumVariables[i].getOrdinal());
    }
 
    public void readBufferAt(int index)
    {
-      for (int i = 0; i < size; i++)
+      if (isParallel())
+         forkJoinPool.invoke(new ShardAction(index, false, 0, size));
+      else
+         readBufferAt(index, 0, size);
+   }
+
+   /**
+    * Reads the buffers in {@code [start, end[}, see {@link #writeBufferAt(int, int, int)} for the
+    * indexing.
+    */
+   private void readBufferAt(int index, int start, int end)
+   {
+      int offset = 0;
+
+      for (int i = Math.max(start - offset, 0), last = Math.min(end - offset, numberOfDoubles); i < last; i++)
+         doubleVariables[i].set(doubleBuffers[i].getValueAt(index));
+      offset += numberOfDoubles;
+      for (int i = Math.max(start - offset, 0), last = Math.min(end - offset, numberOfBooleans); i < last; i++)
+         booleanVariables[i].set(booleanBuffers[i].getValueAt(index));
+      offset += numberOfBooleans;
+      for (int i = Math.max(start - offset, 0), last = Math.min(end - offset, numberOfIntegers); i < last; i++)
+         integerVariables[i].set(integerBuffers[i].getValueAt(index));
+      offset += numberOfIntegers;
+      for (int i = Math.max(start - offset, 0), last = Math.min(end - offset, numberOfLongs); i < last; i++)
+         longVariables[i].set(longBuffers[i].getValueAt(index));
+      offset += numberOfLongs;
+      for (int i = Math.max(start - offset, 0), last = Math.min(end - offset, numberOfEnums); i < last; i++)
+         enumVariables[i].set(enumBuffers[i].getOrdinalAt(index));
+   }
+
+   /**
+    * Task reading or writing a range of the buffers, split in halves until reaching the size of a shard.
+    */
+   private class ShardAction extends RecursiveAction
+   {
+      private static final long serialVersionUID = 1L;
+
+      private final int index;
+      private final boolean write;
+      private final int start;
+      private final int end;
+
+      private ShardAction(int index, boolean write, int start, int end)
+      {
+         this.index = index;
+         this.write = write;
+         this.start = start;
+         this.end = end;
+      }
+
+      @Override
+      protected void compute()
       {
-         yoVariableBuffers[i].readBufferAt(index);
+         if (end - start <= SHARD_SIZE)
+         {
+            if (write)
+               writeBufferAt(index, start, end);
+            else
+               readBufferAt(index, start, end);
+         }
+         else
+         {
+            int middle = (start + end) >>> 1;
+            invokeAll(new ShardAction(index, write, start, middle), new ShardAction(index, write, middle, end));
+         }
       }
    }
 
@@ -83,6 +309,16 @@ public class YoVariableBufferList extends AbstractList<YoVariableBuffer<?>>
          }
       }
       yoVariableBuffers = null;
+      doubleBuffers = null;
+      doubleVariables = null;
+      booleanBuffers = null;
+      booleanVariables = null;
+      integerBuffers = null;
+      integerVariables = null;
+      longBuffers = null;
+      longVariables = null;
+      enumBuffers = null;
+      enumVariables = null;
    }
 
    @Override
@@ -0,0 +1,191 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Heap implementation of {@link BufferColumn} packing booleans and enum ordinals into the bits of a
+ * {@code long[]}.
+ * <p>
+ * Booleans use a single bit per element. Enum ordinals use the narrowest width, among 1, 2, 4, and 8
+ * bits, fitting the number of constants of the enum, the null value being stored with all the bits
+ * set. The width is widened, and the column repacked, if a larger ordinal is ever written.
+ * </p>
+ */
+public class BitPackedColumn implements BufferColumn
+{
+   private final YoVariableType type;
+   private final int size;
+   private Packing packing;
+
+   /**
+    * Creates a new column initialized with zeros.
+    *
+    * @param type           the type of variable stored, either {@link YoVariableType#BOOLEAN} or
+    *                       {@link YoVariableType#ENUM}.
+    * @param size           the number of elements in the column.
+    * @param bitsPerElement the initial number of bits per element, rounded up to a power of 2.
+    */
+   public BitPackedColumn(YoVariableType type, int size, int bitsPerElement)
+   {
+      if (type != YoVariableType.BOOLEAN && type != YoVariableType.ENUM)
+         throw new IllegalArgumentException("Unsupported type: " + type);
+
+      this.type = type;
+      this.size = size;
+      packing = new Packing(size, log2Ceil(Math.max(1, bitsPerElement)), type == YoVariableType.ENUM);
+   }
+
+   /**
+    * Computes the number of bits needed to store the ordinals of an enum, including the null value.
+    *
+    * @param numberOfConstants the number of constants of the enum.
+    * @return the number of bits per element.
+    */
+   public static int computeEnumBitsPerElement(int numberOfConstants)
+   {
+      return 32 - Integer.numberOfLeadingZeros(numberOfConstants);
+   }
+
+   private static int log2Ceil(int value)
+   {
+      return 32 - Integer.numberOfLeadingZeros(value - 1);
+   }
+
+   @Override
+   public YoVariableType getType()
+   {
+      return type;
+   }
+
+   @Override
+   public int getSize()
+   {
+      return size;
+   }
+
+   /**
+    * Returns the number of bits currently used for each element.
+    *
+    * @return the number of bits per element.
+    */
+   public int getBitsPerElement()
+   {
+      return 1 << packing.log2Bits;
+   }
+
+   @Override
+   public long getLongBits(int index)
+   {
+      checkIndex(index);
+      return packing.get(index);
+   }
+
+   @Override
+   public void setLongBits(int index, long bits)
+   {
+      checkIndex(index);
+
+      if (type == YoVariableType.BOOLEAN)
+      {
+         packing.set(index, bits != 0L ? 1L : 0L);
+      }
+      else
+      {
+         long ordinal = (byte) bits;
+
+         if (ordinal >= packing.mask)
+         { // The all-ones value is reserved for null.
+            packing = repack(log2Ceil(64 - Long.numberOfLeadingZeros(ordinal + 1L)));
+         }
+
+         packing.set(index, ordinal);
+      }
+   }
+
+   private void checkIndex(int index)
+   {
+      // The last word may hold more elements than the column.
+      if (index < 0 || index >= size)
+         throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+   }
+
+   private Packing repack(int log2Bits)
+   {
+      Packing oldPacking = packing;
+      Packing newPacking = new Packing(size, log2Bits, oldPacking.nullable);
+
+      for (int index = 0; index < size; index++)
+         newPacking.set(index, oldPacking.get(index));
+
+      return newPacking;
+   }
+
+   @Override
+   public BitPackedColumn resize(int from, int length)
+   {
+      BitPackedColumn resized = new BitPackedColumn(type, length, getBitsPerElement());
+      int copyLength = Math.min(length, size);
+      int index = from;
+
+      for (int i = 0; i < copyLength; i++)
+      {
+         resized.setLongBits(i, getLongBits(index));
+         if (++index == size)
+            index = 0;
+      }
+
+      dispose();
+      return resized;
+   }
+
+   @Override
+   public long getMemorySize()
+   {
+      return (long) packing.words.length * Long.BYTES;
+   }
+
+   @Override
+   public void dispose()
+   {
+      // Nothing to release, the words are garbage collected with the column.
+   }
+
+   /**
+    * The words and the width are swapped at once when widening, so the readers never see a width
+    * inconsistent with the words.
+    */
+   private static class Packing
+   {
+      private final int log2Bits;
+      private final long mask;
+      private final long[] words;
+      private final boolean nullable;
+
+      private Packing(int size, int log2Bits, boolean nullable)
+      {
+         if (log2Bits > 3)
+            throw new IllegalArgumentException("Cannot store more than 8 bits per element.");
+
+         this.log2Bits = log2Bits;
+         mask = (1L << (1 << log2Bits)) - 1L;
+         words = new long[(int) (((long) size << log2Bits) + 63 >>> 6)];
+         this.nullable = nullable;
+      }
+
+      /** Reads an element, the all-ones value being decoded as {@code -1} when nullable. */
+      private long get(int index)
+      {
+         int bitIndex = index << log2Bits;
+         long value = (words[bitIndex >>> 6] >>> bitIndex) & mask;
+         return nullable && value == mask ? -1L : value;
+      }
+
+      /** Writes an element, {@code -1} being encoded as the all-ones value. */
+      private void set(int index, long value)
+      {
+         int bitIndex = index << log2Bits;
+         int wordIndex = bitIndex >>> 6;
+         words[wordIndex] = words[wordIndex] & ~(mask << bitIndex) | (value & mask) << bitIndex;
+      }
+   }
+}
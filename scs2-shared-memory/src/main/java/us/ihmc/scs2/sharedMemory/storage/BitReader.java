@@ -0,0 +1,50 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+/**
+ * Reads back a stream of bits written with a {@link BitWriter}.
+ */
+class BitReader
+{
+   private long[] words;
+   private long position;
+
+   void reset(long[] words)
+   {
+      this.words = words;
+      position = 0;
+   }
+
+   boolean readBit()
+   {
+      boolean bit = ((words[(int) (position >>> 6)] >>> (63 - (position & 63))) & 1L) != 0L;
+      position++;
+      return bit;
+   }
+
+   long read(int numberOfBits)
+   {
+      if (numberOfBits == 0)
+         return 0L;
+
+      int wordIndex = (int) (position >>> 6);
+      int bitOffset = (int) (position & 63);
+      int available = 64 - bitOffset;
+      long value;
+
+      if (numberOfBits <= available)
+      {
+         value = words[wordIndex] >>> (available - numberOfBits);
+      }
+      else
+      {
+         int overflow = numberOfBits - available;
+         value = (words[wordIndex] << overflow) | (words[wordIndex + 1] >>> (64 - overflow));
+      }
+
+      position += numberOfBits;
+
+      if (numberOfBits < 64)
+         value &= (1L << numberOfBits) - 1L;
+      return value;
+   }
+}
@@ -0,0 +1,68 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import java.util.Arrays;
+
+/**
+ * Growable stream of bits used to encode the blocks of a {@link CompressedBufferColumn}.
+ */
+class BitWriter
+{
+   private long[] words = new long[64];
+   private long position = 0;
+
+   void reset()
+   {
+      Arrays.fill(words, 0, wordCount(), 0L);
+      position = 0;
+   }
+
+   void writeBit(boolean bit)
+   {
+      if (bit)
+         write(1L, 1);
+      else
+         write(0L, 1);
+   }
+
+   /**
+    * Appends the {@code numberOfBits} lowest bits of {@code value}, most significant bit first.
+    */
+   void write(long value, int numberOfBits)
+   {
+      if (numberOfBits == 0)
+         return;
+      if (numberOfBits < 64)
+         value &= (1L << numberOfBits) - 1L;
+
+      int wordIndex = (int) (position >>> 6);
+      int bitOffset = (int) (position & 63);
+
+      if (wordIndex + 1 >= words.length)
+         words = Arrays.copyOf(words, 2 * words.length);
+
+      int available = 64 - bitOffset;
+
+      if (numberOfBits <= available)
+      {
+         words[wordIndex] |= value << (available - numberOfBits);
+      }
+      else
+      {
+         int overflow = numberOfBits - available;
+         words[wordIndex] |= value >>> overflow;
+         words[wordIndex + 1] |= value << (64 - overflow);
+      }
+
+      position += numberOfBits;
+   }
+
+   private int wordCount()
+   {
+      return (int) ((position + 63) >>> 6);
+   }
+
+   long[] toArray()
+   {
+      return Arrays.copyOf(words, wordCount());
+   }
+}
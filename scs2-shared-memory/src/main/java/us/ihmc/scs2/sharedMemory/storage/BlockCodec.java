@@ -0,0 +1,30 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+/**
+ * Lossless codec used by a {@link CompressedBufferColumn} to compress its sealed blocks.
+ * <p>
+ * The values are handled as 64-bit words as described in {@link BufferColumn}.
+ * </p>
+ */
+interface BlockCodec
+{
+   /**
+    * Encodes the first {@code length} values of the given block.
+    *
+    * @param values  the values to encode.
+    * @param length  the number of values to encode.
+    * @param scratch the bit stream to use for the encoding. Modified.
+    * @return the encoded block.
+    */
+   long[] encode(long[] values, int length, BitWriter scratch);
+
+   /**
+    * Decodes a block previously encoded with {@link #encode(long[], int, BitWriter)}.
+    *
+    * @param data    the encoded block.
+    * @param values  the array in which the decoded values are written. Modified.
+    * @param length  the number of values to decode.
+    * @param scratch the bit stream to use for the decoding. Modified.
+    */
+   void decode(long[] data, long[] values, int length, BitReader scratch);
+}
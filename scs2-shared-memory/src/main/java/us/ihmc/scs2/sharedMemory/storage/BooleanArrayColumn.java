@@ -0,0 +1,79 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Heap implementation of {@link BufferColumn} storing boolean values in a {@code boolean[]}.
+ */
+public class BooleanArrayColumn implements BufferColumn
+{
+   private boolean[] array;
+
+   public BooleanArrayColumn(int size)
+   {
+      array = new boolean[size];
+   }
+
+   @Override
+   public YoVariableType getType()
+   {
+      return YoVariableType.BOOLEAN;
+   }
+
+   @Override
+   public int getSize()
+   {
+      return array.length;
+   }
+
+   @Override
+   public long getLongBits(int index)
+   {
+      return array[index] ? 1L : 0L;
+   }
+
+   @Override
+   public void setLongBits(int index, long bits)
+   {
+      array[index] = bits != 0L;
+   }
+
+   @Override
+   public void fill(long bits, int from, int length)
+   {
+      SharedMemoryTools.ringArrayFill(array, bits != 0L, from, length);
+   }
+
+   @Override
+   public BooleanArrayColumn resize(int from, int length)
+   {
+      if (from != 0 || length != array.length)
+         array = SharedMemoryTools.ringArrayCopy(array, from, length);
+      return this;
+   }
+
+   @Override
+   public boolean[] copy(int from, int length)
+   {
+      return SharedMemoryTools.ringArrayCopy(array, from, length);
+   }
+
+   @Override
+   public boolean isHeapBacked()
+   {
+      return true;
+   }
+
+   @Override
+   public boolean[] getArray()
+   {
+      return array;
+   }
+
+   @Override
+   public void dispose()
+   {
+      array = null;
+   }
+}
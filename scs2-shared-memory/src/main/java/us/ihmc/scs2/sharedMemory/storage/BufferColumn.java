@@ -0,0 +1,205 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * A {@code BufferColumn} holds the history of a single {@code YoVariable} in a
+ * {@code YoVariableBuffer}.
+ * <p>
+ * The values are exchanged as 64-bit words regardless of the actual type of the variable:
+ * <ul>
+ * <li>{@link YoVariableType#DOUBLE}: {@link Double#doubleToRawLongBits(double)}.
+ * <li>{@link YoVariableType#LONG}: the value itself.
+ * <li>{@link YoVariableType#INTEGER}: the value sign-extended.
+ * <li>{@link YoVariableType#BOOLEAN}: {@code 1} for {@code true}, {@code 0} for {@code false}.
+ * <li>{@link YoVariableType#ENUM}: the ordinal as a sign-extended byte, {@code -1} being the null
+ * value.
+ * </ul>
+ * This allows each {@code YoVariableBuffer} to remain agnostic to where and how the data is actually
+ * stored, see {@link YoBufferStorage}.
+ * </p>
+ * <p>
+ * Columns are owned and accessed by the buffer manager only.
+ * </p>
+ */
+public interface BufferColumn
+{
+   /**
+    * Returns the type of variable this column stores.
+    *
+    * @return the variable type.
+    */
+   YoVariableType getType();
+
+   /**
+    * Returns the number of elements in this column.
+    *
+    * @return the column size.
+    */
+   int getSize();
+
+   /**
+    * Reads the element at the given index.
+    *
+    * @param index the index of the element to read.
+    * @return the element encoded as a 64-bit word.
+    */
+   long getLongBits(int index);
+
+   /**
+    * Writes the element at the given index.
+    *
+    * @param index the index of the element to write.
+    * @param bits  the element encoded as a 64-bit word.
+    */
+   void setLongBits(int index, long bits);
+
+   /**
+    * Fills a portion of this column with the given value, wrapping around the end of the column if
+    * needed.
+    *
+    * @param bits   the fill value encoded as a 64-bit word.
+    * @param from   the start index in the column.
+    * @param length the number of elements to fill.
+    */
+   default void fill(long bits, int from, int length)
+   {
+      int size = getSize();
+      length = Math.min(length, size);
+      int index = from;
+
+      for (int i = 0; i < length; i++)
+      {
+         setLongBits(index, bits);
+         if (++index == size)
+            index = 0;
+      }
+   }
+
+   /**
+    * Creates a new column of size {@code length} which elements are copied from this column starting
+    * at {@code from} and wrapping around the end of this column if needed. Elements that cannot be
+    * copied, i.e. when the new length is greater than the current size, are set to zero.
+    * <p>
+    * This column should not be used after calling this method unless it was returned.
+    * </p>
+    *
+    * @param from   the index of the first element to keep.
+    * @param length the size of the new column.
+    * @return the resized column, can be {@code this}.
+    */
+   BufferColumn resize(int from, int length);
+
+   /**
+    * Copies a portion of this column into a new primitive array, i.e. {@code double[]},
+    * {@code int[]}, {@code long[]}, {@code boolean[]}, or {@code byte[]} for enums.
+    *
+    * @param from   the index of the first element to copy.
+    * @param length the length of the new array.
+    * @return the new array.
+    */
+   default Object copy(int from, int length)
+   {
+      int size = getSize();
+      int copyLength = Math.min(length, size);
+      int index = from;
+
+      switch (getType())
+      {
+         case DOUBLE:
+         {
+            double[] array = new double[length];
+            for (int i = 0; i < copyLength; i++)
+            {
+               array[i] = Double.longBitsToDouble(getLongBits(index));
+               if (++index == size)
+                  index = 0;
+            }
+            return array;
+         }
+         case INTEGER:
+         {
+            int[] array = new int[length];
+            for (int i = 0; i < copyLength; i++)
+            {
+               array[i] = (int) getLongBits(index);
+               if (++index == size)
+                  index = 0;
+            }
+            return array;
+         }
+         case LONG:
+         {
+            long[] array = new long[length];
+            for (int i = 0; i < copyLength; i++)
+            {
+               array[i] = getLongBits(index);
+               if (++index == size)
+                  index = 0;
+            }
+            return array;
+         }
+         case BOOLEAN:
+         {
+            boolean[] array = new boolean[length];
+            for (int i = 0; i < copyLength; i++)
+            {
+               array[i] = getLongBits(index) != 0L;
+               if (++index == size)
+                  index = 0;
+            }
+            return array;
+         }
+         case ENUM:
+         {
+            byte[] array = new byte[length];
+            for (int i = 0; i < copyLength; i++)
+            {
+               array[i] = (byte) getLongBits(index);
+               if (++index == size)
+                  index = 0;
+            }
+            return array;
+         }
+         default:
+            throw new IllegalStateException("Unexpected type: " + getType());
+      }
+   }
+
+   /**
+    * Returns an estimate of the memory used by this column in bytes.
+    *
+    * @return the memory used by this column.
+    */
+   default long getMemorySize()
+   {
+      return (long) getSize() * SharedMemoryTools.getVariableMemorySize(getType());
+   }
+
+   /**
+    * Whether this column is backed by a primitive array living on the Java heap.
+    *
+    * @return {@code true} if {@link #getArray()} can be used.
+    */
+   default boolean isHeapBacked()
+   {
+      return false;
+   }
+
+   /**
+    * Returns the primitive array backing this column.
+    *
+    * @return the backing array.
+    * @throws UnsupportedOperationException if this column is not heap-backed.
+    */
+   default Object getArray()
+   {
+      throw new UnsupportedOperationException("The column is not backed by an array: " + getClass().getSimpleName());
+   }
+
+   /**
+    * Releases the resources used by this column. The column should not be used afterward.
+    */
+   void dispose();
+}
@@ -0,0 +1,79 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Heap implementation of {@link BufferColumn} storing enum ordinals in a {@code byte[]}.
+ */
+public class ByteArrayColumn implements BufferColumn
+{
+   private byte[] array;
+
+   public ByteArrayColumn(int size)
+   {
+      array = new byte[size];
+   }
+
+   @Override
+   public YoVariableType getType()
+   {
+      return YoVariableType.ENUM;
+   }
+
+   @Override
+   public int getSize()
+   {
+      return array.length;
+   }
+
+   @Override
+   public long getLongBits(int index)
+   {
+      return array[index];
+   }
+
+   @Override
+   public void setLongBits(int index, long bits)
+   {
+      array[index] = (byte) bits;
+   }
+
+   @Override
+   public void fill(long bits, int from, int length)
+   {
+      SharedMemoryTools.ringArrayFill(array, (byte) bits, from, length);
+   }
+
+   @Override
+   public ByteArrayColumn resize(int from, int length)
+   {
+      if (from != 0 || length != array.length)
+         array = SharedMemoryTools.ringArrayCopy(array, from, length);
+      return this;
+   }
+
+   @Override
+   public byte[] copy(int from, int length)
+   {
+      return SharedMemoryTools.ringArrayCopy(array, from, length);
+   }
+
+   @Override
+   public boolean isHeapBacked()
+   {
+      return true;
+   }
+
+   @Override
+   public byte[] getArray()
+   {
+      return array;
+   }
+
+   @Override
+   public void dispose()
+   {
+      array = null;
+   }
+}
@@ -0,0 +1,303 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import java.util.Arrays;
+
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Column split into fixed-size blocks which are compressed once the buffer moves past them.
+ * <p>
+ * Only the block being written, i.e. the active block, is kept uncompressed. Writing to another
+ * block compresses the active block and decompresses the new one, which for the typical sequential
+ * recording happens once every block size. Reading from a compressed block decodes it entirely
+ * into a cache owned by the column, such that reading the buffer sequentially, e.g. when playing
+ * back all the variables one index at a time, decodes each block once per column.
+ * </p>
+ */
+public class CompressedBufferColumn implements BufferColumn
+{
+   private final CompressedBufferStorage storage;
+   private final YoVariableType type;
+   private final BlockCodec codec;
+   private final int size;
+   private final int blockShift;
+   private final int blockMask;
+
+   /** The compressed blocks, a {@code null} block has never been written and is all zeros. */
+   private long[][] sealedBlocks;
+   private long[] activeBlock;
+   private int activeBlockIndex = -1;
+   /** Incremented every time a block is sealed, used to invalidate the decoded block. */
+   private int version = 0;
+
+   /** The last sealed block read from this column, allocated on the first read. */
+   private long[] decodedBlock;
+   private int decodedBlockIndex = -1;
+   private int decodedBlockVersion;
+   /** Number of blocks decoded for reading, used for testing. */
+   private int numberOfDecodedBlocks = 0;
+
+   CompressedBufferColumn(CompressedBufferStorage storage, YoVariableType type, BlockCodec codec, int size, int blockShift)
+   {
+      this.storage = storage;
+      this.type = type;
+      this.codec = codec;
+      this.size = size;
+      this.blockShift = blockShift;
+      blockMask = (1 << blockShift) - 1;
+      sealedBlocks = new long[(size + blockMask) >>> blockShift][];
+      activeBlock = new long[1 << blockShift];
+   }
+
+   @Override
+   public YoVariableType getType()
+   {
+      return type;
+   }
+
+   @Override
+   public int getSize()
+   {
+      return size;
+   }
+
+   @Override
+   public long getLongBits(int index)
+   {
+      checkIndex(index);
+
+      int blockIndex = index >>> blockShift;
+
+      if (blockIndex == activeBlockIndex)
+         return activeBlock[index & blockMask];
+
+      synchronized (this)
+      {
+         return getDecodedBlock(blockIndex)[index & blockMask];
+      }
+   }
+
+   /**
+    * Returns the uncompressed values of the given sealed block, decoding it if it is not the block
+    * cached in this column.
+    * <p>
+    * The cache may be shared by several reading threads, the caller has to synchronize on this column
+    * while using the returned array.
+    * </p>
+    */
+   private long[] getDecodedBlock(int blockIndex)
+   {
+      if (decodedBlock == null)
+         decodedBlock = new long[blockMask + 1];
+
+      if (decodedBlockIndex != blockIndex || decodedBlockVersion != version)
+      {
+         decodeBlock(blockIndex, decodedBlock);
+         decodedBlockIndex = blockIndex;
+         decodedBlockVersion = version;
+         numberOfDecodedBlocks++;
+      }
+
+      return decodedBlock;
+   }
+
+   int getNumberOfDecodedBlocks()
+   {
+      return numberOfDecodedBlocks;
+   }
+
+   @Override
+   public void setLongBits(int index, long bits)
+   {
+      checkIndex(index);
+
+      int blockIndex = index >>> blockShift;
+
+      if (blockIndex != activeBlockIndex)
+         activateBlock(blockIndex);
+
+      activeBlock[index & blockMask] = bits;
+   }
+
+   private void checkIndex(int index)
+   {
+      // The last block may be larger than the column.
+      if (index < 0 || index >= size)
+         throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+   }
+
+   private void activateBlock(int blockIndex)
+   {
+      sealActiveBlock();
+      decodeBlock(blockIndex, activeBlock);
+      activeBlockIndex = blockIndex;
+   }
+
+   /**
+    * Compresses the block currently being written. This is done automatically when writing to
+    * another block.
+    */
+   public void sealActiveBlock()
+   {
+      if (activeBlockIndex == -1)
+         return;
+
+      sealedBlocks[activeBlockIndex] = codec.encode(activeBlock, getBlockLength(activeBlockIndex), storage.getEncoder());
+      activeBlockIndex = -1;
+      version++;
+   }
+
+   private void decodeBlock(int blockIndex, long[] destination)
+   {
+      long[] sealedBlock = sealedBlocks[blockIndex];
+      int blockLength = getBlockLength(blockIndex);
+
+      if (sealedBlock == null)
+         Arrays.fill(destination, 0, blockLength, 0L);
+      else
+         codec.decode(sealedBlock, destination, blockLength, storage.getDecoder());
+   }
+
+   private int getBlockLength(int blockIndex)
+   {
+      return Math.min(blockMask + 1, size - (blockIndex << blockShift));
+   }
+
+   @Override
+   public void fill(long bits, int from, int length)
+   {
+      length = Math.min(length, size);
+      int index = from;
+
+      while (length > 0)
+      {
+         int blockIndex = index >>> blockShift;
+         int blockStart = blockIndex << blockShift;
+         int blockLength = getBlockLength(blockIndex);
+         int fillLength = Math.min(length, blockStart + blockLength - index);
+
+         if (fillLength == blockLength && blockIndex != activeBlockIndex)
+         { // Filling an entire sealed block, no need to decode it.
+            sealActiveBlock();
+            Arrays.fill(activeBlock, 0, blockLength, bits);
+            sealedBlocks[blockIndex] = codec.encode(activeBlock, blockLength, storage.getEncoder());
+            version++;
+         }
+         else
+         {
+            if (blockIndex != activeBlockIndex)
+               activateBlock(blockIndex);
+            Arrays.fill(activeBlock, index - blockStart, index - blockStart + fillLength, bits);
+         }
+
+         length -= fillLength;
+         index += fillLength;
+         if (index == size)
+            index = 0;
+      }
+   }
+
+   @Override
+   public Object copy(int from, int length)
+   {
+      long[] values = new long[length];
+      copyInto(from, Math.min(length, size), values);
+
+      if (type == YoVariableType.LONG)
+         return values;
+
+      double[] array = new double[length];
+      for (int i = 0; i < length; i++)
+         array[i] = Double.longBitsToDouble(values[i]);
+      return array;
+   }
+
+   /**
+    * Copies a range of elements into the given array one block at a time, wrapping around the end of
+    * this column if needed.
+    */
+   private void copyInto(int from, int length, long[] destination)
+   {
+      int index = from;
+      int position = 0;
+
+      while (position < length)
+      {
+         int blockIndex = index >>> blockShift;
+         int blockStart = blockIndex << blockShift;
+         int copyLength = Math.min(length - position, blockStart + getBlockLength(blockIndex) - index);
+
+         if (blockIndex == activeBlockIndex)
+         {
+            System.arraycopy(activeBlock, index - blockStart, destination, position, copyLength);
+         }
+         else
+         {
+            synchronized (this)
+            {
+               System.arraycopy(getDecodedBlock(blockIndex), index - blockStart, destination, position, copyLength);
+            }
+         }
+
+         position += copyLength;
+         index += copyLength;
+         if (index == size)
+            index = 0;
+      }
+   }
+
+   @Override
+   public CompressedBufferColumn resize(int from, int length)
+   {
+      if (from == 0 && length == size)
+         return this;
+
+      CompressedBufferColumn resized = storage.newCompressedColumn(type, length);
+      int copyLength = Math.min(length, size);
+      int blockSize = blockMask + 1;
+
+      for (int position = 0; position < copyLength; position += blockSize)
+      { // Filling the new column one block at a time such that each block is compressed once.
+         int blockIndex = position >>> blockShift;
+         int blockLength = Math.min(blockSize, copyLength - position);
+         copyInto((from + position) % size, blockLength, resized.activeBlock);
+         Arrays.fill(resized.activeBlock, blockLength, resized.getBlockLength(blockIndex), 0L);
+         resized.activeBlockIndex = blockIndex;
+         resized.sealActiveBlock();
+      }
+
+      dispose();
+      return resized;
+   }
+
+   /**
+    * Returns an estimate of the memory used by this column in bytes, i.e. the compressed blocks, the
+    * uncompressed active block, and the decoded block if any.
+    *
+    * @return the memory used by this column.
+    */
+   @Override
+   public long getMemorySize()
+   {
+      long memorySize = (long) Long.BYTES * activeBlock.length;
+
+      if (decodedBlock != null)
+         memorySize += (long) Long.BYTES * decodedBlock.length;
+
+      for (long[] sealedBlock : sealedBlocks)
+      {
+         if (sealedBlock != null)
+            memorySize += (long) Long.BYTES * sealedBlock.length;
+      }
+
+      return memorySize;
+   }
+
+   @Override
+   public void dispose()
+   {
+      sealedBlocks = null;
+      activeBlock = null;
+      decodedBlock = null;
+   }
+}
@@ -0,0 +1,121 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import us.ihmc.yoVariables.variable.YoVariable;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Storage compressing the history of {@code YoDouble}s and {@code YoLong}s, see
+ * {@link CompressedBufferColumn}.
+ * <p>
+ * The {@code double} values are compressed by XORing consecutive values as done in Facebook's
+ * Gorilla time series database, and the {@code long} values are compressed by encoding the
+ * difference between consecutive deltas. Slowly varying signals and constant values, which make most
+ * of a typical controller log, compress by an order of magnitude.
+ * </p>
+ * <p>
+ * The other types of variables are stored using the fallback storage.
+ * </p>
+ */
+public class CompressedBufferStorage implements YoBufferStorage
+{
+   /** Default number of elements per block, a power of 2. */
+   public static final int DEFAULT_BLOCK_SIZE = 256;
+
+   private final YoBufferStorage fallbackStorage;
+   private final int blockShift;
+
+   private final ThreadLocal<BitWriter> encoder = ThreadLocal.withInitial(BitWriter::new);
+   private final ThreadLocal<BitReader> decoder = ThreadLocal.withInitial(BitReader::new);
+
+   /**
+    * Creates a new storage using the default block size and storing the variables that cannot be
+    * compressed on the heap.
+    */
+   public CompressedBufferStorage()
+   {
+      this(YoBufferStorage.HEAP);
+   }
+
+   /**
+    * Creates a new storage using the default block size.
+    *
+    * @param fallbackStorage the storage to use for the variables that cannot be compressed.
+    */
+   public CompressedBufferStorage(YoBufferStorage fallbackStorage)
+   {
+      this(fallbackStorage, DEFAULT_BLOCK_SIZE);
+   }
+
+   /**
+    * Creates a new storage.
+    *
+    * @param fallbackStorage the storage to use for the variables that cannot be compressed.
+    * @param blockSize       the number of elements per block, must be a power of 2. Larger blocks
+    *                        compress slightly better but increase the memory used by the active
+    *                        and decoded blocks and the cost of random accesses.
+    */
+   public CompressedBufferStorage(YoBufferStorage fallbackStorage, int blockSize)
+   {
+      if (blockSize <= 0 || Integer.bitCount(blockSize) != 1)
+         throw new IllegalArgumentException("The block size must be a power of 2, was: " + blockSize);
+
+      this.fallbackStorage = fallbackStorage;
+      blockShift = Integer.numberOfTrailingZeros(blockSize);
+   }
+
+   @Override
+   public BufferColumn newColumn(YoVariableType type, int size)
+   {
+      if (type == YoVariableType.DOUBLE || type == YoVariableType.LONG)
+         return newCompressedColumn(type, size);
+      else
+         return fallbackStorage.newColumn(type, size);
+   }
+
+   @Override
+   public BufferColumn newColumn(YoVariable variable, int size)
+   {
+      if (variable.getType() == YoVariableType.DOUBLE || variable.getType() == YoVariableType.LONG)
+         return newCompressedColumn(variable.getType(), size);
+      else
+         return fallbackStorage.newColumn(variable, size);
+   }
+
+   CompressedBufferColumn newCompressedColumn(YoVariableType type, int size)
+   {
+      BlockCodec codec = type == YoVariableType.DOUBLE ? XORDoubleCodec.INSTANCE : DeltaOfDeltaLongCodec.INSTANCE;
+      return new CompressedBufferColumn(this, type, codec, size, blockShift);
+   }
+
+   BitWriter getEncoder()
+   {
+      return encoder.get();
+   }
+
+   BitReader getDecoder()
+   {
+      return decoder.get();
+   }
+
+   public int getBlockSize()
+   {
+      return 1 << blockShift;
+   }
+
+   public YoBufferStorage getFallbackStorage()
+   {
+      return fallbackStorage;
+   }
+
+   @Override
+   public boolean isHeapBacked()
+   {
+      return true;
+   }
+
+   @Override
+   public void dispose()
+   {
+      fallbackStorage.dispose();
+   }
+}
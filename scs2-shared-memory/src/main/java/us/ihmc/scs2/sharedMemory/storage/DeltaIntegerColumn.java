@@ -0,0 +1,279 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Heap implementation of {@link BufferColumn} storing integers as deltas from a base value in blocks
+ * of 256 elements.
+ * <p>
+ * Each block stores its elements in a {@code byte[]}, a {@code short[]}, or an {@code int[]}
+ * depending on the spread of its values. Counters, state indices, and other integers varying slowly
+ * typically fit in a byte per element. A block is widened when a value does not fit, and its width
+ * is re-evaluated when its last element is written, such that a block recorded sequentially ends up
+ * with the narrowest width fitting its values.
+ * </p>
+ */
+public class DeltaIntegerColumn implements BufferColumn
+{
+   private static final int BLOCK_SHIFT = 8;
+   private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+   private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+   private final int size;
+   private final Block[] blocks;
+
+   /**
+    * Creates a new column initialized with zeros.
+    *
+    * @param size the number of elements in the column.
+    */
+   public DeltaIntegerColumn(int size)
+   {
+      this.size = size;
+      blocks = new Block[(size + BLOCK_MASK) >>> BLOCK_SHIFT];
+
+      for (int i = 0; i < blocks.length; i++)
+         blocks[i] = new ByteBlock(0, Math.min(BLOCK_SIZE, size - (i << BLOCK_SHIFT)));
+   }
+
+   @Override
+   public YoVariableType getType()
+   {
+      return YoVariableType.INTEGER;
+   }
+
+   @Override
+   public int getSize()
+   {
+      return size;
+   }
+
+   @Override
+   public long getLongBits(int index)
+   {
+      checkIndex(index);
+      return blocks[index >>> BLOCK_SHIFT].get(index & BLOCK_MASK);
+   }
+
+   @Override
+   public void setLongBits(int index, long bits)
+   {
+      checkIndex(index);
+      int value = (int) bits;
+      int blockIndex = index >>> BLOCK_SHIFT;
+      int elementIndex = index & BLOCK_MASK;
+      Block block = blocks[blockIndex];
+
+      if (!block.set(elementIndex, value) || elementIndex == block.length() - 1 && !(block instanceof ByteBlock))
+         blocks[blockIndex] = repack(block, elementIndex, value);
+   }
+
+   private void checkIndex(int index)
+   {
+      if (index < 0 || index >= size)
+         throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+   }
+
+   /**
+    * Creates a new block with the narrowest width fitting the values of the given block, where the
+    * element at {@code elementIndex} is replaced with {@code value}.
+    */
+   private static Block repack(Block block, int elementIndex, int value)
+   {
+      int length = block.length();
+      long min = value;
+      long max = value;
+
+      for (int i = 0; i < length; i++)
+      {
+         if (i == elementIndex)
+            continue;
+         int element = block.get(i);
+         min = Math.min(min, element);
+         max = Math.max(max, element);
+      }
+
+      Block repacked;
+      if (max - min <= 0xFF)
+         repacked = new ByteBlock((int) min, length);
+      else if (max - min <= 0xFFFF)
+         repacked = new ShortBlock((int) min, length);
+      else
+         repacked = new IntBlock(length);
+
+      for (int i = 0; i < length; i++)
+         repacked.set(i, i == elementIndex ? value : block.get(i));
+      return repacked;
+   }
+
+   @Override
+   public DeltaIntegerColumn resize(int from, int length)
+   {
+      DeltaIntegerColumn resized = new DeltaIntegerColumn(length);
+      int copyLength = Math.min(length, size);
+      int index = from;
+
+      for (int i = 0; i < copyLength; i++)
+      {
+         resized.setLongBits(i, getLongBits(index));
+         if (++index == size)
+            index = 0;
+      }
+
+      return resized;
+   }
+
+   @Override
+   public long getMemorySize()
+   {
+      long memorySize = 0;
+      for (Block block : blocks)
+         memorySize += block.getMemorySize();
+      return memorySize;
+   }
+
+   @Override
+   public void dispose()
+   {
+      // Nothing to release, the blocks are garbage collected with the column.
+   }
+
+   private static abstract class Block
+   {
+      /** Approximation of the headers of the block and its array. */
+      private static final int OVERHEAD = 32;
+
+      abstract int length();
+
+      abstract int get(int index);
+
+      /**
+       * Stores the value if it fits in this block.
+       *
+       * @return {@code false} if the value does not fit and the block needs to be repacked.
+       */
+      abstract boolean set(int index, int value);
+
+      abstract int getElementSize();
+
+      long getMemorySize()
+      {
+         return OVERHEAD + (long) length() * getElementSize();
+      }
+   }
+
+   private static class ByteBlock extends Block
+   {
+      private final int base;
+      private final byte[] deltas;
+
+      private ByteBlock(int base, int length)
+      {
+         this.base = base;
+         deltas = new byte[length];
+      }
+
+      @Override
+      int length()
+      {
+         return deltas.length;
+      }
+
+      @Override
+      int get(int index)
+      {
+         return base + (deltas[index] & 0xFF);
+      }
+
+      @Override
+      boolean set(int index, int value)
+      {
+         long delta = (long) value - base;
+         if (delta < 0 || delta > 0xFF)
+            return false;
+         deltas[index] = (byte) delta;
+         return true;
+      }
+
+      @Override
+      int getElementSize()
+      {
+         return Byte.BYTES;
+      }
+   }
+
+   private static class ShortBlock extends Block
+   {
+      private final int base;
+      private final short[] deltas;
+
+      private ShortBlock(int base, int length)
+      {
+         this.base = base;
+         deltas = new short[length];
+      }
+
+      @Override
+      int length()
+      {
+         return deltas.length;
+      }
+
+      @Override
+      int get(int index)
+      {
+         return base + (deltas[index] & 0xFFFF);
+      }
+
+      @Override
+      boolean set(int index, int value)
+      {
+         long delta = (long) value - base;
+         if (delta < 0 || delta > 0xFFFF)
+            return false;
+         deltas[index] = (short) delta;
+         return true;
+      }
+
+      @Override
+      int getElementSize()
+      {
+         return Short.BYTES;
+      }
+   }
+
+   private static class IntBlock extends Block
+   {
+      private final int[] values;
+
+      private IntBlock(int length)
+      {
+         values = new int[length];
+      }
+
+      @Override
+      int length()
+      {
+         return values.length;
+      }
+
+      @Override
+      int get(int index)
+      {
+         return values[index];
+      }
+
+      @Override
+      boolean set(int index, int value)
+      {
+         values[index] = value;
+         return true;
+      }
+
+      @Override
+      int getElementSize()
+      {
+         return Integer.BYTES;
+      }
+   }
+}
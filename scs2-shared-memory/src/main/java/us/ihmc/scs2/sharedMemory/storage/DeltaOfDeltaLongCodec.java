@@ -0,0 +1,95 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+/**
+ * Delta-of-delta codec for {@code long} values, well suited for counters and timestamps.
+ * <p>
+ * The difference between two consecutive deltas is zigzag encoded and stored with a variable-length
+ * prefix. Constant values and values increasing at a constant rate cost a single bit.
+ * </p>
+ */
+class DeltaOfDeltaLongCodec implements BlockCodec
+{
+   static final DeltaOfDeltaLongCodec INSTANCE = new DeltaOfDeltaLongCodec();
+
+   /** Number of bits used for each bucket, the bucket index is encoded in unary. */
+   private static final int[] BUCKET_BITS = {7, 9, 12, 32};
+
+   private DeltaOfDeltaLongCodec()
+   {
+   }
+
+   @Override
+   public long[] encode(long[] values, int length, BitWriter writer)
+   {
+      writer.reset();
+
+      if (length == 0)
+         return writer.toArray();
+
+      long previous = values[0];
+      long previousDelta = 0L;
+      writer.write(previous, 64);
+
+      for (int i = 1; i < length; i++)
+      {
+         long delta = values[i] - previous;
+         long deltaOfDelta = delta - previousDelta;
+         previous = values[i];
+         previousDelta = delta;
+
+         long zigzag = (deltaOfDelta << 1) ^ (deltaOfDelta >> 63);
+
+         if (zigzag == 0L)
+         {
+            writer.writeBit(false);
+            continue;
+         }
+
+         int bucket = 0;
+         while (bucket < BUCKET_BITS.length && (zigzag >>> BUCKET_BITS[bucket]) != 0L)
+            bucket++;
+
+         // Unary encoding of the bucket: 10, 110, 1110, 11110, 11111 for the full 64 bits.
+         writer.write(-1L, bucket + 1);
+         if (bucket < BUCKET_BITS.length)
+         {
+            writer.writeBit(false);
+            writer.write(zigzag, BUCKET_BITS[bucket]);
+         }
+         else
+         {
+            writer.write(zigzag, 64);
+         }
+      }
+
+      return writer.toArray();
+   }
+
+   @Override
+   public void decode(long[] data, long[] values, int length, BitReader reader)
+   {
+      if (length == 0)
+         return;
+
+      reader.reset(data);
+      long previous = reader.read(64);
+      long previousDelta = 0L;
+      values[0] = previous;
+
+      for (int i = 1; i < length; i++)
+      {
+         if (reader.readBit())
+         {
+            int bucket = 0;
+            while (bucket < BUCKET_BITS.length && reader.readBit())
+               bucket++;
+
+            long zigzag = reader.read(bucket < BUCKET_BITS.length ? BUCKET_BITS[bucket] : 64);
+            previousDelta += (zigzag >>> 1) ^ -(zigzag & 1L);
+         }
+
+         previous += previousDelta;
+         values[i] = previous;
+      }
+   }
+}
@@ -0,0 +1,79 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Heap implementation of {@link BufferColumn} storing double values in a {@code double[]}.
+ */
+public class DoubleArrayColumn implements BufferColumn
+{
+   private double[] array;
+
+   public DoubleArrayColumn(int size)
+   {
+      array = new double[size];
+   }
+
+   @Override
+   public YoVariableType getType()
+   {
+      return YoVariableType.DOUBLE;
+   }
+
+   @Override
+   public int getSize()
+   {
+      return array.length;
+   }
+
+   @Override
+   public long getLongBits(int index)
+   {
+      return Double.doubleToRawLongBits(array[index]);
+   }
+
+   @Override
+   public void setLongBits(int index, long bits)
+   {
+      array[index] = Double.longBitsToDouble(bits);
+   }
+
+   @Override
+   public void fill(long bits, int from, int length)
+   {
+      SharedMemoryTools.ringArrayFill(array, Double.longBitsToDouble(bits), from, length);
+   }
+
+   @Override
+   public DoubleArrayColumn resize(int from, int length)
+   {
+      if (from != 0 || length != array.length)
+         array = SharedMemoryTools.ringArrayCopy(array, from, length);
+      return this;
+   }
+
+   @Override
+   public double[] copy(int from, int length)
+   {
+      return SharedMemoryTools.ringArrayCopy(array, from, length);
+   }
+
+   @Override
+   public boolean isHeapBacked()
+   {
+      return true;
+   }
+
+   @Override
+   public double[] getArray()
+   {
+      return array;
+   }
+
+   @Override
+   public void dispose()
+   {
+      array = null;
+   }
+}
@@ -0,0 +1,38 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Storage where each column is a primitive array on the Java heap.
+ */
+public class HeapBufferStorage implements YoBufferStorage
+{
+   HeapBufferStorage()
+   {
+   }
+
+   @Override
+   public BufferColumn newColumn(YoVariableType type, int size)
+   {
+      return switch (type)
+      {
+         case DOUBLE -> new DoubleArrayColumn(size);
+         case INTEGER -> new IntegerArrayColumn(size);
+         case LONG -> new LongArrayColumn(size);
+         case BOOLEAN -> new BooleanArrayColumn(size);
+         case ENUM -> new ByteArrayColumn(size);
+      };
+   }
+
+   @Override
+   public boolean isHeapBacked()
+   {
+      return true;
+   }
+
+   @Override
+   public void dispose()
+   {
+      // Nothing to release, the arrays are garbage collected with their column.
+   }
+}
@@ -0,0 +1,112 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import java.nio.ByteBuffer;
+
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.yoVariables.variable.YoVariable;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Column adopting data loaded from a file, typically a memory-mapped region of a binary data file,
+ * without copying it.
+ * <p>
+ * The elements are stored as described in {@link BufferColumn} using the byte order of the given
+ * buffer. The column is moved to the storage of the buffer the first time it is resized.
+ * </p>
+ */
+public class ImportedBufferColumn implements BufferColumn
+{
+   private final YoVariable variable;
+   private final YoBufferStorage storage;
+   private final int elementSize;
+   private final int size;
+   private ByteBuffer buffer;
+
+   /**
+    * Creates a new column adopting the given data.
+    *
+    * @param variable the variable which history is stored in this column.
+    * @param storage  the storage used to allocate a new column when resizing this column.
+    * @param buffer   the data to adopt, starting at index 0, the buffer should not be used afterward.
+    * @param size     the number of elements in the column.
+    */
+   public ImportedBufferColumn(YoVariable variable, YoBufferStorage storage, ByteBuffer buffer, int size)
+   {
+      this.variable = variable;
+      this.storage = storage;
+      this.buffer = buffer;
+      this.size = size;
+      elementSize = SharedMemoryTools.getVariableMemorySize(variable.getType());
+
+      if (buffer.capacity() < size * elementSize)
+         throw new IllegalArgumentException("Buffer too small: " + buffer.capacity() + " bytes, expected: " + size * elementSize + " bytes.");
+   }
+
+   @Override
+   public YoVariableType getType()
+   {
+      return variable.getType();
+   }
+
+   @Override
+   public int getSize()
+   {
+      return size;
+   }
+
+   @Override
+   public long getLongBits(int index)
+   {
+      checkIndex(index);
+
+      return switch (elementSize)
+      {
+         case Long.BYTES -> buffer.getLong(index << 3);
+         case Integer.BYTES -> buffer.getInt(index << 2);
+         default -> buffer.get(index);
+      };
+   }
+
+   @Override
+   public void setLongBits(int index, long bits)
+   {
+      checkIndex(index);
+
+      switch (elementSize)
+      {
+         case Long.BYTES -> buffer.putLong(index << 3, bits);
+         case Integer.BYTES -> buffer.putInt(index << 2, (int) bits);
+         default -> buffer.put(index, (byte) bits);
+      }
+   }
+
+   private void checkIndex(int index)
+   {
+      // The buffer may be larger than the column.
+      if (index < 0 || index >= size)
+         throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+   }
+
+   @Override
+   public BufferColumn resize(int from, int length)
+   {
+      if (from == 0 && length == size)
+         return this;
+
+      BufferColumn resized = storage.newColumn(variable, length);
+      int copyLength = Math.min(length, size);
+
+      for (int i = 0; i < copyLength; i++)
+         resized.setLongBits(i, getLongBits(SharedMemoryTools.increment(from, i, size)));
+
+      dispose();
+      return resized;
+   }
+
+   @Override
+   public void dispose()
+   {
+      // The mapping, if any, is released once the buffer is garbage collected.
+      buffer = null;
+   }
+}
@@ -0,0 +1,79 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Heap implementation of {@link BufferColumn} storing int values in a {@code int[]}.
+ */
+public class IntegerArrayColumn implements BufferColumn
+{
+   private int[] array;
+
+   public IntegerArrayColumn(int size)
+   {
+      array = new int[size];
+   }
+
+   @Override
+   public YoVariableType getType()
+   {
+      return YoVariableType.INTEGER;
+   }
+
+   @Override
+   public int getSize()
+   {
+      return array.length;
+   }
+
+   @Override
+   public long getLongBits(int index)
+   {
+      return array[index];
+   }
+
+   @Override
+   public void setLongBits(int index, long bits)
+   {
+      array[index] = (int) bits;
+   }
+
+   @Override
+   public void fill(long bits, int from, int length)
+   {
+      SharedMemoryTools.ringArrayFill(array, (int) bits, from, length);
+   }
+
+   @Override
+   public IntegerArrayColumn resize(int from, int length)
+   {
+      if (from != 0 || length != array.length)
+         array = SharedMemoryTools.ringArrayCopy(array, from, length);
+      return this;
+   }
+
+   @Override
+   public int[] copy(int from, int length)
+   {
+      return SharedMemoryTools.ringArrayCopy(array, from, length);
+   }
+
+   @Override
+   public boolean isHeapBacked()
+   {
+      return true;
+   }
+
+   @Override
+   public int[] getArray()
+   {
+      return array;
+   }
+
+   @Override
+   public void dispose()
+   {
+      array = null;
+   }
+}
@@ -0,0 +1,79 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Heap implementation of {@link BufferColumn} storing long values in a {@code long[]}.
+ */
+public class LongArrayColumn implements BufferColumn
+{
+   private long[] array;
+
+   public LongArrayColumn(int size)
+   {
+      array = new long[size];
+   }
+
+   @Override
+   public YoVariableType getType()
+   {
+      return YoVariableType.LONG;
+   }
+
+   @Override
+   public int getSize()
+   {
+      return array.length;
+   }
+
+   @Override
+   public long getLongBits(int index)
+   {
+      return array[index];
+   }
+
+   @Override
+   public void setLongBits(int index, long bits)
+   {
+      array[index] = bits;
+   }
+
+   @Override
+   public void fill(long bits, int from, int length)
+   {
+      SharedMemoryTools.ringArrayFill(array, bits, from, length);
+   }
+
+   @Override
+   public LongArrayColumn resize(int from, int length)
+   {
+      if (from != 0 || length != array.length)
+         array = SharedMemoryTools.ringArrayCopy(array, from, length);
+      return this;
+   }
+
+   @Override
+   public long[] copy(int from, int length)
+   {
+      return SharedMemoryTools.ringArrayCopy(array, from, length);
+   }
+
+   @Override
+   public boolean isHeapBacked()
+   {
+      return true;
+   }
+
+   @Override
+   public long[] getArray()
+   {
+      return array;
+   }
+
+   @Override
+   public void dispose()
+   {
+      array = null;
+   }
+}
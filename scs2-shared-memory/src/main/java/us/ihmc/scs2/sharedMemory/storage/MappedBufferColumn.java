@@ -0,0 +1,116 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import java.nio.ByteBuffer;
+
+import us.ihmc.scs2.sharedMemory.storage.MappedBufferStorage.MappedSlice;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Column which elements are stored in a slice of a memory-mapped file managed by a
+ * {@link MappedBufferStorage}.
+ */
+public class MappedBufferColumn implements BufferColumn
+{
+   private final MappedBufferStorage storage;
+   private final YoVariableType type;
+   private final int elementSize;
+   private final int size;
+   private MappedSlice slice;
+   private ByteBuffer buffer;
+
+   MappedBufferColumn(MappedBufferStorage storage, YoVariableType type, int elementSize, int size, MappedSlice slice)
+   {
+      this.storage = storage;
+      this.type = type;
+      this.elementSize = elementSize;
+      this.size = size;
+      this.slice = slice;
+      buffer = slice.buffer;
+   }
+
+   @Override
+   public YoVariableType getType()
+   {
+      return type;
+   }
+
+   @Override
+   public int getSize()
+   {
+      return size;
+   }
+
+   @Override
+   public long getLongBits(int index)
+   {
+      checkIndex(index);
+
+      switch (elementSize)
+      {
+         case Long.BYTES:
+            return buffer.getLong(index << 3);
+         case Integer.BYTES:
+            return buffer.getInt(index << 2);
+         default:
+            return buffer.get(index);
+      }
+   }
+
+   @Override
+   public void setLongBits(int index, long bits)
+   {
+      checkIndex(index);
+
+      switch (elementSize)
+      {
+         case Long.BYTES:
+            buffer.putLong(index << 3, bits);
+            break;
+         case Integer.BYTES:
+            buffer.putInt(index << 2, (int) bits);
+            break;
+         default:
+            buffer.put(index, (byte) bits);
+            break;
+      }
+   }
+
+   private void checkIndex(int index)
+   {
+      // The slice may be larger than the column because of the alignment.
+      if (index < 0 || index >= size)
+         throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+   }
+
+   @Override
+   public MappedBufferColumn resize(int from, int length)
+   {
+      if (from == 0 && length == size)
+         return this;
+
+      MappedBufferColumn resized = storage.newColumn(type, length);
+      int copyLength = Math.min(length, size);
+      int firstCopyLength = Math.min(copyLength, size - from);
+      resized.buffer.put(0, buffer, from * elementSize, firstCopyLength * elementSize);
+      resized.buffer.put(firstCopyLength * elementSize, buffer, 0, (copyLength - firstCopyLength) * elementSize);
+      dispose();
+      return resized;
+   }
+
+   /** The slice of the file in which the elements are stored, {@code null} once disposed. */
+   MappedSlice getSlice()
+   {
+      return slice;
+   }
+
+   @Override
+   public void dispose()
+   {
+      if (slice == null)
+         return;
+
+      storage.release(slice);
+      slice = null;
+      buffer = null;
+   }
+}
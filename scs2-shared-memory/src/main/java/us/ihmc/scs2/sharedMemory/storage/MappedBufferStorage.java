@@ -0,0 +1,371 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import us.ihmc.log.LogTools;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Storage keeping the columns off-heap in memory-mapped files.
+ * <p>
+ * The recorded data is backed by the page cache of the operating system rather than the Java heap,
+ * such that the size of the buffer is not limited by the maximum heap size of the JVM and the data
+ * does not add any pressure on the garbage collector.
+ * </p>
+ * <p>
+ * To keep the number of files and mappings low when recording tens of thousands of variables, the
+ * columns are allocated as slices of larger files. The slices released when the buffer is resized or
+ * cropped are kept in a free list per file and reused for the next columns, such that repeatedly
+ * resizing the buffer does not grow the files. A file is deleted once all the columns it holds have
+ * been disposed. Columns larger than the default file size get their own file.
+ * </p>
+ */
+public class MappedBufferStorage implements YoBufferStorage
+{
+   /** Default size of the files backing the columns, 256MB. */
+   public static final long DEFAULT_FILE_SIZE = 256L << 20;
+   private static final int ALIGNMENT = Long.BYTES;
+
+   private final Path directory;
+   private final long fileSize;
+   private final List<MappedFile> mappedFiles = new ArrayList<>();
+   private MappedFile currentFile = null;
+   private boolean isDisposed = false;
+
+   /**
+    * Creates a new storage which files are created in the given directory.
+    *
+    * @param directory the directory in which the files are created, it is created if it does not
+    *                  exist yet.
+    */
+   public MappedBufferStorage(Path directory)
+   {
+      this(directory, DEFAULT_FILE_SIZE);
+   }
+
+   /**
+    * Creates a new storage which files are created in the given directory.
+    *
+    * @param directory the directory in which the files are created, it is created if it does not
+    *                  exist yet.
+    * @param fileSize  the size in bytes of each file, must be less than {@link Integer#MAX_VALUE}.
+    */
+   public MappedBufferStorage(Path directory, long fileSize)
+   {
+      if (fileSize <= 0 || fileSize > Integer.MAX_VALUE)
+         throw new IllegalArgumentException("Invalid file size: " + fileSize);
+
+      this.directory = directory;
+      this.fileSize = fileSize;
+
+      try
+      {
+         Files.createDirectories(directory);
+      }
+      catch (IOException e)
+      {
+         throw new RuntimeException("Problem creating the buffer directory: " + directory, e);
+      }
+   }
+
+   @Override
+   public MappedBufferColumn newColumn(YoVariableType type, int size)
+   {
+      int elementSize = SharedMemoryTools.getVariableMemorySize(type);
+      return new MappedBufferColumn(this, type, elementSize, size, allocate((long) elementSize * size));
+   }
+
+   synchronized MappedSlice allocate(long sizeInBytes)
+   {
+      if (isDisposed)
+         throw new IllegalStateException("The storage has been disposed.");
+      if (sizeInBytes > Integer.MAX_VALUE)
+         throw new IllegalArgumentException("Column too large: " + sizeInBytes + " bytes.");
+
+      int alignedSize = (int) Math.max(ALIGNMENT, (sizeInBytes + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT);
+
+      if (alignedSize > fileSize)
+      { // Dedicated file for this large column.
+         MappedFile mappedFile = newMappedFile(alignedSize);
+         return mappedFile.allocate(alignedSize);
+      }
+
+      for (int i = 0; i < mappedFiles.size(); i++)
+      { // Reusing the space released by previous columns first.
+         MappedSlice slice = mappedFiles.get(i).allocateFromFreeRegions(alignedSize);
+         if (slice != null)
+            return slice;
+      }
+
+      if (currentFile == null || currentFile.remaining() < alignedSize)
+      {
+         if (currentFile != null && currentFile.liveSlices == 0)
+         {
+            mappedFiles.remove(currentFile);
+            currentFile.delete();
+         }
+         currentFile = newMappedFile(fileSize);
+      }
+
+      return currentFile.allocate(alignedSize);
+   }
+
+   private MappedFile newMappedFile(long size)
+   {
+      try
+      {
+         Path path = Files.createTempFile(directory, "scs2-buffer-", ".bin");
+
+         try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE))
+         {
+            MappedFile mappedFile = new MappedFile(path, channel.map(MapMode.READ_WRITE, 0, size));
+            mappedFiles.add(mappedFile);
+            return mappedFile;
+         }
+      }
+      catch (IOException e)
+      {
+         throw new RuntimeException("Problem creating a buffer file in: " + directory, e);
+      }
+   }
+
+   synchronized void release(MappedSlice slice)
+   {
+      MappedFile mappedFile = slice.mappedFile;
+
+      if (!mappedFiles.contains(mappedFile))
+         return; // The file has already been deleted, e.g. the storage was disposed.
+
+      mappedFile.release(slice);
+
+      if (mappedFile.liveSlices == 0 && mappedFile != currentFile)
+      {
+         mappedFiles.remove(mappedFile);
+         mappedFile.delete();
+      }
+   }
+
+   /**
+    * Returns the directory in which the files are created.
+    *
+    * @return the storage directory.
+    */
+   public Path getDirectory()
+   {
+      return directory;
+   }
+
+   /**
+    * Returns the number of files currently used by this storage.
+    *
+    * @return the number of files.
+    */
+   public synchronized int getNumberOfFiles()
+   {
+      return mappedFiles.size();
+   }
+
+   /**
+    * Returns the size in bytes of the slices currently allocated to columns.
+    *
+    * @return the used size in bytes.
+    */
+   public synchronized long getUsedSize()
+   {
+      long size = 0;
+      for (MappedFile mappedFile : mappedFiles)
+         size += mappedFile.usedSize;
+      return size;
+   }
+
+   /**
+    * Returns the total size in bytes of the files currently used by this storage.
+    *
+    * @return the mapped size in bytes.
+    */
+   public synchronized long getMappedSize()
+   {
+      long size = 0;
+      for (MappedFile mappedFile : mappedFiles)
+         size += mappedFile.buffer.capacity();
+      return size;
+   }
+
+   @Override
+   public boolean isHeapBacked()
+   {
+      return false;
+   }
+
+   @Override
+   public synchronized void dispose()
+   {
+      if (isDisposed)
+         return;
+
+      isDisposed = true;
+      mappedFiles.forEach(MappedFile::delete);
+      mappedFiles.clear();
+      currentFile = null;
+   }
+
+   static class MappedSlice
+   {
+      private final MappedFile mappedFile;
+      private final int offset;
+      final ByteBuffer buffer;
+
+      private MappedSlice(MappedFile mappedFile, int offset, ByteBuffer buffer)
+      {
+         this.mappedFile = mappedFile;
+         this.offset = offset;
+         this.buffer = buffer;
+      }
+
+      /** The file in which the slice is stored. */
+      Path getPath()
+      {
+         return mappedFile.path;
+      }
+
+      /** The position in bytes of the slice in its file. */
+      int getOffset()
+      {
+         return offset;
+      }
+   }
+
+   private static class MappedFile
+   {
+      private final Path path;
+      private final MappedByteBuffer buffer;
+      /** End of the allocated part of the file, the rest of the file has never been used. */
+      private int position = 0;
+      /** End of the part of the file that has ever been used, the rest of the file is still zeroed. */
+      private int highWaterMark = 0;
+      private int liveSlices = 0;
+      private long usedSize = 0;
+      /** The released regions before {@link #position}, sorted by offset and coalesced. */
+      private final TreeMap<Integer, Integer> freeRegions = new TreeMap<>();
+
+      private MappedFile(Path path, MappedByteBuffer buffer)
+      {
+         this.path = path;
+         this.buffer = buffer;
+      }
+
+      private int remaining()
+      {
+         return buffer.capacity() - position;
+      }
+
+      private MappedSlice allocate(int size)
+      {
+         MappedSlice mappedSlice = newSlice(position, size);
+         position += size;
+         return mappedSlice;
+      }
+
+      /**
+       * Allocates a slice in the first released region large enough.
+       */
+      private MappedSlice allocateFromFreeRegions(int size)
+      {
+         Iterator<Entry<Integer, Integer>> iterator = freeRegions.entrySet().iterator();
+
+         while (iterator.hasNext())
+         {
+            Entry<Integer, Integer> region = iterator.next();
+            int regionOffset = region.getKey();
+            int regionSize = region.getValue();
+
+            if (regionSize < size)
+               continue;
+
+            iterator.remove();
+            if (regionSize > size)
+               freeRegions.put(regionOffset + size, regionSize - size);
+
+            return newSlice(regionOffset, size);
+         }
+
+         return null;
+      }
+
+      private MappedSlice newSlice(int offset, int size)
+      {
+         ByteBuffer slice = buffer.slice(offset, size).order(ByteOrder.nativeOrder());
+
+         // Reused space is zeroed as a new column would be, the rest of the file has never been written.
+         int reusedSize = Math.min(size, highWaterMark - offset);
+         for (int i = 0; i < reusedSize; i += ALIGNMENT)
+            slice.putLong(i, 0L);
+         highWaterMark = Math.max(highWaterMark, offset + size);
+
+         liveSlices++;
+         usedSize += size;
+         return new MappedSlice(this, offset, slice);
+      }
+
+      private void release(MappedSlice slice)
+      {
+         int offset = slice.offset;
+         int size = slice.buffer.capacity();
+         liveSlices--;
+         usedSize -= size;
+
+         if (liveSlices == 0)
+         { // The entire file is free.
+            freeRegions.clear();
+            position = 0;
+            return;
+         }
+
+         // Merging with the adjacent free regions.
+         Entry<Integer, Integer> previous = freeRegions.floorEntry(offset);
+         if (previous != null && previous.getKey() + previous.getValue() == offset)
+         {
+            freeRegions.remove(previous.getKey());
+            offset = previous.getKey();
+            size += previous.getValue();
+         }
+
+         Integer nextSize = freeRegions.remove(offset + size);
+         if (nextSize != null)
+            size += nextSize;
+
+         if (offset + size == position)
+            position = offset; // Giving back the end of the file.
+         else
+            freeRegions.put(offset, size);
+      }
+
+      private void delete()
+      {
+         // The mapping itself is released once the buffer is garbage collected.
+         try
+         {
+            Files.deleteIfExists(path);
+         }
+         catch (IOException e)
+         {
+            LogTools.warn("Could not delete buffer file {}: {}", path, e.getMessage());
+            path.toFile().deleteOnExit();
+         }
+      }
+   }
+}
@@ -0,0 +1,88 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import us.ihmc.yoVariables.variable.YoEnum;
+import us.ihmc.yoVariables.variable.YoVariable;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Storage reducing the memory used by the variables that need less than a byte per element:
+ * <ul>
+ * <li>{@code YoBoolean}s are stored as bits, see {@link BitPackedColumn}.
+ * <li>{@code YoEnum}s are stored using the narrowest width fitting their number of constants, see
+ * {@link BitPackedColumn}.
+ * <li>optionally, {@code YoInteger}s are stored as deltas in bytes or shorts, see
+ * {@link DeltaIntegerColumn}.
+ * </ul>
+ * The other types of variables are stored using the fallback storage.
+ */
+public class PackedBufferStorage implements YoBufferStorage
+{
+   private final YoBufferStorage fallbackStorage;
+   private final boolean packIntegers;
+
+   /**
+    * Creates a new storage packing the booleans and enums, and storing the other variables on the
+    * heap.
+    */
+   public PackedBufferStorage()
+   {
+      this(YoBufferStorage.HEAP, false);
+   }
+
+   /**
+    * Creates a new storage.
+    *
+    * @param fallbackStorage the storage to use for the variables that are not packed.
+    * @param packIntegers    whether the integers should be stored as deltas, at the cost of slower
+    *                        accesses.
+    */
+   public PackedBufferStorage(YoBufferStorage fallbackStorage, boolean packIntegers)
+   {
+      this.fallbackStorage = fallbackStorage;
+      this.packIntegers = packIntegers;
+   }
+
+   @Override
+   public BufferColumn newColumn(YoVariable variable, int size)
+   {
+      if (variable instanceof YoEnum<?> yoEnum)
+         return new BitPackedColumn(YoVariableType.ENUM, size, BitPackedColumn.computeEnumBitsPerElement(yoEnum.getEnumSize()));
+      else
+         return newColumn(variable.getType(), size);
+   }
+
+   @Override
+   public BufferColumn newColumn(YoVariableType type, int size)
+   {
+      return switch (type)
+      {
+         case BOOLEAN -> new BitPackedColumn(type, size, 1);
+         // Without knowing the number of constants, starting with 2 bits which is widened when needed.
+         case ENUM -> new BitPackedColumn(type, size, 2);
+         case INTEGER -> packIntegers ? new DeltaIntegerColumn(size) : fallbackStorage.newColumn(type, size);
+         default -> fallbackStorage.newColumn(type, size);
+      };
+   }
+
+   public boolean isPackingIntegers()
+   {
+      return packIntegers;
+   }
+
+   public YoBufferStorage getFallbackStorage()
+   {
+      return fallbackStorage;
+   }
+
+   @Override
+   public boolean isHeapBacked()
+   {
+      return true;
+   }
+
+   @Override
+   public void dispose()
+   {
+      fallbackStorage.dispose();
+   }
+}
@@ -0,0 +1,299 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Column which elements are stored in a table of fixed-size segments created by a
+ * {@link SegmentedBufferStorage}.
+ * <p>
+ * The column is a sequence of pieces, each piece being a contiguous portion of a segment. A freshly
+ * created column is made of full segments, resizing the column only rearranges the pieces: the kept
+ * portion of the history is described by slicing the existing pieces, and new empty segments are
+ * appended to grow the column. The cost of a resize is thus proportional to the number of pieces
+ * rather than the number of elements.
+ * </p>
+ * <p>
+ * As pieces can only get smaller over successive resizes, the column is compacted into full segments
+ * when the number of pieces exceeds twice the number of segments needed, which bounds both the cost
+ * of locating an element and the memory held by partially used segments.
+ * </p>
+ */
+public class SegmentedBufferColumn implements BufferColumn
+{
+   private final SegmentedBufferStorage storage;
+   private final YoVariableType type;
+   private Layout layout;
+   /** Index of the last piece accessed, elements are mostly accessed sequentially. */
+   private int lastPiece = 0;
+
+   SegmentedBufferColumn(SegmentedBufferStorage storage, YoVariableType type, int size)
+   {
+      this.storage = storage;
+      this.type = type;
+      layout = new Layout(size, storage.getSegmentSize());
+      appendNewSegments(layout, size);
+   }
+
+   @Override
+   public YoVariableType getType()
+   {
+      return type;
+   }
+
+   @Override
+   public int getSize()
+   {
+      return layout.size;
+   }
+
+   /**
+    * Returns the number of pieces currently describing this column.
+    *
+    * @return the number of pieces.
+    */
+   public int getNumberOfPieces()
+   {
+      return layout.numberOfPieces;
+   }
+
+   @Override
+   public long getLongBits(int index)
+   {
+      Layout layout = this.layout;
+      int piece = findPiece(layout, index);
+      return layout.segments[piece].getLongBits(layout.offsets[piece] + index - layout.starts[piece]);
+   }
+
+   @Override
+   public void setLongBits(int index, long bits)
+   {
+      Layout layout = this.layout;
+      int piece = findPiece(layout, index);
+      layout.segments[piece].setLongBits(layout.offsets[piece] + index - layout.starts[piece], bits);
+   }
+
+   private int findPiece(Layout layout, int index)
+   {
+      if (index < 0 || index >= layout.size)
+         throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + layout.size);
+
+      int piece = lastPiece;
+
+      if (piece >= layout.numberOfPieces || index < layout.starts[piece] || index >= layout.starts[piece + 1])
+      {
+         piece = Arrays.binarySearch(layout.starts, 0, layout.numberOfPieces + 1, index);
+         if (piece < 0)
+            piece = -piece - 2;
+         else
+            piece = Math.min(piece, layout.numberOfPieces - 1);
+         lastPiece = piece;
+      }
+
+      return piece;
+   }
+
+   @Override
+   public void fill(long bits, int from, int length)
+   {
+      Layout layout = this.layout;
+      length = Math.min(length, layout.size);
+
+      if (from + length <= layout.size)
+      {
+         fillRange(layout, bits, from, from + length);
+      }
+      else
+      {
+         fillRange(layout, bits, from, layout.size);
+         fillRange(layout, bits, 0, from + length - layout.size);
+      }
+   }
+
+   private void fillRange(Layout layout, long bits, int start, int end)
+   {
+      if (start >= end)
+         return;
+
+      for (int piece = findPiece(layout, start); piece < layout.numberOfPieces && layout.starts[piece] < end; piece++)
+      {
+         int pieceStart = Math.max(start, layout.starts[piece]);
+         int pieceEnd = Math.min(end, layout.starts[piece + 1]);
+         layout.segments[piece].fill(bits, layout.offsets[piece] + pieceStart - layout.starts[piece], pieceEnd - pieceStart);
+      }
+   }
+
+   @Override
+   public SegmentedBufferColumn resize(int from, int length)
+   {
+      Layout oldLayout = layout;
+
+      if (from == 0 && length == oldLayout.size)
+         return this;
+
+      int copyLength = Math.min(length, oldLayout.size);
+      Layout newLayout = new Layout(length, storage.getSegmentSize());
+
+      if (from + copyLength <= oldLayout.size)
+      {
+         appendRange(oldLayout, from, from + copyLength, newLayout);
+      }
+      else
+      {
+         appendRange(oldLayout, from, oldLayout.size, newLayout);
+         appendRange(oldLayout, 0, from + copyLength - oldLayout.size, newLayout);
+      }
+
+      // The new elements are zeros, the new segments come from the storage initialized to zero.
+      appendNewSegments(newLayout, length - copyLength);
+
+      if (newLayout.numberOfPieces > 2 * newLayout.numberOfSegmentsNeeded() + 2)
+         newLayout = compact(newLayout);
+
+      Set<BufferColumn> keptSegments = newLayout.collectSegments();
+      for (BufferColumn segment : oldLayout.collectSegments())
+      {
+         if (!keptSegments.contains(segment))
+            segment.dispose();
+      }
+
+      layout = newLayout;
+      lastPiece = 0;
+      return this;
+   }
+
+   /**
+    * Appends the pieces describing the elements in {@code [start, end[} of the source layout.
+    */
+   private void appendRange(Layout source, int start, int end, Layout destination)
+   {
+      if (start >= end)
+         return;
+
+      for (int piece = findPiece(source, start); piece < source.numberOfPieces && source.starts[piece] < end; piece++)
+      {
+         int pieceStart = Math.max(start, source.starts[piece]);
+         int pieceEnd = Math.min(end, source.starts[piece + 1]);
+         destination.addPiece(source.segments[piece], source.offsets[piece] + pieceStart - source.starts[piece], pieceEnd - pieceStart);
+      }
+   }
+
+   private void appendNewSegments(Layout layout, int length)
+   {
+      int segmentSize = storage.getSegmentSize();
+
+      while (length > 0)
+      {
+         int pieceLength = Math.min(length, segmentSize);
+         layout.addPiece(storage.newSegment(type), 0, pieceLength);
+         length -= pieceLength;
+      }
+   }
+
+   /**
+    * Copies the elements into new full segments, the segments of the source are disposed by the caller.
+    */
+   private Layout compact(Layout source)
+   {
+      Layout compacted = new Layout(source.size, storage.getSegmentSize());
+      appendNewSegments(compacted, source.size);
+
+      int sourcePiece = 0;
+      int destinationPiece = 0;
+
+      for (int index = 0; index < source.size; index++)
+      {
+         if (index >= source.starts[sourcePiece + 1])
+            sourcePiece++;
+         if (index >= compacted.starts[destinationPiece + 1])
+            destinationPiece++;
+
+         long bits = source.segments[sourcePiece].getLongBits(source.offsets[sourcePiece] + index - source.starts[sourcePiece]);
+         compacted.segments[destinationPiece].setLongBits(index - compacted.starts[destinationPiece], bits);
+      }
+
+      return compacted;
+   }
+
+   @Override
+   public long getMemorySize()
+   {
+      long memorySize = 0;
+      for (BufferColumn segment : layout.collectSegments())
+         memorySize += segment.getMemorySize();
+      return memorySize;
+   }
+
+   @Override
+   public void dispose()
+   {
+      if (layout == null)
+         return;
+
+      for (BufferColumn segment : layout.collectSegments())
+         segment.dispose();
+      layout = null;
+   }
+
+   /**
+    * Immutable once built, the column swaps its layout at once when resizing.
+    */
+   private static class Layout
+   {
+      private final int size;
+      private final int segmentSize;
+      private BufferColumn[] segments = new BufferColumn[4];
+      private int[] offsets = new int[4];
+      /** Index in the column of the first element of each piece, followed by the size of the column. */
+      private int[] starts = new int[5];
+      private int numberOfPieces = 0;
+
+      private Layout(int size, int segmentSize)
+      {
+         this.size = size;
+         this.segmentSize = segmentSize;
+      }
+
+      private void addPiece(BufferColumn segment, int offset, int length)
+      {
+         if (numberOfPieces == segments.length)
+         {
+            int newLength = 2 * segments.length;
+            segments = Arrays.copyOf(segments, newLength);
+            offsets = Arrays.copyOf(offsets, newLength);
+            starts = Arrays.copyOf(starts, newLength + 1);
+         }
+
+         int previousEnd = starts[numberOfPieces];
+
+         if (numberOfPieces > 0 && segments[numberOfPieces - 1] == segment
+               && offsets[numberOfPieces - 1] + previousEnd - starts[numberOfPieces - 1] == offset)
+         { // Contiguous with the previous piece, merging them.
+            starts[numberOfPieces] = previousEnd + length;
+            return;
+         }
+
+         segments[numberOfPieces] = segment;
+         offsets[numberOfPieces] = offset;
+         numberOfPieces++;
+         starts[numberOfPieces] = previousEnd + length;
+      }
+
+      private int numberOfSegmentsNeeded()
+      {
+         return (size + segmentSize - 1) / segmentSize;
+      }
+
+      private Set<BufferColumn> collectSegments()
+      {
+         Set<BufferColumn> collected = Collections.newSetFromMap(new IdentityHashMap<>());
+         for (int i = 0; i < numberOfPieces; i++)
+            collected.add(segments[i]);
+         return collected;
+      }
+   }
+}
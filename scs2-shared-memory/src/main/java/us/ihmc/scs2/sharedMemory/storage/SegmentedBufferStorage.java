@@ -0,0 +1,91 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Storage splitting each column into fixed-size segments, see {@link SegmentedBufferColumn}.
+ * <p>
+ * Resizing or cropping a buffer only rearranges the references to the segments and allocates the
+ * segments needed to grow the buffer, instead of copying the entire history of every variable. This
+ * makes growing a large buffer nearly instantaneous and avoids the transient doubling of the memory
+ * used by the buffer.
+ * </p>
+ * <p>
+ * The segments themselves are created by another storage, e.g. on the heap or off-heap.
+ * </p>
+ */
+public class SegmentedBufferStorage implements YoBufferStorage
+{
+   /** Default number of elements per segment. */
+   public static final int DEFAULT_SEGMENT_SIZE = 16384;
+
+   private final YoBufferStorage segmentStorage;
+   private final int segmentSize;
+
+   /**
+    * Creates a new storage using the default segment size and storing the segments on the heap.
+    */
+   public SegmentedBufferStorage()
+   {
+      this(YoBufferStorage.HEAP);
+   }
+
+   /**
+    * Creates a new storage using the default segment size.
+    *
+    * @param segmentStorage the storage used to create the segments.
+    */
+   public SegmentedBufferStorage(YoBufferStorage segmentStorage)
+   {
+      this(segmentStorage, DEFAULT_SEGMENT_SIZE);
+   }
+
+   /**
+    * Creates a new storage.
+    *
+    * @param segmentStorage the storage used to create the segments.
+    * @param segmentSize    the number of elements per segment. Smaller segments reduce the memory
+    *                       wasted when cropping the buffer, larger segments reduce the bookkeeping.
+    */
+   public SegmentedBufferStorage(YoBufferStorage segmentStorage, int segmentSize)
+   {
+      if (segmentSize <= 0)
+         throw new IllegalArgumentException("The segment size must be positive, was: " + segmentSize);
+
+      this.segmentStorage = segmentStorage;
+      this.segmentSize = segmentSize;
+   }
+
+   @Override
+   public BufferColumn newColumn(YoVariableType type, int size)
+   {
+      return new SegmentedBufferColumn(this, type, size);
+   }
+
+   BufferColumn newSegment(YoVariableType type)
+   {
+      return segmentStorage.newColumn(type, segmentSize);
+   }
+
+   public int getSegmentSize()
+   {
+      return segmentSize;
+   }
+
+   public YoBufferStorage getSegmentStorage()
+   {
+      return segmentStorage;
+   }
+
+   @Override
+   public boolean isHeapBacked()
+   {
+      return segmentStorage.isHeapBacked();
+   }
+
+   @Override
+   public void dispose()
+   {
+      segmentStorage.dispose();
+   }
+}
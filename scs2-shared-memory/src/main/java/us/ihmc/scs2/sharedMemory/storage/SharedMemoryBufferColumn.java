@@ -0,0 +1,111 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Column of a {@link SharedMemoryBufferStorage}, storing its elements in a memory-mapped file and
+ * keeping the name of its variable for the other processes to find it.
+ */
+public class SharedMemoryBufferColumn implements BufferColumn
+{
+   private final SharedMemoryBufferStorage storage;
+   private final String fullName;
+   private final String[] enumConstants;
+   private MappedBufferColumn dataColumn;
+
+   SharedMemoryBufferColumn(SharedMemoryBufferStorage storage, String fullName, String[] enumConstants, MappedBufferColumn dataColumn)
+   {
+      this.storage = storage;
+      this.fullName = fullName;
+      this.enumConstants = enumConstants;
+      this.dataColumn = dataColumn;
+   }
+
+   /**
+    * Returns the full name of the variable stored in this column.
+    *
+    * @return the variable full name, empty if the column was not created for a variable.
+    */
+   public String getFullName()
+   {
+      return fullName;
+   }
+
+   /**
+    * Returns the names of the constants of the enum stored in this column.
+    *
+    * @return the enum constants, or {@code null} if this column does not store an enum.
+    */
+   public String[] getEnumConstants()
+   {
+      return enumConstants;
+   }
+
+   MappedBufferColumn getDataColumn()
+   {
+      return dataColumn;
+   }
+
+   @Override
+   public YoVariableType getType()
+   {
+      return dataColumn.getType();
+   }
+
+   @Override
+   public int getSize()
+   {
+      return dataColumn.getSize();
+   }
+
+   @Override
+   public long getLongBits(int index)
+   {
+      return dataColumn.getLongBits(index);
+   }
+
+   @Override
+   public void setLongBits(int index, long bits)
+   {
+      dataColumn.setLongBits(index, bits);
+   }
+
+   @Override
+   public void fill(long bits, int from, int length)
+   {
+      dataColumn.fill(bits, from, length);
+   }
+
+   @Override
+   public Object copy(int from, int length)
+   {
+      return dataColumn.copy(from, length);
+   }
+
+   @Override
+   public SharedMemoryBufferColumn resize(int from, int length)
+   {
+      // The column keeps its identity such that its entry in the directory only needs to be updated.
+      dataColumn = storage.resize(dataColumn, from, length);
+      return this;
+   }
+
+   @Override
+   public long getMemorySize()
+   {
+      return dataColumn.getMemorySize();
+   }
+
+   @Override
+   public boolean isHeapBacked()
+   {
+      return false;
+   }
+
+   @Override
+   public void dispose()
+   {
+      dataColumn.dispose();
+      storage.release(this);
+   }
+}
@@ -0,0 +1,464 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import static us.ihmc.scs2.sharedMemory.storage.SharedMemoryBufferStorage.*;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Reads a buffer shared by a {@link SharedMemoryBufferStorage}, typically from another process.
+ * <p>
+ * The reader takes a consistent snapshot of the header of the recording when calling
+ * {@link #update()}, and exposes a read-only view of each column. The views read directly from the
+ * shared memory, the values are not copied. The values being written by the session, i.e. at the
+ * current index while the session is running, may not be up-to-date.
+ * </p>
+ * <p>
+ * Usage example:
+ *
+ * <pre>
+ * try (SharedMemoryBufferReader reader = new SharedMemoryBufferReader(directory))
+ * {
+ *    while (!reader.isClosed())
+ *    {
+ *       if (reader.update())
+ *       {
+ *          ColumnView time = reader.findColumn("root.time");
+ *          System.out.println(time.getValueAsDouble(reader.getCurrentIndex()));
+ *       }
+ *       Thread.sleep(100);
+ *    }
+ * }
+ * </pre>
+ * </p>
+ */
+public class SharedMemoryBufferReader implements AutoCloseable
+{
+   private static final int MAX_UPDATE_ATTEMPTS = 1000;
+
+   private final Path directory;
+   private final Path headerPath;
+   private ByteBuffer header;
+   private final Map<String, ByteBuffer> dataFiles = new HashMap<>();
+
+   private long sequence = -1;
+   private long generation = -1;
+   private int size;
+   private int currentIndex;
+   private int inPoint;
+   private int outPoint;
+   private boolean isClosed = false;
+   private List<ColumnView> columns = Collections.emptyList();
+   private Map<String, ColumnView> columnMap = Collections.emptyMap();
+
+   /**
+    * Opens the recording located in the given directory and reads its header.
+    *
+    * @param directory the directory of the recording, see
+    *                  {@link SharedMemoryBufferStorage#getDirectory()}.
+    * @throws IllegalArgumentException if the directory does not contain a recording.
+    */
+   public SharedMemoryBufferReader(Path directory)
+   {
+      this.directory = directory;
+      headerPath = directory.resolve(HEADER_FILE_NAME);
+      header = mapReadOnly(headerPath);
+
+      if (header.capacity() < HEADER_SIZE || header.getInt(MAGIC_OFFSET) != MAGIC)
+         throw new IllegalArgumentException("Not a shared buffer: " + headerPath);
+      if (header.getInt(VERSION_OFFSET) != VERSION)
+         throw new IllegalArgumentException("Unsupported version: " + header.getInt(VERSION_OFFSET) + ", expected: " + VERSION);
+
+      update();
+   }
+
+   private static ByteBuffer mapReadOnly(Path path)
+   {
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+      {
+         return channel.map(MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.nativeOrder());
+      }
+      catch (IOException e)
+      {
+         throw new RuntimeException("Problem mapping the file: " + path, e);
+      }
+   }
+
+   /**
+    * Reads the header of the recording to update the buffer properties and, if the layout of the
+    * columns changed, the column views.
+    * <p>
+    * The column views previously obtained should not be used after the layout changed, i.e. after
+    * {@link #getGeneration()} changed.
+    * </p>
+    *
+    * @return {@code true} if the header changed since the last update, {@code false} if it did not
+    *         change or if a consistent snapshot could not be taken.
+    */
+   public boolean update()
+   {
+      if (isClosed)
+         return false;
+
+      for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++)
+      {
+         long start = (long) LONG_HANDLE.getAcquire(header, SEQUENCE_OFFSET);
+
+         if ((start & 1L) != 0L)
+         { // The header is being updated.
+            Thread.onSpinWait();
+            continue;
+         }
+
+         if (start == sequence)
+            return false;
+
+         long newGeneration = header.getLong(GENERATION_OFFSET);
+         int newSize = header.getInt(SIZE_OFFSET);
+         int newCurrentIndex = header.getInt(CURRENT_INDEX_OFFSET);
+         int newInPoint = header.getInt(IN_POINT_OFFSET);
+         int newOutPoint = header.getInt(OUT_POINT_OFFSET);
+         int numberOfColumns = header.getInt(NUMBER_OF_COLUMNS_OFFSET);
+         int directoryLength = header.getInt(DIRECTORY_LENGTH_OFFSET);
+         boolean newIsClosed = header.getInt(CLOSED_OFFSET) != 0;
+         ByteBuffer directoryBuffer = null;
+
+         if (newGeneration != generation && !newIsClosed)
+         {
+            if (HEADER_SIZE + directoryLength > header.capacity())
+            { // The header file has grown.
+               VarHandle.loadLoadFence();
+               if ((long) LONG_HANDLE.getVolatile(header, SEQUENCE_OFFSET) == start)
+                  header = mapReadOnly(headerPath);
+               continue;
+            }
+
+            byte[] directoryBytes = new byte[directoryLength];
+            header.get(HEADER_SIZE, directoryBytes);
+            directoryBuffer = ByteBuffer.wrap(directoryBytes).order(ByteOrder.nativeOrder());
+         }
+
+         VarHandle.loadLoadFence();
+
+         if ((long) LONG_HANDLE.getVolatile(header, SEQUENCE_OFFSET) != start)
+            continue;
+
+         if (directoryBuffer != null)
+         {
+            decodeDirectory(directoryBuffer, numberOfColumns);
+            generation = newGeneration;
+         }
+
+         sequence = start;
+         size = newSize;
+         currentIndex = newCurrentIndex;
+         inPoint = newInPoint;
+         outPoint = newOutPoint;
+         isClosed = newIsClosed;
+         return true;
+      }
+
+      return false;
+   }
+
+   private void decodeDirectory(ByteBuffer directoryBuffer, int numberOfColumns)
+   {
+      List<ColumnView> newColumns = new ArrayList<>(numberOfColumns);
+      Map<String, ColumnView> newColumnMap = new LinkedHashMap<>();
+
+      for (int i = 0; i < numberOfColumns; i++)
+      {
+         YoVariableType type = YoVariableType.valueOf(getString(directoryBuffer));
+         int elementSize = directoryBuffer.getInt();
+         int columnSize = directoryBuffer.getInt();
+         int position = directoryBuffer.getInt();
+         String fileName = getString(directoryBuffer);
+         String fullName = getString(directoryBuffer);
+         String[] enumConstants = null;
+         int numberOfEnumConstants = directoryBuffer.getInt();
+
+         if (type == YoVariableType.ENUM)
+         {
+            enumConstants = new String[numberOfEnumConstants];
+            for (int j = 0; j < numberOfEnumConstants; j++)
+               enumConstants[j] = getString(directoryBuffer);
+         }
+
+         ByteBuffer dataFile = dataFiles.computeIfAbsent(fileName, name -> mapReadOnly(directory.resolve(name)));
+         ByteBuffer data = dataFile.slice(position, columnSize * elementSize).order(ByteOrder.nativeOrder());
+         ColumnView column = new ColumnView(fullName, type, enumConstants, elementSize, columnSize, data);
+         newColumns.add(column);
+         if (!fullName.isEmpty())
+            newColumnMap.put(fullName, column);
+      }
+
+      columns = Collections.unmodifiableList(newColumns);
+      columnMap = newColumnMap;
+   }
+
+   private static String getString(ByteBuffer buffer)
+   {
+      byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+      buffer.get(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+   }
+
+   /**
+    * Returns the directory of the recording.
+    *
+    * @return the directory passed at construction.
+    */
+   public Path getDirectory()
+   {
+      return directory;
+   }
+
+   /**
+    * Returns the value of the sequence counter of the header at the last update.
+    *
+    * @return the sequence counter, it is incremented every time the session publishes.
+    */
+   public long getSequence()
+   {
+      return sequence;
+   }
+
+   /**
+    * Returns the number of times the layout of the columns changed at the last update.
+    *
+    * @return the generation of the column directory.
+    */
+   public long getGeneration()
+   {
+      return generation;
+   }
+
+   /**
+    * Returns the size of the buffer at the last update.
+    *
+    * @return the buffer size.
+    */
+   public int getSize()
+   {
+      return size;
+   }
+
+   /**
+    * Returns the current index of the buffer at the last update.
+    *
+    * @return the current index.
+    */
+   public int getCurrentIndex()
+   {
+      return currentIndex;
+   }
+
+   /**
+    * Returns the in-point of the buffer at the last update.
+    *
+    * @return the in-point.
+    */
+   public int getInPoint()
+   {
+      return inPoint;
+   }
+
+   /**
+    * Returns the out-point of the buffer at the last update.
+    *
+    * @return the out-point.
+    */
+   public int getOutPoint()
+   {
+      return outPoint;
+   }
+
+   /**
+    * Whether the session has disposed of the recording. Once closed, the reader cannot be updated
+    * anymore.
+    *
+    * @return {@code true} if the recording is closed.
+    */
+   public boolean isClosed()
+   {
+      return isClosed;
+   }
+
+   /**
+    * Returns the view of every column in the recording.
+    *
+    * @return the unmodifiable list of the columns.
+    */
+   public List<ColumnView> getColumns()
+   {
+      return columns;
+   }
+
+   /**
+    * Finds the column storing the history of the variable with the given full name.
+    *
+    * @param fullName the full name of the variable, e.g. {@code "root.controller.q_x"}.
+    * @return the column, or {@code null} if it could not be found.
+    */
+   public ColumnView findColumn(String fullName)
+   {
+      return columnMap.get(fullName);
+   }
+
+   @Override
+   public void close()
+   {
+      // The files are unmapped when the buffers are garbage collected.
+      columns = Collections.emptyList();
+      columnMap = Collections.emptyMap();
+      dataFiles.clear();
+   }
+
+   /**
+    * Read-only view of a column of a shared buffer.
+    */
+   public static class ColumnView
+   {
+      private final String fullName;
+      private final YoVariableType type;
+      private final String[] enumConstants;
+      private final int elementSize;
+      private final int size;
+      private final ByteBuffer data;
+
+      private ColumnView(String fullName, YoVariableType type, String[] enumConstants, int elementSize, int size, ByteBuffer data)
+      {
+         this.fullName = fullName;
+         this.type = type;
+         this.enumConstants = enumConstants;
+         this.elementSize = elementSize;
+         this.size = size;
+         this.data = data;
+      }
+
+      /**
+       * Returns the full name of the variable stored in this column.
+       *
+       * @return the variable full name.
+       */
+      public String getFullName()
+      {
+         return fullName;
+      }
+
+      /**
+       * Returns the name of the variable stored in this column.
+       *
+       * @return the variable name.
+       */
+      public String getName()
+      {
+         return fullName.substring(fullName.lastIndexOf('.') + 1);
+      }
+
+      /**
+       * Returns the type of the variable stored in this column.
+       *
+       * @return the variable type.
+       */
+      public YoVariableType getType()
+      {
+         return type;
+      }
+
+      /**
+       * Returns the number of elements in this column.
+       *
+       * @return the column size.
+       */
+      public int getSize()
+      {
+         return size;
+      }
+
+      /**
+       * Returns the names of the constants of the enum stored in this column.
+       *
+       * @return the enum constants, or {@code null} if this column does not store an enum.
+       */
+      public String[] getEnumConstants()
+      {
+         return enumConstants;
+      }
+
+      /**
+       * Returns the element at the given index as a 64-bit word, see {@link BufferColumn} for the
+       * encoding.
+       *
+       * @param index the index of the element.
+       * @return the element bits.
+       */
+      public long getLongBits(int index)
+      {
+         return switch (elementSize)
+         {
+            case Long.BYTES -> data.getLong(index << 3);
+            case Integer.BYTES -> data.getInt(index << 2);
+            default -> data.get(index);
+         };
+      }
+
+      /**
+       * Returns the element at the given index as a {@code double}.
+       * <p>
+       * Booleans are converted to {@code 0} or {@code 1}, and enums to their ordinal, {@code -1}
+       * being the {@code null} value.
+       * </p>
+       *
+       * @param index the index of the element.
+       * @return the element value.
+       */
+      public double getValueAsDouble(int index)
+      {
+         long bits = getLongBits(index);
+         return type == YoVariableType.DOUBLE ? Double.longBitsToDouble(bits) : bits;
+      }
+
+      /**
+       * Copies the elements of this column into a new array of {@code double}s.
+       *
+       * @return the values of this column, see {@link #getValueAsDouble(int)}.
+       */
+      public double[] getAsDoubleBuffer()
+      {
+         return getValuesAsDouble(0, size, new double[size], 0);
+      }
+
+      /**
+       * Copies a range of the elements of this column into the given array.
+       *
+       * @param from        the index of the first element to copy.
+       * @param length      the number of elements to copy, the range wraps around the end of the
+       *                    column.
+       * @param destination the array to copy the values into.
+       * @param offset      the position in {@code destination} of the first value.
+       * @return {@code destination} for convenience.
+       */
+      public double[] getValuesAsDouble(int from, int length, double[] destination, int offset)
+      {
+         for (int i = 0; i < length; i++)
+            destination[offset + i] = getValueAsDouble((from + i) % size);
+         return destination;
+      }
+   }
+}
@@ -0,0 +1,347 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import us.ihmc.log.LogTools;
+import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.yoVariables.variable.YoEnum;
+import us.ihmc.yoVariables.variable.YoVariable;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Storage keeping the columns in memory-mapped files that can be read by other processes on the
+ * same machine, e.g. to monitor a headless simulation from a Python script.
+ * <p>
+ * The columns are stored as in {@link MappedBufferStorage}, and a header file describes the layout
+ * of the recording: the name, type, and location of each column, and the properties of the buffer.
+ * The header is only updated when calling {@link #publish(YoBufferPropertiesReadOnly)}, typically
+ * after writing the buffer. See {@link SharedMemoryBufferReader} to read the recording from another
+ * JVM.
+ * </p>
+ * <p>
+ * All the values are stored in the native byte order. The header file, named {@value #HEADER_FILE_NAME},
+ * is laid out as follows:
+ * <ul>
+ * <li>{@code int} magic number {@value #MAGIC}, {@code int} format version.
+ * <li>{@code long} sequence counter, odd while the header is being updated.
+ * <li>{@code long} generation, incremented every time the layout of the columns changes.
+ * <li>{@code int} size, current index, in-point, and out-point of the buffer.
+ * <li>{@code int} number of columns, length in bytes of the column directory, and {@code 1} once the
+ * recording is closed.
+ * <li>starting at byte {@value #HEADER_SIZE}, the column directory, where each entry is: the type
+ * name, the {@code int} element size, number of elements, and position in the data file, the data
+ * file name, the variable full name, the {@code int} number of enum constants followed by their
+ * names. Strings are stored as an unsigned {@code short} length followed by the UTF-8 bytes.
+ * </ul>
+ * A column is an array of elements: doubles, longs, and integers are stored as is, booleans as
+ * {@code 0} or {@code 1} bytes, and enums as the byte ordinal, {@code -1} for {@code null}.
+ * </p>
+ */
+public class SharedMemoryBufferStorage implements YoBufferStorage
+{
+   /** Name of the file describing the recording. */
+   public static final String HEADER_FILE_NAME = "header.bin";
+   /** Magic number at the beginning of the header file, "SCS2" in ASCII. */
+   public static final int MAGIC = 0x53435332;
+   /** Version of the format of the header file. */
+   public static final int VERSION = 1;
+
+   static final int MAGIC_OFFSET = 0;
+   static final int VERSION_OFFSET = 4;
+   static final int SEQUENCE_OFFSET = 8;
+   static final int GENERATION_OFFSET = 16;
+   static final int SIZE_OFFSET = 24;
+   static final int CURRENT_INDEX_OFFSET = 28;
+   static final int IN_POINT_OFFSET = 32;
+   static final int OUT_POINT_OFFSET = 36;
+   static final int NUMBER_OF_COLUMNS_OFFSET = 40;
+   static final int DIRECTORY_LENGTH_OFFSET = 44;
+   static final int CLOSED_OFFSET = 48;
+   static final int HEADER_SIZE = 64;
+
+   /** Used to order the updates of the sequence counter with the other accesses to the header. */
+   static final VarHandle LONG_HANDLE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+   private static final int INITIAL_HEADER_CAPACITY = 1 << 20;
+
+   private final Path directory;
+   private final Path headerPath;
+   private final MappedBufferStorage dataStorage;
+   private final Set<SharedMemoryBufferColumn> columns = new LinkedHashSet<>();
+   private ByteBuffer header;
+   private long sequence = 0;
+   private long generation = 0;
+   private boolean directoryChanged = true;
+   private boolean isDisposed = false;
+   /** Whether the directory was created by this storage and should be deleted with it. */
+   private boolean deleteDirectory = false;
+
+   /**
+    * Creates a new storage in a new directory under {@code /dev/shm} when available, or the temporary
+    * directory otherwise.
+    * <p>
+    * The directory is deleted when this storage is disposed.
+    * </p>
+    */
+   public SharedMemoryBufferStorage()
+   {
+      this(createDefaultDirectory());
+      deleteDirectory = true;
+   }
+
+   /**
+    * Creates a new storage in the given directory.
+    *
+    * @param directory the directory in which the header and the data files are created, it is created
+    *                  if it does not exist yet.
+    */
+   public SharedMemoryBufferStorage(Path directory)
+   {
+      this(directory, MappedBufferStorage.DEFAULT_FILE_SIZE);
+   }
+
+   /**
+    * Creates a new storage in the given directory.
+    *
+    * @param directory the directory in which the header and the data files are created, it is created
+    *                  if it does not exist yet.
+    * @param fileSize  the size in bytes of each data file, see
+    *                  {@link MappedBufferStorage#MappedBufferStorage(Path, long)}.
+    */
+   public SharedMemoryBufferStorage(Path directory, long fileSize)
+   {
+      this.directory = directory;
+      dataStorage = new MappedBufferStorage(directory, fileSize);
+      headerPath = directory.resolve(HEADER_FILE_NAME);
+      header = mapHeader(INITIAL_HEADER_CAPACITY);
+      header.putInt(MAGIC_OFFSET, MAGIC);
+      header.putInt(VERSION_OFFSET, VERSION);
+      LogTools.info("Sharing the buffer in: {}", directory);
+   }
+
+   private static Path createDefaultDirectory()
+   {
+      Path root = Path.of("/dev/shm");
+      if (!Files.isDirectory(root) || !Files.isWritable(root))
+         root = Path.of(System.getProperty("java.io.tmpdir"));
+
+      try
+      {
+         return Files.createTempDirectory(root, "scs2-buffer-");
+      }
+      catch (IOException e)
+      {
+         throw new RuntimeException("Problem creating the buffer directory in: " + root, e);
+      }
+   }
+
+   private ByteBuffer mapHeader(int capacity)
+   {
+      try (FileChannel channel = FileChannel.open(headerPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE))
+      {
+         MappedByteBuffer mappedBuffer = channel.map(MapMode.READ_WRITE, 0, capacity);
+         return mappedBuffer.order(ByteOrder.nativeOrder());
+      }
+      catch (IOException e)
+      {
+         throw new RuntimeException("Problem creating the header file: " + headerPath, e);
+      }
+   }
+
+   @Override
+   public BufferColumn newColumn(YoVariable variable, int size)
+   {
+      String[] enumConstants = variable instanceof YoEnum<?> yoEnum ? yoEnum.getEnumValuesAsString() : null;
+      return newColumn(variable.getType(), variable.getFullNameString(), enumConstants, size);
+   }
+
+   @Override
+   public BufferColumn newColumn(YoVariableType type, int size)
+   {
+      return newColumn(type, "", null, size);
+   }
+
+   private synchronized SharedMemoryBufferColumn newColumn(YoVariableType type, String fullName, String[] enumConstants, int size)
+   {
+      SharedMemoryBufferColumn column = new SharedMemoryBufferColumn(this, fullName, enumConstants, dataStorage.newColumn(type, size));
+      columns.add(column);
+      directoryChanged = true;
+      return column;
+   }
+
+   synchronized MappedBufferColumn resize(MappedBufferColumn column, int from, int length)
+   {
+      directoryChanged = true;
+      return column.resize(from, length);
+   }
+
+   synchronized void release(SharedMemoryBufferColumn column)
+   {
+      if (columns.remove(column))
+         directoryChanged = true;
+   }
+
+   /**
+    * Updates the header file with the current properties of the buffer, and the layout of the columns
+    * if it changed since the last call.
+    * <p>
+    * This should be called after writing the buffer for the other processes to see the new data.
+    * </p>
+    *
+    * @param properties the current properties of the buffer.
+    */
+   public synchronized void publish(YoBufferPropertiesReadOnly properties)
+   {
+      if (isDisposed)
+         return;
+
+      ByteBuffer directoryBuffer = directoryChanged ? encodeDirectory() : null;
+
+      if (directoryBuffer != null && HEADER_SIZE + directoryBuffer.limit() > header.capacity())
+         header = mapHeader(Integer.highestOneBit(HEADER_SIZE + directoryBuffer.limit()) << 1);
+
+      beginUpdate();
+      header.putInt(SIZE_OFFSET, properties.getSize());
+      header.putInt(CURRENT_INDEX_OFFSET, properties.getCurrentIndex());
+      header.putInt(IN_POINT_OFFSET, properties.getInPoint());
+      header.putInt(OUT_POINT_OFFSET, properties.getOutPoint());
+
+      if (directoryBuffer != null)
+      {
+         header.put(HEADER_SIZE, directoryBuffer, 0, directoryBuffer.limit());
+         header.putInt(NUMBER_OF_COLUMNS_OFFSET, columns.size());
+         header.putInt(DIRECTORY_LENGTH_OFFSET, directoryBuffer.limit());
+         header.putLong(GENERATION_OFFSET, ++generation);
+         directoryChanged = false;
+      }
+      endUpdate();
+   }
+
+   private void beginUpdate()
+   {
+      LONG_HANDLE.setOpaque(header, SEQUENCE_OFFSET, ++sequence);
+      VarHandle.storeStoreFence();
+   }
+
+   private void endUpdate()
+   {
+      LONG_HANDLE.setRelease(header, SEQUENCE_OFFSET, ++sequence);
+   }
+
+   private ByteBuffer encodeDirectory()
+   {
+      ByteBuffer buffer = ByteBuffer.allocate(64 * Math.max(1, columns.size())).order(ByteOrder.nativeOrder());
+
+      for (SharedMemoryBufferColumn column : columns)
+      {
+         MappedBufferColumn dataColumn = column.getDataColumn();
+         String[] enumConstants = column.getEnumConstants();
+         String fileName = dataColumn.getSlice().getPath().getFileName().toString();
+
+         buffer = putString(buffer, column.getType().name());
+         buffer = ensureRemaining(buffer, 3 * Integer.BYTES);
+         buffer.putInt(SharedMemoryTools.getVariableMemorySize(column.getType()));
+         buffer.putInt(column.getSize());
+         buffer.putInt(dataColumn.getSlice().getOffset());
+         buffer = putString(buffer, fileName);
+         buffer = putString(buffer, column.getFullName());
+         buffer = ensureRemaining(buffer, Integer.BYTES);
+         buffer.putInt(enumConstants == null ? 0 : enumConstants.length);
+         if (enumConstants != null)
+         {
+            for (String enumConstant : enumConstants)
+               buffer = putString(buffer, enumConstant);
+         }
+      }
+
+      buffer.flip();
+      return buffer;
+   }
+
+   private static ByteBuffer putString(ByteBuffer buffer, String value)
+   {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      buffer = ensureRemaining(buffer, Short.BYTES + bytes.length);
+      buffer.putShort((short) bytes.length);
+      buffer.put(bytes);
+      return buffer;
+   }
+
+   private static ByteBuffer ensureRemaining(ByteBuffer buffer, int length)
+   {
+      if (buffer.remaining() >= length)
+         return buffer;
+
+      ByteBuffer newBuffer = ByteBuffer.allocate(Math.max(2 * buffer.capacity(), buffer.position() + length)).order(buffer.order());
+      buffer.flip();
+      newBuffer.put(buffer);
+      return newBuffer;
+   }
+
+   /**
+    * Returns the directory in which the header and data files are created.
+    *
+    * @return the directory of the recording, to be passed to {@link SharedMemoryBufferReader}.
+    */
+   public Path getDirectory()
+   {
+      return directory;
+   }
+
+   /**
+    * Returns the number of times the layout of the columns has been published.
+    *
+    * @return the generation of the column directory.
+    */
+   public synchronized long getGeneration()
+   {
+      return generation;
+   }
+
+   @Override
+   public boolean isHeapBacked()
+   {
+      return false;
+   }
+
+   @Override
+   public synchronized void dispose()
+   {
+      if (isDisposed)
+         return;
+
+      // Letting the readers know that the files are about to be deleted.
+      beginUpdate();
+      header.putInt(CLOSED_OFFSET, 1);
+      endUpdate();
+
+      isDisposed = true;
+      columns.clear();
+      dataStorage.dispose();
+
+      try
+      {
+         Files.deleteIfExists(headerPath);
+         if (deleteDirectory)
+            Files.deleteIfExists(directory);
+      }
+      catch (IOException e)
+      {
+         LogTools.warn("Could not delete the buffer directory {}: {}", directory, e.getMessage());
+      }
+   }
+}
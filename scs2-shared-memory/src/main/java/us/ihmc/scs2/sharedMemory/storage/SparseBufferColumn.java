@@ -0,0 +1,314 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import java.util.Arrays;
+
+import us.ihmc.yoVariables.variable.YoVariable;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Column storing the history of a variable as a list of change points, i.e. the indices at which the
+ * value differs from the value at the previous index.
+ * <p>
+ * Writing the same value as the one already stored is free, reading an element searches the change
+ * points, starting from the last one accessed as the elements are mostly accessed sequentially. When
+ * the number of change points exceeds the limit set by the {@link SparseBufferStorage}, the column is
+ * promoted to a dense column which is then used for the rest of its life.
+ * </p>
+ */
+public class SparseBufferColumn implements BufferColumn
+{
+   private final SparseBufferStorage storage;
+   private final YoVariableType type;
+   private final YoVariable variable;
+   private int size;
+
+   /** Index in the column of each change point, the first one is always {@code 0}. */
+   private int[] changeIndices;
+   /** Value of the elements from each change point until the next one. */
+   private long[] changeValues;
+   private int numberOfChanges;
+   private int maximumNumberOfChanges;
+   /** Index of the last change point accessed. */
+   private int lastChange = 0;
+
+   /** Column used once this column has been promoted, {@code null} until then. */
+   private BufferColumn denseColumn;
+
+   SparseBufferColumn(SparseBufferStorage storage, YoVariableType type, YoVariable variable, int size)
+   {
+      this.storage = storage;
+      this.type = type;
+      this.variable = variable;
+      this.size = size;
+      changeIndices = new int[4];
+      changeValues = new long[4];
+      numberOfChanges = size > 0 ? 1 : 0;
+      maximumNumberOfChanges = storage.getMaximumNumberOfChanges(size);
+   }
+
+   @Override
+   public YoVariableType getType()
+   {
+      return type;
+   }
+
+   @Override
+   public int getSize()
+   {
+      return size;
+   }
+
+   /**
+    * Whether this column has been promoted to a dense column because its variable changes too often.
+    *
+    * @return {@code true} if the column is dense.
+    */
+   public boolean isDense()
+   {
+      return denseColumn != null;
+   }
+
+   /**
+    * Returns the number of change points currently stored, or {@code -1} if this column is dense.
+    *
+    * @return the number of change points.
+    */
+   public int getNumberOfChanges()
+   {
+      return isDense() ? -1 : numberOfChanges;
+   }
+
+   @Override
+   public long getLongBits(int index)
+   {
+      if (denseColumn != null)
+         return denseColumn.getLongBits(index);
+
+      checkIndex(index);
+      return changeValues[findChange(index)];
+   }
+
+   @Override
+   public void setLongBits(int index, long bits)
+   {
+      if (denseColumn != null)
+      {
+         denseColumn.setLongBits(index, bits);
+         return;
+      }
+
+      checkIndex(index);
+
+      if (changeValues[findChange(index)] != bits)
+         setRange(index, index + 1, bits);
+   }
+
+   private void checkIndex(int index)
+   {
+      if (index < 0 || index >= size)
+         throw new ArrayIndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+   }
+
+   /**
+    * Finds the last change point at or before the given index.
+    */
+   private int findChange(int index)
+   {
+      int change = lastChange;
+
+      if (change >= numberOfChanges || changeIndices[change] > index)
+      {
+         change = searchChange(index);
+      }
+      else if (change + 1 < numberOfChanges && changeIndices[change + 1] <= index)
+      { // Moving forward, checking the next change point before searching.
+         change++;
+         if (change + 1 < numberOfChanges && changeIndices[change + 1] <= index)
+            change = searchChange(index);
+      }
+
+      lastChange = change;
+      return change;
+   }
+
+   private int searchChange(int index)
+   {
+      int change = Arrays.binarySearch(changeIndices, 0, numberOfChanges, index);
+      return change >= 0 ? change : -change - 2;
+   }
+
+   @Override
+   public void fill(long bits, int from, int length)
+   {
+      if (denseColumn != null)
+      {
+         denseColumn.fill(bits, from, length);
+         return;
+      }
+
+      length = Math.min(length, size);
+
+      if (length <= 0)
+         return;
+
+      if (from + length <= size)
+      {
+         setRange(from, from + length, bits);
+      }
+      else
+      {
+         setRange(from, size, bits);
+         setRange(0, from + length - size, bits);
+      }
+   }
+
+   /**
+    * Sets the elements in {@code [start, end[} to the given value, replacing the change points in the
+    * range.
+    */
+   private void setRange(int start, int end, long bits)
+   {
+      long valueAfter = end < size ? changeValues[findChange(end)] : 0L;
+      // Change points to be replaced: [firstRemoved, lastRemoved[
+      int firstRemoved = searchChange(start - 1) + 1;
+      int lastRemoved = end < size ? searchChange(end) + 1 : numberOfChanges;
+
+      boolean addStart = start == 0 || changeValues[firstRemoved - 1] != bits;
+      boolean addEnd = end < size && valueAfter != bits;
+      int numberOfAdded = (addStart ? 1 : 0) + (addEnd ? 1 : 0);
+      int newNumberOfChanges = numberOfChanges - (lastRemoved - firstRemoved) + numberOfAdded;
+
+      if (newNumberOfChanges > changeIndices.length)
+      {
+         int newCapacity = Math.max(newNumberOfChanges, 2 * changeIndices.length);
+         changeIndices = Arrays.copyOf(changeIndices, newCapacity);
+         changeValues = Arrays.copyOf(changeValues, newCapacity);
+      }
+
+      int tailLength = numberOfChanges - lastRemoved;
+      System.arraycopy(changeIndices, lastRemoved, changeIndices, firstRemoved + numberOfAdded, tailLength);
+      System.arraycopy(changeValues, lastRemoved, changeValues, firstRemoved + numberOfAdded, tailLength);
+
+      int change = firstRemoved;
+      if (addStart)
+      {
+         changeIndices[change] = start;
+         changeValues[change] = bits;
+         change++;
+      }
+      if (addEnd)
+      {
+         changeIndices[change] = end;
+         changeValues[change] = valueAfter;
+      }
+
+      numberOfChanges = newNumberOfChanges;
+      lastChange = Math.max(0, firstRemoved - 1);
+
+      if (numberOfChanges > maximumNumberOfChanges)
+         promote();
+   }
+
+   /**
+    * Switches to a dense column, this column then only delegates to it.
+    */
+   private void promote()
+   {
+      BufferColumn dense = storage.newDenseColumn(type, variable, size);
+
+      for (int change = 0; change < numberOfChanges; change++)
+      {
+         int start = changeIndices[change];
+         int end = change + 1 < numberOfChanges ? changeIndices[change + 1] : size;
+         if (changeValues[change] != 0L)
+            dense.fill(changeValues[change], start, end - start);
+      }
+
+      denseColumn = dense;
+      changeIndices = null;
+      changeValues = null;
+      numberOfChanges = 0;
+   }
+
+   @Override
+   public SparseBufferColumn resize(int from, int length)
+   {
+      if (denseColumn != null)
+      {
+         denseColumn = denseColumn.resize(from, length);
+         size = length;
+         return this;
+      }
+
+      if (from == 0 && length == size)
+         return this;
+
+      int copyLength = Math.min(length, size);
+      int[] newChangeIndices = new int[Math.max(4, numberOfChanges + 2)];
+      long[] newChangeValues = new long[newChangeIndices.length];
+      int newNumberOfChanges = 0;
+
+      // Walking through the kept portion of the column: [from, from + copyLength[ wrapping around the end.
+      int start = from;
+      int newIndex = 0;
+
+      while (newIndex < copyLength)
+      {
+         int end = Math.min(size, start + copyLength - newIndex);
+
+         for (int change = findChange(start); change < numberOfChanges && changeIndices[change] < end; change++)
+         {
+            int changeStart = Math.max(start, changeIndices[change]);
+            int mappedIndex = newIndex + changeStart - start;
+
+            if (newNumberOfChanges == 0 || newChangeValues[newNumberOfChanges - 1] != changeValues[change])
+            {
+               newChangeIndices[newNumberOfChanges] = mappedIndex;
+               newChangeValues[newNumberOfChanges] = changeValues[change];
+               newNumberOfChanges++;
+            }
+         }
+
+         newIndex += end - start;
+         start = 0;
+      }
+
+      if (copyLength < length && (newNumberOfChanges == 0 || newChangeValues[newNumberOfChanges - 1] != 0L))
+      { // The new elements are zeros.
+         newChangeIndices[newNumberOfChanges] = copyLength;
+         newChangeValues[newNumberOfChanges] = 0L;
+         newNumberOfChanges++;
+      }
+
+      changeIndices = newChangeIndices;
+      changeValues = newChangeValues;
+      numberOfChanges = newNumberOfChanges;
+      size = length;
+      maximumNumberOfChanges = storage.getMaximumNumberOfChanges(length);
+      lastChange = 0;
+
+      if (numberOfChanges > maximumNumberOfChanges)
+         promote();
+
+      return this;
+   }
+
+   @Override
+   public long getMemorySize()
+   {
+      if (denseColumn != null)
+         return denseColumn.getMemorySize();
+      else
+         return (long) changeIndices.length * (Integer.BYTES + Long.BYTES);
+   }
+
+   @Override
+   public void dispose()
+   {
+      if (denseColumn != null)
+         denseColumn.dispose();
+      denseColumn = null;
+      changeIndices = null;
+      changeValues = null;
+   }
+}
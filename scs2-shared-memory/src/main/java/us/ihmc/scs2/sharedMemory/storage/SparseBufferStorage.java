@@ -0,0 +1,101 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import us.ihmc.yoVariables.variable.YoVariable;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Storage recording only the changes of the variables, see {@link SparseBufferColumn}.
+ * <p>
+ * A large share of a typical registry is parameters, gains, and state machine enums that change a
+ * handful of times per run. Their history is stored as a list of change points, while the variables
+ * changing too often are promoted to a column created by the dense storage.
+ * </p>
+ */
+public class SparseBufferStorage implements YoBufferStorage
+{
+   /** Default maximum ratio between the number of change points and the size of a column. */
+   public static final double DEFAULT_MAXIMUM_CHANGE_RATIO = 1.0 / 32.0;
+   /** Minimum number of change points a column can hold before being promoted. */
+   static final int MINIMUM_NUMBER_OF_CHANGES = 16;
+
+   private final YoBufferStorage denseStorage;
+   private final double maximumChangeRatio;
+
+   /**
+    * Creates a new storage promoting the variables to the heap.
+    */
+   public SparseBufferStorage()
+   {
+      this(YoBufferStorage.HEAP);
+   }
+
+   /**
+    * Creates a new storage using the default maximum change ratio.
+    *
+    * @param denseStorage the storage used for the variables changing too often.
+    */
+   public SparseBufferStorage(YoBufferStorage denseStorage)
+   {
+      this(denseStorage, DEFAULT_MAXIMUM_CHANGE_RATIO);
+   }
+
+   /**
+    * Creates a new storage.
+    *
+    * @param denseStorage       the storage used for the variables changing too often.
+    * @param maximumChangeRatio the maximum ratio between the number of change points and the size of
+    *                           a column, above which the column is promoted to the dense storage.
+    */
+   public SparseBufferStorage(YoBufferStorage denseStorage, double maximumChangeRatio)
+   {
+      if (maximumChangeRatio <= 0.0 || maximumChangeRatio > 1.0)
+         throw new IllegalArgumentException("The maximum change ratio should be in ]0, 1], was: " + maximumChangeRatio);
+
+      this.denseStorage = denseStorage;
+      this.maximumChangeRatio = maximumChangeRatio;
+   }
+
+   @Override
+   public BufferColumn newColumn(YoVariable variable, int size)
+   {
+      return new SparseBufferColumn(this, variable.getType(), variable, size);
+   }
+
+   @Override
+   public BufferColumn newColumn(YoVariableType type, int size)
+   {
+      return new SparseBufferColumn(this, type, null, size);
+   }
+
+   BufferColumn newDenseColumn(YoVariableType type, YoVariable variable, int size)
+   {
+      return variable != null ? denseStorage.newColumn(variable, size) : denseStorage.newColumn(type, size);
+   }
+
+   int getMaximumNumberOfChanges(int size)
+   {
+      return Math.max(MINIMUM_NUMBER_OF_CHANGES, (int) (size * maximumChangeRatio));
+   }
+
+   public double getMaximumChangeRatio()
+   {
+      return maximumChangeRatio;
+   }
+
+   public YoBufferStorage getDenseStorage()
+   {
+      return denseStorage;
+   }
+
+   @Override
+   public boolean isHeapBacked()
+   {
+      return denseStorage.isHeapBacked();
+   }
+
+   @Override
+   public void dispose()
+   {
+      denseStorage.dispose();
+   }
+}
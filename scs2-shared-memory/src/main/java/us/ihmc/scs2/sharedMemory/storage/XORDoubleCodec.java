@@ -0,0 +1,101 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+/**
+ * XOR-based codec for {@code double} values as introduced by Facebook's Gorilla time series
+ * database.
+ * <p>
+ * Each value is XORed with the previous one, only the meaningful bits of the result are stored. A
+ * value equal to the previous one costs a single bit, and slowly varying signals only differ in
+ * their low mantissa bits which are stored in a window shared with the previous value when
+ * possible.
+ * </p>
+ */
+class XORDoubleCodec implements BlockCodec
+{
+   static final XORDoubleCodec INSTANCE = new XORDoubleCodec();
+
+   private static final int MAX_LEADING_ZEROS = 31;
+
+   private XORDoubleCodec()
+   {
+   }
+
+   @Override
+   public long[] encode(long[] values, int length, BitWriter writer)
+   {
+      writer.reset();
+
+      if (length == 0)
+         return writer.toArray();
+
+      long previous = values[0];
+      writer.write(previous, 64);
+      int previousLeading = -1;
+      int previousTrailing = 0;
+
+      for (int i = 1; i < length; i++)
+      {
+         long value = values[i];
+         long xor = value ^ previous;
+         previous = value;
+
+         if (xor == 0L)
+         {
+            writer.writeBit(false);
+            continue;
+         }
+
+         writer.writeBit(true);
+         int leading = Math.min(Long.numberOfLeadingZeros(xor), MAX_LEADING_ZEROS);
+         int trailing = Long.numberOfTrailingZeros(xor);
+
+         if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing)
+         { // Fits in the previous window
+            writer.writeBit(false);
+            writer.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+         }
+         else
+         {
+            int significantBits = 64 - leading - trailing;
+            writer.writeBit(true);
+            writer.write(leading, 5);
+            writer.write(significantBits - 1, 6);
+            writer.write(xor >>> trailing, significantBits);
+            previousLeading = leading;
+            previousTrailing = trailing;
+         }
+      }
+
+      return writer.toArray();
+   }
+
+   @Override
+   public void decode(long[] data, long[] values, int length, BitReader reader)
+   {
+      if (length == 0)
+         return;
+
+      reader.reset(data);
+      long previous = reader.read(64);
+      values[0] = previous;
+      int previousLeading = 0;
+      int previousTrailing = 0;
+
+      for (int i = 1; i < length; i++)
+      {
+         if (reader.readBit())
+         {
+            if (reader.readBit())
+            {
+               previousLeading = (int) reader.read(5);
+               int significantBits = (int) reader.read(6) + 1;
+               previousTrailing = 64 - previousLeading - significantBits;
+            }
+
+            previous ^= reader.read(64 - previousLeading - previousTrailing) << previousTrailing;
+         }
+
+         values[i] = previous;
+      }
+   }
+}
@@ -0,0 +1,57 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import us.ihmc.yoVariables.variable.YoVariable;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Factory for the {@link BufferColumn}s used by the {@code YoVariableBuffer}s to store the history
+ * of their variable.
+ * <p>
+ * The storage is selected when creating the {@code YoSharedBuffer} and is used for every variable
+ * it records, including the ones registered later on.
+ * </p>
+ */
+public interface YoBufferStorage
+{
+   /** Default storage, the columns are primitive arrays on the Java heap. */
+   YoBufferStorage HEAP = new HeapBufferStorage();
+
+   /**
+    * Creates a new column for storing variables of the given type.
+    *
+    * @param type the type of the variable to be stored.
+    * @param size the number of elements in the new column.
+    * @return the new column, initialized with zeros.
+    */
+   BufferColumn newColumn(YoVariableType type, int size);
+
+   /**
+    * Creates a new column for storing the history of the given variable.
+    * <p>
+    * Storages can override this method to adapt the column to the variable, e.g. to the number of
+    * constants of an enum.
+    * </p>
+    *
+    * @param variable the variable to be stored.
+    * @param size     the number of elements in the new column.
+    * @return the new column, initialized with zeros.
+    */
+   default BufferColumn newColumn(YoVariable variable, int size)
+   {
+      return newColumn(variable.getType(), size);
+   }
+
+   /**
+    * Whether the columns created by this storage live on the Java heap and thus count toward the
+    * maximum heap size of the JVM.
+    *
+    * @return {@code true} if the data is stored on the heap.
+    */
+   boolean isHeapBacked();
+
+   /**
+    * Releases the resources held by this storage. The columns created by this storage should not be
+    * used afterward.
+    */
+   void dispose();
+}
@@ -0,0 +1,1084 @@
+package us.ihmc.scs2.sharedMemory.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import us.ihmc.log.LogTools;
+import us.ihmc.scs2.sharedMemory.YoBooleanBuffer;
+import us.ihmc.scs2.sharedMemory.YoDoubleBuffer;
+import us.ihmc.scs2.sharedMemory.YoEnumBuffer;
+import us.ihmc.scs2.sharedMemory.YoIntegerBuffer;
+import us.ihmc.scs2.sharedMemory.YoLongBuffer;
+import us.ihmc.scs2.sharedMemory.YoSharedBuffer;
+import us.ihmc.scs2.sharedMemory.YoVariableBuffer;
+import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoEnum;
+import us.ihmc.yoVariables.variable.YoVariable;
+
+/**
+ * Reads and writes the buffer data using the Apache Arrow IPC file format, also known as Feather V2.
+ * <p>
+ * The file holds a single record batch where each variable is a column named after its full name:
+ * doubles are stored as {@code float64}, longs as {@code int64}, integers as {@code int32}, booleans
+ * as bit-packed {@code bool}, and enums as dictionary-encoded strings with {@code int8} indices, the
+ * dictionary being the enum constants and {@code null} being a missing value. The columns are written
+ * one after the other straight from the buffers.
+ * </p>
+ * <p>
+ * The Arrow metadata is encoded with a minimal FlatBuffers encoder and decoder covering the subset
+ * of the Arrow schema needed here, such that no additional dependency is required. Files written by
+ * other tools can be imported as long as their columns are flat, uncompressed, and of numeric,
+ * boolean, or string-dictionary type.
+ * </p>
+ */
+final class ArrowFileIO
+{
+   private static final byte[] MAGIC = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+   private static final int CONTINUATION_MARKER = 0xFFFFFFFF;
+   private static final int ALIGNMENT = 8;
+   private static final int CHUNK_SIZE = 1 << 16;
+
+   // Sizes of the structs FieldNode, Buffer, and Block.
+   private static final int NODE_SIZE = 2 * Long.BYTES;
+   private static final int BUFFER_SIZE = 2 * Long.BYTES;
+   private static final int BLOCK_SIZE = 3 * Long.BYTES;
+
+   // Enum values from the Arrow FlatBuffers schema: Message.fbs and Schema.fbs.
+   private static final short METADATA_VERSION_V5 = 4;
+   private static final short ENDIANNESS_LITTLE = 0;
+   private static final byte HEADER_SCHEMA = 1;
+   private static final byte HEADER_DICTIONARY_BATCH = 2;
+   private static final byte HEADER_RECORD_BATCH = 3;
+   private static final byte TYPE_NULL = 1;
+   private static final byte TYPE_INT = 2;
+   private static final byte TYPE_FLOATING_POINT = 3;
+   private static final byte TYPE_BINARY = 4;
+   private static final byte TYPE_UTF8 = 5;
+   private static final byte TYPE_BOOL = 6;
+   private static final byte TYPE_LARGE_BINARY = 19;
+   private static final byte TYPE_LARGE_UTF8 = 20;
+   private static final short PRECISION_DOUBLE = 2;
+
+   private ArrowFileIO()
+   {
+      // Suppresses default constructor, ensuring non-instantiability.
+   }
+
+   /**
+    * Writes the active part of the given buffers to {@code outputFile}.
+    *
+    * @param yoVariableBuffers the buffers to export, one column per buffer.
+    * @param properties        the properties of the buffers.
+    * @param outputFile        the file to write to.
+    * @throws IOException if an I/O error occurs.
+    */
+   static void exportData(YoVariableBuffer<?>[] yoVariableBuffers, YoBufferPropertiesReadOnly properties, File outputFile) throws IOException
+   {
+      int numberOfColumns = yoVariableBuffers.length;
+      int numberOfSamples = properties.getActiveBufferLength();
+      boolean[] hasNullValues = new boolean[numberOfColumns];
+      ByteBuffer nodes = newStructs(numberOfColumns, NODE_SIZE);
+      ByteBuffer buffers = newStructs(2 * numberOfColumns, BUFFER_SIZE);
+      long bodyLength = 0L;
+      int numberOfEnums = 0;
+
+      for (int i = 0; i < numberOfColumns; i++)
+      {
+         YoVariableBuffer<?> yoVariableBuffer = yoVariableBuffers[i];
+         // Only the enums can hold null values, the validity bitmap is omitted when there are none.
+         long nullCount = yoVariableBuffer instanceof YoEnumBuffer<?> enumBuffer ? countNullValues(enumBuffer, properties) : 0L;
+         long validityLength = nullCount == 0L ? 0L : getBitmapLength(numberOfSamples);
+         long dataLength = yoVariableBuffer instanceof YoBooleanBuffer ? getBitmapLength(numberOfSamples)
+               : (long) numberOfSamples * yoVariableBuffer.getVariableMemorySize();
+
+         nodes.putLong(numberOfSamples).putLong(nullCount);
+         buffers.putLong(bodyLength).putLong(validityLength);
+         bodyLength += align(validityLength);
+         buffers.putLong(bodyLength).putLong(dataLength);
+         bodyLength += align(dataLength);
+         hasNullValues[i] = nullCount > 0L;
+
+         if (yoVariableBuffer instanceof YoEnumBuffer)
+            numberOfEnums++;
+      }
+
+      FlatTable schema = newSchema(yoVariableBuffers);
+      FlatTable recordBatch = new FlatTable().addLong(0, numberOfSamples).addStructs(1, nodes, NODE_SIZE).addStructs(2, buffers, BUFFER_SIZE);
+      ByteBuffer dictionaryBlocks = newStructs(numberOfEnums, BLOCK_SIZE);
+      ByteBuffer recordBatchBlocks = newStructs(1, BLOCK_SIZE);
+
+      try (FileChannel channel = FileChannel.open(outputFile.toPath(),
+                                                  StandardOpenOption.CREATE,
+                                                  StandardOpenOption.WRITE,
+                                                  StandardOpenOption.TRUNCATE_EXISTING))
+      {
+         long position = SharedMemoryIOTools.writeFully(channel, ByteBuffer.wrap(Arrays.copyOf(MAGIC, ALIGNMENT)), 0);
+         position += writeMessage(channel, position, HEADER_SCHEMA, schema, 0L);
+
+         for (int i = 0; i < numberOfColumns; i++)
+         {
+            if (yoVariableBuffers[i].getYoVariable() instanceof YoEnum<?> yoEnum)
+               position += writeDictionaryBatch(channel, position, i, yoEnum.getEnumValuesAsString(), dictionaryBlocks);
+         }
+
+         long metadataLength = writeMessage(channel, position, HEADER_RECORD_BATCH, recordBatch, bodyLength);
+         putBlock(recordBatchBlocks, position, metadataLength, bodyLength);
+         position += metadataLength;
+
+         ByteBuffer chunk = ByteBuffer.allocateDirect(CHUNK_SIZE * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+         for (int i = 0; i < numberOfColumns; i++)
+         {
+            if (hasNullValues[i])
+               position += writeColumn(channel, position, yoVariableBuffers[i], properties, true, chunk);
+            position += writeColumn(channel, position, yoVariableBuffers[i], properties, false, chunk);
+         }
+
+         // End-of-stream marker, then the footer which repeats the schema and locates the batches.
+         ByteBuffer endOfStream = ByteBuffer.allocate(2 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(CONTINUATION_MARKER).putInt(0).flip();
+         position += SharedMemoryIOTools.writeFully(channel, endOfStream, position);
+
+         FlatTable footer = new FlatTable().addShort(0, METADATA_VERSION_V5)
+                                           .addTable(1, schema)
+                                           .addStructs(2, dictionaryBlocks, BLOCK_SIZE)
+                                           .addStructs(3, recordBatchBlocks, BLOCK_SIZE);
+         ByteBuffer encodedFooter = FlatBufferEncoder.encode(footer);
+         int footerLength = encodedFooter.remaining();
+         position += SharedMemoryIOTools.writeFully(channel, encodedFooter, position);
+
+         ByteBuffer trailer = ByteBuffer.allocate(Integer.BYTES + MAGIC.length).order(ByteOrder.LITTLE_ENDIAN).putInt(footerLength).put(MAGIC).flip();
+         SharedMemoryIOTools.writeFully(channel, trailer, position);
+      }
+   }
+
+   private static FlatTable newSchema(YoVariableBuffer<?>[] yoVariableBuffers)
+   {
+      List<FlatTable> fields = new ArrayList<>();
+
+      for (int i = 0; i < yoVariableBuffers.length; i++)
+      {
+         YoVariable variable = yoVariableBuffers[i].getYoVariable();
+         FlatTable field = new FlatTable().addString(0, variable.getFullNameString()).addBoolean(1, variable instanceof YoEnum);
+
+         switch (variable.getType())
+         {
+            case DOUBLE -> field.addByte(2, TYPE_FLOATING_POINT).addTable(3, new FlatTable().addShort(0, PRECISION_DOUBLE));
+            case LONG -> field.addByte(2, TYPE_INT).addTable(3, newIntType(Long.SIZE));
+            case INTEGER -> field.addByte(2, TYPE_INT).addTable(3, newIntType(Integer.SIZE));
+            case BOOLEAN -> field.addByte(2, TYPE_BOOL).addTable(3, new FlatTable());
+            // The dictionary id is the column index.
+            case ENUM -> field.addByte(2, TYPE_UTF8).addTable(3, new FlatTable()).addTable(4, new FlatTable().addLong(0, i).addTable(1, newIntType(Byte.SIZE)));
+            default -> throw new IllegalArgumentException("Unsupported type: " + variable.getType());
+         }
+
+         fields.add(field.addTables(5, Collections.emptyList()));
+      }
+
+      return new FlatTable().addShort(0, ENDIANNESS_LITTLE).addTables(1, fields);
+   }
+
+   private static FlatTable newIntType(int bitWidth)
+   {
+      return new FlatTable().addInt(0, bitWidth).addBoolean(1, true);
+   }
+
+   private static long countNullValues(YoEnumBuffer<?> enumBuffer, YoBufferPropertiesReadOnly properties)
+   {
+      long nullCount = 0L;
+      int index = properties.getInPoint();
+
+      for (int i = 0; i < properties.getActiveBufferLength(); i++)
+      {
+         if (enumBuffer.getOrdinalAt(index) == YoEnum.NULL_VALUE)
+            nullCount++;
+         index = SharedMemoryTools.increment(index, 1, properties.getSize());
+      }
+
+      return nullCount;
+   }
+
+   private static long writeDictionaryBatch(FileChannel channel, long position, long id, String[] values, ByteBuffer blocks) throws IOException
+   {
+      byte[][] encodedValues = new byte[values.length][];
+      long dataLength = 0L;
+
+      for (int i = 0; i < values.length; i++)
+      {
+         encodedValues[i] = values[i].getBytes(StandardCharsets.UTF_8);
+         dataLength += encodedValues[i].length;
+      }
+
+      long offsetsLength = (long) (values.length + 1) * Integer.BYTES;
+      ByteBuffer body = ByteBuffer.allocate((int) (align(offsetsLength) + align(dataLength))).order(ByteOrder.LITTLE_ENDIAN);
+      int offset = 0;
+      body.putInt(offset);
+      for (byte[] encodedValue : encodedValues)
+         body.putInt(offset += encodedValue.length);
+      body.position((int) align(offsetsLength));
+      for (byte[] encodedValue : encodedValues)
+         body.put(encodedValue);
+      body.clear();
+
+      ByteBuffer nodes = newStructs(1, NODE_SIZE).putLong(values.length).putLong(0L);
+      ByteBuffer buffers = newStructs(3, BUFFER_SIZE);
+      buffers.putLong(0L).putLong(0L); // No validity bitmap
+      buffers.putLong(0L).putLong(offsetsLength);
+      buffers.putLong(align(offsetsLength)).putLong(dataLength);
+
+      FlatTable data = new FlatTable().addLong(0, values.length).addStructs(1, nodes, NODE_SIZE).addStructs(2, buffers, BUFFER_SIZE);
+      FlatTable dictionaryBatch = new FlatTable().addLong(0, id).addTable(1, data).addBoolean(2, false);
+      long metadataLength = writeMessage(channel, position, HEADER_DICTIONARY_BATCH, dictionaryBatch, body.remaining());
+      putBlock(blocks, position, metadataLength, body.remaining());
+      return metadataLength + SharedMemoryIOTools.writeFully(channel, body, position + metadataLength);
+   }
+
+   private static long writeMessage(FileChannel channel, long position, byte headerType, FlatTable header, long bodyLength) throws IOException
+   {
+      FlatTable message = new FlatTable().addShort(0, METADATA_VERSION_V5).addByte(1, headerType).addTable(2, header).addLong(3, bodyLength);
+      ByteBuffer encodedMessage = FlatBufferEncoder.encode(message);
+      // The metadata is padded such that the message body starts on an 8-byte boundary.
+      int metadataLength = (int) align(2 * Integer.BYTES + encodedMessage.remaining());
+      ByteBuffer metadata = ByteBuffer.allocate(metadataLength).order(ByteOrder.LITTLE_ENDIAN);
+      metadata.putInt(CONTINUATION_MARKER).putInt(metadataLength - 2 * Integer.BYTES).put(encodedMessage);
+      metadata.clear();
+      return SharedMemoryIOTools.writeFully(channel, metadata, position);
+   }
+
+   private static long writeColumn(FileChannel channel,
+                                   long position,
+                                   YoVariableBuffer<?> yoVariableBuffer,
+                                   YoBufferPropertiesReadOnly properties,
+                                   boolean validity,
+                                   ByteBuffer chunk) throws IOException
+   {
+      int numberOfSamples = properties.getActiveBufferLength();
+      long startPosition = position;
+
+      // The chunk size is a multiple of 8 such that each chunk of a bitmap starts on a byte boundary.
+      for (int start = 0; start < numberOfSamples; start += CHUNK_SIZE)
+      {
+         int chunkLength = Math.min(CHUNK_SIZE, numberOfSamples - start);
+         int from = SharedMemoryTools.increment(properties.getInPoint(), start, properties.getSize());
+         Object sample = yoVariableBuffer.copy(from, chunkLength, properties).getSample();
+
+         if (validity)
+            putValidity((byte[]) sample, chunkLength, chunk);
+         else
+            putValues(sample, chunkLength, chunk);
+         position += SharedMemoryIOTools.writeFully(channel, chunk, position);
+      }
+
+      long length = position - startPosition;
+      position += SharedMemoryIOTools.writeFully(channel, ByteBuffer.allocate((int) (align(length) - length)), position);
+      return position - startPosition;
+   }
+
+   private static void putValidity(byte[] ordinals, int length, ByteBuffer destination)
+   {
+      destination.clear();
+
+      for (int start = 0; start < length; start += Byte.SIZE)
+      {
+         int bits = 0;
+         for (int i = start; i < Math.min(start + Byte.SIZE, length); i++)
+         {
+            if (ordinals[i] != YoEnum.NULL_VALUE)
+               bits |= 1 << (i - start);
+         }
+         destination.put((byte) bits);
+      }
+
+      destination.flip();
+   }
+
+   private static void putValues(Object sample, int length, ByteBuffer destination)
+   {
+      if (sample instanceof boolean[] values)
+      {
+         destination.clear();
+
+         for (int start = 0; start < length; start += Byte.SIZE)
+         {
+            int bits = 0;
+            for (int i = start; i < Math.min(start + Byte.SIZE, length); i++)
+            {
+               if (values[i])
+                  bits |= 1 << (i - start);
+            }
+            destination.put((byte) bits);
+         }
+
+         destination.flip();
+      }
+      else if (sample instanceof byte[] ordinals)
+      {
+         destination.clear();
+         // The value under a null slot is undefined, using the first constant keeps the indices in bounds.
+         for (int i = 0; i < length; i++)
+            destination.put(ordinals[i] == YoEnum.NULL_VALUE ? 0 : ordinals[i]);
+         destination.flip();
+      }
+      else
+      {
+         SharedMemoryIOTools.putSample(sample, length, destination);
+      }
+   }
+
+   /**
+    * Reads a file written with {@link #exportData(YoVariableBuffer[], YoBufferPropertiesReadOnly, File)}
+    * or any Arrow IPC file which columns match variables of the buffer.
+    * <p>
+    * The columns are matched to the variables by full name, the columns that do not match any variable
+    * or that cannot be converted are skipped. Missing values are loaded as {@code NaN} for doubles,
+    * {@code null} for enums, and zero or {@code false} otherwise.
+    * </p>
+    *
+    * @param inputFile the file to read.
+    * @param buffer    the buffer to load the data into.
+    * @throws IOException if an I/O error occurs.
+    */
+   static void importData(File inputFile, YoSharedBuffer buffer) throws IOException
+   {
+      YoRegistry root = buffer.getRootRegistry();
+
+      try (FileChannel channel = FileChannel.open(inputFile.toPath(), StandardOpenOption.READ))
+      {
+         FlatTableView footer = readFooter(channel, inputFile);
+         FlatTableView schema = footer.getTable(1);
+         if (schema == null)
+            throw new IllegalArgumentException("Missing schema: " + inputFile);
+         if (schema.getShort(0, ENDIANNESS_LITTLE) != ENDIANNESS_LITTLE)
+            throw new IllegalArgumentException("Big-endian files are not supported: " + inputFile);
+
+         ArrowField[] fields = new ArrowField[schema.getVectorLength(1)];
+         for (int i = 0; i < fields.length; i++)
+            fields[i] = new ArrowField(schema.getTable(1, i));
+
+         Map<Long, List<String>> dictionaries = readDictionaries(channel, footer, fields);
+
+         int numberOfBatches = footer.getVectorLength(3);
+         FlatTableView[] recordBatches = new FlatTableView[numberOfBatches];
+         long[] bodyPositions = new long[numberOfBatches];
+         long numberOfSamples = 0L;
+
+         for (int i = 0; i < numberOfBatches; i++)
+         {
+            long blockPosition = footer.getStructLong(3, i, BLOCK_SIZE, 0);
+            int metadataLength = footer.getStructInt(3, i, BLOCK_SIZE, Long.BYTES);
+            recordBatches[i] = readMessageHeader(channel, blockPosition, metadataLength, HEADER_RECORD_BATCH);
+            bodyPositions[i] = blockPosition + metadataLength;
+            numberOfSamples += recordBatches[i].getLong(0, 0L);
+         }
+
+         if (numberOfSamples == 0L)
+            throw new IllegalArgumentException("No data in: " + inputFile);
+         if (numberOfSamples > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Too many samples: " + numberOfSamples);
+
+         YoVariableBuffer<?>[] targets = new YoVariableBuffer<?>[fields.length];
+         byte[][] dictionaryOrdinals = new byte[fields.length][];
+
+         for (int i = 0; i < fields.length; i++)
+         {
+            ArrowField field = fields[i];
+            YoVariable variable = root.findVariable(field.name);
+
+            if (variable == null)
+            {
+               LogTools.warn("Could not find the variable {} in {}, skipping the column.", field.name, root);
+            }
+            else if (!field.isSupported(variable, dictionaries))
+            {
+               LogTools.warn("Cannot load the column {} into a variable of type {}, skipping the column.", field.name, variable.getType());
+            }
+            else
+            {
+               targets[i] = buffer.getRegistryBuffer().findYoVariableBuffer(variable);
+               if (field.isDictionaryEncoded())
+                  dictionaryOrdinals[i] = toOrdinals((YoEnum<?>) variable, dictionaries.get(field.dictionaryId));
+            }
+         }
+
+         SharedMemoryIOTools.setActiveBuffer(buffer, (int) numberOfSamples);
+         int offset = 0;
+
+         for (int i = 0; i < numberOfBatches; i++)
+         {
+            readRecordBatch(channel, recordBatches[i], bodyPositions[i], fields, targets, dictionaryOrdinals, offset);
+            offset += (int) recordBatches[i].getLong(0, 0L);
+         }
+      }
+   }
+
+   private static FlatTableView readFooter(FileChannel channel, File inputFile) throws IOException
+   {
+      long fileSize = channel.size();
+      int trailerLength = Integer.BYTES + MAGIC.length;
+      if (fileSize < ALIGNMENT + trailerLength)
+         throw new IllegalArgumentException("Not an Arrow file: " + inputFile);
+
+      ByteBuffer header = ByteBuffer.allocate(MAGIC.length);
+      SharedMemoryIOTools.readFully(channel, header, 0);
+      ByteBuffer trailer = ByteBuffer.allocate(trailerLength).order(ByteOrder.LITTLE_ENDIAN);
+      SharedMemoryIOTools.readFully(channel, trailer, fileSize - trailerLength);
+
+      if (!header.equals(ByteBuffer.wrap(MAGIC)) || !trailer.slice(Integer.BYTES, MAGIC.length).equals(ByteBuffer.wrap(MAGIC)))
+         throw new IllegalArgumentException("Not an Arrow file: " + inputFile);
+
+      int footerLength = trailer.getInt(0);
+      ByteBuffer footer = ByteBuffer.allocate(footerLength).order(ByteOrder.LITTLE_ENDIAN);
+      SharedMemoryIOTools.readFully(channel, footer, fileSize - trailerLength - footerLength);
+      return FlatTableView.root(footer);
+   }
+
+   private static FlatTableView readMessageHeader(FileChannel channel, long position, int metadataLength, byte expectedHeaderType) throws IOException
+   {
+      ByteBuffer metadata = ByteBuffer.allocate(metadataLength).order(ByteOrder.LITTLE_ENDIAN);
+      SharedMemoryIOTools.readFully(channel, metadata, position);
+      // Files written before Arrow 0.15 do not have the continuation marker.
+      int start = metadata.getInt(0) == CONTINUATION_MARKER ? 2 * Integer.BYTES : Integer.BYTES;
+      FlatTableView message = FlatTableView.root(metadata.position(start).slice().order(ByteOrder.LITTLE_ENDIAN));
+
+      byte headerType = message.getByte(1, (byte) 0);
+      if (headerType != expectedHeaderType)
+         throw new IllegalArgumentException("Unexpected message type: " + headerType + ", expected: " + expectedHeaderType);
+
+      FlatTableView header = message.getTable(2);
+      FlatTableView recordBatch = headerType == HEADER_DICTIONARY_BATCH ? header.getTable(1) : header;
+      if (recordBatch.getTable(3) != null)
+         throw new IllegalArgumentException("Compressed Arrow files are not supported.");
+      return header;
+   }
+
+   private static Map<Long, List<String>> readDictionaries(FileChannel channel, FlatTableView footer, ArrowField[] fields) throws IOException
+   {
+      Map<Long, ArrowField> dictionaryFields = new HashMap<>();
+      for (ArrowField field : fields)
+      {
+         if (field.isDictionaryEncoded() && (field.type == TYPE_UTF8 || field.type == TYPE_LARGE_UTF8))
+            dictionaryFields.put(field.dictionaryId, field);
+      }
+
+      Map<Long, List<String>> dictionaries = new HashMap<>();
+
+      for (int i = 0; i < footer.getVectorLength(2); i++)
+      {
+         long blockPosition = footer.getStructLong(2, i, BLOCK_SIZE, 0);
+         int metadataLength = footer.getStructInt(2, i, BLOCK_SIZE, Long.BYTES);
+         FlatTableView dictionaryBatch = readMessageHeader(channel, blockPosition, metadataLength, HEADER_DICTIONARY_BATCH);
+         long id = dictionaryBatch.getLong(0, 0L);
+         ArrowField field = dictionaryFields.get(id);
+         if (field == null)
+            continue; // Only the string dictionaries are supported.
+
+         FlatTableView data = dictionaryBatch.getTable(1);
+         long bodyPosition = blockPosition + metadataLength;
+         ByteBuffer offsets = readBuffer(channel, data, bodyPosition, 1);
+         ByteBuffer values = readBuffer(channel, data, bodyPosition, 2);
+         boolean isDelta = dictionaryBatch.getBoolean(2, false);
+         List<String> dictionary = isDelta ? dictionaries.computeIfAbsent(id, k -> new ArrayList<>()) : new ArrayList<>();
+
+         for (int j = 0; j < data.getLong(0, 0L); j++)
+         {
+            int start = (int) (field.type == TYPE_LARGE_UTF8 ? offsets.getLong(j * Long.BYTES) : offsets.getInt(j * Integer.BYTES));
+            int end = (int) (field.type == TYPE_LARGE_UTF8 ? offsets.getLong((j + 1) * Long.BYTES) : offsets.getInt((j + 1) * Integer.BYTES));
+            byte[] value = new byte[end - start];
+            values.get(start, value);
+            dictionary.add(new String(value, StandardCharsets.UTF_8));
+         }
+
+         dictionaries.put(id, dictionary);
+      }
+
+      return dictionaries;
+   }
+
+   private static byte[] toOrdinals(YoEnum<?> yoEnum, List<String> dictionary)
+   {
+      List<String> enumConstants = Arrays.asList(yoEnum.getEnumValuesAsString());
+      byte[] ordinals = new byte[dictionary.size()];
+
+      for (int i = 0; i < ordinals.length; i++)
+      {
+         int ordinal = enumConstants.indexOf(dictionary.get(i));
+         if (ordinal == -1)
+            throw new IllegalArgumentException("Unknown constant " + dictionary.get(i) + " for the enum " + yoEnum.getFullNameString());
+         ordinals[i] = (byte) ordinal;
+      }
+
+      return ordinals;
+   }
+
+   private static void readRecordBatch(FileChannel channel,
+                                       FlatTableView recordBatch,
+                                       long bodyPosition,
+                                       ArrowField[] fields,
+                                       YoVariableBuffer<?>[] targets,
+                                       byte[][] dictionaryOrdinals,
+                                       int offset) throws IOException
+   {
+      int length = (int) recordBatch.getLong(0, 0L);
+      int bufferIndex = 0;
+
+      for (int i = 0; i < fields.length; i++)
+      {
+         if (targets[i] != null)
+         {
+            long nullCount = recordBatch.getStructLong(1, i, NODE_SIZE, Long.BYTES);
+            boolean hasValidity = nullCount != 0L && recordBatch.getStructLong(2, bufferIndex, BUFFER_SIZE, Long.BYTES) != 0L;
+            ByteBuffer validity = hasValidity ? readBuffer(channel, recordBatch, bodyPosition, bufferIndex) : null;
+            ByteBuffer data = readBuffer(channel, recordBatch, bodyPosition, bufferIndex + 1);
+            readColumn(fields[i], targets[i], dictionaryOrdinals[i], validity, data, offset, length);
+         }
+
+         bufferIndex += fields[i].getNumberOfBuffers();
+      }
+   }
+
+   private static ByteBuffer readBuffer(FileChannel channel, FlatTableView recordBatch, long bodyPosition, int bufferIndex) throws IOException
+   {
+      long offset = recordBatch.getStructLong(2, bufferIndex, BUFFER_SIZE, 0);
+      long length = recordBatch.getStructLong(2, bufferIndex, BUFFER_SIZE, Long.BYTES);
+      return channel.map(MapMode.READ_ONLY, bodyPosition + offset, length).order(ByteOrder.LITTLE_ENDIAN);
+   }
+
+   private static void readColumn(ArrowField field,
+                                  YoVariableBuffer<?> target,
+                                  byte[] dictionaryOrdinals,
+                                  ByteBuffer validity,
+                                  ByteBuffer data,
+                                  int offset,
+                                  int length)
+   {
+      if (target instanceof YoDoubleBuffer doubleBuffer)
+      {
+         for (int i = 0; i < length; i++)
+            doubleBuffer.setValueAt(offset + i, isNull(validity, i) ? Double.NaN : field.getDouble(data, i));
+      }
+      else if (target instanceof YoLongBuffer longBuffer)
+      {
+         for (int i = 0; i < length; i++)
+            longBuffer.setValueAt(offset + i, isNull(validity, i) ? 0L : field.getLong(data, i));
+      }
+      else if (target instanceof YoIntegerBuffer integerBuffer)
+      {
+         for (int i = 0; i < length; i++)
+            integerBuffer.setValueAt(offset + i, isNull(validity, i) ? 0 : (int) field.getLong(data, i));
+      }
+      else if (target instanceof YoBooleanBuffer booleanBuffer)
+      {
+         for (int i = 0; i < length; i++)
+            booleanBuffer.setValueAt(offset + i, !isNull(validity, i) && field.getLong(data, i) != 0L);
+      }
+      else if (target instanceof YoEnumBuffer<?> enumBuffer)
+      {
+         for (int i = 0; i < length; i++)
+         {
+            byte ordinal;
+            if (isNull(validity, i))
+               ordinal = YoEnum.NULL_VALUE;
+            else if (dictionaryOrdinals != null)
+               ordinal = dictionaryOrdinals[(int) field.getLong(data, i)];
+            else
+               ordinal = (byte) field.getLong(data, i);
+            enumBuffer.setOrdinalAt(offset + i, ordinal);
+         }
+      }
+      else
+      {
+         throw new IllegalStateException("Unexpected buffer type: " + target);
+      }
+   }
+
+   private static boolean isNull(ByteBuffer validity, int index)
+   {
+      return validity != null && (validity.get(index >> 3) & (1 << (index & 7))) == 0;
+   }
+
+   private static ByteBuffer newStructs(int numberOfStructs, int structSize)
+   {
+      return ByteBuffer.allocate(numberOfStructs * structSize).order(ByteOrder.LITTLE_ENDIAN);
+   }
+
+   private static void putBlock(ByteBuffer blocks, long position, long metadataLength, long bodyLength)
+   {
+      blocks.putLong(position).putInt((int) metadataLength).putInt(0).putLong(bodyLength);
+   }
+
+   private static long getBitmapLength(int numberOfSamples)
+   {
+      return (numberOfSamples + Byte.SIZE - 1) / Byte.SIZE;
+   }
+
+   private static long align(long position)
+   {
+      return (position + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+   }
+
+   /**
+    * Description of a column as read from the schema of a file.
+    */
+   private static class ArrowField
+   {
+      private final String name;
+      /** The type of the values, for dictionary-encoded columns this is the type of the dictionary. */
+      private final byte type;
+      private final int bitWidth;
+      private final boolean isSigned;
+      private final int numberOfChildren;
+      private final long dictionaryId;
+      private final int indexBitWidth;
+      private final boolean isIndexSigned;
+
+      private ArrowField(FlatTableView field)
+      {
+         name = field.getString(0);
+         type = field.getByte(2, (byte) 0);
+         numberOfChildren = field.getVectorLength(5);
+
+         FlatTableView typeTable = field.getTable(3);
+         if (type == TYPE_INT && typeTable != null)
+         {
+            bitWidth = typeTable.getInt(0, 0);
+            isSigned = typeTable.getBoolean(1, false);
+         }
+         else if (type == TYPE_FLOATING_POINT && typeTable != null)
+         {
+            // HALF, SINGLE, DOUBLE
+            bitWidth = 16 << typeTable.getShort(0, (short) 0);
+            isSigned = true;
+         }
+         else
+         {
+            bitWidth = 0;
+            isSigned = false;
+         }
+
+         FlatTableView dictionary = field.getTable(4);
+         if (dictionary != null)
+         {
+            dictionaryId = dictionary.getLong(0, 0L);
+            FlatTableView indexType = dictionary.getTable(1);
+            // The indices default to signed 32-bit integers.
+            indexBitWidth = indexType == null ? Integer.SIZE : indexType.getInt(0, 0);
+            isIndexSigned = indexType == null || indexType.getBoolean(1, false);
+         }
+         else
+         {
+            dictionaryId = -1L;
+            indexBitWidth = 0;
+            isIndexSigned = false;
+         }
+      }
+
+      boolean isDictionaryEncoded()
+      {
+         return dictionaryId != -1L;
+      }
+
+      boolean isSupported(YoVariable variable, Map<Long, List<String>> dictionaries)
+      {
+         if (numberOfChildren > 0)
+            throw new IllegalArgumentException("Nested columns are not supported: " + name);
+
+         if (isDictionaryEncoded())
+            return variable instanceof YoEnum && dictionaries.containsKey(dictionaryId) && isIntegerWidth(indexBitWidth);
+
+         return switch (type)
+         {
+            case TYPE_INT -> isIntegerWidth(bitWidth);
+            case TYPE_FLOATING_POINT -> bitWidth == Float.SIZE || bitWidth == Double.SIZE;
+            case TYPE_BOOL -> true;
+            default -> false;
+         };
+      }
+
+      private static boolean isIntegerWidth(int bitWidth)
+      {
+         return bitWidth == Byte.SIZE || bitWidth == Short.SIZE || bitWidth == Integer.SIZE || bitWidth == Long.SIZE;
+      }
+
+      int getNumberOfBuffers()
+      {
+         if (isDictionaryEncoded())
+            return 2;
+
+         return switch (type)
+         {
+            case TYPE_NULL -> 0;
+            case TYPE_BINARY, TYPE_UTF8, TYPE_LARGE_BINARY, TYPE_LARGE_UTF8 -> 3;
+            default -> 2;
+         };
+      }
+
+      long getLong(ByteBuffer data, int index)
+      {
+         if (isDictionaryEncoded())
+            return getInteger(data, index, indexBitWidth, isIndexSigned);
+
+         return switch (type)
+         {
+            case TYPE_INT -> getInteger(data, index, bitWidth, isSigned);
+            case TYPE_FLOATING_POINT -> (long) getDouble(data, index);
+            case TYPE_BOOL -> (data.get(index >> 3) >> (index & 7)) & 1;
+            default -> throw new IllegalStateException("Unexpected type: " + type);
+         };
+      }
+
+      double getDouble(ByteBuffer data, int index)
+      {
+         if (type != TYPE_FLOATING_POINT || isDictionaryEncoded())
+            return getLong(data, index);
+         else if (bitWidth == Double.SIZE)
+            return data.getDouble(index * Double.BYTES);
+         else
+            return data.getFloat(index * Float.BYTES);
+      }
+
+      private static long getInteger(ByteBuffer data, int index, int bitWidth, boolean isSigned)
+      {
+         return switch (bitWidth)
+         {
+            case Byte.SIZE -> isSigned ? data.get(index) : Byte.toUnsignedLong(data.get(index));
+            case Short.SIZE -> isSigned ? data.getShort(index * Short.BYTES) : Short.toUnsignedLong(data.getShort(index * Short.BYTES));
+            case Integer.SIZE -> isSigned ? data.getInt(index * Integer.BYTES) : Integer.toUnsignedLong(data.getInt(index * Integer.BYTES));
+            default -> data.getLong(index * Long.BYTES);
+         };
+      }
+   }
+
+   /**
+    * Minimal FlatBuffers table to be encoded with {@link FlatBufferEncoder}, the fields are identified
+    * by their index in the table definition of the schema.
+    */
+   private static class FlatTable
+   {
+      private final List<FlatField> fields = new ArrayList<>();
+
+      FlatTable addBoolean(int slot, boolean value)
+      {
+         return addField(slot, Byte.BYTES, value ? 1 : 0, null);
+      }
+
+      FlatTable addByte(int slot, byte value)
+      {
+         return addField(slot, Byte.BYTES, value, null);
+      }
+
+      FlatTable addShort(int slot, short value)
+      {
+         return addField(slot, Short.BYTES, value, null);
+      }
+
+      FlatTable addInt(int slot, int value)
+      {
+         return addField(slot, Integer.BYTES, value, null);
+      }
+
+      FlatTable addLong(int slot, long value)
+      {
+         return addField(slot, Long.BYTES, value, null);
+      }
+
+      FlatTable addString(int slot, String value)
+      {
+         return addField(slot, Integer.BYTES, 0, value);
+      }
+
+      FlatTable addTable(int slot, FlatTable value)
+      {
+         return addField(slot, Integer.BYTES, 0, value);
+      }
+
+      FlatTable addTables(int slot, List<FlatTable> value)
+      {
+         return addField(slot, Integer.BYTES, 0, value);
+      }
+
+      /**
+       * Adds a vector of structs.
+       *
+       * @param slot       the field index.
+       * @param structs    the encoded structs, from 0 to the buffer position.
+       * @param structSize the size in bytes of a struct.
+       */
+      FlatTable addStructs(int slot, ByteBuffer structs, int structSize)
+      {
+         return addField(slot, Integer.BYTES, 0, new FlatStructs(Arrays.copyOf(structs.array(), structs.position()), structs.position() / structSize));
+      }
+
+      private FlatTable addField(int slot, int size, long value, Object reference)
+      {
+         fields.add(new FlatField(slot, size, value, reference));
+         return this;
+      }
+   }
+
+   private record FlatField(int slot, int size, long value, Object reference)
+   {
+   }
+
+   private record FlatStructs(byte[] data, int count)
+   {
+   }
+
+   /** Object to be written and position of the offset referencing it. */
+   private record PendingReference(Object object, int offsetPosition)
+   {
+   }
+
+   /**
+    * Encodes a tree of {@link FlatTable}s front to back: each object is written after the one
+    * referencing it such that all the offsets, which are unsigned in FlatBuffers, are positive.
+    */
+   private static class FlatBufferEncoder
+   {
+      private final Deque<PendingReference> pendingReferences = new ArrayDeque<>();
+      private ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+      private int size = 0;
+
+      static ByteBuffer encode(FlatTable root)
+      {
+         FlatBufferEncoder encoder = new FlatBufferEncoder();
+         encoder.pendingReferences.add(new PendingReference(root, encoder.allocate(Integer.BYTES, Integer.BYTES, 0)));
+
+         while (!encoder.pendingReferences.isEmpty())
+         {
+            PendingReference reference = encoder.pendingReferences.poll();
+            int position = encoder.write(reference.object());
+            // Offsets are relative to their own position.
+            encoder.buffer.putInt(reference.offsetPosition(), position - reference.offsetPosition());
+         }
+
+         return encoder.buffer.limit(encoder.size).position(0);
+      }
+
+      private int write(Object object)
+      {
+         if (object instanceof FlatTable table)
+            return writeTable(table);
+
+         if (object instanceof String string)
+         {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            // Strings are null-terminated.
+            int position = allocate(Integer.BYTES + bytes.length + 1, Integer.BYTES, 0);
+            buffer.putInt(position, bytes.length).put(position + Integer.BYTES, bytes);
+            return position;
+         }
+
+         if (object instanceof FlatStructs structs)
+         { // The structs used in Arrow are aligned on 8 bytes.
+            int position = allocate(Integer.BYTES + structs.data().length, Long.BYTES, Integer.BYTES);
+            buffer.putInt(position, structs.count()).put(position + Integer.BYTES, structs.data());
+            return position;
+         }
+
+         if (object instanceof List<?> tables)
+         {
+            int position = allocate(Integer.BYTES * (1 + tables.size()), Integer.BYTES, 0);
+            buffer.putInt(position, tables.size());
+            for (int i = 0; i < tables.size(); i++)
+               pendingReferences.add(new PendingReference(tables.get(i), position + Integer.BYTES * (1 + i)));
+            return position;
+         }
+
+         throw new IllegalArgumentException("Unexpected object: " + object);
+      }
+
+      private int writeTable(FlatTable table)
+      {
+         // Largest fields first to limit the padding.
+         List<FlatField> fields = new ArrayList<>(table.fields);
+         fields.sort(Comparator.comparingInt(FlatField::size).reversed());
+
+         int numberOfSlots = fields.stream().mapToInt(field -> field.slot() + 1).max().orElse(0);
+         int[] fieldOffsets = new int[numberOfSlots];
+         int tableSize = Integer.BYTES; // Offset to the vtable
+
+         for (FlatField field : fields)
+         {
+            tableSize = (tableSize + field.size() - 1) / field.size() * field.size();
+            fieldOffsets[field.slot()] = tableSize;
+            tableSize += field.size();
+         }
+
+         int vtableSize = Short.BYTES * (2 + numberOfSlots);
+         int vtablePosition = allocate(vtableSize, Short.BYTES, 0);
+         int tablePosition = allocate(tableSize, Long.BYTES, 0);
+
+         buffer.putShort(vtablePosition, (short) vtableSize);
+         buffer.putShort(vtablePosition + Short.BYTES, (short) tableSize);
+         for (int slot = 0; slot < numberOfSlots; slot++)
+            buffer.putShort(vtablePosition + Short.BYTES * (2 + slot), (short) fieldOffsets[slot]);
+         // The vtable is located at the table position minus this offset.
+         buffer.putInt(tablePosition, tablePosition - vtablePosition);
+
+         for (FlatField field : fields)
+         {
+            int position = tablePosition + fieldOffsets[field.slot()];
+
+            if (field.reference() != null)
+            {
+               pendingReferences.add(new PendingReference(field.reference(), position));
+               continue;
+            }
+
+            switch (field.size())
+            {
+               case Byte.BYTES -> buffer.put(position, (byte) field.value());
+               case Short.BYTES -> buffer.putShort(position, (short) field.value());
+               case Integer.BYTES -> buffer.putInt(position, (int) field.value());
+               default -> buffer.putLong(position, field.value());
+            }
+         }
+
+         return tablePosition;
+      }
+
+      /**
+       * Reserves {@code length} bytes such that {@code position + alignmentOffset} is a multiple of
+       * {@code alignment}.
+       */
+      private int allocate(int length, int alignment, int alignmentOffset)
+      {
+         int position = size + Math.floorMod(-(size + alignmentOffset), alignment);
+         size = position + length;
+
+         if (size > buffer.capacity())
+            buffer = ByteBuffer.wrap(Arrays.copyOf(buffer.array(), Math.max(size, 2 * buffer.capacity()))).order(ByteOrder.LITTLE_ENDIAN);
+
+         return position;
+      }
+   }
+
+   /**
+    * Read-only view of a FlatBuffers table.
+    */
+   private static class FlatTableView
+   {
+      private final ByteBuffer buffer;
+      private final int position;
+      private final int vtablePosition;
+      private final int vtableSize;
+
+      private FlatTableView(ByteBuffer buffer, int position)
+      {
+         this.buffer = buffer;
+         this.position = position;
+         vtablePosition = position - buffer.getInt(position);
+         vtableSize = Short.toUnsignedInt(buffer.getShort(vtablePosition));
+      }
+
+      /**
+       * @param buffer the encoded FlatBuffers, starting at index 0 and in little-endian order.
+       */
+      static FlatTableView root(ByteBuffer buffer)
+      {
+         return new FlatTableView(buffer, buffer.getInt(0));
+      }
+
+      private int getFieldPosition(int slot)
+      {
+         int entry = Short.BYTES * (2 + slot);
+         if (entry >= vtableSize)
+            return -1;
+         int offset = Short.toUnsignedInt(buffer.getShort(vtablePosition + entry));
+         return offset == 0 ? -1 : position + offset;
+      }
+
+      private int dereference(int position)
+      {
+         return position + buffer.getInt(position);
+      }
+
+      boolean getBoolean(int slot, boolean defaultValue)
+      {
+         int fieldPosition = getFieldPosition(slot);
+         return fieldPosition == -1 ? defaultValue : buffer.get(fieldPosition) != 0;
+      }
+
+      byte getByte(int slot, byte defaultValue)
+      {
+         int fieldPosition = getFieldPosition(slot);
+         return fieldPosition == -1 ? defaultValue : buffer.get(fieldPosition);
+      }
+
+      short getShort(int slot, short defaultValue)
+      {
+         int fieldPosition = getFieldPosition(slot);
+         return fieldPosition == -1 ? defaultValue : buffer.getShort(fieldPosition);
+      }
+
+      int getInt(int slot, int defaultValue)
+      {
+         int fieldPosition = getFieldPosition(slot);
+         return fieldPosition == -1 ? defaultValue : buffer.getInt(fieldPosition);
+      }
+
+      long getLong(int slot, long defaultValue)
+      {
+         int fieldPosition = getFieldPosition(slot);
+         return fieldPosition == -1 ? defaultValue : buffer.getLong(fieldPosition);
+      }
+
+      String getString(int slot)
+      {
+         int fieldPosition = getFieldPosition(slot);
+         if (fieldPosition == -1)
+            return null;
+         int stringPosition = dereference(fieldPosition);
+         byte[] bytes = new byte[buffer.getInt(stringPosition)];
+         buffer.get(stringPosition + Integer.BYTES, bytes);
+         return new String(bytes, StandardCharsets.UTF_8);
+      }
+
+      FlatTableView getTable(int slot)
+      {
+         int fieldPosition = getFieldPosition(slot);
+         return fieldPosition == -1 ? null : new FlatTableView(buffer, dereference(fieldPosition));
+      }
+
+      int getVectorLength(int slot)
+      {
+         int fieldPosition = getFieldPosition(slot);
+         return fieldPosition == -1 ? 0 : buffer.getInt(dereference(fieldPosition));
+      }
+
+      private int getVectorElementPosition(int slot, int index, int elementSize)
+      {
+         return dereference(getFieldPosition(slot)) + Integer.BYTES + index * elementSize;
+      }
+
+      FlatTableView getTable(int slot, int index)
+      {
+         return new FlatTableView(buffer, dereference(getVectorElementPosition(slot, index, Integer.BYTES)));
+      }
+
+      int getStructInt(int slot, int index, int structSize, int fieldOffset)
+      {
+         return buffer.getInt(getVectorElementPosition(slot, index, structSize) + fieldOffset);
+      }
+
+      long getStructLong(int slot, int index, int structSize, int fieldOffset)
+      {
+         return buffer.getLong(getVectorElementPosition(slot, index, structSize) + fieldOffset);
+      }
+   }
+}
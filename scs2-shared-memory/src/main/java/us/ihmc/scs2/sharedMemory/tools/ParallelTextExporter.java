@@ -0,0 +1,385 @@
+package us.ihmc.scs2.sharedMemory.tools;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntFunction;
+
+import us.ihmc.scs2.sharedMemory.YoBooleanBuffer;
+import us.ihmc.scs2.sharedMemory.YoDoubleBuffer;
+import us.ihmc.scs2.sharedMemory.YoEnumBuffer;
+import us.ihmc.scs2.sharedMemory.YoIntegerBuffer;
+import us.ihmc.scs2.sharedMemory.YoLongBuffer;
+import us.ihmc.scs2.sharedMemory.YoVariableBuffer;
+import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
+import us.ihmc.yoVariables.variable.YoEnum;
+
+/**
+ * Exports the active part of a buffer as text, formatting blocks of the buffer in parallel and
+ * writing them in order to a file.
+ * <p>
+ * The blocks are formatted directly into byte arrays which are recycled once written. The calling
+ * thread writes the formatted blocks in order while the next blocks are being formatted, the number
+ * of blocks in flight being bounded to limit the memory used. The output is identical to the one of
+ * {@link SharedMemoryIOTools#exportDataCSV(us.ihmc.scs2.sharedMemory.YoSharedBuffer, java.io.OutputStream)}
+ * and
+ * {@link SharedMemoryIOTools#exportDataASCII(us.ihmc.scs2.sharedMemory.YoSharedBuffer, java.io.OutputStream)}.
+ * </p>
+ */
+class ParallelTextExporter
+{
+   /** Approximate number of values formatted in a single block. */
+   private static final int VALUES_PER_BLOCK = 1 << 16;
+   private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+   private final YoVariableBuffer<?>[] yoVariableBuffers;
+   private final YoBufferPropertiesReadOnly properties;
+   private final ExecutorService executor;
+   private final DoubleConsumer progressCallback;
+   private final int maxBlocksInFlight;
+   private final Queue<TextBlock> blockPool = new ConcurrentLinkedQueue<>();
+
+   /**
+    * Creates a new exporter.
+    *
+    * @param yoVariableBuffers the buffers to export.
+    * @param properties        the properties of the buffer.
+    * @param executor          the executor used to format the blocks, or {@code null} to use the
+    *                          common pool.
+    * @param progressCallback  the callback notified with the fraction, in [0, 1], of the data written
+    *                          so far, can be {@code null}.
+    */
+   ParallelTextExporter(YoVariableBuffer<?>[] yoVariableBuffers,
+                        YoBufferPropertiesReadOnly properties,
+                        ExecutorService executor,
+                        DoubleConsumer progressCallback)
+   {
+      this.yoVariableBuffers = yoVariableBuffers;
+      this.properties = properties;
+      this.executor = executor != null ? executor : ForkJoinPool.commonPool();
+      this.progressCallback = progressCallback;
+
+      int parallelism = this.executor instanceof ForkJoinPool forkJoinPool ? forkJoinPool.getParallelism() : Runtime.getRuntime().availableProcessors();
+      maxBlocksInFlight = 2 * Math.max(1, parallelism);
+   }
+
+   /**
+    * Exports the buffer with one column per variable and one row per buffer index.
+    */
+   void exportCSV(Path file) throws IOException
+   {
+      ValueFormatter[] formatters = Arrays.stream(yoVariableBuffers).map(buffer -> newValueFormatter(buffer, true)).toArray(ValueFormatter[]::new);
+
+      TextBlock header = new TextBlock();
+      for (int i = 0; i < yoVariableBuffers.length; i++)
+      {
+         if (i > 0)
+            header.appendSeparator();
+         header.appendString(yoVariableBuffers[i].getYoVariable().getFullNameString());
+      }
+      header.append(LINE_SEPARATOR);
+
+      int numberOfRows = properties.getActiveBufferLength();
+      int rowsPerBlock = Math.max(1, VALUES_PER_BLOCK / Math.max(1, yoVariableBuffers.length));
+      int numberOfBlocks = (numberOfRows + rowsPerBlock - 1) / rowsPerBlock;
+
+      export(file, header, numberOfBlocks, blockIndex ->
+      {
+         TextBlock block = nextBlock();
+         int firstRow = blockIndex * rowsPerBlock;
+         int lastRow = Math.min(firstRow + rowsPerBlock, numberOfRows);
+         int position = SharedMemoryTools.increment(properties.getInPoint(), firstRow, properties.getSize());
+
+         for (int row = firstRow; row < lastRow; row++)
+         {
+            for (int i = 0; i < formatters.length; i++)
+            {
+               if (i > 0)
+                  block.appendSeparator();
+               formatters[i].format(position, block);
+            }
+            block.append(LINE_SEPARATOR);
+            position = SharedMemoryTools.increment(position, 1, properties.getSize());
+         }
+
+         return block;
+      });
+   }
+
+   /**
+    * Exports the buffer with one line per variable.
+    */
+   void exportASCII(Path file) throws IOException
+   {
+      int numberOfValues = properties.getActiveBufferLength();
+      int variablesPerBlock = Math.max(1, VALUES_PER_BLOCK / Math.max(1, numberOfValues));
+      int numberOfBlocks = (yoVariableBuffers.length + variablesPerBlock - 1) / variablesPerBlock;
+
+      export(file, null, numberOfBlocks, blockIndex ->
+      {
+         TextBlock block = nextBlock();
+         int firstVariable = blockIndex * variablesPerBlock;
+         int lastVariable = Math.min(firstVariable + variablesPerBlock, yoVariableBuffers.length);
+
+         for (int i = firstVariable; i < lastVariable; i++)
+         {
+            ValueFormatter formatter = newValueFormatter(yoVariableBuffers[i], false);
+            block.appendString(yoVariableBuffers[i].getYoVariable().getFullNameString());
+            block.appendAscii(": [");
+            int position = properties.getInPoint();
+
+            for (int j = 0; j < numberOfValues; j++)
+            {
+               if (j > 0)
+                  block.appendSeparator();
+               formatter.format(position, block);
+               position = SharedMemoryTools.increment(position, 1, properties.getSize());
+            }
+
+            block.append((byte) ']');
+            block.append(LINE_SEPARATOR);
+         }
+
+         return block;
+      });
+   }
+
+   private TextBlock nextBlock()
+   {
+      TextBlock block = blockPool.poll();
+      if (block == null)
+         return new TextBlock();
+      block.clear();
+      return block;
+   }
+
+   private void export(Path file, TextBlock header, int numberOfBlocks, IntFunction<TextBlock> blockFormatter) throws IOException
+   {
+      Deque<Future<TextBlock>> pendingBlocks = new ArrayDeque<>();
+
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+      {
+         if (header != null)
+            header.writeTo(channel);
+
+         int nextBlockIndex = 0;
+
+         for (int blockIndex = 0; blockIndex < numberOfBlocks; blockIndex++)
+         {
+            while (nextBlockIndex < numberOfBlocks && pendingBlocks.size() < maxBlocksInFlight)
+            {
+               int index = nextBlockIndex++;
+               pendingBlocks.add(executor.submit(() -> blockFormatter.apply(index)));
+            }
+
+            TextBlock block = waitForResult(pendingBlocks.poll());
+            block.writeTo(channel);
+            blockPool.add(block);
+
+            if (progressCallback != null)
+               progressCallback.accept((blockIndex + 1.0) / numberOfBlocks);
+         }
+      }
+      finally
+      {
+         // Only non-empty when the export failed.
+         pendingBlocks.forEach(future -> future.cancel(true));
+      }
+   }
+
+   /**
+    * Waits for the given task, unwrapping the exception it threw if any.
+    */
+   static <T> T waitForResult(Future<T> future) throws IOException
+   {
+      try
+      {
+         return future.get();
+      }
+      catch (InterruptedException e)
+      {
+         Thread.currentThread().interrupt();
+         throw new InterruptedIOException("Interrupted while processing the data.");
+      }
+      catch (CancellationException e)
+      {
+         throw new InterruptedIOException("The task was cancelled.");
+      }
+      catch (ExecutionException e)
+      {
+         if (e.getCause() instanceof IOException ioException)
+            throw ioException;
+         if (e.getCause() instanceof UncheckedIOException ioException)
+            throw ioException.getCause();
+         if (e.getCause() instanceof RuntimeException runtimeException)
+            throw runtimeException;
+         throw new RuntimeException(e.getCause());
+      }
+   }
+
+   private static ValueFormatter newValueFormatter(YoVariableBuffer<?> yoVariableBuffer, boolean enumAsName)
+   {
+      if (yoVariableBuffer instanceof YoBooleanBuffer booleanBuffer)
+      {
+         return (position, block) -> block.appendAscii(booleanBuffer.getValueAt(position) ? "true" : "false");
+      }
+      if (yoVariableBuffer instanceof YoDoubleBuffer doubleBuffer)
+      {
+         return (position, block) -> block.appendDouble(doubleBuffer.getValueAt(position));
+      }
+      if (yoVariableBuffer instanceof YoIntegerBuffer intBuffer)
+      {
+         return (position, block) -> block.appendLong(intBuffer.getValueAt(position));
+      }
+      if (yoVariableBuffer instanceof YoLongBuffer longBuffer)
+      {
+         return (position, block) -> block.appendLong(longBuffer.getValueAt(position));
+      }
+      if (yoVariableBuffer instanceof YoEnumBuffer<?> enumBuffer)
+      {
+         if (!enumAsName)
+            return (position, block) -> block.appendLong(enumBuffer.getOrdinalAt(position));
+
+         String[] enumConstants = ((YoEnum<?>) yoVariableBuffer.getYoVariable()).getEnumValuesAsString();
+         return (position, block) ->
+         {
+            byte ordinal = enumBuffer.getOrdinalAt(position);
+            block.appendString(ordinal == YoEnum.NULL_VALUE ? YoEnum.NULL_VALUE_STRING : enumConstants[ordinal]);
+         };
+      }
+
+      throw new IllegalArgumentException("Unhandled buffer type: " + yoVariableBuffer);
+   }
+
+   private interface ValueFormatter
+   {
+      void format(int position, TextBlock block);
+   }
+
+   /**
+    * Growable array of bytes into which the values are formatted.
+    */
+   static class TextBlock
+   {
+      private static final int INITIAL_CAPACITY = 1 << 16;
+      /** Largest magnitude below which {@link Double#toString(double)} does not use the scientific notation. */
+      private static final double MAX_PLAIN_DOUBLE = 1.0e7;
+
+      private byte[] bytes = new byte[INITIAL_CAPACITY];
+      private int length = 0;
+      private final byte[] digits = new byte[20];
+
+      void clear()
+      {
+         length = 0;
+      }
+
+      private void ensureCapacity(int additionalLength)
+      {
+         if (length + additionalLength > bytes.length)
+            bytes = Arrays.copyOf(bytes, Math.max(2 * bytes.length, length + additionalLength));
+      }
+
+      void append(byte value)
+      {
+         ensureCapacity(1);
+         bytes[length++] = value;
+      }
+
+      void append(byte[] values)
+      {
+         ensureCapacity(values.length);
+         System.arraycopy(values, 0, bytes, length, values.length);
+         length += values.length;
+      }
+
+      void appendSeparator()
+      {
+         ensureCapacity(2);
+         bytes[length++] = ',';
+         bytes[length++] = ' ';
+      }
+
+      /** Appends a string known to only contain ASCII characters, e.g. a formatted number. */
+      void appendAscii(String value)
+      {
+         ensureCapacity(value.length());
+         for (int i = 0; i < value.length(); i++)
+            bytes[length++] = (byte) value.charAt(i);
+      }
+
+      void appendString(String value)
+      {
+         append(value.getBytes(StandardCharsets.UTF_8));
+      }
+
+      void appendLong(long value)
+      {
+         if (value == Long.MIN_VALUE)
+         {
+            appendAscii(Long.toString(value));
+            return;
+         }
+
+         ensureCapacity(digits.length);
+
+         if (value < 0)
+         {
+            bytes[length++] = '-';
+            value = -value;
+         }
+
+         int numberOfDigits = 0;
+         do
+         {
+            digits[numberOfDigits++] = (byte) ('0' + value % 10);
+            value /= 10;
+         }
+         while (value != 0);
+
+         while (numberOfDigits > 0)
+            bytes[length++] = digits[--numberOfDigits];
+      }
+
+      /**
+       * Appends the value formatted as {@link Double#toString(double)}, the whole numbers, which are
+       * common in the buffer, being formatted without going through a string.
+       */
+      void appendDouble(double value)
+      {
+         // -0.0 is formatted with its sign.
+         if (Math.abs(value) < MAX_PLAIN_DOUBLE && value == (long) value && (value != 0.0 || Double.doubleToRawLongBits(value) == 0L))
+         {
+            appendLong((long) value);
+            appendAscii(".0");
+         }
+         else
+         {
+            appendAscii(Double.toString(value));
+         }
+      }
+
+      void writeTo(FileChannel channel) throws IOException
+      {
+         ByteBuffer source = ByteBuffer.wrap(bytes, 0, length);
+         while (source.hasRemaining())
+            channel.write(source);
+      }
+   }
+}
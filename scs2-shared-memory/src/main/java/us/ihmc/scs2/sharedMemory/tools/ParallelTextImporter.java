@@ -0,0 +1,579 @@
+package us.ihmc.scs2.sharedMemory.tools;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.DoubleConsumer;
+
+import us.ihmc.scs2.sharedMemory.YoBooleanBuffer;
+import us.ihmc.scs2.sharedMemory.YoDoubleBuffer;
+import us.ihmc.scs2.sharedMemory.YoEnumBuffer;
+import us.ihmc.scs2.sharedMemory.YoIntegerBuffer;
+import us.ihmc.scs2.sharedMemory.YoLongBuffer;
+import us.ihmc.scs2.sharedMemory.YoSharedBuffer;
+import us.ihmc.scs2.sharedMemory.YoVariableBuffer;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoEnum;
+import us.ihmc.yoVariables.variable.YoVariable;
+
+/**
+ * Imports text data as written by {@link ParallelTextExporter}, splitting the file into line-aligned
+ * chunks which are parsed in parallel.
+ * <p>
+ * The chunks are read and parsed into temporary columns on the executor while the calling thread
+ * copies the parsed chunks, in order, into the buffer. The number of chunks in flight is bounded
+ * such that the memory used on top of the buffer remains limited. The buffer is resized upfront: for
+ * CSV files from a first pass counting the lines, for ASCII files from the first variable parsed.
+ * </p>
+ */
+class ParallelTextImporter
+{
+   /** Approximate size in bytes of the chunks of text parsed in a single task. */
+   private static final int CHUNK_SIZE = 1 << 22;
+   /** Size in bytes of the blocks read when looking for the end of a line. */
+   private static final int SCAN_SIZE = 1 << 12;
+   /** Largest number of digits that can be parsed into a {@code long} without overflowing. */
+   private static final int MAX_LONG_DIGITS = 18;
+   /** Mantissas below this bound are represented exactly as doubles. */
+   private static final long MAX_EXACT_MANTISSA = 1L << 53;
+   /** Powers of ten that are represented exactly as doubles. */
+   private static final double[] EXACT_POWERS_OF_TEN = new double[23];
+
+   static
+   {
+      EXACT_POWERS_OF_TEN[0] = 1.0;
+      for (int i = 1; i < EXACT_POWERS_OF_TEN.length; i++)
+         EXACT_POWERS_OF_TEN[i] = 10.0 * EXACT_POWERS_OF_TEN[i - 1];
+   }
+
+   private final YoSharedBuffer buffer;
+   private final ExecutorService executor;
+   private final DoubleConsumer progressCallback;
+   private final int maxChunksInFlight;
+
+   /**
+    * Creates a new importer.
+    *
+    * @param buffer           the buffer to load the data into.
+    * @param executor         the executor used to parse the chunks, or {@code null} to use the common
+    *                         pool.
+    * @param progressCallback the callback notified with the fraction, in [0, 1], of the file loaded so
+    *                         far, can be {@code null}.
+    */
+   ParallelTextImporter(YoSharedBuffer buffer, ExecutorService executor, DoubleConsumer progressCallback)
+   {
+      this.buffer = buffer;
+      this.executor = executor != null ? executor : ForkJoinPool.commonPool();
+      this.progressCallback = progressCallback;
+
+      int parallelism = this.executor instanceof ForkJoinPool forkJoinPool ? forkJoinPool.getParallelism() : Runtime.getRuntime().availableProcessors();
+      maxChunksInFlight = 2 * Math.max(1, parallelism);
+   }
+
+   /**
+    * Imports a file with a header line listing the variables followed by one row per buffer index.
+    */
+   void importCSV(Path file) throws IOException
+   {
+      YoRegistry root = buffer.getRootRegistry();
+
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+      {
+         long fileSize = channel.size();
+         long headerEnd = nextLineStart(channel, 0, fileSize);
+         String header = new String(readChunk(channel, 0, headerEnd), StandardCharsets.UTF_8).strip();
+         String[] variableNames = header.split(", ");
+         YoVariableBuffer<?>[] yoVariableBuffers = new YoVariableBuffer<?>[variableNames.length];
+         ValueParser[] parsers = new ValueParser[variableNames.length];
+         ValueWriter[] writers = new ValueWriter[variableNames.length];
+
+         for (int i = 0; i < variableNames.length; i++)
+         {
+            YoVariable yoVariable = root.findVariable(variableNames[i]);
+            if (yoVariable == null)
+               throw new IllegalArgumentException("Could not find the variable " + variableNames[i] + " in " + root);
+            yoVariableBuffers[i] = buffer.getRegistryBuffer().findYoVariableBuffer(yoVariable);
+            parsers[i] = newValueParser(yoVariableBuffers[i], true);
+            writers[i] = newValueWriter(yoVariableBuffers[i]);
+         }
+
+         // Upper bound as empty lines are skipped.
+         int maxNumberOfRows = countLines(channel, headerEnd, fileSize);
+         SharedMemoryIOTools.setActiveBuffer(buffer, Math.max(1, maxNumberOfRows));
+         int[] numberOfRows = {0};
+
+         importChunks(channel, headerEnd, fileSize, text -> parseRows(text, parsers), rows ->
+         {
+            if (numberOfRows[0] + rows.numberOfRows() > buffer.getProperties().getSize())
+               buffer.resizeBuffer(numberOfRows[0] + rows.numberOfRows());
+
+            for (int i = 0; i < writers.length; i++)
+            {
+               long[] values = rows.values()[i];
+               for (int j = 0; j < rows.numberOfRows(); j++)
+                  writers[i].write(numberOfRows[0] + j, values[j]);
+            }
+
+            numberOfRows[0] += rows.numberOfRows();
+         });
+
+         buffer.setInPoint(0);
+         buffer.setOutPoint(numberOfRows[0] - 1);
+      }
+   }
+
+   /**
+    * Imports a file with one line per variable formatted as: {@code name: [value0, value1, ...]}.
+    */
+   void importASCII(Path file) throws IOException
+   {
+      YoRegistry root = buffer.getRootRegistry();
+
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+      {
+         int[] numberOfValues = {-1};
+
+         importChunks(channel, 0, channel.size(), text -> parseVariables(text, root), variables ->
+         {
+            for (ParsedVariable variable : variables)
+            {
+               // All the variables are expected to have the same number of values.
+               if (variable.numberOfValues() > numberOfValues[0])
+               {
+                  numberOfValues[0] = variable.numberOfValues();
+                  SharedMemoryIOTools.setActiveBuffer(buffer, numberOfValues[0]);
+               }
+
+               ValueWriter writer = newValueWriter(variable.yoVariableBuffer());
+               for (int i = 0; i < variable.numberOfValues(); i++)
+                  writer.write(i, variable.values()[i]);
+            }
+         });
+      }
+   }
+
+   private <T> void importChunks(FileChannel channel, long start, long end, ChunkParser<T> parser, ChunkConsumer<T> consumer) throws IOException
+   {
+      Deque<Future<T>> pendingChunks = new ArrayDeque<>();
+      Deque<Long> pendingChunkEnds = new ArrayDeque<>();
+
+      try
+      {
+         long nextChunkStart = start;
+
+         while (nextChunkStart < end || !pendingChunks.isEmpty())
+         {
+            while (nextChunkStart < end && pendingChunks.size() < maxChunksInFlight)
+            {
+               long chunkStart = nextChunkStart;
+               long chunkEnd = chunkStart + CHUNK_SIZE >= end ? end : nextLineStart(channel, chunkStart + CHUNK_SIZE - 1, end);
+               pendingChunks.add(executor.submit(() -> parser.parse(readChunk(channel, chunkStart, chunkEnd))));
+               pendingChunkEnds.add(chunkEnd);
+               nextChunkStart = chunkEnd;
+            }
+
+            consumer.accept(ParallelTextExporter.waitForResult(pendingChunks.poll()));
+            long chunkEnd = pendingChunkEnds.poll();
+
+            if (progressCallback != null)
+               progressCallback.accept((double) (chunkEnd - start) / (end - start));
+         }
+      }
+      finally
+      {
+         // Only non-empty when the import failed.
+         pendingChunks.forEach(future -> future.cancel(true));
+      }
+   }
+
+   private int countLines(FileChannel channel, long start, long end) throws IOException
+   {
+      List<Future<Integer>> counts = new ArrayList<>();
+
+      for (long chunkStart = start; chunkStart < end; chunkStart += CHUNK_SIZE)
+      {
+         long from = chunkStart;
+         long to = Math.min(end, chunkStart + CHUNK_SIZE);
+         counts.add(executor.submit(() -> countLines(readChunk(channel, from, to))));
+      }
+
+      long numberOfLines = 0;
+      for (Future<Integer> count : counts)
+         numberOfLines += ParallelTextExporter.waitForResult(count);
+
+      // The last line may not be terminated.
+      if (end > start && readChunk(channel, end - 1, end)[0] != '\n')
+         numberOfLines++;
+
+      if (numberOfLines > Integer.MAX_VALUE)
+         throw new IllegalArgumentException("Too many rows: " + numberOfLines);
+      return (int) numberOfLines;
+   }
+
+   private static int countLines(byte[] text)
+   {
+      int numberOfLines = 0;
+      for (byte character : text)
+      {
+         if (character == '\n')
+            numberOfLines++;
+      }
+      return numberOfLines;
+   }
+
+   /**
+    * Returns the position following the first line feed at or after {@code position}, or {@code end}
+    * if there is none.
+    */
+   private static long nextLineStart(FileChannel channel, long position, long end) throws IOException
+   {
+      ByteBuffer scan = ByteBuffer.allocate(SCAN_SIZE);
+
+      while (position < end)
+      {
+         scan.clear().limit((int) Math.min(SCAN_SIZE, end - position));
+         SharedMemoryIOTools.readFully(channel, scan, position);
+
+         for (int i = 0; i < scan.limit(); i++)
+         {
+            if (scan.get(i) == '\n')
+               return position + i + 1;
+         }
+
+         position += scan.limit();
+      }
+
+      return end;
+   }
+
+   private static byte[] readChunk(FileChannel channel, long start, long end) throws IOException
+   {
+      if (end - start > Integer.MAX_VALUE)
+         throw new IllegalArgumentException("Line too long at position: " + start);
+
+      byte[] text = new byte[(int) (end - start)];
+      SharedMemoryIOTools.readFully(channel, ByteBuffer.wrap(text), start);
+      return text;
+   }
+
+   private static ParsedRows parseRows(byte[] text, ValueParser[] parsers)
+   {
+      int maxNumberOfRows = countLines(text) + 1;
+      long[][] values = new long[parsers.length][maxNumberOfRows];
+      int numberOfRows = 0;
+      int lineStart = 0;
+
+      while (lineStart < text.length)
+      {
+         int lineEnd = indexOf(text, (byte) '\n', lineStart, text.length);
+         int end = trimEnd(text, lineStart, lineEnd);
+
+         if (end > lineStart)
+         {
+            int valueStart = lineStart;
+
+            for (int i = 0; i < parsers.length; i++)
+            {
+               if (valueStart > end)
+                  throw new IllegalArgumentException("Expected " + parsers.length + " values, found " + i + " in: " + newString(text, lineStart, end));
+               int valueEnd = indexOf(text, (byte) ',', valueStart, end);
+               values[i][numberOfRows] = parsers[i].parse(text, trimStart(text, valueStart, valueEnd), trimEnd(text, valueStart, valueEnd));
+               valueStart = valueEnd + 1;
+            }
+
+            numberOfRows++;
+         }
+
+         lineStart = lineEnd + 1;
+      }
+
+      return new ParsedRows(values, numberOfRows);
+   }
+
+   private List<ParsedVariable> parseVariables(byte[] text, YoRegistry root)
+   {
+      List<ParsedVariable> variables = new ArrayList<>();
+      int lineStart = 0;
+
+      while (lineStart < text.length)
+      {
+         int lineEnd = indexOf(text, (byte) '\n', lineStart, text.length);
+         int end = trimEnd(text, lineStart, lineEnd);
+
+         if (end > lineStart)
+         {
+            int separatorIndex = indexOf(text, (byte) ':', lineStart, end);
+            String variableName = newString(text, lineStart, separatorIndex).strip();
+            YoVariable yoVariable = root.findVariable(variableName);
+            if (yoVariable == null)
+               throw new IllegalArgumentException("Could not find the variable " + variableName + " in " + root);
+            YoVariableBuffer<?> yoVariableBuffer = buffer.getRegistryBuffer().findYoVariableBuffer(yoVariable);
+            ValueParser parser = newValueParser(yoVariableBuffer, false);
+
+            int valuesStart = indexOf(text, (byte) '[', separatorIndex, end) + 1;
+            int valuesEnd = lastIndexOf(text, (byte) ']', valuesStart, end);
+            long[] values = new long[countValues(text, valuesStart, valuesEnd)];
+            int valueStart = valuesStart;
+
+            for (int i = 0; i < values.length; i++)
+            {
+               int valueEnd = indexOf(text, (byte) ',', valueStart, valuesEnd);
+               values[i] = parser.parse(text, trimStart(text, valueStart, valueEnd), trimEnd(text, valueStart, valueEnd));
+               valueStart = valueEnd + 1;
+            }
+
+            variables.add(new ParsedVariable(yoVariableBuffer, values, values.length));
+         }
+
+         lineStart = lineEnd + 1;
+      }
+
+      return variables;
+   }
+
+   private static int countValues(byte[] text, int start, int end)
+   {
+      if (trimStart(text, start, end) == end)
+         return 0;
+
+      int numberOfValues = 1;
+      for (int i = start; i < end; i++)
+      {
+         if (text[i] == ',')
+            numberOfValues++;
+      }
+      return numberOfValues;
+   }
+
+   private static int indexOf(byte[] text, byte character, int start, int end)
+   {
+      for (int i = start; i < end; i++)
+      {
+         if (text[i] == character)
+            return i;
+      }
+      return end;
+   }
+
+   private static int lastIndexOf(byte[] text, byte character, int start, int end)
+   {
+      for (int i = end - 1; i >= start; i--)
+      {
+         if (text[i] == character)
+            return i;
+      }
+      return end;
+   }
+
+   private static int trimStart(byte[] text, int start, int end)
+   {
+      while (start < end && isWhitespace(text[start]))
+         start++;
+      return start;
+   }
+
+   private static int trimEnd(byte[] text, int start, int end)
+   {
+      while (end > start && isWhitespace(text[end - 1]))
+         end--;
+      return end;
+   }
+
+   private static boolean isWhitespace(byte character)
+   {
+      return character == ' ' || character == '\t' || character == '\r' || character == '\n';
+   }
+
+   private static String newString(byte[] text, int start, int end)
+   {
+      return new String(text, start, end - start, StandardCharsets.UTF_8);
+   }
+
+   private static ValueParser newValueParser(YoVariableBuffer<?> yoVariableBuffer, boolean enumAsName)
+   {
+      if (yoVariableBuffer instanceof YoBooleanBuffer)
+      {
+         return (text, start, end) -> parseBoolean(text, start, end) ? 1L : 0L;
+      }
+      if (yoVariableBuffer instanceof YoDoubleBuffer)
+      {
+         return (text, start, end) -> Double.doubleToRawLongBits(parseDouble(text, start, end));
+      }
+      if (yoVariableBuffer instanceof YoIntegerBuffer)
+      {
+         return (text, start, end) ->
+         {
+            long value = parseLong(text, start, end);
+            return value == (int) value ? value : Integer.parseInt(newString(text, start, end));
+         };
+      }
+      if (yoVariableBuffer instanceof YoLongBuffer)
+      {
+         return ParallelTextImporter::parseLong;
+      }
+      if (yoVariableBuffer instanceof YoEnumBuffer<?>)
+      {
+         if (!enumAsName)
+         {
+            return (text, start, end) ->
+            {
+               long value = parseLong(text, start, end);
+               return value == (byte) value ? value : Byte.parseByte(newString(text, start, end));
+            };
+         }
+
+         String[] enumConstants = ((YoEnum<?>) yoVariableBuffer.getYoVariable()).getEnumValuesAsString();
+         Map<String, Long> ordinals = new HashMap<>();
+         for (int i = 0; i < enumConstants.length; i++)
+            ordinals.put(enumConstants[i], (long) i);
+         // Unknown constants are loaded as null, as done when importing from a stream.
+         return (text, start, end) -> ordinals.getOrDefault(newString(text, start, end), (long) YoEnum.NULL_VALUE);
+      }
+
+      throw new IllegalArgumentException("Unhandled buffer type: " + yoVariableBuffer);
+   }
+
+   private static ValueWriter newValueWriter(YoVariableBuffer<?> yoVariableBuffer)
+   {
+      if (yoVariableBuffer instanceof YoBooleanBuffer booleanBuffer)
+         return (index, value) -> booleanBuffer.setValueAt(index, value != 0L);
+      if (yoVariableBuffer instanceof YoDoubleBuffer doubleBuffer)
+         return (index, value) -> doubleBuffer.setValueAt(index, Double.longBitsToDouble(value));
+      if (yoVariableBuffer instanceof YoIntegerBuffer intBuffer)
+         return (index, value) -> intBuffer.setValueAt(index, (int) value);
+      if (yoVariableBuffer instanceof YoLongBuffer longBuffer)
+         return longBuffer::setValueAt;
+      if (yoVariableBuffer instanceof YoEnumBuffer<?> enumBuffer)
+         return (index, value) -> enumBuffer.setOrdinalAt(index, (byte) value);
+
+      throw new IllegalArgumentException("Unhandled buffer type: " + yoVariableBuffer);
+   }
+
+   /**
+    * Parses the value as {@link Boolean#parseBoolean(String)}.
+    */
+   static boolean parseBoolean(byte[] text, int start, int end)
+   {
+      // Setting the 6th bit converts ASCII letters to lower case.
+      return end - start == 4 && (text[start] | 0x20) == 't' && (text[start + 1] | 0x20) == 'r' && (text[start + 2] | 0x20) == 'u'
+            && (text[start + 3] | 0x20) == 'e';
+   }
+
+   /**
+    * Parses the value as {@link Double#parseDouble(String)}.
+    * <p>
+    * Plain decimal numbers with few significant digits, which make most of the exported values, are
+    * parsed without going through a string: when both the mantissa and the power of ten are exact
+    * doubles, their quotient is correctly rounded.
+    * </p>
+    */
+   static double parseDouble(byte[] text, int start, int end)
+   {
+      int position = start;
+      boolean isNegative = position < end && text[position] == '-';
+      if (isNegative)
+         position++;
+
+      long mantissa = 0L;
+      int numberOfDigits = 0;
+      int numberOfFractionDigits = -1;
+
+      for (; position < end; position++)
+      {
+         byte character = text[position];
+
+         if (character >= '0' && character <= '9')
+         {
+            mantissa = 10L * mantissa + (character - '0');
+            if (mantissa >= MAX_EXACT_MANTISSA)
+               return Double.parseDouble(newString(text, start, end));
+            numberOfDigits++;
+            if (numberOfFractionDigits >= 0)
+               numberOfFractionDigits++;
+         }
+         else if (character == '.' && numberOfFractionDigits < 0)
+         {
+            numberOfFractionDigits = 0;
+         }
+         else
+         { // Exponent, NaN, infinity, or invalid.
+            return Double.parseDouble(newString(text, start, end));
+         }
+      }
+
+      if (numberOfDigits == 0 || numberOfFractionDigits >= EXACT_POWERS_OF_TEN.length)
+         return Double.parseDouble(newString(text, start, end));
+
+      double value = numberOfFractionDigits > 0 ? mantissa / EXACT_POWERS_OF_TEN[numberOfFractionDigits] : mantissa;
+      return isNegative ? -value : value;
+   }
+
+   /**
+    * Parses the value as {@link Long#parseLong(String)}.
+    */
+   static long parseLong(byte[] text, int start, int end)
+   {
+      int position = start;
+      boolean isNegative = position < end && text[position] == '-';
+      if (isNegative)
+         position++;
+
+      if (position == end || end - position > MAX_LONG_DIGITS)
+         return Long.parseLong(newString(text, start, end));
+
+      long value = 0L;
+
+      for (; position < end; position++)
+      {
+         byte character = text[position];
+         if (character < '0' || character > '9')
+            return Long.parseLong(newString(text, start, end));
+         value = 10L * value + (character - '0');
+      }
+
+      return isNegative ? -value : value;
+   }
+
+   private interface ChunkParser<T>
+   {
+      T parse(byte[] text) throws IOException;
+   }
+
+   private interface ChunkConsumer<T>
+   {
+      void accept(T chunk) throws IOException;
+   }
+
+   private interface ValueParser
+   {
+      /** Parses the value in {@code text} from {@code start} inclusive to {@code end} exclusive as long bits. */
+      long parse(byte[] text, int start, int end);
+   }
+
+   private interface ValueWriter
+   {
+      void write(int index, long value);
+   }
+
+   /** Values parsed from a chunk of a CSV file, one array per column. */
+   private record ParsedRows(long[][] values, int numberOfRows)
+   {
+   }
+
+   /** Values parsed from a line of an ASCII file. */
+   private record ParsedVariable(YoVariableBuffer<?> yoVariableBuffer, long[] values, int numberOfValues)
+   {
+   }
+}
@@ -11,6 +11,8 @@ import us.hebi.matlab.mat.types.Struct;
 import us.ihmc.scs2.definition.yoVariable.*;
 import us.ihmc.scs2.sharedMemory.*;
 import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
+import us.ihmc.scs2.sharedMemory.storage.BufferColumn;
+import us.ihmc.scs2.sharedMemory.storage.ImportedBufferColumn;
 import us.ihmc.yoVariables.registry.YoNamespace;
 import us.ihmc.yoVariables.registry.YoRegistry;
 import us.ihmc.yoVariables.tools.YoSearchTools;
@@ -21,21 +23,45 @@ import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Marshaller;
 import jakarta.xml.bind.Unmarshaller;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.function.DoubleConsumer;
 import java.util.function.IntConsumer;
 import java.util.function.ObjIntConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 public class SharedMemoryIOTools
 {
    public static final int MATLAB_VARNAME_MAX_LENGTH = 63;
    public static final int MATLAB_VARNAME_OVERFLOW_SUFFIX_CHARS = 3;
+   /** Magic number at the beginning of the binary data files, "SCSB" in ASCII. */
+   public static final int BINARY_MAGIC = 0x53435342;
+   /** Version of the binary data format. */
+   public static final int BINARY_VERSION = 1;
+   public static final int BINARY_COMPRESSION_NONE = 0;
+   public static final int BINARY_COMPRESSION_DEFLATE = 1;
+   private static final int BINARY_HEADER_SIZE = 32;
+   private static final int BINARY_ALIGNMENT = 8;
+   /** Number of values written at once when exporting a column. */
+   private static final int BINARY_CHUNK_SIZE = 1 << 16;
+   /** Maximum size of a single mapping when importing, several columns are mapped together. */
+   private static final long BINARY_MAX_MAPPING_SIZE = 1L << 30;
 
    public enum DataFormat
    {
-      ASCII(".scs2.ascii"), CSV(".scs2.csv"), MATLAB(".scs2.mat");
+      ASCII(".scs2.ascii"), CSV(".scs2.csv"), MATLAB(".scs2.mat"), BINARY(".scs2.bin"), ARROW(".scs2.arrow");
 
       private final String fileExtension;
 
@@ -334,36 +360,30 @@ public class SharedMemoryIOTools
 
       IntConsumer[] bufferValueWriters = Stream.of(yoVariableBuffersToExport).map(yoVariableBuffer ->
                                                                                   {
-                                                                                     Object internalBuffer = yoVariableBuffer.getBuffer();
-
-                                                                                     if (yoVariableBuffer instanceof YoBooleanBuffer)
+                                                                                     if (yoVariableBuffer instanceof YoBooleanBuffer booleanBuffer)
                                                                                      {
-                                                                                        boolean[] booleanBuffer = (boolean[]) internalBuffer;
-                                                                                        return (IntConsumer) position -> printStream.print(booleanBuffer[position]);
+                                                                                        return (IntConsumer) position -> printStream.print(booleanBuffer.getValueAt(position));
                                                                                      }
-                                                                                     if (yoVariableBuffer instanceof YoDoubleBuffer)
+                                                                                     if (yoVariableBuffer instanceof YoDoubleBuffer doubleBuffer)
                                                                                      {
-                                                                                        double[] doubleBuffer = (double[]) internalBuffer;
-                                                                                        return (IntConsumer) position -> printStream.print(doubleBuffer[position]);
+                                                                                        return (IntConsumer) position -> printStream.print(doubleBuffer.getValueAt(position));
                                                                                      }
-                                                                                     if (yoVariableBuffer instanceof YoIntegerBuffer)
+                                                                                     if (yoVariableBuffer instanceof YoIntegerBuffer intBuffer)
                                                                                      {
-                                                                                        int[] intBuffer = (int[]) internalBuffer;
-                                                                                        return (IntConsumer) position -> printStream.print(intBuffer[position]);
+                                                                                        return (IntConsumer) position -> printStream.print(intBuffer.getValueAt(position));
                                                                                      }
-                                                                                     if (yoVariableBuffer instanceof YoLongBuffer)
+                                                                                     if (yoVariableBuffer instanceof YoLongBuffer longBuffer)
                                                                                      {
-                                                                                        long[] longBuffer = (long[]) internalBuffer;
-                                                                                        return (IntConsumer) position -> printStream.print(longBuffer[position]);
+                                                                                        return (IntConsumer) position -> printStream.print(longBuffer.getValueAt(position));
                                                                                      }
-                                                                                     if (yoVariableBuffer instanceof YoEnumBuffer)
+                                                                                     if (yoVariableBuffer instanceof YoEnumBuffer<?> enumBuffer)
                                                                                      {
-                                                                                        byte[] byteBuffer = (byte[]) internalBuffer;
                                                                                         String[] enumConstants = ((YoEnum<?>) yoVariableBuffer.getYoVariable()).getEnumValuesAsString();
-                                                                                        return (IntConsumer) position -> printStream.print(
-                                                                                              byteBuffer[position] == YoEnum.NULL_VALUE ?
-                                                                                                    YoEnum.NULL_VALUE_STRING :
-                                                                                                    enumConstants[byteBuffer[position]]);
+                                                                                        return (IntConsumer) position ->
+                                                                                        {
+                                                                                           byte ordinal = enumBuffer.getOrdinalAt(position);
+                                                                                           printStream.print(ordinal == YoEnum.NULL_VALUE ? YoEnum.NULL_VALUE_STRING : enumConstants[ordinal]);
+                                                                                        };
                                                                                      }
 
                                                                                      throw new IllegalArgumentException(
@@ -387,6 +407,86 @@ public class SharedMemoryIOTools
       printStream.close();
    }
 
+   /**
+    * Writes the yoVariable buffers to the given {@code outputFile} using the same format as
+    * {@link #exportDataASCII(YoSharedBuffer, OutputStream, Predicate, Predicate)}, formatting the
+    * variables in parallel.
+    *
+    * @param buffer           the buffer to export.
+    * @param outputFile       the file to write to.
+    * @param variableFilter   a filter to downselect the variables to be exported, can be
+    *                         {@code null}.
+    * @param registryFilter   a filter to downselect the registries to be exported, can be
+    *                         {@code null}.
+    * @param executor         the executor used to format the data, or {@code null} to use the common
+    *                         pool.
+    * @param progressCallback the callback notified with the fraction, in [0, 1], of the data written
+    *                         so far, can be {@code null}.
+    * @throws IOException if an I/O error occurs.
+    */
+   public static void exportDataASCII(YoSharedBuffer buffer,
+                                      File outputFile,
+                                      Predicate<YoVariable> variableFilter,
+                                      Predicate<YoRegistry> registryFilter,
+                                      ExecutorService executor,
+                                      DoubleConsumer progressCallback) throws IOException
+   {
+      YoVariableBuffer<?>[] yoVariableBuffersToExport = collectYoVariableBuffers(buffer, variableFilter, registryFilter);
+      new ParallelTextExporter(yoVariableBuffersToExport, buffer.getProperties(), executor, progressCallback).exportASCII(outputFile.toPath());
+   }
+
+   /**
+    * Writes the yoVariable buffers to the given {@code outputFile} using the same format as
+    * {@link #exportDataCSV(YoSharedBuffer, OutputStream, Predicate, Predicate)}, formatting blocks of
+    * rows in parallel.
+    *
+    * @param buffer           the buffer to export.
+    * @param outputFile       the file to write to.
+    * @param variableFilter   a filter to downselect the variables to be exported, can be
+    *                         {@code null}.
+    * @param registryFilter   a filter to downselect the registries to be exported, can be
+    *                         {@code null}.
+    * @param executor         the executor used to format the data, or {@code null} to use the common
+    *                         pool.
+    * @param progressCallback the callback notified with the fraction, in [0, 1], of the data written
+    *                         so far, can be {@code null}.
+    * @throws IOException if an I/O error occurs.
+    */
+   public static void exportDataCSV(YoSharedBuffer buffer,
+                                    File outputFile,
+                                    Predicate<YoVariable> variableFilter,
+                                    Predicate<YoRegistry> registryFilter,
+                                    ExecutorService executor,
+                                    DoubleConsumer progressCallback) throws IOException
+   {
+      YoVariableBuffer<?>[] yoVariableBuffersToExport = collectYoVariableBuffers(buffer, variableFilter, registryFilter);
+      new ParallelTextExporter(yoVariableBuffersToExport, buffer.getProperties(), executor, progressCallback).exportCSV(outputFile.toPath());
+   }
+
+   private static YoVariableBuffer<?>[] collectYoVariableBuffers(YoSharedBuffer buffer, Predicate<YoVariable> variableFilter, Predicate<YoRegistry> registryFilter)
+   {
+      Stream<YoVariableBuffer<?>> yoVariableBufferStream;
+
+      if (registryFilter != null)
+      {
+         List<YoRegistry> filteredRegistries = YoSearchTools.filterRegistries(registryFilter, buffer.getRootRegistry());
+         yoVariableBufferStream = filteredRegistries.stream()
+                                                    .flatMap(registry -> registry.getVariables().stream())
+                                                    .map(yoVariable -> buffer.getRegistryBuffer().findYoVariableBuffer(yoVariable));
+      }
+      else
+      {
+         yoVariableBufferStream = buffer.getRegistryBuffer().getYoVariableBuffers().stream();
+      }
+
+      if (variableFilter != null)
+      {
+         yoVariableBufferStream = yoVariableBufferStream.filter(yoVariableBuffer -> variableFilter.test(yoVariableBuffer.getYoVariable()));
+      }
+
+      return yoVariableBufferStream.toArray(YoVariableBuffer[]::new);
+   }
+
    public static void exportDataMatlab(YoSharedBuffer buffer, File outputFile) throws IOException
    {
       exportDataMatlab(buffer, outputFile, null, null);
@@ -468,7 +568,7 @@ public class SharedMemoryIOTools
                                                                                              nameOverflowCounter,
                                                                                              nameHelperStruct);
                                         Matrix matMatrix = Mat5.newMatrix(properties.getActiveBufferLength(), 1);
-                                        writeBuffer(yoVariableBuffer.getBuffer(), matMatrix, properties.getInPoint(), properties.getActiveBufferLength());
+                                        writeBuffer(yoVariableBuffer, matMatrix, properties.getInPoint(), properties.getActiveBufferLength());
                                         parentStruct.set(variableStructName, matMatrix);
                                      });
 
@@ -476,6 +576,317 @@ public class SharedMemoryIOTools
       rootStruct.close();
    }
 
+   public static void exportDataBinary(YoSharedBuffer buffer, File outputFile) throws IOException
+   {
+      exportDataBinary(buffer, outputFile, false, null, null);
+   }
+
+   /**
+    * Writes the yoVariable buffers to the given {@code outputFile} using the native SCS2 binary
+    * format, see {@link DataFormat#BINARY}.
+    * <p>
+    * The file starts with a header listing the variables, followed by one column per variable, each
+    * column being aligned on 8 bytes and holding the active part of the buffer. All the values are
+    * stored in little-endian order:
+    * <ul>
+    * <li>{@code int} magic number {@value #BINARY_MAGIC}, {@code int} format version, {@code int}
+    * number of columns, {@code int} number of samples, {@code int} length in bytes of the column
+    * directory, {@code int} reserved, and {@code long} position of the first column.
+    * <li>the column directory, where each entry is: the variable full name, the type name, the
+    * {@code int} compression, the {@code long} position and length in bytes of the column, and the
+    * {@code int} number of enum constants followed by their names. Strings are stored as an unsigned
+    * {@code short} length followed by the UTF-8 bytes.
+    * <li>the columns: doubles and longs are stored on 8 bytes, integers on 4 bytes, booleans as
+    * {@code 0} or {@code 1} bytes, and enums as the byte ordinal, {@code -1} for {@code null}.
+    * </ul>
+    * When {@code compress} is {@code true}, each column is compressed using the DEFLATE algorithm
+    * unless it does not reduce its size. Only the uncompressed columns can be memory-mapped when
+    * imported.
+    * </p>
+    *
+    * @param buffer         the buffer to export.
+    * @param outputFile     the file to write to.
+    * @param compress       whether to compress the columns.
+    * @param variableFilter a filter to downselect the variables to be exported, can be {@code null}.
+    * @param registryFilter a filter to downselect the registries to be exported, can be {@code null}.
+    * @throws IOException if an I/O error occurs.
+    */
+   public static void exportDataBinary(YoSharedBuffer buffer,
+                                       File outputFile,
+                                       boolean compress,
+                                       Predicate<YoVariable> variableFilter,
+                                       Predicate<YoRegistry> registryFilter) throws IOException
+   {
+      YoVariableBuffer<?>[] yoVariableBuffersToExport = collectYoVariableBuffers(buffer, variableFilter, registryFilter);
+      YoBufferPropertiesReadOnly properties = buffer.getProperties();
+      int numberOfColumns = yoVariableBuffersToExport.length;
+      int numberOfSamples = properties.getActiveBufferLength();
+      int[] compressions = new int[numberOfColumns];
+      long[] positions = new long[numberOfColumns];
+      long[] lengths = new long[numberOfColumns];
+
+      ByteBuffer directory = encodeBinaryDirectory(yoVariableBuffersToExport, compressions, positions, lengths);
+      long dataPosition = alignBinaryPosition(BINARY_HEADER_SIZE + directory.limit());
+
+      ByteBuffer header = ByteBuffer.allocate(BINARY_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      header.putInt(BINARY_MAGIC);
+      header.putInt(BINARY_VERSION);
+      header.putInt(numberOfColumns);
+      header.putInt(numberOfSamples);
+      header.putInt(directory.limit());
+      header.putInt(0);
+      header.putLong(dataPosition);
+      header.flip();
+
+      ByteBuffer chunk = ByteBuffer.allocateDirect(BINARY_CHUNK_SIZE * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      ByteBuffer compressedChunk = compress ? ByteBuffer.allocateDirect(BINARY_CHUNK_SIZE * Long.BYTES) : null;
+      Deflater deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+
+      try (FileChannel channel = FileChannel.open(outputFile.toPath(),
+                                                  StandardOpenOption.CREATE,
+                                                  StandardOpenOption.WRITE,
+                                                  StandardOpenOption.TRUNCATE_EXISTING))
+      {
+         writeFully(channel, header, 0);
+         writeFully(channel, directory, BINARY_HEADER_SIZE);
+         long position = dataPosition;
+
+         for (int i = 0; i < numberOfColumns; i++)
+         {
+            YoVariableBuffer<?> yoVariableBuffer = yoVariableBuffersToExport[i];
+            long rawLength = (long) numberOfSamples * yoVariableBuffer.getVariableMemorySize();
+            long length = -1L;
+
+            if (compress)
+            {
+               deflater.reset();
+               length = writeBinaryColumn(channel, position, yoVariableBuffer, properties, chunk, deflater, compressedChunk);
+               compressions[i] = BINARY_COMPRESSION_DEFLATE;
+            }
+
+            if (length == -1L || length >= rawLength)
+            { // Not worth it, overwriting the compressed column.
+               length = writeBinaryColumn(channel, position, yoVariableBuffer, properties, chunk, null, null);
+               compressions[i] = BINARY_COMPRESSION_NONE;
+            }
+
+            positions[i] = position;
+            lengths[i] = length;
+            position = alignBinaryPosition(position + length);
+         }
+
+         channel.truncate(position);
+         // The directory has the same length, only the positions and lengths of the columns are updated.
+         writeFully(channel, encodeBinaryDirectory(yoVariableBuffersToExport, compressions, positions, lengths), BINARY_HEADER_SIZE);
+      }
+      finally
+      {
+         if (deflater != null)
+            deflater.end();
+      }
+   }
+
+   public static void exportDataArrow(YoSharedBuffer buffer, File outputFile) throws IOException
+   {
+      exportDataArrow(buffer, outputFile, null, null);
+   }
+
+   /**
+    * Writes the yoVariable buffers to the given {@code outputFile} using the Apache Arrow IPC file
+    * format, also known as Feather V2, see {@link DataFormat#ARROW}.
+    * <p>
+    * Each variable is written as one column named after its full name, the file can be loaded
+    * directly in data analysis tools, e.g. with {@code pandas.read_feather} or
+    * {@code polars.read_ipc}. Enums are dictionary-encoded using their constants. The columns are not
+    * compressed.
+    * </p>
+    *
+    * @param buffer         the buffer to export.
+    * @param outputFile     the file to write to.
+    * @param variableFilter a filter to downselect the variables to be exported, can be {@code null}.
+    * @param registryFilter a filter to downselect the registries to be exported, can be {@code null}.
+    * @throws IOException if an I/O error occurs.
+    */
+   public static void exportDataArrow(YoSharedBuffer buffer, File outputFile, Predicate<YoVariable> variableFilter, Predicate<YoRegistry> registryFilter)
+         throws IOException
+   {
+      ArrowFileIO.exportData(collectYoVariableBuffers(buffer, variableFilter, registryFilter), buffer.getProperties(), outputFile);
+   }
+
+   private static long writeBinaryColumn(FileChannel channel,
+                                         long position,
+                                         YoVariableBuffer<?> yoVariableBuffer,
+                                         YoBufferPropertiesReadOnly properties,
+                                         ByteBuffer chunk,
+                                         Deflater deflater,
+                                         ByteBuffer compressedChunk) throws IOException
+   {
+      int numberOfSamples = properties.getActiveBufferLength();
+      long startPosition = position;
+
+      // Streaming the active part of the ring buffer one chunk at a time.
+      for (int start = 0; start < numberOfSamples; start += BINARY_CHUNK_SIZE)
+      {
+         int chunkLength = Math.min(BINARY_CHUNK_SIZE, numberOfSamples - start);
+         int from = SharedMemoryTools.increment(properties.getInPoint(), start, properties.getSize());
+         putSample(yoVariableBuffer.copy(from, chunkLength, properties).getSample(), chunkLength, chunk);
+
+         if (deflater == null)
+         {
+            position += writeFully(channel, chunk, position);
+         }
+         else
+         {
+            deflater.setInput(chunk);
+            while (!deflater.needsInput())
+               position += deflate(channel, position, deflater, compressedChunk);
+         }
+      }
+
+      if (deflater != null)
+      {
+         deflater.finish();
+         while (!deflater.finished())
+            position += deflate(channel, position, deflater, compressedChunk);
+      }
+
+      return position - startPosition;
+   }
+
+   private static int deflate(FileChannel channel, long position, Deflater deflater, ByteBuffer compressedChunk) throws IOException
+   {
+      compressedChunk.clear();
+      deflater.deflate(compressedChunk);
+      compressedChunk.flip();
+      return writeFully(channel, compressedChunk, position);
+   }
+
+   static void putSample(Object sample, int length, ByteBuffer destination)
+   {
+      destination.clear();
+
+      if (sample instanceof double[] values)
+      {
+         destination.asDoubleBuffer().put(values, 0, length);
+         destination.limit(length * Double.BYTES);
+      }
+      else if (sample instanceof long[] values)
+      {
+         destination.asLongBuffer().put(values, 0, length);
+         destination.limit(length * Long.BYTES);
+      }
+      else if (sample instanceof int[] values)
+      {
+         destination.asIntBuffer().put(values, 0, length);
+         destination.limit(length * Integer.BYTES);
+      }
+      else if (sample instanceof boolean[] values)
+      {
+         for (int i = 0; i < length; i++)
+            destination.put(values[i] ? (byte) 1 : (byte) 0);
+         destination.flip();
+      }
+      else if (sample instanceof byte[] values)
+      {
+         destination.put(values, 0, length);
+         destination.flip();
+      }
+      else
+      {
+         throw new IllegalArgumentException("Unsupported type: " + sample);
+      }
+   }
+
+   private static ByteBuffer encodeBinaryDirectory(YoVariableBuffer<?>[] yoVariableBuffers, int[] compressions, long[] positions, long[] lengths)
+   {
+      List<byte[]> strings = new ArrayList<>();
+      int directoryLength = 0;
+
+      for (YoVariableBuffer<?> yoVariableBuffer : yoVariableBuffers)
+      {
+         YoVariable yoVariable = yoVariableBuffer.getYoVariable();
+         strings.add(yoVariable.getFullNameString().getBytes(StandardCharsets.UTF_8));
+         strings.add(yoVariable.getType().name().getBytes(StandardCharsets.UTF_8));
+         directoryLength += Integer.BYTES + 2 * Long.BYTES + Integer.BYTES;
+
+         if (yoVariable instanceof YoEnum<?> yoEnum)
+         {
+            for (String enumConstant : yoEnum.getEnumValuesAsString())
+               strings.add(enumConstant.getBytes(StandardCharsets.UTF_8));
+         }
+      }
+
+      for (byte[] string : strings)
+         directoryLength += Short.BYTES + string.length;
+
+      ByteBuffer directory = ByteBuffer.allocate(directoryLength).order(ByteOrder.LITTLE_ENDIAN);
+      Iterator<byte[]> stringIterator = strings.iterator();
+
+      for (int i = 0; i < yoVariableBuffers.length; i++)
+      {
+         putString(directory, stringIterator.next());
+         putString(directory, stringIterator.next());
+         directory.putInt(compressions[i]);
+         directory.putLong(positions[i]);
+         directory.putLong(lengths[i]);
+
+         if (yoVariableBuffers[i].getYoVariable() instanceof YoEnum<?> yoEnum)
+         {
+            int numberOfConstants = yoEnum.getEnumValuesAsString().length;
+            directory.putInt(numberOfConstants);
+            for (int j = 0; j < numberOfConstants; j++)
+               putString(directory, stringIterator.next());
+         }
+         else
+         {
+            directory.putInt(0);
+         }
+      }
+
+      directory.flip();
+      return directory;
+   }
+
+   private static void putString(ByteBuffer buffer, byte[] string)
+   {
+      if (string.length > 0xFFFF)
+         throw new IllegalArgumentException("String too long: " + string.length + " bytes.");
+      buffer.putShort((short) string.length);
+      buffer.put(string);
+   }
+
+   private static String getString(ByteBuffer buffer)
+   {
+      byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+      buffer.get(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+   }
+
+   private static long alignBinaryPosition(long position)
+   {
+      return (position + BINARY_ALIGNMENT - 1) / BINARY_ALIGNMENT * BINARY_ALIGNMENT;
+   }
+
+   static int writeFully(FileChannel channel, ByteBuffer source, long position) throws IOException
+   {
+      int length = source.remaining();
+      while (source.hasRemaining())
+         position += channel.write(source, position);
+      return length;
+   }
+
+   static void readFully(FileChannel channel, ByteBuffer destination, long position) throws IOException
+   {
+      while (destination.hasRemaining())
+      {
+         int read = channel.read(destination, position);
+         if (read == -1)
+            throw new EOFException("Unexpected end of file.");
+         position += read;
+      }
+      destination.flip();
+   }
+
    private static String checkAndRegisterLongName(String name, Map<String, MutableInt> nameOverflowCounter, Struct nameHelperStruct)
    {
       if (name.length() <= MATLAB_VARNAME_MAX_LENGTH)
@@ -495,53 +906,49 @@ public class SharedMemoryIOTools
       return matlabFieldName;
    }
 
-   private static void writeBuffer(Object buffer, Matrix matrix, int start, int length)
+   private static void writeBuffer(YoVariableBuffer<?> buffer, Matrix matrix, int start, int length)
    {
       int readingPosition = start;
+      int bufferSize = buffer.getProperties().getSize();
 
-      if (buffer instanceof boolean[])
+      if (buffer instanceof YoBooleanBuffer booleanBuffer)
       {
-         boolean[] booleanBuffer = (boolean[]) buffer;
          for (int i = 0; i < length; i++)
          {
-            matrix.setBoolean(i, booleanBuffer[readingPosition]);
-            readingPosition = SharedMemoryTools.increment(readingPosition, 1, booleanBuffer.length);
+            matrix.setBoolean(i, booleanBuffer.getValueAt(readingPosition));
+            readingPosition = SharedMemoryTools.increment(readingPosition, 1, bufferSize);
          }
       }
-      else if (buffer instanceof double[])
+      else if (buffer instanceof YoDoubleBuffer doubleBuffer)
       {
-         double[] doubleBuffer = (double[]) buffer;
          for (int i = 0; i < length; i++)
          {
-            matrix.setDouble(i, doubleBuffer[readingPosition]);
-            readingPosition = SharedMemoryTools.increment(readingPosition, 1, doubleBuffer.length);
+            matrix.setDouble(i, doubleBuffer.getValueAt(readingPosition));
+            readingPosition = SharedMemoryTools.increment(readingPosition, 1, bufferSize);
          }
       }
-      else if (buffer instanceof int[])
+      else if (buffer instanceof YoIntegerBuffer intBuffer)
       {
-         int[] intBuffer = (int[]) buffer;
          for (int i = 0; i < length; i++)
          {
-            matrix.setInt(i, intBuffer[readingPosition]);
-            readingPosition = SharedMemoryTools.increment(readingPosition, 1, intBuffer.length);
+            matrix.setInt(i, intBuffer.getValueAt(readingPosition));
+            readingPosition = SharedMemoryTools.increment(readingPosition, 1, bufferSize);
          }
       }
-      else if (buffer instanceof long[])
+      else if (buffer instanceof YoLongBuffer longBuffer)
       {
-         long[] longBuffer = (long[]) buffer;
          for (int i = 0; i < length; i++)
          {
-            matrix.setLong(i, longBuffer[readingPosition]);
-            readingPosition = SharedMemoryTools.increment(readingPosition, 1, longBuffer.length);
+            matrix.setLong(i, longBuffer.getValueAt(readingPosition));
+            readingPosition = SharedMemoryTools.increment(readingPosition, 1, bufferSize);
          }
       }
-      else if (buffer instanceof byte[])
+      else if (buffer instanceof YoEnumBuffer<?> enumBuffer)
       {
-         byte[] byteBuffer = (byte[]) buffer;
          for (int i = 0; i < length; i++)
          {
-            matrix.setByte(i, byteBuffer[readingPosition]);
-            readingPosition = SharedMemoryTools.increment(readingPosition, 1, byteBuffer.length);
+            matrix.setByte(i, enumBuffer.getOrdinalAt(readingPosition));
+            readingPosition = SharedMemoryTools.increment(readingPosition, 1, bufferSize);
          }
       }
       else
@@ -570,6 +977,32 @@ public class SharedMemoryIOTools
       return toYoRegistry(loadYoRegistryDefinition(inputStream));
    }
 
+   /**
+    * Loads the data from a file which format is determined from its extension, see
+    * {@link DataFormat#fromFilename(String)}.
+    *
+    * @param inputFile the file to read.
+    * @param buffer    the buffer to load the data into.
+    * @return the buffer for convenience.
+    * @throws IOException if an I/O error occurs.
+    */
+   public static YoSharedBuffer importData(File inputFile, YoSharedBuffer buffer) throws IOException
+   {
+      DataFormat dataFormat = DataFormat.fromFilename(inputFile.getName());
+
+      if (dataFormat == null)
+         throw new IllegalArgumentException("Unknown data format: " + inputFile.getName());
+
+      return switch (dataFormat)
+      {
+         case ASCII -> importDataASCII(inputFile, buffer, null, null);
+         case CSV -> importDataCSV(inputFile, buffer, null, null);
+         case MATLAB -> importDataMatlab(inputFile, buffer);
+         case BINARY -> importDataBinary(inputFile, buffer);
+         case ARROW -> importDataArrow(inputFile, buffer);
+      };
+   }
+
    public static YoSharedBuffer importDataASCII(InputStream inputStream, YoRegistry root) throws IOException
    {
       return importDataASCII(inputStream, new YoSharedBuffer(root, 1));
@@ -596,27 +1029,27 @@ public class SharedMemoryIOTools
                                         if (yoVariable instanceof YoBoolean)
                                         {
                                            for (int i = 0; i < values.length; i++)
-                                              ((boolean[]) yoVariableBuffer.getBuffer())[i] = Boolean.parseBoolean(values[i]);
+                                              ((YoBooleanBuffer) yoVariableBuffer).setValueAt(i, Boolean.parseBoolean(values[i]));
                                         }
                                         else if (yoVariable instanceof YoDouble)
                                         {
                                            for (int i = 0; i < values.length; i++)
-                                              ((double[]) yoVariableBuffer.getBuffer())[i] = Double.parseDouble(values[i]);
+                                              ((YoDoubleBuffer) yoVariableBuffer).setValueAt(i, Double.parseDouble(values[i]));
                                         }
                                         else if (yoVariable instanceof YoInteger)
                                         {
                                            for (int i = 0; i < values.length; i++)
-                                              ((int[]) yoVariableBuffer.getBuffer())[i] = Integer.parseInt(values[i]);
+                                              ((YoIntegerBuffer) yoVariableBuffer).setValueAt(i, Integer.parseInt(values[i]));
                                         }
                                         else if (yoVariable instanceof YoLong)
                                         {
                                            for (int i = 0; i < values.length; i++)
-                                              ((long[]) yoVariableBuffer.getBuffer())[i] = Long.parseLong(values[i]);
+                                              ((YoLongBuffer) yoVariableBuffer).setValueAt(i, Long.parseLong(values[i]));
                                         }
                                         else if (yoVariable instanceof YoEnum<?>)
                                         {
                                            for (int i = 0; i < values.length; i++)
-                                              ((byte[]) yoVariableBuffer.getBuffer())[i] = Byte.parseByte(values[i]);
+                                              ((YoEnumBuffer<?>) yoVariableBuffer).setOrdinalAt(i, Byte.parseByte(values[i]));
                                         }
                                         else
                                         {
@@ -629,6 +1062,33 @@ public class SharedMemoryIOTools
       return buffer;
    }
 
+   public static YoSharedBuffer importDataASCII(File inputFile, YoRegistry root) throws IOException
+   {
+      return importDataASCII(inputFile, new YoSharedBuffer(root, 1), null, null);
+   }
+
+   /**
+    * Loads the data from a file written with
+    * {@link #exportDataASCII(YoSharedBuffer, File, Predicate, Predicate, ExecutorService, DoubleConsumer)}
+    * or {@link #exportDataASCII(YoSharedBuffer, OutputStream, Predicate, Predicate)}, parsing chunks
+    * of lines in parallel.
+    *
+    * @param inputFile        the file to read.
+    * @param buffer           the buffer to load the data into.
+    * @param executor         the executor used to parse the data, or {@code null} to use the common
+    *                         pool.
+    * @param progressCallback the callback notified with the fraction, in [0, 1], of the file loaded so
+    *                         far, can be {@code null}.
+    * @return the buffer for convenience.
+    * @throws IOException if an I/O error occurs.
+    */
+   public static YoSharedBuffer importDataASCII(File inputFile, YoSharedBuffer buffer, ExecutorService executor, DoubleConsumer progressCallback)
+         throws IOException
+   {
+      new ParallelTextImporter(buffer, executor, progressCallback).importASCII(inputFile.toPath());
+      return buffer;
+   }
+
    public static YoSharedBuffer importDataCSV(InputStream inputStream, YoRegistry root) throws IOException
    {
       return importDataCSV(inputStream, new YoSharedBuffer(root, 1));
@@ -652,27 +1112,23 @@ public class SharedMemoryIOTools
                                                                                                                                                                 .findYoVariableBuffer(
                                                                                                                                                                       yoVariable);
 
-                                                                                                                   if (yoVariableBuffer instanceof YoBooleanBuffer)
+                                                                                                                   if (yoVariableBuffer instanceof YoBooleanBuffer booleanBuffer)
                                                                                                                    {
-                                                                                                                      return (ObjIntConsumer<String>) (value, position) -> ((boolean[]) yoVariableBuffer.getBuffer())[position] = Boolean.parseBoolean(
-                                                                                                                            value);
+                                                                                                                      return (ObjIntConsumer<String>) (value, position) -> booleanBuffer.setValueAt(position, Boolean.parseBoolean(value));
                                                                                                                    }
-                                                                                                                   if (yoVariableBuffer instanceof YoDoubleBuffer)
+                                                                                                                   if (yoVariableBuffer instanceof YoDoubleBuffer doubleBuffer)
                                                                                                                    {
-                                                                                                                      return (ObjIntConsumer<String>) (value, position) -> ((double[]) yoVariableBuffer.getBuffer())[position] = Double.parseDouble(
-                                                                                                                            value);
+                                                                                                                      return (ObjIntConsumer<String>) (value, position) -> doubleBuffer.setValueAt(position, Double.parseDouble(value));
                                                                                                                    }
-                                                                                                                   if (yoVariableBuffer instanceof YoIntegerBuffer)
+                                                                                                                   if (yoVariableBuffer instanceof YoIntegerBuffer intBuffer)
                                                                                                                    {
-                                                                                                                      return (ObjIntConsumer<String>) (value, position) -> ((int[]) yoVariableBuffer.getBuffer())[position] = Integer.parseInt(
-                                                                                                                            value);
+                                                                                                                      return (ObjIntConsumer<String>) (value, position) -> intBuffer.setValueAt(position, Integer.parseInt(value));
                                                                                                                    }
-                                                                                                                   if (yoVariableBuffer instanceof YoLongBuffer)
+                                                                                                                   if (yoVariableBuffer instanceof YoLongBuffer longBuffer)
                                                                                                                    {
-                                                                                                                      return (ObjIntConsumer<String>) (value, position) -> ((long[]) yoVariableBuffer.getBuffer())[position] = Long.parseLong(
-                                                                                                                            value);
+                                                                                                                      return (ObjIntConsumer<String>) (value, position) -> longBuffer.setValueAt(position, Long.parseLong(value));
                                                                                                                    }
-                                                                                                                   if (yoVariableBuffer instanceof YoEnumBuffer)
+                                                                                                                   if (yoVariableBuffer instanceof YoEnumBuffer<?> enumBuffer)
                                                                                                                    {
                                                                                                                       List<String> enumConstants = Arrays.asList(
                                                                                                                             ((YoEnum<?>) yoVariable).getEnumValuesAsString());
@@ -680,10 +1136,9 @@ public class SharedMemoryIOTools
                                                                                                                       {
                                                                                                                          if (Objects.equals(value,
                                                                                                                                             YoEnum.NULL_VALUE_STRING))
-                                                                                                                            ((byte[]) yoVariableBuffer.getBuffer())[position] = YoEnum.NULL_VALUE;
+                                                                                                                            enumBuffer.setOrdinalAt(position, (byte) YoEnum.NULL_VALUE);
                                                                                                                          else
-                                                                                                                            ((byte[]) yoVariableBuffer.getBuffer())[position] = (byte) enumConstants.indexOf(
-                                                                                                                                  value);
+                                                                                                                            enumBuffer.setOrdinalAt(position, (byte) enumConstants.indexOf(value));
                                                                                                                       };
                                                                                                                    }
 
@@ -716,6 +1171,37 @@ public class SharedMemoryIOTools
       return buffer;
    }
 
+   public static YoSharedBuffer importDataCSV(File inputFile, YoRegistry root) throws IOException
+   {
+      return importDataCSV(inputFile, new YoSharedBuffer(root, 1), null, null);
+   }
+
+   /**
+    * Loads the data from a file written with
+    * {@link #exportDataCSV(YoSharedBuffer, File, Predicate, Predicate, ExecutorService, DoubleConsumer)}
+    * or {@link #exportDataCSV(YoSharedBuffer, OutputStream, Predicate, Predicate)}, parsing chunks of
+    * rows in parallel.
+    * <p>
+    * The buffer is resized once from a first pass counting the rows of the file, the rows are then
+    * parsed in parallel and copied in order into the buffer.
+    * </p>
+    *
+    * @param inputFile        the file to read.
+    * @param buffer           the buffer to load the data into.
+    * @param executor         the executor used to parse the data, or {@code null} to use the common
+    *                         pool.
+    * @param progressCallback the callback notified with the fraction, in [0, 1], of the file loaded so
+    *                         far, can be {@code null}.
+    * @return the buffer for convenience.
+    * @throws IOException if an I/O error occurs.
+    */
+   public static YoSharedBuffer importDataCSV(File inputFile, YoSharedBuffer buffer, ExecutorService executor, DoubleConsumer progressCallback)
+         throws IOException
+   {
+      new ParallelTextImporter(buffer, executor, progressCallback).importCSV(inputFile.toPath());
+      return buffer;
+   }
+
    public static YoSharedBuffer importDataMatlab(File inputFile, YoRegistry root) throws IOException
    {
       return importDataMatlab(inputFile, new YoSharedBuffer(root, 1));
@@ -743,6 +1229,8 @@ public class SharedMemoryIOTools
 
       Struct nameHelperStruct = entries.size() == 2 ? (Struct) entries.get(1).getValue() : null;
       importMatlabStruct(rootStruct, root, buffer, nameHelperStruct);
+      // Releasing the decoded arrays.
+      mat5File.close();
 
       return buffer;
    }
@@ -799,35 +1287,35 @@ public class SharedMemoryIOTools
          YoBooleanBuffer variableBuffer = (YoBooleanBuffer) buffer.getRegistryBuffer().findYoVariableBuffer(variable);
 
          for (int i = 0; i < size; i++)
-            variableBuffer.getBuffer()[i] = matlabMatrix.getBoolean(i);
+            variableBuffer.setValueAt(i, matlabMatrix.getBoolean(i));
       }
       else if (variable instanceof YoDouble)
       {
          YoDoubleBuffer variableBuffer = (YoDoubleBuffer) buffer.getRegistryBuffer().findYoVariableBuffer(variable);
 
          for (int i = 0; i < size; i++)
-            variableBuffer.getBuffer()[i] = matlabMatrix.getDouble(i);
+            variableBuffer.setValueAt(i, matlabMatrix.getDouble(i));
       }
       else if (variable instanceof YoInteger)
       {
          YoIntegerBuffer variableBuffer = (YoIntegerBuffer) buffer.getRegistryBuffer().findYoVariableBuffer(variable);
 
          for (int i = 0; i < size; i++)
-            variableBuffer.getBuffer()[i] = matlabMatrix.getInt(i);
+            variableBuffer.setValueAt(i, matlabMatrix.getInt(i));
       }
       else if (variable instanceof YoLong)
       {
          YoLongBuffer variableBuffer = (YoLongBuffer) buffer.getRegistryBuffer().findYoVariableBuffer(variable);
 
          for (int i = 0; i < size; i++)
-            variableBuffer.getBuffer()[i] = matlabMatrix.getLong(i);
+            variableBuffer.setValueAt(i, matlabMatrix.getLong(i));
       }
       else if (variable instanceof YoEnum<?>)
       {
          YoEnumBuffer<?> variableBuffer = (YoEnumBuffer<?>) buffer.getRegistryBuffer().findYoVariableBuffer(variable);
 
          for (int i = 0; i < size; i++)
-            variableBuffer.getBuffer()[i] = matlabMatrix.getByte(i);
+            variableBuffer.setOrdinalAt(i, matlabMatrix.getByte(i));
       }
       else
       {
@@ -835,7 +1323,165 @@ public class SharedMemoryIOTools
       }
    }
 
-   private static void setActiveBuffer(YoSharedBuffer buffer, int newSize)
+   public static YoSharedBuffer importDataBinary(File inputFile, YoRegistry root) throws IOException
+   {
+      return importDataBinary(inputFile, new YoSharedBuffer(root, 1));
+   }
+
+   /**
+    * Loads the data from a file written with
+    * {@link #exportDataBinary(YoSharedBuffer, File, boolean, Predicate, Predicate)}.
+    * <p>
+    * The uncompressed columns are memory-mapped and adopted by the buffer without being parsed or
+    * copied, the data is only loaded from the disk when accessed. The file is mapped privately,
+    * modifying the buffer afterward does not modify the file.
+    * </p>
+    *
+    * @param inputFile the file to read.
+    * @param buffer    the buffer to load the data into.
+    * @return the buffer for convenience.
+    * @throws IOException if an I/O error occurs.
+    */
+   public static YoSharedBuffer importDataBinary(File inputFile, YoSharedBuffer buffer) throws IOException
+   {
+      YoRegistry root = buffer.getRootRegistry();
+      // Private mappings require a channel opened for writing, falling back to reading the columns otherwise.
+      boolean isWritable = inputFile.canWrite();
+
+      try (FileChannel channel = isWritable ? FileChannel.open(inputFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)
+            : FileChannel.open(inputFile.toPath(), StandardOpenOption.READ))
+      {
+         ByteBuffer header = ByteBuffer.allocate(BINARY_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+         readFully(channel, header, 0);
+
+         if (header.getInt() != BINARY_MAGIC)
+            throw new IllegalArgumentException("Not a SCS2 binary data file: " + inputFile);
+         int version = header.getInt();
+         if (version != BINARY_VERSION)
+            throw new IllegalArgumentException("Unsupported version: " + version + ", expected: " + BINARY_VERSION);
+
+         int numberOfColumns = header.getInt();
+         int numberOfSamples = header.getInt();
+         int directoryLength = header.getInt();
+         ByteBuffer directory = ByteBuffer.allocate(directoryLength).order(ByteOrder.LITTLE_ENDIAN);
+         readFully(channel, directory, BINARY_HEADER_SIZE);
+
+         setActiveBuffer(buffer, numberOfSamples);
+         int bufferSize = buffer.getProperties().getSize();
+         MappedByteBuffer window = null;
+         long windowPosition = 0;
+
+         for (int i = 0; i < numberOfColumns; i++)
+         {
+            String fullName = getString(directory);
+            YoVariableType type = YoVariableType.valueOf(getString(directory));
+            int compression = directory.getInt();
+            long position = directory.getLong();
+            long length = directory.getLong();
+            int numberOfEnumConstants = directory.getInt();
+            for (int j = 0; j < numberOfEnumConstants; j++)
+               getString(directory);
+
+            YoVariable variable = root.findVariable(fullName);
+            if (variable == null)
+               throw new IllegalArgumentException("Could not find the variable " + fullName + " in " + root);
+            if (variable.getType() != type)
+               throw new IllegalArgumentException("Type mismatch for " + fullName + ", expected: " + variable.getType() + ", was: " + type);
+
+            YoVariableBuffer<?> yoVariableBuffer = buffer.getRegistryBuffer().findYoVariableBuffer(variable);
+            long rawLength = (long) numberOfSamples * yoVariableBuffer.getVariableMemorySize();
+            if (rawLength > Integer.MAX_VALUE)
+               throw new IllegalArgumentException("Column too large: " + fullName);
+            ByteBuffer data;
+
+            if (compression == BINARY_COMPRESSION_NONE && isWritable)
+            {
+               if (window == null || position + length > windowPosition + window.capacity())
+               { // Mapping several columns at once to limit the number of mappings.
+                  windowPosition = position;
+                  window = channel.map(MapMode.PRIVATE, position, Math.min(Math.max(length, BINARY_MAX_MAPPING_SIZE), channel.size() - position));
+               }
+               data = window.slice((int) (position - windowPosition), (int) length);
+            }
+            else if (compression == BINARY_COMPRESSION_NONE)
+            {
+               data = ByteBuffer.allocateDirect((int) length);
+               readFully(channel, data, position);
+            }
+            else if (compression == BINARY_COMPRESSION_DEFLATE)
+            {
+               data = inflate(channel, position, length, (int) rawLength);
+            }
+            else
+            {
+               throw new IllegalArgumentException("Unknown compression: " + compression);
+            }
+
+            BufferColumn column = new ImportedBufferColumn(variable, yoVariableBuffer.getStorage(), data.order(ByteOrder.LITTLE_ENDIAN), numberOfSamples);
+            if (bufferSize != numberOfSamples)
+               column = column.resize(0, bufferSize);
+            yoVariableBuffer.adoptColumn(column);
+         }
+      }
+
+      return buffer;
+   }
+
+   public static YoSharedBuffer importDataArrow(File inputFile, YoRegistry root) throws IOException
+   {
+      return importDataArrow(inputFile, new YoSharedBuffer(root, 1));
+   }
+
+   /**
+    * Loads the data from an Apache Arrow IPC file, typically written with
+    * {@link #exportDataArrow(YoSharedBuffer, File, Predicate, Predicate)}.
+    * <p>
+    * The columns are matched to the variables by full name, the columns that do not match any variable
+    * are skipped such that files edited with other tools can be loaded back.
+    * </p>
+    *
+    * @param inputFile the file to read.
+    * @param buffer    the buffer to load the data into.
+    * @return the buffer for convenience.
+    * @throws IOException if an I/O error occurs.
+    */
+   public static YoSharedBuffer importDataArrow(File inputFile, YoSharedBuffer buffer) throws IOException
+   {
+      ArrowFileIO.importData(inputFile, buffer);
+      return buffer;
+   }
+
+   private static ByteBuffer inflate(FileChannel channel, long position, long length, int rawLength) throws IOException
+   {
+      ByteBuffer compressed = channel.map(MapMode.READ_ONLY, position, length);
+      ByteBuffer data = ByteBuffer.allocateDirect(rawLength);
+      Inflater inflater = new Inflater();
+
+      try
+      {
+         inflater.setInput(compressed);
+         while (data.hasRemaining() && !inflater.finished())
+         {
+            if (inflater.inflate(data) == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+               throw new EOFException("Truncated column at position: " + position);
+         }
+      }
+      catch (DataFormatException e)
+      {
+         throw new IOException("Corrupted column at position: " + position, e);
+      }
+      finally
+      {
+         inflater.end();
+      }
+
+      if (data.hasRemaining())
+         throw new EOFException("Truncated column at position: " + position);
+      data.flip();
+      return data;
+   }
+
+   static void setActiveBuffer(YoSharedBuffer buffer, int newSize)
    {
       if (newSize > buffer.getProperties().getSize())
       {
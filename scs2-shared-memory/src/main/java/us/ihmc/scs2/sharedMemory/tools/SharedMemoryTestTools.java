@@ -6,6 +6,7 @@ import java.util.Objects;
 import us.ihmc.euclid.tools.EuclidCoreIOTools;
 import us.ihmc.euclid.tools.EuclidCoreTestTools;
 import us.ihmc.euclid.tools.EuclidCoreTools;
+import us.ihmc.scs2.sharedMemory.BufferSample;
 import us.ihmc.scs2.sharedMemory.YoBooleanBuffer;
 import us.ihmc.scs2.sharedMemory.YoDoubleBuffer;
 import us.ihmc.scs2.sharedMemory.YoEnumBuffer;
@@ -97,7 +98,7 @@ public class SharedMemoryTestTools
 
       for (int i = 0; i < expected.getProperties().getActiveBufferLength(); i++)
       {
-         if (expected.getBuffer()[expectedReadIndex] != actual.getBuffer()[actualReadIndex])
+         if (expected.getValueAt(expectedReadIndex) != actual.getValueAt(actualReadIndex))
             throwNotEqualAssertionError(messagePrefix, expected, actual);
          expectedReadIndex = SharedMemoryTools.increment(expectedReadIndex, 1, expected.getProperties().getSize());
          actualReadIndex = SharedMemoryTools.increment(actualReadIndex, 1, actual.getProperties().getSize());
@@ -114,7 +115,7 @@ public class SharedMemoryTestTools
 
       for (int i = 0; i < expected.getProperties().getActiveBufferLength(); i++)
       {
-         if (!EuclidCoreTools.epsilonEquals(expected.getBuffer()[expectedReadIndex], actual.getBuffer()[actualReadIndex], epsilon))
+         if (!EuclidCoreTools.epsilonEquals(expected.getValueAt(expectedReadIndex), actual.getValueAt(actualReadIndex), epsilon))
             throwNotEqualAssertionError(messagePrefix, expected, actual);
          expectedReadIndex = SharedMemoryTools.increment(expectedReadIndex, 1, expected.getProperties().getSize());
          actualReadIndex = SharedMemoryTools.increment(actualReadIndex, 1, actual.getProperties().getSize());
@@ -131,7 +132,7 @@ public class SharedMemoryTestTools
 
       for (int i = 0; i < expected.getProperties().getActiveBufferLength(); i++)
       {
-         if (expected.getBuffer()[expectedReadIndex] != actual.getBuffer()[actualReadIndex])
+         if (expected.getValueAt(expectedReadIndex) != actual.getValueAt(actualReadIndex))
             throwNotEqualAssertionError(messagePrefix, expected, actual);
          expectedReadIndex = SharedMemoryTools.increment(expectedReadIndex, 1, expected.getProperties().getSize());
          actualReadIndex = SharedMemoryTools.increment(actualReadIndex, 1, actual.getProperties().getSize());
@@ -148,7 +149,7 @@ public class SharedMemoryTestTools
 
       for (int i = 0; i < expected.getProperties().getActiveBufferLength(); i++)
       {
-         if (expected.getBuffer()[expectedReadIndex] != actual.getBuffer()[actualReadIndex])
+         if (expected.getValueAt(expectedReadIndex) != actual.getValueAt(actualReadIndex))
             throwNotEqualAssertionError(messagePrefix, expected, actual);
          expectedReadIndex = SharedMemoryTools.increment(expectedReadIndex, 1, expected.getProperties().getSize());
          actualReadIndex = SharedMemoryTools.increment(actualReadIndex, 1, actual.getProperties().getSize());
@@ -165,7 +166,7 @@ public class SharedMemoryTestTools
 
       for (int i = 0; i < expected.getProperties().getActiveBufferLength(); i++)
       {
-         if (expected.getBuffer()[expectedReadIndex] != actual.getBuffer()[actualReadIndex])
+         if (expected.getOrdinalAt(expectedReadIndex) != actual.getOrdinalAt(actualReadIndex))
             throwNotEqualAssertionError(messagePrefix, expected, actual);
          expectedReadIndex = SharedMemoryTools.increment(expectedReadIndex, 1, expected.getProperties().getSize());
          actualReadIndex = SharedMemoryTools.increment(actualReadIndex, 1, actual.getProperties().getSize());
@@ -313,18 +314,19 @@ public class SharedMemoryTestTools
          return "null";
 
       String bufferAsString;
+      BufferSample<?> bufferCopy = yoVariableBuffer.copy(0, yoVariableBuffer.getProperties().getSize(), yoVariableBuffer.getProperties());
       if (yoVariableBuffer instanceof YoBooleanBuffer)
-         bufferAsString = Arrays.toString((boolean[]) yoVariableBuffer.getBuffer());
+         bufferAsString = Arrays.toString((boolean[]) bufferCopy.getSample());
       else if (yoVariableBuffer instanceof YoDoubleBuffer)
-         bufferAsString = Arrays.toString((double[]) yoVariableBuffer.getBuffer());
+         bufferAsString = Arrays.toString((double[]) bufferCopy.getSample());
       else if (yoVariableBuffer instanceof YoIntegerBuffer)
-         bufferAsString = Arrays.toString((int[]) yoVariableBuffer.getBuffer());
+         bufferAsString = Arrays.toString((int[]) bufferCopy.getSample());
       else if (yoVariableBuffer instanceof YoLongBuffer)
-         bufferAsString = Arrays.toString((long[]) yoVariableBuffer.getBuffer());
+         bufferAsString = Arrays.toString((long[]) bufferCopy.getSample());
       else if (yoVariableBuffer instanceof YoEnumBuffer)
-         bufferAsString = Arrays.toString((byte[]) yoVariableBuffer.getBuffer());
+         bufferAsString = Arrays.toString((byte[]) bufferCopy.getSample());
       else
-         bufferAsString = "Unknow type: " + yoVariableBuffer.getBuffer();
+         bufferAsString = "Unknow type: " + bufferCopy.getSample();
 
       return yoVariableBuffer.getClass().getSimpleName() + ", variable [" + getYoVariableString(yoVariableBuffer.getYoVariable()) + "], buffer properties: ["
             + yoVariableBuffer.getProperties() + "], buffer: " + bufferAsString;
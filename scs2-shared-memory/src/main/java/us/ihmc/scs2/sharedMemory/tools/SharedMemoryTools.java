@@ -77,7 +77,18 @@ public class SharedMemoryTools
     */
    public static int getVariableMemorySize(YoVariable yoVariable)
    {
-      return switch (yoVariable.getType())
+      return getVariableMemorySize(yoVariable.getType());
+   }
+
+   /**
+    * Calculates the size in bytes of a variable of the given type.
+    *
+    * @param type the type of the variable.
+    * @return the size of the variable in bytes.
+    */
+   public static int getVariableMemorySize(YoVariableType type)
+   {
+      return switch (type)
       {
          case DOUBLE -> Double.BYTES;
          case INTEGER -> Integer.BYTES;
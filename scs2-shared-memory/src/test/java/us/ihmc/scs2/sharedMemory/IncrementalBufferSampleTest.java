@@ -0,0 +1,161 @@
+package us.ihmc.scs2.sharedMemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoDouble;
+
+public class IncrementalBufferSampleTest
+{
+   private static final int ITERATIONS = 20;
+
+   @Test
+   public void testRecordingOnlyDeliversNewElements()
+   {
+      Random random = new Random(23478);
+      YoRegistry rootRegistry = new YoRegistry("root");
+      YoDouble variable = new YoDouble("variable", rootRegistry);
+      int bufferSize = 500;
+      YoSharedBuffer buffer = new YoSharedBuffer(rootRegistry, bufferSize);
+      LinkedYoDouble linkedYoDouble = buffer.newLinkedYoVariable(new YoDouble("variable", new YoRegistry("root")), new Object());
+
+      buffer.incrementBufferIndex(true);
+      buffer.writeBuffer();
+      linkedYoDouble.requestIncrementalBuffer();
+      buffer.prepareLinkedBuffersForPull();
+      IncrementalBufferSample<double[]> sample = (IncrementalBufferSample<double[]>) linkedYoDouble.pollRequestedBufferSample();
+      assertTrue(sample.isStructuralChange());
+
+      for (int i = 0; i < 100; i++)
+      {
+         int numberOfTicks = random.nextInt(10);
+
+         for (int j = 0; j < numberOfTicks; j++)
+         {
+            buffer.incrementBufferIndex(true);
+            variable.set(random.nextDouble());
+            buffer.writeBuffer();
+         }
+
+         linkedYoDouble.requestIncrementalBuffer();
+         buffer.prepareLinkedBuffersForPull();
+         sample = (IncrementalBufferSample<double[]>) linkedYoDouble.pollRequestedBufferSample();
+         assertFalse(sample.isStructuralChange());
+         assertEquals(numberOfTicks + 1, sample.getSampleLength());
+         assertEquals(buffer.getProperties().getOutPoint(), sample.getTo());
+      }
+
+      // Lagging more than the buffer size.
+      for (int j = 0; j < bufferSize; j++)
+      {
+         buffer.incrementBufferIndex(true);
+         buffer.writeBuffer();
+      }
+
+      linkedYoDouble.requestIncrementalBuffer();
+      buffer.prepareLinkedBuffersForPull();
+      sample = (IncrementalBufferSample<double[]>) linkedYoDouble.pollRequestedBufferSample();
+      assertTrue(sample.isStructuralChange());
+      assertEquals(buffer.getProperties().getActiveBufferLength(), sample.getSampleLength());
+
+      buffer.dispose();
+   }
+
+   @Test
+   public void testConsumerMirror()
+   {
+      Random random = new Random(8734);
+
+      for (int iteration = 0; iteration < ITERATIONS; iteration++)
+      {
+         YoRegistry rootRegistry = new YoRegistry("root");
+         YoDouble variable = new YoDouble("variable", rootRegistry);
+         YoSharedBuffer buffer = new YoSharedBuffer(rootRegistry, random.nextInt(500) + 10);
+         YoDoubleBuffer variableBuffer = (YoDoubleBuffer) buffer.getRegistryBuffer().findYoVariableBuffer(variable);
+         LinkedYoDouble linkedYoDouble = buffer.newLinkedYoVariable(new YoDouble("variable", new YoRegistry("root")), new Object());
+
+         double[] mirror = null;
+
+         for (int tick = 0; tick < 2000; tick++)
+         {
+            switch (random.nextInt(400))
+            {
+               case 0:
+                  buffer.resizeBuffer(random.nextInt(500) + 10);
+                  break;
+               case 1:
+                  int size = buffer.getProperties().getSize();
+                  buffer.cropBuffer(new CropBufferRequest(random.nextInt(size), random.nextInt(size)));
+                  break;
+               case 2:
+                  variable.set(random.nextDouble());
+                  buffer.fillBuffer(new FillBufferRequest(random.nextBoolean(), buffer.getProperties().getInPoint(), buffer.getProperties().getOutPoint()));
+                  break;
+               case 3: // Going back in time and recording from there.
+                  YoBufferPropertiesReadOnly properties = buffer.getProperties();
+                  int offset = random.nextInt(properties.getActiveBufferLength());
+                  buffer.setCurrentIndex(SharedMemoryTools.increment(properties.getInPoint(), offset, properties.getSize()));
+                  break;
+               case 4: // Modifying the current sample while paused.
+                  variable.set(random.nextDouble());
+                  buffer.writeBuffer();
+                  break;
+               default:
+                  break;
+            }
+
+            buffer.incrementBufferIndex(true);
+            variable.set(random.nextDouble());
+            buffer.writeBuffer();
+
+            if (random.nextInt(5) == 0)
+               linkedYoDouble.requestIncrementalBuffer();
+            if (random.nextInt(3) == 0)
+               buffer.prepareLinkedBuffersForPull();
+
+            if (random.nextInt(3) != 0)
+               continue;
+
+            @SuppressWarnings("unchecked")
+            IncrementalBufferSample<double[]> sample = (IncrementalBufferSample<double[]>) linkedYoDouble.pollRequestedBufferSample();
+
+            if (sample == null)
+               continue;
+
+            YoBufferPropertiesReadOnly sampleProperties = sample.getBufferProperties();
+
+            if (sample.isStructuralChange())
+            {
+               mirror = new double[sampleProperties.getSize()];
+               Arrays.fill(mirror, Double.NaN);
+            }
+
+            for (int i = 0; i < sample.getSampleLength(); i++)
+               mirror[SharedMemoryTools.increment(sample.getFrom(), i, mirror.length)] = sample.getSample()[i];
+
+            if (variableBuffer.getAppendCount() == sample.getAppendCount() && variableBuffer.getStructuralChangeCount() == sample.getStructuralChangeCount())
+            { // Nothing was appended since the sample was made, the mirror should match the active part of the buffer.
+               // The last element may have been re-written since, it is only delivered with the next sample.
+               int length = SharedMemoryTools.computeSubLength(sampleProperties.getInPoint(), sample.getTo(), sampleProperties.getSize()) - 1;
+
+               for (int i = 0; i < length; i++)
+               {
+                  int index = SharedMemoryTools.increment(sampleProperties.getInPoint(), i, sampleProperties.getSize());
+                  assertEquals(variableBuffer.getValueAt(index), mirror[index], "Mismatch at index " + index + ", tick " + tick);
+               }
+            }
+         }
+
+         buffer.dispose();
+      }
+   }
+}
@@ -0,0 +1,85 @@
+package us.ihmc.scs2.sharedMemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryRandomTools;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoVariable;
+
+public class LinkedBufferAllocationTest
+{
+   private static final int WARMUP_ITERATIONS = 20000;
+   private static final int ITERATIONS = 10000;
+
+   @Test
+   public void testPullCycleIsAllocationFree()
+   {
+      Random random = new Random(46321);
+      YoRegistry rootRegistry = SharedMemoryRandomTools.nextYoRegistryTree(random, 20, 10)[0];
+      List<YoVariable> variables = rootRegistry.collectSubtreeVariables();
+      YoSharedBuffer buffer = new YoSharedBuffer(rootRegistry, 100);
+
+      Object user = new Object();
+      YoRegistry linkedRootRegistry = new YoRegistry(rootRegistry.getName());
+      LinkedYoRegistry linkedYoRegistry = buffer.newLinkedYoRegistry(linkedRootRegistry);
+      List<YoVariable> linkedVariables = linkedRootRegistry.collectSubtreeVariables();
+      assertEquals(variables.size(), linkedVariables.size());
+      linkedVariables.forEach(variable -> linkedYoRegistry.linkYoVariable(variable, user));
+
+      SharedMemoryRandomTools.randomizeYoVariables(random, variables);
+      buffer.writeBuffer();
+
+      for (int i = 0; i < WARMUP_ITERATIONS; i++)
+         pullCycle(buffer, linkedYoRegistry);
+
+      com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+      long threadId = Thread.currentThread().getId();
+      long start = threadMXBean.getThreadAllocatedBytes(threadId);
+
+      for (int i = 0; i < ITERATIONS; i++)
+         pullCycle(buffer, linkedYoRegistry);
+
+      long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - start;
+      // Less than a byte per cycle, leaving room for the measurement itself.
+      assertTrue(allocatedBytes < ITERATIONS, "Allocated " + allocatedBytes + " bytes over " + ITERATIONS + " cycles.");
+
+      for (int i = 0; i < variables.size(); i++)
+         assertEquals(variables.get(i).getValueAsDouble(), linkedVariables.get(i).getValueAsDouble());
+
+      buffer.dispose();
+   }
+
+   @Test
+   public void testRequestsAreRecycled()
+   {
+      Random random = new Random(23496);
+      YoRegistry rootRegistry = SharedMemoryRandomTools.nextYoRegistryTree(random, 10, 5)[0];
+      YoSharedBuffer buffer = new YoSharedBuffer(rootRegistry, 100);
+
+      YoRegistry linkedRootRegistry = new YoRegistry(rootRegistry.getName());
+      LinkedYoRegistry linkedYoRegistry = buffer.newLinkedYoRegistry(linkedRootRegistry);
+
+      for (YoVariable linkedVariable : linkedRootRegistry.collectSubtreeVariables())
+      {
+         LinkedYoVariable<YoVariable> linkedYoVariable = linkedYoRegistry.linkYoVariable(linkedVariable);
+
+         assertTrue(linkedYoVariable.toPullRequest() == linkedYoVariable.toPullRequest());
+         assertTrue(linkedYoVariable.toPushRequest() == linkedYoVariable.toPushRequest());
+      }
+
+      buffer.dispose();
+   }
+
+   private static void pullCycle(YoSharedBuffer buffer, LinkedYoRegistry linkedYoRegistry)
+   {
+      buffer.prepareLinkedBuffersForPull();
+      linkedYoRegistry.pull();
+   }
+}
@@ -0,0 +1,170 @@
+package us.ihmc.scs2.sharedMemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoDouble;
+import us.ihmc.yoVariables.variable.YoLong;
+import us.ihmc.yoVariables.variable.YoVariable;
+
+public class LinkedYoRegistryPublicationTest
+{
+   private static final int NUMBER_OF_VARIABLES = 200;
+   private static final long DURATION_MILLIS = 1000;
+
+   @Test
+   public void testPullsAreConsistent() throws Exception
+   {
+      YoRegistry rootRegistry = new YoRegistry("root");
+      YoDouble[] doubles = new YoDouble[NUMBER_OF_VARIABLES];
+      YoLong[] longs = new YoLong[NUMBER_OF_VARIABLES];
+      for (int i = 0; i < NUMBER_OF_VARIABLES; i++)
+      {
+         doubles[i] = new YoDouble("double" + i, rootRegistry);
+         longs[i] = new YoLong("long" + i, rootRegistry);
+      }
+      YoSharedBuffer buffer = new YoSharedBuffer(rootRegistry, 100);
+
+      YoRegistry linkedRootRegistry = new YoRegistry(rootRegistry.getName());
+      LinkedYoRegistry linkedYoRegistry = buffer.newLinkedYoRegistry(linkedRootRegistry);
+      List<YoVariable> linkedVariables = linkedRootRegistry.collectSubtreeVariables();
+      linkedVariables.forEach(variable -> linkedYoRegistry.linkYoVariable(variable, this));
+
+      AtomicBoolean running = new AtomicBoolean(true);
+      AtomicReference<Throwable> error = new AtomicReference<>();
+
+      Thread producer = new Thread(() ->
+      {
+         long tick = 0;
+
+         while (running.get())
+         {
+            tick++;
+            for (int i = 0; i < NUMBER_OF_VARIABLES; i++)
+            {
+               doubles[i].set(tick);
+               longs[i].set(tick);
+            }
+            buffer.prepareLinkedBuffersForPull();
+         }
+      }, "producer");
+
+      Thread consumer = new Thread(() ->
+      {
+         try
+         {
+            while (running.get())
+            {
+               if (!linkedYoRegistry.pull())
+                  continue;
+
+               // All the variables have to come from the same publication.
+               double expected = linkedVariables.get(0).getValueAsDouble();
+               for (int i = 1; i < linkedVariables.size(); i++)
+                  assertEquals(expected, linkedVariables.get(i).getValueAsDouble(), linkedVariables.get(i).getName());
+            }
+         }
+         catch (Throwable e)
+         {
+            error.set(e);
+            running.set(false);
+         }
+      }, "consumer");
+
+      producer.start();
+      consumer.start();
+      Thread.sleep(DURATION_MILLIS);
+      running.set(false);
+      producer.join();
+      consumer.join();
+
+      if (error.get() != null)
+         throw new AssertionError(error.get());
+
+      LinkedBufferStatistics statistics = buffer.getLinkedBufferStatistics();
+      assertTrue(statistics.getPublicationCount() > 0);
+      assertTrue(statistics.getPullCount() > 0);
+      buffer.dispose();
+   }
+
+   @Test
+   public void testPublicationDoesNotWaitOnConsumers() throws Exception
+   {
+      YoRegistry rootRegistry = new YoRegistry("root");
+      YoDouble yoDouble = new YoDouble("double", rootRegistry);
+      YoSharedBuffer buffer = new YoSharedBuffer(rootRegistry, 100);
+
+      YoRegistry linkedRootRegistry = new YoRegistry(rootRegistry.getName());
+      LinkedYoRegistry linkedYoRegistry = buffer.newLinkedYoRegistry(linkedRootRegistry);
+      YoVariable linkedDouble = linkedRootRegistry.collectSubtreeVariables().get(0);
+      linkedYoRegistry.linkYoVariable(linkedDouble, this);
+
+      LinkedBufferProperties linkedProperties = buffer.newLinkedBufferProperties();
+      yoDouble.set(1.0);
+      assertTrue(buffer.prepareLinkedBuffersForPull());
+      assertTrue(linkedYoRegistry.pull());
+      assertEquals(buffer.getProperties().getCurrentIndex(), linkedProperties.pollCurrentBufferProperties().getCurrentIndex());
+      assertEquals(1.0, linkedDouble.getValueAsDouble());
+      assertFalse(linkedYoRegistry.pull());
+
+      // Simulates a consumer modifying the linked registry.
+      CountDownLatch locked = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      Thread consumer = new Thread(() ->
+      {
+         buffer.getRegistryBuffer().getLock().lock();
+         try
+         {
+            locked.countDown();
+            release.await();
+         }
+         catch (InterruptedException e)
+         {
+            Thread.currentThread().interrupt();
+         }
+         finally
+         {
+            buffer.getRegistryBuffer().getLock().unlock();
+         }
+      }, "consumer");
+      consumer.start();
+      assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+      try
+      {
+         LinkedBufferStatistics statistics = buffer.getLinkedBufferStatistics();
+         long skippedPublicationCount = statistics.getSkippedPublicationCount();
+         long publicationCount = statistics.getPublicationCount();
+         yoDouble.set(2.0);
+         buffer.incrementBufferIndex(true);
+         assertFalse(buffer.prepareLinkedBuffersForPull());
+         assertEquals(skippedPublicationCount + 1, statistics.getSkippedPublicationCount());
+         assertEquals(publicationCount, statistics.getPublicationCount());
+         assertFalse(linkedYoRegistry.pull());
+         // The properties are skipped together with the values.
+         assertNull(linkedProperties.pollCurrentBufferProperties());
+      }
+      finally
+      {
+         release.countDown();
+         consumer.join();
+      }
+
+      assertTrue(buffer.prepareLinkedBuffersForPull());
+      assertTrue(linkedYoRegistry.pull());
+      assertEquals(buffer.getProperties().getCurrentIndex(), linkedProperties.pollCurrentBufferProperties().getCurrentIndex());
+      assertEquals(2.0, linkedDouble.getValueAsDouble());
+      buffer.dispose();
+   }
+}
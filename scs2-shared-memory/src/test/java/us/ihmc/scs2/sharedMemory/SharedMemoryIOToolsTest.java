@@ -1,5 +1,8 @@
 package us.ihmc.scs2.sharedMemory;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static us.ihmc.scs2.sharedMemory.tools.SharedMemoryIOTools.MATLAB_VARNAME_MAX_LENGTH;
 
 import java.io.File;
@@ -8,7 +11,11 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 
 import jakarta.xml.bind.JAXBException;
 
@@ -19,6 +26,7 @@ import us.ihmc.scs2.sharedMemory.tools.SharedMemoryRandomTools;
 import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTestTools;
 import us.ihmc.yoVariables.registry.YoRegistry;
 import us.ihmc.yoVariables.variable.YoDouble;
+import us.ihmc.yoVariables.variable.YoVariable;
 
 public class SharedMemoryIOToolsTest
 {
@@ -150,4 +158,165 @@ public class SharedMemoryIOToolsTest
       Files.delete(Paths.get(dataFileName));
       Files.delete(Paths.get(registryFileName));
    }
+
+   @Test
+   public void testExportImportBinary() throws JAXBException, IOException
+   {
+      Random random = new Random(35453);
+
+      String dataFileName = "./bufferBinaryExport.scs2.bin";
+      String registryFileName = "./bufferBinaryExport.scs2.registry";
+
+      for (int i = 0; i < 100; i++)
+      {
+         boolean compress = random.nextBoolean();
+         YoSharedBuffer exportedBuffer = SharedMemoryRandomTools.nextYoSharedBuffer(random, 20, 20);
+         SharedMemoryIOTools.exportRegistry(exportedBuffer.getRootRegistry(), new FileOutputStream(registryFileName));
+         SharedMemoryIOTools.exportDataBinary(exportedBuffer, new File(dataFileName), compress, null, null);
+         byte[] exportedData = Files.readAllBytes(Paths.get(dataFileName));
+
+         YoRegistry importedRoot = SharedMemoryIOTools.importRegistry(new FileInputStream(registryFileName));
+         SharedMemoryTestTools.assertYoRegistryEquals(exportedBuffer.getRootRegistry(), importedRoot);
+         // Importing in a larger buffer forces the columns to be copied.
+         YoSharedBuffer importedBuffer = new YoSharedBuffer(importedRoot, random.nextBoolean() ? 1 : exportedBuffer.getProperties().getSize() + 10);
+         SharedMemoryIOTools.importDataBinary(new File(dataFileName), importedBuffer);
+
+         exportedBuffer.cropBuffer(new CropBufferRequest(exportedBuffer.getProperties().getInPoint(), exportedBuffer.getProperties().getOutPoint()));
+         importedBuffer.cropBuffer(new CropBufferRequest(importedBuffer.getProperties().getInPoint(), importedBuffer.getProperties().getOutPoint()));
+
+         SharedMemoryTestTools.assertYoSharedBufferEquals(exportedBuffer, importedBuffer, 0.0);
+
+         // The file is mapped privately, modifying the buffer should not modify the file.
+         SharedMemoryRandomTools.randomizeYoVariables(random, importedRoot.collectSubtreeVariables());
+         importedBuffer.writeBuffer();
+         assertArrayEquals(exportedData, Files.readAllBytes(Paths.get(dataFileName)));
+      }
+
+      Files.delete(Paths.get(dataFileName));
+      Files.delete(Paths.get(registryFileName));
+   }
+
+   @Test
+   public void testParallelImportTextAgainstStream() throws IOException
+   {
+      Random random = new Random(7834);
+
+      String dataFileName = "./bufferParallelImport.scs2.data";
+      ForkJoinPool forkJoinPool = new ForkJoinPool(3);
+      // NaN and infinities are left out as the buffer assertions compare values with an epsilon.
+      double[] specialValues = {0.0, -0.0, 1.0, -3.0, 1.0e7, 0.1, 1.0e-7, 123456789.123456789, Double.MIN_VALUE, Double.MAX_VALUE, Long.MAX_VALUE};
+
+      for (int i = 0; i < 10; i++)
+      {
+         YoRegistry root = SharedMemoryRandomTools.nextYoRegistryTree(random, 20, 10)[0];
+         YoDouble special = new YoDouble("special", root);
+         // The first buffer is large enough for the file to be split into several chunks.
+         YoSharedBuffer buffer = new YoSharedBuffer(root, i == 0 ? 10000 : random.nextInt(2000) + 1);
+         List<YoVariable> variables = root.collectSubtreeVariables();
+
+         for (int j = i == 0 ? buffer.getProperties().getSize() : random.nextInt(2 * buffer.getProperties().getSize()); j >= 0; j--)
+         {
+            SharedMemoryRandomTools.randomizeYoVariables(random, variables);
+            special.set(random.nextBoolean() ? specialValues[random.nextInt(specialValues.length)] : random.nextInt(1000) / 100.0);
+            buffer.incrementBufferIndex(true);
+            buffer.writeBuffer();
+         }
+
+         List<Double> progress = new ArrayList<>();
+
+         SharedMemoryIOTools.exportDataCSV(buffer, new File(dataFileName), null, null, null, null);
+         YoSharedBuffer expected = SharedMemoryIOTools.importDataCSV(new FileInputStream(dataFileName), new YoSharedBuffer(root, 1));
+         YoSharedBuffer actual = SharedMemoryIOTools.importDataCSV(new File(dataFileName), new YoSharedBuffer(root, 1), forkJoinPool, progress::add);
+         // The stream importer grows the buffer as it goes while the parallel one sizes it upfront.
+         expected.cropBuffer(new CropBufferRequest(expected.getProperties().getInPoint(), expected.getProperties().getOutPoint()));
+         actual.cropBuffer(new CropBufferRequest(actual.getProperties().getInPoint(), actual.getProperties().getOutPoint()));
+         SharedMemoryTestTools.assertYoSharedBufferEquals(expected, actual, 0.0);
+         assertEquals(1.0, progress.get(progress.size() - 1).doubleValue());
+         for (int j = 1; j < progress.size(); j++)
+            assertTrue(progress.get(j) > progress.get(j - 1));
+         if (i == 0)
+            assertTrue(progress.size() > 1);
+
+         SharedMemoryIOTools.exportDataASCII(buffer, new File(dataFileName), null, null, null, null);
+         expected = SharedMemoryIOTools.importDataASCII(new FileInputStream(dataFileName), new YoSharedBuffer(root, 1));
+         actual = SharedMemoryIOTools.importDataASCII(new File(dataFileName), new YoSharedBuffer(root, 1), forkJoinPool, null);
+         SharedMemoryTestTools.assertYoSharedBufferEquals(expected, actual, 0.0);
+      }
+
+      forkJoinPool.shutdown();
+      Files.delete(Paths.get(dataFileName));
+   }
+
+   @Test
+   public void testExportImportArrow() throws JAXBException, IOException
+   {
+      Random random = new Random(90872);
+
+      String dataFileName = "./bufferArrowExport.scs2.arrow";
+      String registryFileName = "./bufferArrowExport.scs2.registry";
+
+      for (int i = 0; i < 100; i++)
+      {
+         YoSharedBuffer exportedBuffer = SharedMemoryRandomTools.nextYoSharedBuffer(random, 20, 20);
+         SharedMemoryIOTools.exportRegistry(exportedBuffer.getRootRegistry(), new FileOutputStream(registryFileName));
+         SharedMemoryIOTools.exportDataArrow(exportedBuffer, new File(dataFileName));
+
+         YoRegistry importedRoot = SharedMemoryIOTools.importRegistry(new FileInputStream(registryFileName));
+         SharedMemoryTestTools.assertYoRegistryEquals(exportedBuffer.getRootRegistry(), importedRoot);
+         YoSharedBuffer importedBuffer = SharedMemoryIOTools.importDataArrow(new File(dataFileName), importedRoot);
+
+         exportedBuffer.cropBuffer(new CropBufferRequest(exportedBuffer.getProperties().getInPoint(), exportedBuffer.getProperties().getOutPoint()));
+         importedBuffer.cropBuffer(new CropBufferRequest(importedBuffer.getProperties().getInPoint(), importedBuffer.getProperties().getOutPoint()));
+
+         SharedMemoryTestTools.assertYoSharedBufferEquals(exportedBuffer, importedBuffer, 0.0);
+      }
+
+      Files.delete(Paths.get(dataFileName));
+      Files.delete(Paths.get(registryFileName));
+   }
+
+   @Test
+   public void testParallelExportTextAgainstStream() throws IOException
+   {
+      Random random = new Random(23847);
+
+      String streamFileName = "./bufferStreamExport.scs2.data";
+      String parallelFileName = "./bufferParallelExport.scs2.data";
+      ForkJoinPool forkJoinPool = new ForkJoinPool(3);
+      double[] specialValues = {0.0, -0.0, 1.0, -3.0, 9999999.0, 1.0e7, -1.0e7, 0.1, Double.NaN, Double.POSITIVE_INFINITY, Double.MIN_VALUE, Long.MAX_VALUE};
+
+      for (int i = 0; i < 10; i++)
+      {
+         YoRegistry root = SharedMemoryRandomTools.nextYoRegistryTree(random, 20, 10)[0];
+         YoDouble special = new YoDouble("special", root);
+         YoSharedBuffer buffer = new YoSharedBuffer(root, random.nextInt(2000) + 1);
+         List<YoVariable> variables = root.collectSubtreeVariables();
+
+         for (int j = random.nextInt(2 * buffer.getProperties().getSize()); j >= 0; j--)
+         {
+            SharedMemoryRandomTools.randomizeYoVariables(random, variables);
+            special.set(random.nextBoolean() ? specialValues[random.nextInt(specialValues.length)] : Math.round(1.0e4 * random.nextGaussian()));
+            buffer.incrementBufferIndex(true);
+            buffer.writeBuffer();
+         }
+
+         Predicate<YoVariable> variableFilter = random.nextBoolean() ? null : variable -> variable.getName().hashCode() % 3 != 0;
+         List<Double> progress = new ArrayList<>();
+
+         SharedMemoryIOTools.exportDataCSV(buffer, new FileOutputStream(streamFileName), variableFilter, null);
+         SharedMemoryIOTools.exportDataCSV(buffer, new File(parallelFileName), variableFilter, null, forkJoinPool, progress::add);
+         assertArrayEquals(Files.readAllBytes(Paths.get(streamFileName)), Files.readAllBytes(Paths.get(parallelFileName)));
+         assertEquals(1.0, progress.get(progress.size() - 1).doubleValue());
+         for (int j = 1; j < progress.size(); j++)
+            assertTrue(progress.get(j) > progress.get(j - 1));
+
+         SharedMemoryIOTools.exportDataASCII(buffer, new FileOutputStream(streamFileName), variableFilter, null);
+         SharedMemoryIOTools.exportDataASCII(buffer, new File(parallelFileName), variableFilter, null, null, null);
+         assertArrayEquals(Files.readAllBytes(Paths.get(streamFileName)), Files.readAllBytes(Paths.get(parallelFileName)));
+      }
+
+      forkJoinPool.shutdown();
+      Files.delete(Paths.get(streamFileName));
+      Files.delete(Paths.get(parallelFileName));
+   }
 }
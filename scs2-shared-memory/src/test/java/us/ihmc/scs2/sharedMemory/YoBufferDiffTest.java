@@ -0,0 +1,239 @@
+package us.ihmc.scs2.sharedMemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.scs2.sharedMemory.YoBufferDiffReport.VariableDiff;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryIOTools;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryRandomTools;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoDouble;
+import us.ihmc.yoVariables.variable.YoEnum;
+import us.ihmc.yoVariables.variable.YoInteger;
+import us.ihmc.yoVariables.variable.YoVariable;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+public class YoBufferDiffTest
+{
+   private static final int ITERATIONS = 20;
+   private static final double EPSILON = 1.0e-9;
+
+   @Test
+   public void testDiffAgainstScan()
+   {
+      Random random = new Random(4621);
+
+      for (int iteration = 0; iteration < ITERATIONS; iteration++)
+      {
+         YoRegistry referenceRoot = new YoRegistry("root");
+         YoDouble referenceTime = new YoDouble("time", referenceRoot);
+         YoDouble referenceDouble = new YoDouble("double", referenceRoot);
+         YoInteger referenceInteger = new YoInteger("integer", referenceRoot);
+         YoRegistry otherRoot = new YoRegistry("root");
+         YoDouble otherTime = new YoDouble("time", otherRoot);
+         YoDouble otherDouble = new YoDouble("double", otherRoot);
+         YoInteger otherInteger = new YoInteger("integer", otherRoot);
+         new YoDouble("onlyInOther", otherRoot);
+
+         // Different sizes such that the in-points do not match when the buffers wrap around.
+         YoSharedBuffer reference = new YoSharedBuffer(referenceRoot, random.nextInt(10000) + 1);
+         YoSharedBuffer other = new YoSharedBuffer(otherRoot, random.nextInt(10000) + 1);
+         reference.setTimeVariable(referenceTime);
+         int divergenceStart = random.nextInt(15000);
+         double drift = 1.0e-3 * random.nextDouble();
+
+         for (int i = random.nextInt(15000); i >= 0; i--)
+         {
+            reference.incrementBufferIndex(true);
+            other.incrementBufferIndex(true);
+            referenceTime.add(0.001);
+            otherTime.add(0.001);
+            referenceDouble.set(random.nextDouble());
+            otherDouble.set(referenceDouble.getValue() + (i < divergenceStart ? drift * random.nextDouble() : 0.0));
+            referenceInteger.set(random.nextInt(10));
+            otherInteger.set(random.nextInt(20) == 0 ? random.nextInt(10) : referenceInteger.getValue());
+            reference.writeBuffer();
+            other.writeBuffer();
+         }
+
+         YoBufferDiff diff = new YoBufferDiff();
+         diff.setTolerance(YoVariableType.DOUBLE, 0.5 * drift);
+         YoBufferDiffReport report = diff.compare(reference, other);
+
+         assertEquals(List.of("root.onlyInOther"), report.getVariablesOnlyInOther());
+         assertTrue(report.getVariablesOnlyInReference().isEmpty());
+         assertEquals(3, report.getVariableDiffs().size());
+
+         for (VariableDiff variableDiff : report.getVariableDiffs())
+         {
+            YoVariable referenceVariable = referenceRoot.findVariable(variableDiff.fullName());
+            assertVariableDiffEquals(reference, other, referenceVariable, otherRoot.findVariable(variableDiff.fullName()), diff, variableDiff);
+
+            if (variableDiff.hasDiverged())
+            {
+               int index = SharedMemoryTools.increment(reference.getProperties().getInPoint(),
+                                                       variableDiff.firstDivergenceIndex(),
+                                                       reference.getProperties().getSize());
+               assertEquals(reference.getTimeIndex().timeAtIndex(index), variableDiff.firstDivergenceTime());
+            }
+         }
+
+         for (int i = 1; i < report.getVariableDiffs().size(); i++)
+            assertTrue(YoBufferDiffReport.RANKING.compare(report.getVariableDiffs().get(i - 1), report.getVariableDiffs().get(i)) <= 0);
+
+         reference.dispose();
+         other.dispose();
+      }
+   }
+
+   @Test
+   public void testCompareFiles() throws IOException
+   {
+      Random random = new Random(3487);
+      File referenceFile = new File("./bufferDiffReference.scs2.bin");
+      File otherFile = new File("./bufferDiffOther.scs2.csv");
+
+      for (int iteration = 0; iteration < 5; iteration++)
+      {
+         YoSharedBuffer buffer = SharedMemoryRandomTools.nextYoSharedBuffer(random, 10, 10);
+         YoRegistry root = buffer.getRootRegistry();
+
+         buffer.exportDataBinary(referenceFile, random.nextBoolean());
+         buffer.exportDataCSV(otherFile, null, null, null);
+
+         YoRegistry referenceRegistry = SharedMemoryTools.newRegistryFromNamespace(root.getNamespace());
+         SharedMemoryTools.duplicateMissingYoVariablesInTarget(root, referenceRegistry);
+         YoRegistry otherRegistry = SharedMemoryTools.newRegistryFromNamespace(root.getNamespace());
+         SharedMemoryTools.duplicateMissingYoVariablesInTarget(root, otherRegistry);
+
+         YoBufferDiff diff = new YoBufferDiff();
+         YoBufferDiffReport report = diff.compare(referenceFile, referenceRegistry, otherFile, otherRegistry);
+         assertTrue(report.isIdentical(), report.toString());
+         assertEquals(buffer.getProperties().getActiveBufferLength(), report.getReferenceLength());
+
+         // Changing a single sample in the data to compare.
+         YoSharedBuffer other = SharedMemoryIOTools.importData(otherFile, new YoSharedBuffer(otherRegistry, 1));
+         YoSharedBuffer reference = SharedMemoryIOTools.importData(referenceFile, new YoSharedBuffer(referenceRegistry, 1));
+         List<YoVariableBuffer<?>> otherBuffers = other.getRegistryBuffer().getYoVariableBuffers();
+         YoVariableBuffer<?> modifiedBuffer = otherBuffers.get(random.nextInt(otherBuffers.size()));
+         if (!(modifiedBuffer instanceof YoDoubleBuffer modifiedDoubleBuffer))
+         {
+            reference.dispose();
+            other.dispose();
+            continue;
+         }
+
+         int offset = random.nextInt(other.getProperties().getActiveBufferLength());
+         int index = SharedMemoryTools.increment(other.getProperties().getInPoint(), offset, other.getProperties().getSize());
+         modifiedDoubleBuffer.setValueAt(index, modifiedDoubleBuffer.getValueAt(index) + 1.0);
+
+         report = diff.compare(reference, other);
+         assertFalse(report.isIdentical());
+         assertEquals(1, report.getNumberOfDivergentVariables());
+         VariableDiff variableDiff = report.getDivergentVariableDiffs().get(0);
+         assertEquals(modifiedBuffer.getYoVariable().getFullNameString(), variableDiff.fullName());
+         assertEquals(offset, variableDiff.firstDivergenceIndex());
+         assertEquals(1, variableDiff.numberOfDivergentSamples());
+         reference.dispose();
+         other.dispose();
+      }
+
+      referenceFile.delete();
+      otherFile.delete();
+   }
+
+   @Test
+   public void testEnumsAreComparedByName()
+   {
+      YoRegistry referenceRoot = new YoRegistry("root");
+      YoEnum<?> referenceEnum = new YoEnum<>("enum", "", referenceRoot, true, "A", "B", "C");
+      YoRegistry otherRoot = new YoRegistry("root");
+      // Same constants in a different order, plus a new one.
+      YoEnum<?> otherEnum = new YoEnum<>("enum", "", otherRoot, true, "C", "D", "A", "B");
+
+      YoSharedBuffer reference = new YoSharedBuffer(referenceRoot, 100);
+      YoSharedBuffer other = new YoSharedBuffer(otherRoot, 100);
+      String[] referenceValues = {"A", "B", "C", null, "A", "C", "B", "A", "B", "C"};
+      String[] otherValues = {"A", "B", "C", null, "A", "C", "D", "A", null, "C"};
+
+      for (int i = 0; i < referenceValues.length; i++)
+      {
+         if (i > 0)
+         {
+            reference.incrementBufferIndex(true);
+            other.incrementBufferIndex(true);
+         }
+         referenceEnum.set(ordinalOf(referenceEnum, referenceValues[i]));
+         otherEnum.set(ordinalOf(otherEnum, otherValues[i]));
+         reference.writeBuffer();
+         other.writeBuffer();
+      }
+
+      YoBufferDiffReport report = new YoBufferDiff().compare(reference, other);
+      assertEquals(1, report.getVariableDiffs().size());
+      VariableDiff variableDiff = report.getVariableDiffs().get(0);
+      // Only the samples 6 and 8 differ, the ordinals differ for all but the null values.
+      assertEquals(6, variableDiff.firstDivergenceIndex());
+      assertEquals(2, variableDiff.numberOfDivergentSamples());
+      assertEquals(1.0, variableDiff.maxAbsoluteError());
+      assertEquals(Math.sqrt(2.0 / referenceValues.length), variableDiff.rmsError(), EPSILON);
+
+      reference.dispose();
+      other.dispose();
+   }
+
+   private static int ordinalOf(YoEnum<?> yoEnum, String constant)
+   {
+      return constant == null ? YoEnum.NULL_VALUE : List.of(yoEnum.getEnumValuesAsString()).indexOf(constant);
+   }
+
+   private static void assertVariableDiffEquals(YoSharedBuffer reference,
+                                                YoSharedBuffer other,
+                                                YoVariable referenceVariable,
+                                                YoVariable otherVariable,
+                                                YoBufferDiff diff,
+                                                VariableDiff actual)
+   {
+      YoVariableBuffer<?> referenceBuffer = reference.getRegistryBuffer().findYoVariableBuffer(referenceVariable);
+      YoVariableBuffer<?> otherBuffer = other.getRegistryBuffer().findYoVariableBuffer(otherVariable);
+      int length = Math.min(reference.getProperties().getActiveBufferLength(), other.getProperties().getActiveBufferLength());
+      double tolerance = diff.getTolerance(referenceVariable.getType());
+
+      int firstDivergenceIndex = -1;
+      double maxAbsoluteError = 0.0;
+      double sumOfSquaredErrors = 0.0;
+      int numberOfDivergentSamples = 0;
+
+      for (int i = 0; i < length; i++)
+      {
+         double referenceValue = referenceBuffer.getValueAsDouble(SharedMemoryTools.increment(reference.getProperties().getInPoint(),
+                                                                                              i,
+                                                                                              reference.getProperties().getSize()));
+         double otherValue = otherBuffer.getValueAsDouble(SharedMemoryTools.increment(other.getProperties().getInPoint(), i, other.getProperties().getSize()));
+         double error = Math.abs(referenceValue - otherValue);
+         maxAbsoluteError = Math.max(maxAbsoluteError, error);
+         sumOfSquaredErrors += error * error;
+
+         if (error > tolerance)
+         {
+            numberOfDivergentSamples++;
+            if (firstDivergenceIndex == -1)
+               firstDivergenceIndex = i;
+         }
+      }
+
+      assertEquals(firstDivergenceIndex, actual.firstDivergenceIndex());
+      assertEquals(numberOfDivergentSamples, actual.numberOfDivergentSamples());
+      assertEquals(maxAbsoluteError, actual.maxAbsoluteError(), EPSILON);
+      assertEquals(Math.sqrt(sumOfSquaredErrors / length), actual.rmsError(), EPSILON);
+   }
+}
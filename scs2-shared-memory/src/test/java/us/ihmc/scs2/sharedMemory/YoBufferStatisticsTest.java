@@ -0,0 +1,177 @@
+package us.ihmc.scs2.sharedMemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryRandomTools;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoDouble;
+import us.ihmc.yoVariables.variable.YoInteger;
+import us.ihmc.yoVariables.variable.YoVariable;
+
+public class YoBufferStatisticsTest
+{
+   private static final int ITERATIONS = 20;
+   private static final double EPSILON = 1.0e-9;
+   private static final double[] PERCENTILE_LEVELS = {0.0, 50.0, 99.0, 99.9, 100.0};
+
+   @Test
+   public void testStatisticsAgainstScan()
+   {
+      Random random = new Random(8734);
+
+      for (int iteration = 0; iteration < ITERATIONS; iteration++)
+      {
+         YoRegistry rootRegistry = new YoRegistry("root");
+         YoDouble yoDouble = new YoDouble("double", rootRegistry);
+         YoInteger yoInteger = new YoInteger("integer", rootRegistry);
+         YoSharedBuffer buffer = new YoSharedBuffer(rootRegistry, random.nextInt(20000) + 1);
+         int size = buffer.getProperties().getSize();
+         double offset = 1.0e6 * random.nextDouble();
+
+         for (int i = random.nextInt(2 * size); i >= 0; i--)
+         {
+            buffer.incrementBufferIndex(true);
+            // Large offset to verify the accuracy of the standard deviation.
+            yoDouble.set(random.nextInt(100) == 0 ? Double.NaN : offset + Math.sin(0.01 * i) + 0.1 * random.nextGaussian());
+            yoInteger.set(random.nextInt(1000) - 500);
+            buffer.writeBuffer();
+         }
+
+         for (int query = 0; query < 5; query++)
+         {
+            int from = random.nextInt(size);
+            int to = random.nextInt(size);
+            assertStatisticsEquals(buffer.getRegistryBuffer().findYoVariableBuffer(yoDouble), from, to, random.nextBoolean() ? PERCENTILE_LEVELS : null);
+            assertStatisticsEquals(buffer.getRegistryBuffer().findYoVariableBuffer(yoInteger), from, to, random.nextBoolean() ? PERCENTILE_LEVELS : null);
+         }
+
+         buffer.dispose();
+      }
+   }
+
+   @Test
+   public void testEmptyRange()
+   {
+      YoRegistry rootRegistry = new YoRegistry("root");
+      YoDouble yoDouble = new YoDouble("double", rootRegistry);
+      YoSharedBuffer buffer = new YoSharedBuffer(rootRegistry, 100);
+      yoDouble.set(Double.NaN);
+      buffer.fillBuffer(new FillBufferRequest(false, 0, 99));
+
+      YoBufferStatistics statistics = buffer.getRegistryBuffer().findYoVariableBuffer(yoDouble).computeStatistics(0, 99, PERCENTILE_LEVELS, null);
+      assertTrue(statistics.isEmpty());
+      assertTrue(Double.isNaN(statistics.getMin()));
+      assertTrue(Double.isNaN(statistics.getStandardDeviation()));
+      assertEquals(PERCENTILE_LEVELS.length, statistics.getNumberOfPercentiles());
+      for (int i = 0; i < PERCENTILE_LEVELS.length; i++)
+         assertTrue(Double.isNaN(statistics.getPercentile(i)));
+   }
+
+   @Test
+   public void testParallelAgainstSequential()
+   {
+      Random random = new Random(2346);
+      YoRegistry rootRegistry = SharedMemoryRandomTools.nextYoRegistryTree(random, 20, 10)[0];
+      List<YoVariable> variables = new ArrayList<>(rootRegistry.collectSubtreeVariables());
+      YoSharedBuffer buffer = new YoSharedBuffer(rootRegistry, 1000);
+
+      for (int i = 0; i < 1500; i++)
+      {
+         SharedMemoryRandomTools.randomizeYoVariables(random, variables);
+         buffer.incrementBufferIndex(true);
+         buffer.writeBuffer();
+      }
+
+      // A variable not recorded by the buffer.
+      variables.add(new YoDouble("unknown", new YoRegistry("other")));
+
+      ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+      int inPoint = buffer.getProperties().getInPoint();
+      int outPoint = buffer.getProperties().getOutPoint();
+      List<YoBufferStatistics> expected = buffer.computeStatistics(variables, inPoint, outPoint, PERCENTILE_LEVELS, null);
+      List<YoBufferStatistics> actual = buffer.computeStatistics(variables, inPoint, outPoint, PERCENTILE_LEVELS, forkJoinPool);
+      forkJoinPool.shutdown();
+
+      assertEquals(variables.size(), actual.size());
+      assertNull(actual.get(actual.size() - 1));
+
+      for (int i = 0; i < variables.size() - 1; i++)
+      {
+         assertEquals(expected.get(i).toString(), actual.get(i).toString());
+         assertEquals(expected.get(i).toString(), buffer.computeStatistics(variables.subList(i, i + 1), PERCENTILE_LEVELS).get(0).toString());
+      }
+   }
+
+   private static void assertStatisticsEquals(YoVariableBuffer<?> buffer, int from, int to, double[] percentileLevels)
+   {
+      int size = buffer.getProperties().getSize();
+      int length = SharedMemoryTools.computeSubLength(from, to, size);
+      double[] allValues = buffer.getAsDoubleBuffer();
+      double[] values = new double[length];
+      int count = 0;
+
+      for (int i = 0; i < length; i++)
+      {
+         double value = allValues[(from + i) % size];
+         if (!Double.isNaN(value))
+            values[count++] = value;
+      }
+
+      values = Arrays.copyOf(values, count);
+      YoBufferStatistics statistics = buffer.computeStatistics(from, to, percentileLevels, new YoBufferStatistics());
+      assertEquals(count, statistics.getCount());
+
+      if (count == 0)
+      {
+         assertTrue(statistics.isEmpty());
+         return;
+      }
+
+      double mean = Arrays.stream(values).sum() / count;
+      double sumOfSquaredErrors = Arrays.stream(values).map(v -> (v - mean) * (v - mean)).sum();
+      double sumOfSquares = Arrays.stream(values).map(v -> v * v).sum();
+      double epsilon = EPSILON * Math.max(1.0, Math.abs(mean));
+
+      assertEquals(Arrays.stream(values).min().getAsDouble(), statistics.getMin());
+      assertEquals(Arrays.stream(values).max().getAsDouble(), statistics.getMax());
+      assertEquals(mean, statistics.getMean(), epsilon);
+      assertEquals(Math.sqrt(sumOfSquares / count), statistics.getRMS(), epsilon);
+      assertEquals(Math.sqrt(sumOfSquaredErrors / count), statistics.getStandardDeviation(), EPSILON * Math.max(1.0, Math.sqrt(sumOfSquaredErrors / count)));
+
+      if (percentileLevels == null)
+      {
+         assertEquals(0, statistics.getNumberOfPercentiles());
+         return;
+      }
+
+      Arrays.sort(values);
+      assertEquals(percentileLevels.length, statistics.getNumberOfPercentiles());
+      assertEquals(values[0], statistics.getPercentile(0));
+      assertEquals(values[count - 1], statistics.getPercentile(percentileLevels.length - 1));
+
+      for (int i = 0; i < percentileLevels.length; i++)
+      {
+         double percentile = statistics.getPercentile(i);
+         int below = 0;
+         for (double value : values)
+         {
+            if (value < percentile)
+               below++;
+         }
+         // The number of values below the percentile should be consistent with its level.
+         assertTrue(below <= Math.ceil(percentileLevels[i] / 100.0 * (count - 1)), "Level " + percentileLevels[i] + ": " + below);
+         assertTrue(percentile >= values[0] && percentile <= values[count - 1]);
+      }
+   }
+}
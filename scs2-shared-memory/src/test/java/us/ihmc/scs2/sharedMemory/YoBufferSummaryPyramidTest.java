@@ -0,0 +1,189 @@
+package us.ihmc.scs2.sharedMemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoDouble;
+import us.ihmc.yoVariables.variable.YoInteger;
+
+public class YoBufferSummaryPyramidTest
+{
+   private static final int ITERATIONS = 10;
+   private static final double EPSILON = 1.0e-9;
+
+   @Test
+   public void testSharedBufferSummaryToggle()
+   {
+      YoRegistry rootRegistry = new YoRegistry("root");
+      YoDouble existing = new YoDouble("existing", rootRegistry);
+      YoSharedBuffer buffer = new YoSharedBuffer(rootRegistry, 100);
+      YoRegistryBuffer registryBuffer = buffer.getRegistryBuffer();
+      assertFalse(registryBuffer.findYoVariableBuffer(existing).isSummaryEnabled());
+
+      buffer.setSummaryEnabled(true);
+      assertTrue(registryBuffer.isSummaryEnabled());
+      assertTrue(registryBuffer.findYoVariableBuffer(existing).isSummaryEnabled());
+
+      // Variables registered after enabling the summary.
+      YoDouble added = new YoDouble("added", rootRegistry);
+      assertTrue(registryBuffer.findYoVariableBuffer(added).isSummaryEnabled());
+      YoDouble other = new YoDouble("other", new YoRegistry("root")); // Same namespace, not registered.
+      assertTrue(registryBuffer.findOrCreateYoVariableBuffer(other).isSummaryEnabled());
+
+      buffer.setSummaryEnabled(false);
+      assertFalse(registryBuffer.findYoVariableBuffer(existing).isSummaryEnabled());
+      assertFalse(registryBuffer.findYoVariableBuffer(added).isSummaryEnabled());
+   }
+
+   @Test
+   public void testRangeSummaryAgainstScan()
+   {
+      Random random = new Random(3464);
+
+      for (int iteration = 0; iteration < ITERATIONS; iteration++)
+      {
+         YoRegistry rootRegistry = new YoRegistry("root");
+         YoDouble yoDouble = new YoDouble("double", rootRegistry);
+         YoInteger yoInteger = new YoInteger("integer", rootRegistry);
+         YoSharedBuffer buffer = new YoSharedBuffer(rootRegistry, iteration == 0 ? 300000 : random.nextInt(10000) + 1);
+         YoVariableBuffer<?> doubleBuffer = buffer.getRegistryBuffer().findYoVariableBuffer(yoDouble);
+         YoVariableBuffer<?> integerBuffer = buffer.getRegistryBuffer().findYoVariableBuffer(yoInteger);
+         doubleBuffer.setSummaryEnabled(true);
+         integerBuffer.setSummaryEnabled(true);
+
+         for (int tick = 0; tick < 500; tick++)
+         {
+            switch (random.nextInt(50))
+            {
+               case 0:
+                  buffer.resizeBuffer(random.nextInt(10000) + 1);
+                  break;
+               case 1:
+                  int size = buffer.getProperties().getSize();
+                  buffer.cropBuffer(new CropBufferRequest(random.nextInt(size), random.nextInt(size)));
+                  break;
+               case 2:
+                  yoDouble.set(random.nextDouble());
+                  buffer.fillBuffer(new FillBufferRequest(random.nextBoolean(), buffer.getProperties().getInPoint(), buffer.getProperties().getOutPoint()));
+                  break;
+               case 3:
+                  YoBufferPropertiesReadOnly properties = buffer.getProperties();
+                  buffer.setCurrentIndex(random.nextInt(properties.getSize()));
+                  break;
+               default:
+                  break;
+            }
+
+            for (int i = random.nextInt(500); i >= 0; i--)
+            {
+               buffer.incrementBufferIndex(true);
+               // Using a signal with extrema spread over the buffer and some NaNs.
+               yoDouble.set(random.nextInt(100) == 0 ? Double.NaN : Math.sin(0.01 * tick + 0.001 * i) + 0.1 * random.nextGaussian());
+               yoInteger.set(random.nextInt(1000) - 500);
+               buffer.writeBuffer();
+            }
+
+            if (random.nextInt(20) == 0)
+            {
+               doubleBuffer.setSummaryEnabled(false);
+               doubleBuffer.setSummaryEnabled(true);
+            }
+
+            for (int query = 0; query < 3; query++)
+            {
+               int size = buffer.getProperties().getSize();
+               int from = random.nextInt(size);
+               int to = random.nextInt(size);
+               assertSummaryEquals(doubleBuffer, from, to);
+               assertSummaryEquals(integerBuffer, from, to);
+            }
+
+            YoBufferPropertiesReadOnly properties = buffer.getProperties();
+            assertSummaryEquals(doubleBuffer, properties.getInPoint(), properties.getOutPoint());
+         }
+
+         buffer.dispose();
+      }
+   }
+
+   @Test
+   public void testEnvelope()
+   {
+      Random random = new Random(6342);
+
+      for (int iteration = 0; iteration < ITERATIONS; iteration++)
+      {
+         YoRegistry rootRegistry = new YoRegistry("root");
+         YoDouble yoDouble = new YoDouble("double", rootRegistry);
+         int size = random.nextInt(100000) + 1;
+         YoSharedBuffer buffer = new YoSharedBuffer(rootRegistry, size);
+         YoDoubleBuffer doubleBuffer = (YoDoubleBuffer) buffer.getRegistryBuffer().findYoVariableBuffer(yoDouble);
+         doubleBuffer.setSummaryEnabled(random.nextBoolean());
+
+         for (int i = 0; i < size; i++)
+         {
+            buffer.incrementBufferIndex(true);
+            yoDouble.set(random.nextGaussian());
+            buffer.writeBuffer();
+         }
+
+         int from = random.nextInt(size);
+         int to = random.nextInt(size);
+         int length = SharedMemoryTools.computeSubLength(from, to, size);
+         int numberOfBins = random.nextInt(2000) + 1;
+         double[] minEnvelope = new double[numberOfBins];
+         double[] maxEnvelope = new double[numberOfBins];
+         doubleBuffer.computeEnvelope(from, to, numberOfBins, minEnvelope, maxEnvelope, new YoBufferRangeSummary());
+
+         double[] expectedMinEnvelope = new double[numberOfBins];
+         double[] expectedMaxEnvelope = new double[numberOfBins];
+
+         for (int bin = 0; bin < numberOfBins; bin++)
+         {
+            int binStart = (int) ((long) bin * length / numberOfBins);
+            int binEnd = (int) ((long) (bin + 1) * length / numberOfBins);
+            expectedMinEnvelope[bin] = binStart == binEnd ? Double.NaN : Double.POSITIVE_INFINITY;
+            expectedMaxEnvelope[bin] = binStart == binEnd ? Double.NaN : Double.NEGATIVE_INFINITY;
+
+            for (int i = binStart; i < binEnd; i++)
+            {
+               double value = doubleBuffer.getValueAt(SharedMemoryTools.increment(from, i, size));
+               expectedMinEnvelope[bin] = Math.min(expectedMinEnvelope[bin], value);
+               expectedMaxEnvelope[bin] = Math.max(expectedMaxEnvelope[bin], value);
+            }
+         }
+
+         for (int bin = 0; bin < numberOfBins; bin++)
+         {
+            assertEquals(expectedMinEnvelope[bin], minEnvelope[bin]);
+            assertEquals(expectedMaxEnvelope[bin], maxEnvelope[bin]);
+         }
+
+         buffer.dispose();
+      }
+   }
+
+   private static void assertSummaryEquals(YoVariableBuffer<?> variableBuffer, int from, int to)
+   {
+      int size = variableBuffer.getProperties().getSize();
+      YoBufferRangeSummary expected = new YoBufferRangeSummary();
+
+      for (int i = 0; i < SharedMemoryTools.computeSubLength(from, to, size); i++)
+         expected.add(variableBuffer.getValueAsDouble(SharedMemoryTools.increment(from, i, size)));
+
+      YoBufferRangeSummary actual = variableBuffer.computeRangeSummary(from, to, null);
+      assertEquals(expected.getCount(), actual.getCount());
+      assertEquals(expected.getMin(), actual.getMin());
+      assertEquals(expected.getMax(), actual.getMax());
+      assertTrue(Math.abs(expected.getSum() - actual.getSum()) <= EPSILON * Math.max(1.0, expected.getCount()),
+                 "Expected sum: " + expected.getSum() + ", actual: " + actual.getSum());
+   }
+}
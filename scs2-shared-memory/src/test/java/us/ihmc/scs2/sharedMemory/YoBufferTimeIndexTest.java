@@ -0,0 +1,187 @@
+package us.ihmc.scs2.sharedMemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoDouble;
+
+public class YoBufferTimeIndexTest
+{
+   private static final int ITERATIONS = 20;
+
+   @Test
+   public void testMonotonicTime()
+   {
+      Random random = new Random(2376);
+
+      for (int iteration = 0; iteration < ITERATIONS; iteration++)
+      {
+         YoRegistry rootRegistry = new YoRegistry("root");
+         YoDouble time = new YoDouble("time", rootRegistry);
+         YoSharedBuffer buffer = new YoSharedBuffer(rootRegistry, random.nextInt(5000) + 2);
+         buffer.setTimeVariable(time);
+         YoBufferTimeIndex timeIndex = buffer.getTimeIndex();
+         double dt = 0.001 * (random.nextInt(10) + 1);
+
+         // Fills the buffer more than once to also cover the in-point moving forward.
+         for (int i = random.nextInt(2 * buffer.getProperties().getSize()); i >= 0; i--)
+         {
+            buffer.incrementBufferIndex(true);
+            time.add(dt);
+            buffer.writeBuffer();
+            if (random.nextInt(100) == 0)
+               assertTrue(timeIndex.isMonotonic());
+         }
+
+         YoBufferPropertiesReadOnly properties = buffer.getProperties();
+         assertTrue(timeIndex.isMonotonic());
+         assertEquals(properties.getInPoint(), timeIndex.indexAtTime(Double.NEGATIVE_INFINITY));
+         assertEquals(properties.getOutPoint(), timeIndex.indexAtTime(Double.POSITIVE_INFINITY));
+
+         for (int i = 0; i < properties.getActiveBufferLength(); i++)
+         {
+            int index = SharedMemoryTools.increment(properties.getInPoint(), i, properties.getSize());
+            double sampleTime = timeIndex.timeAtIndex(index);
+            assertEquals(index, timeIndex.indexAtTime(sampleTime));
+            assertEquals(index, timeIndex.indexAtTime(sampleTime + 0.4 * dt));
+            assertEquals(index, timeIndex.indexAtTime(sampleTime - 0.4 * dt));
+         }
+
+         buffer.dispose();
+      }
+   }
+
+   @Test
+   public void testIncrementalUpdateAgainstRebuild()
+   {
+      Random random = new Random(9823);
+
+      for (int iteration = 0; iteration < ITERATIONS; iteration++)
+      {
+         YoRegistry rootRegistry = new YoRegistry("root");
+         YoDouble time = new YoDouble("time", rootRegistry);
+         YoSharedBuffer buffer = new YoSharedBuffer(rootRegistry, random.nextInt(500) + 1);
+         buffer.setTimeVariable(time);
+         YoBufferTimeIndex timeIndex = buffer.getTimeIndex();
+         YoDoubleBuffer timeBuffer = timeIndex.getTimeBuffer();
+
+         for (int step = 0; step < 2000; step++)
+         {
+            int action = random.nextInt(100);
+
+            if (action < 2)
+            { // Reinitializing the session, the time goes back.
+               time.set(random.nextDouble());
+            }
+            else if (action < 4)
+            { // Re-writing the last sample.
+               time.add(random.nextDouble() - 0.5);
+               buffer.writeBuffer();
+            }
+            else if (action < 5)
+            {
+               buffer.setInPoint(buffer.getProperties().getCurrentIndex());
+            }
+            else if (action < 6)
+            {
+               YoBufferPropertiesReadOnly properties = buffer.getProperties();
+               buffer.cropBuffer(new CropBufferRequest(properties.getInPoint(), properties.getOutPoint()));
+            }
+            else
+            {
+               buffer.incrementBufferIndex(true);
+               time.add(random.nextInt(10) == 0 ? 0.0 : 0.001);
+               buffer.writeBuffer();
+            }
+
+            if (random.nextInt(10) == 0)
+            {
+               YoBufferTimeIndex expected = new YoBufferTimeIndex(timeBuffer);
+               assertTimeIndexEquals(expected.update(), timeIndex.update());
+
+               for (int query = 0; query < 5; query++)
+               {
+                  double queryTime = time.getValue() + random.nextDouble() - 0.8;
+                  assertEquals(expected.indexAtTime(queryTime), timeIndex.indexAtTime(queryTime));
+                  assertRangesMatchScan(buffer, timeIndex, queryTime, queryTime + 0.5 * random.nextDouble());
+               }
+            }
+         }
+
+         buffer.dispose();
+      }
+   }
+
+   @Test
+   public void testTimestampsWithReset()
+   {
+      long[] timestamps = {10L, 20L, 30L, 40L, 5L, 15L, 25L, 25L, 35L, 1L};
+      TimeIndex timeIndex = TimeIndex.fromNanoseconds(timestamps);
+
+      assertFalse(timeIndex.isMonotonic());
+      assertEquals(3, timeIndex.getNumberOfSegments());
+      assertEquals(0, timeIndex.getSegmentStart(0));
+      assertEquals(3, timeIndex.getSegmentEnd(0));
+      assertEquals(4, timeIndex.getSegmentStart(1));
+      assertEquals(8, timeIndex.getSegmentEnd(1));
+      assertEquals(9, timeIndex.getSegmentStart(2));
+      assertEquals(9, timeIndex.getSegmentEnd(2));
+
+      // The most recent segment covering the time is used.
+      assertEquals(5, timeIndex.positionAtTime(17.0e-9));
+      assertEquals(6, timeIndex.positionAtTime(24.0e-9));
+      assertEquals(3, timeIndex.positionAtTime(38.0e-9));
+      assertEquals(9, timeIndex.positionAtTime(0.0));
+      assertEquals(List.of(new TimeIndex.Range(1, 2), new TimeIndex.Range(5, 7)), timeIndex.findRanges(12.0e-9, 31.0e-9));
+
+      timeIndex.removeFirst(5);
+      assertEquals(5, timeIndex.getLength());
+      assertEquals(2, timeIndex.getNumberOfSegments());
+      assertEquals(0, timeIndex.getSegmentStart(0));
+      assertEquals(3, timeIndex.getSegmentEnd(0));
+      timeIndex.removeLast(1);
+      assertTrue(timeIndex.isMonotonic());
+      assertEquals(2, timeIndex.positionAtTime(27.0e-9));
+   }
+
+   private static void assertTimeIndexEquals(TimeIndex expected, TimeIndex actual)
+   {
+      assertEquals(expected.getLength(), actual.getLength());
+      assertEquals(expected.getNumberOfSegments(), actual.getNumberOfSegments());
+
+      for (int segment = 0; segment < expected.getNumberOfSegments(); segment++)
+      {
+         assertEquals(expected.getSegmentStart(segment), actual.getSegmentStart(segment));
+         assertEquals(expected.getSegmentEnd(segment), actual.getSegmentEnd(segment));
+      }
+   }
+
+   private static void assertRangesMatchScan(YoSharedBuffer buffer, YoBufferTimeIndex timeIndex, double startTime, double endTime)
+   {
+      YoBufferPropertiesReadOnly properties = buffer.getProperties();
+      boolean[] isInRange = new boolean[properties.getSize()];
+
+      for (TimeIndex.Range range : timeIndex.findIndexRanges(startTime, endTime))
+      {
+         int length = SharedMemoryTools.computeSubLength(range.from(), range.to(), properties.getSize());
+         for (int i = 0; i < length; i++)
+            isInRange[SharedMemoryTools.increment(range.from(), i, properties.getSize())] = true;
+      }
+
+      for (int i = 0; i < properties.getActiveBufferLength(); i++)
+      {
+         int index = SharedMemoryTools.increment(properties.getInPoint(), i, properties.getSize());
+         double sampleTime = timeIndex.timeAtIndex(index);
+         assertEquals(startTime <= sampleTime && sampleTime <= endTime, isInRange[index]);
+      }
+   }
+}
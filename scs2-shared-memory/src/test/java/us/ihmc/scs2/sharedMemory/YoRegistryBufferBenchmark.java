@@ -0,0 +1,99 @@
+package us.ihmc.scs2.sharedMemory;
+
+import java.util.List;
+import java.util.Random;
+
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryRandomTools;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoBoolean;
+import us.ihmc.yoVariables.variable.YoDouble;
+import us.ihmc.yoVariables.variable.YoEnum;
+import us.ihmc.yoVariables.variable.YoInteger;
+import us.ihmc.yoVariables.variable.YoLong;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Compares the cost of writing and reading a large registry to the buffer, as done at every tick of a
+ * session, using the type-partitioned loops of {@link YoVariableBufferList} against a loop calling
+ * each buffer through {@link YoVariableBuffer}.
+ * <p>
+ * The registry has the mix of types typically found in a robot controller, mostly doubles.
+ * </p>
+ */
+public class YoRegistryBufferBenchmark
+{
+   private static final int NUMBER_OF_VARIABLES = 50000;
+   private static final int BUFFER_SIZE = 1024;
+   private static final int WARMUP_ITERATIONS = 2000;
+   private static final int ITERATIONS = 2000;
+
+   public static void main(String[] args)
+   {
+      Random random = new Random(3452);
+      YoRegistry rootRegistry = new YoRegistry("root");
+
+      for (int i = 0; i < NUMBER_OF_VARIABLES; i++)
+      {
+         int type = random.nextInt(100);
+         if (type < 70)
+            new YoDouble("double" + i, rootRegistry);
+         else if (type < 80)
+            new YoBoolean("boolean" + i, rootRegistry);
+         else if (type < 88)
+            new YoInteger("integer" + i, rootRegistry);
+         else if (type < 94)
+            new YoLong("long" + i, rootRegistry);
+         else
+            new YoEnum<>("enum" + i, rootRegistry, YoVariableType.class, true);
+      }
+
+      YoSharedBuffer buffer = new YoSharedBuffer(rootRegistry, BUFFER_SIZE);
+      SharedMemoryRandomTools.randomizeYoVariables(random, rootRegistry.collectSubtreeVariables());
+      YoRegistryBuffer registryBuffer = buffer.getRegistryBuffer();
+      List<YoVariableBuffer<?>> variableBuffers = registryBuffer.getYoVariableBuffers();
+      YoVariableBuffer<?>[] variableBufferArray = variableBuffers.toArray(new YoVariableBuffer[0]);
+
+      System.out.printf("%-12s %-12s %14s%n", "operation", "loop", "tick [us]");
+
+      for (int run = 0; run < 2; run++)
+      { // Running twice to make sure the JIT has settled.
+         long checksum = 0;
+         checksum += measure("write", "per buffer", index ->
+         {
+            for (YoVariableBuffer<?> variableBuffer : variableBufferArray)
+               variableBuffer.writeBufferAt(index);
+         });
+         checksum += measure("write", "per type", registryBuffer::writeBufferAt);
+         checksum += measure("read", "per buffer", index ->
+         {
+            for (YoVariableBuffer<?> variableBuffer : variableBufferArray)
+               variableBuffer.readBufferAt(index);
+         });
+         checksum += measure("read", "per type", registryBuffer::readBufferAt);
+
+         if (checksum == 42)
+            System.out.println(); // Prevents dead-code elimination.
+      }
+
+      buffer.dispose();
+   }
+
+   private static long measure(String operation, String loop, TickOperation tickOperation)
+   {
+      for (int i = 0; i < WARMUP_ITERATIONS; i++)
+         tickOperation.run(i % BUFFER_SIZE);
+
+      long start = System.nanoTime();
+      for (int i = 0; i < ITERATIONS; i++)
+         tickOperation.run(i % BUFFER_SIZE);
+      long duration = System.nanoTime() - start;
+
+      System.out.printf("%-12s %-12s %14.2f%n", operation, loop, duration / 1000.0 / ITERATIONS);
+      return duration;
+   }
+
+   private interface TickOperation
+   {
+      void run(int index);
+   }
+}
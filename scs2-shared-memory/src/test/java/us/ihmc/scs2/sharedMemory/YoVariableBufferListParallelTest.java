@@ -0,0 +1,108 @@
+package us.ihmc.scs2.sharedMemory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryRandomTools;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoBoolean;
+import us.ihmc.yoVariables.variable.YoDouble;
+import us.ihmc.yoVariables.variable.YoEnum;
+import us.ihmc.yoVariables.variable.YoInteger;
+import us.ihmc.yoVariables.variable.YoLong;
+import us.ihmc.yoVariables.variable.YoVariable;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+public class YoVariableBufferListParallelTest
+{
+   private static final int NUMBER_OF_VARIABLES = 30000;
+   private static final int BUFFER_SIZE = 64;
+
+   @Test
+   public void testParallelMatchesSequential()
+   {
+      Random random = new Random(4536);
+      ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+      try
+      {
+         YoSharedBuffer sequentialBuffer = newBuffer(new Random(23));
+         YoSharedBuffer parallelBuffer = newBuffer(new Random(23));
+         parallelBuffer.setParallelExecution(forkJoinPool, 1000);
+         List<YoVariable> sequentialVariables = sequentialBuffer.getRootRegistry().collectSubtreeVariables();
+         List<YoVariable> parallelVariables = parallelBuffer.getRootRegistry().collectSubtreeVariables();
+
+         for (int tick = 0; tick < BUFFER_SIZE; tick++)
+         {
+            long seed = random.nextLong();
+            SharedMemoryRandomTools.randomizeYoVariables(new Random(seed), sequentialVariables);
+            SharedMemoryRandomTools.randomizeYoVariables(new Random(seed), parallelVariables);
+            sequentialBuffer.incrementBufferIndex(true);
+            parallelBuffer.incrementBufferIndex(true);
+            sequentialBuffer.writeBuffer();
+            parallelBuffer.writeBuffer();
+         }
+
+         List<YoVariableBuffer<?>> sequentialBuffers = sequentialBuffer.getRegistryBuffer().getYoVariableBuffers();
+         List<YoVariableBuffer<?>> parallelBuffers = parallelBuffer.getRegistryBuffer().getYoVariableBuffers();
+         assertEquals(sequentialBuffers.size(), parallelBuffers.size());
+
+         for (int i = 0; i < sequentialBuffers.size(); i++)
+         {
+            for (int index = 0; index < BUFFER_SIZE; index++)
+               assertEquals(sequentialBuffers.get(i).getValueAsDouble(index), parallelBuffers.get(i).getValueAsDouble(index));
+         }
+
+         for (int index = 0; index < BUFFER_SIZE; index++)
+         {
+            SharedMemoryRandomTools.randomizeYoVariables(random, parallelVariables);
+            sequentialBuffer.getRegistryBuffer().readBufferAt(index);
+            parallelBuffer.getRegistryBuffer().readBufferAt(index);
+
+            for (int i = 0; i < sequentialVariables.size(); i++)
+               assertEquals(sequentialVariables.get(i).getValueAsDouble(), parallelVariables.get(i).getValueAsDouble());
+         }
+
+         sequentialBuffer.dispose();
+         parallelBuffer.dispose();
+      }
+      finally
+      {
+         forkJoinPool.shutdown();
+      }
+   }
+
+   private static YoSharedBuffer newBuffer(Random random)
+   {
+      YoRegistry rootRegistry = new YoRegistry("root");
+
+      for (int i = 0; i < NUMBER_OF_VARIABLES; i++)
+      {
+         switch (random.nextInt(5))
+         {
+            case 0:
+               new YoDouble("double" + i, rootRegistry);
+               break;
+            case 1:
+               new YoBoolean("boolean" + i, rootRegistry);
+               break;
+            case 2:
+               new YoInteger("integer" + i, rootRegistry);
+               break;
+            case 3:
+               new YoLong("long" + i, rootRegistry);
+               break;
+            default:
+               new YoEnum<>("enum" + i, rootRegistry, YoVariableType.class, true);
+               break;
+         }
+      }
+
+      return new YoSharedBuffer(rootRegistry, BUFFER_SIZE);
+   }
+}
@@ -0,0 +1,138 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntToLongFunction;
+
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+/**
+ * Compares the memory footprint and the read/write costs of the heap storage against the compressed
+ * storage on typical signals.
+ * <p>
+ * The columns are written sequentially as done when recording a session, then copied entirely as
+ * done when exporting or plotting, then all read at each index in sequence as done when playing back,
+ * and finally all read at random indices as done when scrubbing.
+ * </p>
+ */
+public class CompressedBufferStorageBenchmark
+{
+   private static final int BUFFER_SIZE = 1 << 16;
+   private static final int NUMBER_OF_COLUMNS = 64;
+   private static final int RANDOM_READS = 1 << 10;
+   private static final int WARMUP_ITERATIONS = 5;
+   private static final int ITERATIONS = 10;
+
+   public static void main(String[] args)
+   {
+      Random random = new Random(4366);
+      double[] noise = new double[BUFFER_SIZE];
+      for (int i = 0; i < BUFFER_SIZE; i++)
+         noise[i] = random.nextGaussian();
+
+      List<Signal> signals = new ArrayList<>();
+      signals.add(new Signal("constant double", YoVariableType.DOUBLE, i -> Double.doubleToRawLongBits(9.81)));
+      signals.add(new Signal("sine double", YoVariableType.DOUBLE, i -> Double.doubleToRawLongBits(Math.sin(0.001 * i))));
+      signals.add(new Signal("quantized double", YoVariableType.DOUBLE, i -> Double.doubleToRawLongBits(Math.round(1000.0 * Math.sin(0.001 * i)) / 1000.0)));
+      signals.add(new Signal("noisy double", YoVariableType.DOUBLE, i -> Double.doubleToRawLongBits(noise[i])));
+      signals.add(new Signal("counter long", YoVariableType.LONG, i -> 1000000L * i));
+      signals.add(new Signal("jittery long", YoVariableType.LONG, i -> 1000000L * i + (long) (1000.0 * noise[i])));
+
+      System.out.printf("%-18s %-10s %12s %12s %12s %12s %12s%n", "signal", "storage", "memory [KB]", "write [ns]", "copy [ns]", "playback [ns]", "random [ns]");
+
+      for (Signal signal : signals)
+      {
+         run(signal, "heap", YoBufferStorage.HEAP, random);
+         run(signal, "compressed", new CompressedBufferStorage(), random);
+      }
+   }
+
+   private static void run(Signal signal, String storageName, YoBufferStorage storage, Random random)
+   {
+      BufferColumn[] columns = new BufferColumn[NUMBER_OF_COLUMNS];
+      for (int i = 0; i < NUMBER_OF_COLUMNS; i++)
+         columns[i] = storage.newColumn(signal.type, BUFFER_SIZE);
+
+      int[] randomIndices = new int[RANDOM_READS];
+      for (int i = 0; i < RANDOM_READS; i++)
+         randomIndices[i] = random.nextInt(BUFFER_SIZE);
+
+      long writeTime = 0, readTime = 0, playbackTime = 0, randomReadTime = 0;
+      long checksum = 0;
+
+      for (int iteration = 0; iteration < WARMUP_ITERATIONS + ITERATIONS; iteration++)
+      {
+         long start = System.nanoTime();
+         for (int i = 0; i < BUFFER_SIZE; i++)
+         { // Recording: all the columns are written at each tick.
+            long bits = signal.generator.applyAsLong(i);
+            for (BufferColumn column : columns)
+               column.setLongBits(i, bits);
+         }
+         long writeEnd = System.nanoTime();
+
+         for (BufferColumn column : columns)
+         { // Exporting or plotting: each column is copied entirely.
+            checksum += column.copy(0, BUFFER_SIZE).hashCode();
+         }
+         long readEnd = System.nanoTime();
+
+         for (int i = 0; i < BUFFER_SIZE; i++)
+         { // Playback: all the columns are read at the same index, one index after the other.
+            for (BufferColumn column : columns)
+               checksum += column.getLongBits(i);
+         }
+         long playbackEnd = System.nanoTime();
+
+         for (int i = 0; i < RANDOM_READS; i++)
+         { // Scrubbing: all the columns are read at a random index.
+            int index = randomIndices[i];
+            for (BufferColumn column : columns)
+               checksum += column.getLongBits(index);
+         }
+         long randomEnd = System.nanoTime();
+
+         if (iteration >= WARMUP_ITERATIONS)
+         {
+            writeTime += writeEnd - start;
+            readTime += readEnd - writeEnd;
+            playbackTime += playbackEnd - readEnd;
+            randomReadTime += randomEnd - playbackEnd;
+         }
+      }
+
+      long memorySize = 0;
+      for (BufferColumn column : columns)
+         memorySize += column.getMemorySize();
+
+      double numberOfAccesses = (double) ITERATIONS * BUFFER_SIZE * NUMBER_OF_COLUMNS;
+      double numberOfRandomAccesses = (double) ITERATIONS * RANDOM_READS * NUMBER_OF_COLUMNS;
+      System.out.printf("%-18s %-10s %12d %12.2f %12.2f %12.2f %12.2f%s%n",
+                        signal.name,
+                        storageName,
+                        memorySize / 1024,
+                        writeTime / numberOfAccesses,
+                        readTime / numberOfAccesses,
+                        playbackTime / numberOfAccesses,
+                        randomReadTime / numberOfRandomAccesses,
+                        checksum == 42 ? " " : ""); // Prevents dead-code elimination of the reads.
+
+      for (BufferColumn column : columns)
+         column.dispose();
+   }
+
+   private static class Signal
+   {
+      private final String name;
+      private final YoVariableType type;
+      private final IntToLongFunction generator;
+
+      private Signal(String name, YoVariableType type, IntToLongFunction generator)
+      {
+         this.name = name;
+         this.type = type;
+         this.generator = generator;
+      }
+   }
+}
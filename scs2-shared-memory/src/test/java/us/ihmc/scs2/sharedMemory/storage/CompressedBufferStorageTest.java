@@ -0,0 +1,287 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.scs2.sharedMemory.CropBufferRequest;
+import us.ihmc.scs2.sharedMemory.YoSharedBuffer;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryRandomTools;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTestTools;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoVariable;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+public class CompressedBufferStorageTest
+{
+   private static final int ITERATIONS = 100;
+
+   @Test
+   public void testCodecs()
+   {
+      Random random = new Random(3452);
+      BitWriter writer = new BitWriter();
+      BitReader reader = new BitReader();
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         int length = random.nextInt(1000) + 1;
+         long[] doubles = new long[length];
+         long[] longs = new long[length];
+         int signal = random.nextInt(4);
+         double value = random.nextDouble();
+         long counter = random.nextLong();
+
+         for (int j = 0; j < length; j++)
+         {
+            switch (signal)
+            {
+               case 0: // Noise
+                  doubles[j] = random.nextLong();
+                  longs[j] = random.nextLong();
+                  break;
+               case 1: // Constant
+                  doubles[j] = Double.doubleToRawLongBits(value);
+                  longs[j] = counter;
+                  break;
+               case 2: // Slowly varying
+                  value += 1.0e-3 * (random.nextDouble() - 0.5);
+                  counter += random.nextInt(3);
+                  doubles[j] = Double.doubleToRawLongBits(value);
+                  longs[j] = counter;
+                  break;
+               default: // Special values and large jumps
+                  double[] specials = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, -0.0, 0.0, Double.MIN_VALUE, Double.MAX_VALUE};
+                  doubles[j] = random.nextBoolean() ? 0x7ff8dead0000beefL : Double.doubleToRawLongBits(specials[random.nextInt(specials.length)]);
+                  long[] longSpecials = {Long.MIN_VALUE, Long.MAX_VALUE, 0L, -1L, 1L};
+                  longs[j] = longSpecials[random.nextInt(longSpecials.length)];
+                  break;
+            }
+         }
+
+         assertCodecRoundTrip(XORDoubleCodec.INSTANCE, doubles, writer, reader);
+         assertCodecRoundTrip(DeltaOfDeltaLongCodec.INSTANCE, longs, writer, reader);
+      }
+   }
+
+   private static void assertCodecRoundTrip(BlockCodec codec, long[] values, BitWriter writer, BitReader reader)
+   {
+      long[] data = codec.encode(values, values.length, writer);
+      long[] decoded = new long[values.length];
+      codec.decode(data, decoded, values.length, reader);
+
+      for (int i = 0; i < values.length; i++)
+         assertEquals(values[i], decoded[i], "Mismatch at index " + i);
+   }
+
+   @Test
+   public void testCompression()
+   {
+      CompressedBufferStorage storage = new CompressedBufferStorage();
+      int size = 100 * CompressedBufferStorage.DEFAULT_BLOCK_SIZE;
+      BufferColumn doubleColumn = storage.newColumn(YoVariableType.DOUBLE, size);
+      BufferColumn longColumn = storage.newColumn(YoVariableType.LONG, size);
+
+      for (int i = 0; i < size; i++)
+      {
+         doubleColumn.setLongBits(i, Double.doubleToRawLongBits(0.5));
+         longColumn.setLongBits(i, 1000L * i);
+      }
+
+      long rawSize = (long) size * Long.BYTES;
+      assertTrue(doubleColumn.getMemorySize() < rawSize / 10, "Memory size: " + doubleColumn.getMemorySize());
+      assertTrue(longColumn.getMemorySize() < rawSize / 10, "Memory size: " + longColumn.getMemorySize());
+   }
+
+   @Test
+   public void testColumnsAgainstHeap()
+   {
+      Random random = new Random(76423);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         CompressedBufferStorage storage = new CompressedBufferStorage(YoBufferStorage.HEAP, 1 << (random.nextInt(8) + 1));
+         YoVariableType type = YoVariableType.values()[random.nextInt(YoVariableType.values().length)];
+         int size = random.nextInt(1000) + 1;
+         BufferColumn expected = YoBufferStorage.HEAP.newColumn(type, size);
+         BufferColumn actual = storage.newColumn(type, size);
+         assertEquals(type, actual.getType());
+         assertEquals(size, actual.getSize());
+
+         for (int j = 0; j < size; j++)
+         {
+            long bits = nextLongBits(random, type, j);
+            expected.setLongBits(j, bits);
+            actual.setLongBits(j, bits);
+         }
+         assertColumnEquals(expected, actual);
+
+         for (int j = 0; j < 20; j++)
+         { // Random accesses
+            int index = random.nextInt(size);
+            long bits = nextLongBits(random, type, index);
+            expected.setLongBits(index, bits);
+            actual.setLongBits(index, bits);
+            index = random.nextInt(size);
+            assertEquals(expected.getLongBits(index), actual.getLongBits(index));
+         }
+         assertColumnEquals(expected, actual);
+
+         int from = random.nextInt(size);
+         int length = random.nextInt(size);
+         long fillValue = nextLongBits(random, type, 0);
+         expected.fill(fillValue, from, length);
+         actual.fill(fillValue, from, length);
+         assertColumnEquals(expected, actual);
+
+         from = random.nextInt(size);
+         length = random.nextInt(size);
+         assertPrimitiveArrayEquals(expected.copy(from, length), actual.copy(from, length));
+
+         from = random.nextInt(size);
+         length = random.nextInt(2 * size) + 1;
+         expected = expected.resize(from, length);
+         actual = actual.resize(from, length);
+         assertColumnEquals(expected, actual);
+
+         int index = length;
+         BufferColumn finalActual = actual;
+         assertThrows(IndexOutOfBoundsException.class, () -> finalActual.getLongBits(index));
+
+         actual.dispose();
+      }
+   }
+
+   @Test
+   public void testPlaybackAcrossColumns()
+   { // Reading all the columns at the same index, one index after the other, should decode each block once per column.
+      Random random = new Random(9813);
+      int blockSize = 16;
+      int numberOfBlocks = 10;
+      int size = numberOfBlocks * blockSize;
+      CompressedBufferStorage storage = new CompressedBufferStorage(YoBufferStorage.HEAP, blockSize);
+      BufferColumn[] expected = new BufferColumn[20];
+      CompressedBufferColumn[] actual = new CompressedBufferColumn[expected.length];
+
+      for (int i = 0; i < expected.length; i++)
+      {
+         YoVariableType type = random.nextBoolean() ? YoVariableType.DOUBLE : YoVariableType.LONG;
+         expected[i] = YoBufferStorage.HEAP.newColumn(type, size);
+         actual[i] = (CompressedBufferColumn) storage.newColumn(type, size);
+
+         for (int j = 0; j < size; j++)
+         {
+            long bits = nextLongBits(random, type, j);
+            expected[i].setLongBits(j, bits);
+            actual[i].setLongBits(j, bits);
+         }
+      }
+
+      for (int j = 0; j < size; j++)
+      {
+         for (int i = 0; i < expected.length; i++)
+            assertEquals(expected[i].getLongBits(j), actual[i].getLongBits(j));
+      }
+
+      for (CompressedBufferColumn column : actual)
+         assertEquals(numberOfBlocks - 1, column.getNumberOfDecodedBlocks()); // The last block is still active.
+   }
+
+   @Test
+   public void testYoSharedBufferAgainstHeap()
+   {
+      Random random = new Random(23587);
+
+      for (int i = 0; i < 20; i++)
+      {
+         YoRegistry rootRegistry = SharedMemoryRandomTools.nextYoRegistryTree(random, 10, 5)[0];
+         List<YoVariable> variables = rootRegistry.collectSubtreeVariables();
+         int initialSize = random.nextInt(500) + 2;
+         YoSharedBuffer expected = new YoSharedBuffer(rootRegistry, initialSize);
+         CompressedBufferStorage storage = new CompressedBufferStorage(YoBufferStorage.HEAP, 1 << (random.nextInt(8) + 1));
+         YoSharedBuffer actual = new YoSharedBuffer(rootRegistry, initialSize, storage);
+         assertTrue(actual.getStorage() == storage);
+
+         for (int j = 0; j < 500; j++)
+         {
+            SharedMemoryRandomTools.randomizeYoVariables(random, variables);
+            expected.writeBuffer();
+            actual.writeBuffer();
+            expected.incrementBufferIndex(true);
+            actual.incrementBufferIndex(true);
+
+            switch (random.nextInt(50))
+            {
+               case 0:
+                  int newSize = random.nextInt(1000) + 1;
+                  expected.resizeBuffer(newSize);
+                  actual.resizeBuffer(newSize);
+                  break;
+               case 1:
+                  int size = expected.getProperties().getSize();
+                  CropBufferRequest request = new CropBufferRequest(random.nextInt(size), random.nextInt(size));
+                  expected.cropBuffer(request);
+                  actual.cropBuffer(request);
+                  break;
+               default:
+                  break;
+            }
+
+            SharedMemoryTestTools.assertYoSharedBufferEquals(expected, actual, 0.0);
+         }
+
+         int from = random.nextInt(expected.getProperties().getSize());
+         int length = random.nextInt(expected.getProperties().getSize()) + 1;
+
+         for (int j = 0; j < variables.size(); j++)
+         {
+            Object expectedSample = expected.getRegistryBuffer().getYoVariableBuffers().get(j).copy(from, length, expected.getProperties()).getSample();
+            Object actualSample = actual.getRegistryBuffer().getYoVariableBuffers().get(j).copy(from, length, actual.getProperties()).getSample();
+            assertPrimitiveArrayEquals(expectedSample, actualSample);
+         }
+
+         expected.dispose();
+         actual.dispose();
+      }
+   }
+
+   private static long nextLongBits(Random random, YoVariableType type, int index)
+   {
+      switch (type)
+      {
+         case DOUBLE:
+            return Double.doubleToRawLongBits(random.nextBoolean() ? random.nextDouble() : Math.sin(0.01 * index));
+         case LONG:
+            return random.nextBoolean() ? random.nextLong() : 10L * index;
+         case INTEGER:
+            return random.nextInt();
+         case BOOLEAN:
+            return random.nextBoolean() ? 1L : 0L;
+         case ENUM:
+            return random.nextInt(128) - 1;
+         default:
+            throw new IllegalStateException("Unexpected type: " + type);
+      }
+   }
+
+   private static void assertColumnEquals(BufferColumn expected, BufferColumn actual)
+   {
+      assertEquals(expected.getSize(), actual.getSize());
+      for (int i = 0; i < expected.getSize(); i++)
+         assertEquals(expected.getLongBits(i), actual.getLongBits(i));
+   }
+
+   private static void assertPrimitiveArrayEquals(Object expected, Object actual)
+   {
+      assertEquals(expected.getClass(), actual.getClass());
+      assertEquals(Array.getLength(expected), Array.getLength(actual));
+      for (int i = 0; i < Array.getLength(expected); i++)
+         assertEquals(Array.get(expected, i), Array.get(actual, i));
+   }
+}
@@ -0,0 +1,248 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.scs2.sharedMemory.CropBufferRequest;
+import us.ihmc.scs2.sharedMemory.YoSharedBuffer;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryRandomTools;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTestTools;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoVariable;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+public class MappedBufferStorageTest
+{
+   private static final int ITERATIONS = 100;
+
+   @Test
+   public void testColumnsAgainstHeap() throws IOException
+   {
+      Random random = new Random(45367);
+      Path directory = Files.createTempDirectory("scs2-mapped-buffer-test");
+      // Small files to exercise the allocation over multiple files.
+      MappedBufferStorage storage = new MappedBufferStorage(directory, 4096);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         YoVariableType type = YoVariableType.values()[random.nextInt(YoVariableType.values().length)];
+         int size = random.nextInt(1000) + 1;
+         BufferColumn expected = YoBufferStorage.HEAP.newColumn(type, size);
+         BufferColumn actual = storage.newColumn(type, size);
+         assertFalse(actual.isHeapBacked());
+         assertEquals(type, actual.getType());
+         assertEquals(size, actual.getSize());
+
+         for (int j = 0; j < size; j++)
+         {
+            long bits = nextLongBits(random, type);
+            expected.setLongBits(j, bits);
+            actual.setLongBits(j, bits);
+         }
+         assertColumnEquals(expected, actual);
+
+         int from = random.nextInt(size);
+         int length = random.nextInt(size);
+         long fillValue = nextLongBits(random, type);
+         expected.fill(fillValue, from, length);
+         actual.fill(fillValue, from, length);
+         assertColumnEquals(expected, actual);
+
+         from = random.nextInt(size);
+         length = random.nextInt(size);
+         assertPrimitiveArrayEquals(expected.copy(from, length), actual.copy(from, length));
+
+         from = random.nextInt(size);
+         length = random.nextInt(2 * size) + 1;
+         expected = expected.resize(from, length);
+         actual = actual.resize(from, length);
+         assertColumnEquals(expected, actual);
+
+         int index = length;
+         BufferColumn finalActual = actual;
+         assertThrows(IndexOutOfBoundsException.class, () -> finalActual.getLongBits(index));
+
+         actual.dispose();
+      }
+
+      assertEquals(1, storage.getNumberOfFiles());
+      storage.dispose();
+      assertEquals(0, storage.getNumberOfFiles());
+
+      try (Stream<Path> files = Files.list(directory))
+      {
+         assertEquals(0, files.count());
+      }
+      Files.delete(directory);
+   }
+
+   @Test
+   public void testRepeatedResizesReuseFiles() throws IOException
+   {
+      Random random = new Random(2349);
+      Path directory = Files.createTempDirectory("scs2-mapped-buffer-test");
+      int fileSize = 1 << 16;
+      MappedBufferStorage storage = new MappedBufferStorage(directory, fileSize);
+      BufferColumn[] expected = new BufferColumn[20];
+      BufferColumn[] actual = new BufferColumn[expected.length];
+      List<BufferColumn> pinnedColumns = new ArrayList<>();
+
+      for (int i = 0; i < expected.length; i++)
+      {
+         int size = random.nextInt(200) + 1;
+         expected[i] = YoBufferStorage.HEAP.newColumn(YoVariableType.LONG, size);
+         actual[i] = storage.newColumn(YoVariableType.LONG, size);
+      }
+
+      for (int step = 0; step < 5000; step++)
+      {
+         int i = random.nextInt(expected.length);
+         int size = expected[i].getSize();
+
+         for (int j = 0; j < size; j++)
+         {
+            long bits = random.nextLong();
+            expected[i].setLongBits(j, bits);
+            actual[i].setLongBits(j, bits);
+         }
+
+         int from = random.nextInt(size);
+         int length = random.nextInt(200) + 1;
+         expected[i] = expected[i].resize(from, length);
+         actual[i] = actual[i].resize(from, length);
+         assertColumnEquals(expected[i], actual[i]);
+
+         if (step % 50 == 0) // Long-lived columns, such as the variables registered while recording, scattered across the files.
+            pinnedColumns.add(storage.newColumn(YoVariableType.LONG, 1));
+
+         assertTrue(storage.getMappedSize() <= 2L * fileSize, "Mapped size: " + storage.getMappedSize());
+      }
+
+      long usedSize = 0;
+      for (BufferColumn column : actual)
+         usedSize += (long) Long.BYTES * column.getSize();
+      assertEquals(usedSize + (long) Long.BYTES * pinnedColumns.size(), storage.getUsedSize());
+
+      for (BufferColumn column : pinnedColumns)
+         assertEquals(0L, column.getLongBits(0));
+
+      storage.dispose();
+      try (Stream<Path> files = Files.list(directory))
+      {
+         assertEquals(0, files.count());
+      }
+      Files.delete(directory);
+   }
+
+   @Test
+   public void testYoSharedBufferAgainstHeap() throws IOException
+   {
+      Random random = new Random(98634);
+      Path directory = Files.createTempDirectory("scs2-mapped-buffer-test");
+
+      for (int i = 0; i < 20; i++)
+      {
+         YoRegistry rootRegistry = SharedMemoryRandomTools.nextYoRegistryTree(random, 10, 5)[0];
+         List<YoVariable> variables = rootRegistry.collectSubtreeVariables();
+         int initialSize = random.nextInt(500) + 2;
+         YoSharedBuffer expected = new YoSharedBuffer(rootRegistry, initialSize);
+         MappedBufferStorage storage = new MappedBufferStorage(directory, random.nextInt(1 << 16) + 8);
+         YoSharedBuffer actual = new YoSharedBuffer(rootRegistry, initialSize, storage);
+         assertTrue(actual.getStorage() == storage);
+
+         for (int j = 0; j < 500; j++)
+         {
+            SharedMemoryRandomTools.randomizeYoVariables(random, variables);
+            expected.writeBuffer();
+            actual.writeBuffer();
+            expected.incrementBufferIndex(true);
+            actual.incrementBufferIndex(true);
+
+            switch (random.nextInt(50))
+            {
+               case 0:
+                  int newSize = random.nextInt(1000) + 1;
+                  expected.resizeBuffer(newSize);
+                  actual.resizeBuffer(newSize);
+                  break;
+               case 1:
+                  int size = expected.getProperties().getSize();
+                  CropBufferRequest request = new CropBufferRequest(random.nextInt(size), random.nextInt(size));
+                  expected.cropBuffer(request);
+                  actual.cropBuffer(request);
+                  break;
+               default:
+                  break;
+            }
+
+            SharedMemoryTestTools.assertYoSharedBufferEquals(expected, actual, 0.0);
+         }
+
+         int from = random.nextInt(expected.getProperties().getSize());
+         int length = random.nextInt(expected.getProperties().getSize()) + 1;
+
+         for (int j = 0; j < variables.size(); j++)
+         {
+            Object expectedSample = expected.getRegistryBuffer().getYoVariableBuffers().get(j).copy(from, length, expected.getProperties()).getSample();
+            Object actualSample = actual.getRegistryBuffer().getYoVariableBuffers().get(j).copy(from, length, actual.getProperties()).getSample();
+            assertPrimitiveArrayEquals(expectedSample, actualSample);
+         }
+
+         expected.dispose();
+         actual.dispose();
+      }
+
+      try (Stream<Path> files = Files.list(directory))
+      {
+         assertEquals(0, files.count());
+      }
+      Files.delete(directory);
+   }
+
+   private static long nextLongBits(Random random, YoVariableType type)
+   {
+      switch (type)
+      {
+         case DOUBLE:
+            return Double.doubleToRawLongBits(random.nextDouble());
+         case LONG:
+            return random.nextLong();
+         case INTEGER:
+            return random.nextInt();
+         case BOOLEAN:
+            return random.nextBoolean() ? 1L : 0L;
+         case ENUM:
+            return random.nextInt(128) - 1;
+         default:
+            throw new IllegalStateException("Unexpected type: " + type);
+      }
+   }
+
+   private static void assertColumnEquals(BufferColumn expected, BufferColumn actual)
+   {
+      assertEquals(expected.getSize(), actual.getSize());
+      for (int i = 0; i < expected.getSize(); i++)
+         assertEquals(expected.getLongBits(i), actual.getLongBits(i));
+   }
+
+   private static void assertPrimitiveArrayEquals(Object expected, Object actual)
+   {
+      assertEquals(expected.getClass(), actual.getClass());
+      assertEquals(Array.getLength(expected), Array.getLength(actual));
+      for (int i = 0; i < Array.getLength(expected); i++)
+         assertEquals(Array.get(expected, i), Array.get(actual, i));
+   }
+}
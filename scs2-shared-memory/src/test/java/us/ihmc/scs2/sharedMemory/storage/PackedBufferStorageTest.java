@@ -0,0 +1,212 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.scs2.sharedMemory.CropBufferRequest;
+import us.ihmc.scs2.sharedMemory.YoSharedBuffer;
+import us.ihmc.scs2.sharedMemory.YoVariableBuffer;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryRandomTools;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTestTools;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoEnum;
+import us.ihmc.yoVariables.variable.YoVariable;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+public class PackedBufferStorageTest
+{
+   private static final int ITERATIONS = 100;
+   private static final YoVariableType[] PACKED_TYPES = {YoVariableType.BOOLEAN, YoVariableType.ENUM, YoVariableType.INTEGER};
+
+   @Test
+   public void testColumnsAgainstHeap()
+   {
+      Random random = new Random(12643);
+      PackedBufferStorage storage = new PackedBufferStorage(YoBufferStorage.HEAP, true);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         YoVariableType type = PACKED_TYPES[random.nextInt(PACKED_TYPES.length)];
+         int size = random.nextInt(2000) + 1;
+         BufferColumn expected = YoBufferStorage.HEAP.newColumn(type, size);
+         BufferColumn actual = storage.newColumn(type, size);
+         assertEquals(type, actual.getType());
+         assertEquals(size, actual.getSize());
+         assertColumnEquals(expected, actual);
+
+         // Small values first to exercise the widening.
+         int range = 2;
+
+         for (int j = 0; j < 5; j++)
+         {
+            for (int k = 0; k < size; k++)
+            {
+               long bits = nextLongBits(random, type, range);
+               expected.setLongBits(k, bits);
+               actual.setLongBits(k, bits);
+            }
+            assertColumnEquals(expected, actual);
+            range *= 16;
+
+            for (int k = random.nextInt(size); k >= 0; k--)
+            {
+               int index = random.nextInt(size);
+               long bits = nextLongBits(random, type, range);
+               expected.setLongBits(index, bits);
+               actual.setLongBits(index, bits);
+            }
+            assertColumnEquals(expected, actual);
+         }
+
+         int from = random.nextInt(size);
+         int length = random.nextInt(size + 1);
+         long fillValue = nextLongBits(random, type, range);
+         expected.fill(fillValue, from, length);
+         actual.fill(fillValue, from, length);
+         assertColumnEquals(expected, actual);
+
+         from = random.nextInt(size);
+         length = random.nextInt(size) + 1;
+         assertPrimitiveArrayEquals(expected.copy(from, length), actual.copy(from, length));
+
+         from = random.nextInt(size);
+         length = random.nextInt(2 * size) + 1;
+         expected = expected.resize(from, length);
+         actual = actual.resize(from, length);
+         assertColumnEquals(expected, actual);
+
+         int index = length;
+         BufferColumn finalActual = actual;
+         assertThrows(IndexOutOfBoundsException.class, () -> finalActual.getLongBits(index));
+      }
+   }
+
+   @Test
+   public void testMemorySize()
+   {
+      PackedBufferStorage storage = new PackedBufferStorage(YoBufferStorage.HEAP, true);
+      int size = 1 << 16;
+
+      BufferColumn booleans = storage.newColumn(YoVariableType.BOOLEAN, size);
+      assertEquals(size / Byte.SIZE, booleans.getMemorySize());
+
+      YoEnum<YoVariableType> yoEnum = new YoEnum<>("enum", new YoRegistry("root"), YoVariableType.class, true);
+      BitPackedColumn enums = (BitPackedColumn) storage.newColumn(yoEnum, size);
+      // 5 constants and null fit in 3 bits, rounded up to 4.
+      assertEquals(4, enums.getBitsPerElement());
+      assertEquals(size / 2, enums.getMemorySize());
+      enums.setLongBits(0, 100);
+      assertEquals(8, enums.getBitsPerElement());
+      assertEquals(100, enums.getLongBits(0));
+      enums.setLongBits(1, -1);
+      assertEquals(-1, enums.getLongBits(1));
+
+      BufferColumn integers = storage.newColumn(YoVariableType.INTEGER, size);
+      for (int i = 0; i < size; i++)
+         integers.setLongBits(i, 1000000 + i / 10);
+      assertTrue(integers.getMemorySize() < 2 * size, "Memory size: " + integers.getMemorySize());
+   }
+
+   @Test
+   public void testYoSharedBufferAgainstHeap()
+   {
+      Random random = new Random(7434);
+
+      for (int i = 0; i < 20; i++)
+      {
+         YoRegistry rootRegistry = SharedMemoryRandomTools.nextYoRegistryTree(random, 10, 5)[0];
+         List<YoVariable> variables = rootRegistry.collectSubtreeVariables();
+         int initialSize = random.nextInt(500) + 2;
+         YoSharedBuffer expected = new YoSharedBuffer(rootRegistry, initialSize);
+         YoSharedBuffer actual = new YoSharedBuffer(rootRegistry, initialSize, new PackedBufferStorage(YoBufferStorage.HEAP, random.nextBoolean()));
+
+         for (int j = 0; j < 500; j++)
+         {
+            SharedMemoryRandomTools.randomizeYoVariables(random, variables);
+            expected.writeBuffer();
+            actual.writeBuffer();
+            expected.incrementBufferIndex(true);
+            actual.incrementBufferIndex(true);
+
+            switch (random.nextInt(50))
+            {
+               case 0:
+                  int newSize = random.nextInt(1000) + 1;
+                  expected.resizeBuffer(newSize);
+                  actual.resizeBuffer(newSize);
+                  break;
+               case 1:
+                  int size = expected.getProperties().getSize();
+                  CropBufferRequest request = new CropBufferRequest(random.nextInt(size), random.nextInt(size));
+                  expected.cropBuffer(request);
+                  actual.cropBuffer(request);
+                  break;
+               default:
+                  break;
+            }
+
+            SharedMemoryTestTools.assertYoSharedBufferEquals(expected, actual, 0.0);
+         }
+
+         int size = expected.getProperties().getSize();
+         int from = random.nextInt(size);
+         int length = random.nextInt(size) + 1;
+
+         for (int j = 0; j < variables.size(); j++)
+         {
+            YoVariableBuffer<?> expectedBuffer = expected.getRegistryBuffer().getYoVariableBuffers().get(j);
+            YoVariableBuffer<?> actualBuffer = actual.getRegistryBuffer().getYoVariableBuffers().get(j);
+            assertArrayEquals(expectedBuffer.getAsDoubleBuffer(), actualBuffer.getAsDoubleBuffer());
+
+            double[] expectedValues = new double[length + 1];
+            double[] actualValues = new double[length + 1];
+            double[] allValues = expectedBuffer.getAsDoubleBuffer();
+            for (int k = 0; k < length; k++)
+               expectedValues[k + 1] = allValues[(from + k) % size];
+            actualBuffer.getValuesAsDouble(from, length, actualValues, 1);
+            assertArrayEquals(expectedValues, actualValues);
+         }
+
+         expected.dispose();
+         actual.dispose();
+      }
+   }
+
+   private static long nextLongBits(Random random, YoVariableType type, int range)
+   {
+      switch (type)
+      {
+         case INTEGER:
+            return random.nextInt(3) == 0 ? random.nextInt() : random.nextInt(range) - range / 2;
+         case BOOLEAN:
+            return random.nextBoolean() ? 1L : 0L;
+         case ENUM:
+            return random.nextInt(Math.min(range, 128)) - 1;
+         default:
+            throw new IllegalStateException("Unexpected type: " + type);
+      }
+   }
+
+   private static void assertColumnEquals(BufferColumn expected, BufferColumn actual)
+   {
+      assertEquals(expected.getSize(), actual.getSize());
+      for (int i = 0; i < expected.getSize(); i++)
+         assertEquals(expected.getLongBits(i), actual.getLongBits(i));
+   }
+
+   private static void assertPrimitiveArrayEquals(Object expected, Object actual)
+   {
+      assertEquals(expected.getClass(), actual.getClass());
+      assertEquals(Array.getLength(expected), Array.getLength(actual));
+      for (int i = 0; i < Array.getLength(expected); i++)
+         assertEquals(Array.get(expected, i), Array.get(actual, i));
+   }
+}
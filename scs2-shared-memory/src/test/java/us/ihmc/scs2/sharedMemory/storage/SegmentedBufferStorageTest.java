@@ -0,0 +1,199 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.scs2.sharedMemory.CropBufferRequest;
+import us.ihmc.scs2.sharedMemory.YoSharedBuffer;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryRandomTools;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTestTools;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoVariable;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+public class SegmentedBufferStorageTest
+{
+   private static final int ITERATIONS = 100;
+
+   @Test
+   public void testColumnsAgainstHeap()
+   {
+      Random random = new Random(76345);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         YoVariableType type = YoVariableType.values()[random.nextInt(YoVariableType.values().length)];
+         SegmentedBufferStorage storage = new SegmentedBufferStorage(YoBufferStorage.HEAP, random.nextInt(100) + 1);
+         int size = random.nextInt(1000) + 1;
+         BufferColumn expected = YoBufferStorage.HEAP.newColumn(type, size);
+         SegmentedBufferColumn actual = (SegmentedBufferColumn) storage.newColumn(type, size);
+         assertFalse(actual.isHeapBacked());
+         assertEquals(type, actual.getType());
+         assertEquals(size, actual.getSize());
+
+         // Successive operations on the same column to exercise the fragmentation of the segments.
+         for (int j = 0; j < 50; j++)
+         {
+            size = expected.getSize();
+
+            switch (random.nextInt(4))
+            {
+               case 0:
+                  for (int k = random.nextInt(size); k >= 0; k--)
+                  {
+                     int index = random.nextInt(size);
+                     long bits = nextLongBits(random, type);
+                     expected.setLongBits(index, bits);
+                     actual.setLongBits(index, bits);
+                  }
+                  break;
+               case 1:
+                  int from = random.nextInt(size);
+                  int length = random.nextInt(size + 1);
+                  long fillValue = nextLongBits(random, type);
+                  expected.fill(fillValue, from, length);
+                  actual.fill(fillValue, from, length);
+                  break;
+               case 2:
+                  from = random.nextInt(size);
+                  length = random.nextInt(size) + 1;
+                  assertPrimitiveArrayEquals(expected.copy(from, length), actual.copy(from, length));
+                  break;
+               default:
+                  from = random.nextInt(size);
+                  length = random.nextInt(2 * size) + 1;
+                  expected = expected.resize(from, length);
+                  assertTrue(actual == actual.resize(from, length));
+                  break;
+            }
+
+            assertColumnEquals(expected, actual);
+            int numberOfSegments = (actual.getSize() + storage.getSegmentSize() - 1) / storage.getSegmentSize();
+            assertTrue(actual.getNumberOfPieces() <= 2 * numberOfSegments + 2);
+         }
+
+         int index = actual.getSize();
+         assertThrows(IndexOutOfBoundsException.class, () -> actual.getLongBits(index));
+
+         actual.dispose();
+      }
+   }
+
+   @Test
+   public void testResizeKeepsSegments()
+   {
+      SegmentedBufferStorage storage = new SegmentedBufferStorage(YoBufferStorage.HEAP, 1024);
+      SegmentedBufferColumn column = (SegmentedBufferColumn) storage.newColumn(YoVariableType.DOUBLE, 10 * 1024);
+      assertEquals(10, column.getNumberOfPieces());
+
+      for (int i = 0; i < column.getSize(); i++)
+         column.setLongBits(i, i);
+
+      // Rotating the column splits a single segment in two.
+      column.resize(512, column.getSize());
+      assertEquals(11, column.getNumberOfPieces());
+      assertEquals(512, column.getLongBits(0));
+      assertEquals(511, column.getLongBits(column.getSize() - 1));
+
+      // Growing only appends new segments.
+      column.resize(0, 20 * 1024);
+      assertEquals(21, column.getNumberOfPieces());
+      assertEquals(0, column.getLongBits(10 * 1024));
+
+      // Cropping drops the segments outside the kept portion, which here overlaps 3 segments.
+      column.resize(1024, 2048);
+      assertEquals(3, column.getNumberOfPieces());
+      assertEquals(1024 + 512, column.getLongBits(0));
+      assertEquals(3 * 1024 * 8, column.getMemorySize());
+      column.dispose();
+   }
+
+   @Test
+   public void testYoSharedBufferAgainstHeap()
+   {
+      Random random = new Random(23567);
+
+      for (int i = 0; i < 20; i++)
+      {
+         YoRegistry rootRegistry = SharedMemoryRandomTools.nextYoRegistryTree(random, 10, 5)[0];
+         List<YoVariable> variables = rootRegistry.collectSubtreeVariables();
+         int initialSize = random.nextInt(500) + 2;
+         YoSharedBuffer expected = new YoSharedBuffer(rootRegistry, initialSize);
+         SegmentedBufferStorage storage = new SegmentedBufferStorage(YoBufferStorage.HEAP, random.nextInt(200) + 1);
+         YoSharedBuffer actual = new YoSharedBuffer(rootRegistry, initialSize, storage);
+
+         for (int j = 0; j < 500; j++)
+         {
+            SharedMemoryRandomTools.randomizeYoVariables(random, variables);
+            expected.writeBuffer();
+            actual.writeBuffer();
+            expected.incrementBufferIndex(true);
+            actual.incrementBufferIndex(true);
+
+            switch (random.nextInt(50))
+            {
+               case 0:
+                  int newSize = random.nextInt(1000) + 1;
+                  expected.resizeBuffer(newSize);
+                  actual.resizeBuffer(newSize);
+                  break;
+               case 1:
+                  int size = expected.getProperties().getSize();
+                  CropBufferRequest request = new CropBufferRequest(random.nextInt(size), random.nextInt(size));
+                  expected.cropBuffer(request);
+                  actual.cropBuffer(request);
+                  break;
+               default:
+                  break;
+            }
+
+            SharedMemoryTestTools.assertYoSharedBufferEquals(expected, actual, 0.0);
+         }
+
+         expected.dispose();
+         actual.dispose();
+      }
+   }
+
+   private static long nextLongBits(Random random, YoVariableType type)
+   {
+      switch (type)
+      {
+         case DOUBLE:
+            return Double.doubleToRawLongBits(random.nextDouble());
+         case LONG:
+            return random.nextLong();
+         case INTEGER:
+            return random.nextInt();
+         case BOOLEAN:
+            return random.nextBoolean() ? 1L : 0L;
+         case ENUM:
+            return random.nextInt(128) - 1;
+         default:
+            throw new IllegalStateException("Unexpected type: " + type);
+      }
+   }
+
+   private static void assertColumnEquals(BufferColumn expected, BufferColumn actual)
+   {
+      assertEquals(expected.getSize(), actual.getSize());
+      for (int i = 0; i < expected.getSize(); i++)
+         assertEquals(expected.getLongBits(i), actual.getLongBits(i));
+   }
+
+   private static void assertPrimitiveArrayEquals(Object expected, Object actual)
+   {
+      assertEquals(expected.getClass(), actual.getClass());
+      assertEquals(Array.getLength(expected), Array.getLength(actual));
+      for (int i = 0; i < Array.getLength(expected); i++)
+         assertEquals(Array.get(expected, i), Array.get(actual, i));
+   }
+}
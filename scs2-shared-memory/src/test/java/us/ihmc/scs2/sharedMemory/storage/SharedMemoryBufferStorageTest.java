@@ -0,0 +1,156 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.scs2.sharedMemory.CropBufferRequest;
+import us.ihmc.scs2.sharedMemory.YoSharedBuffer;
+import us.ihmc.scs2.sharedMemory.YoVariableBuffer;
+import us.ihmc.scs2.sharedMemory.storage.SharedMemoryBufferReader.ColumnView;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryRandomTools;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTestTools;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoEnum;
+import us.ihmc.yoVariables.variable.YoVariable;
+
+public class SharedMemoryBufferStorageTest
+{
+   @Test
+   public void testReaderAgainstBuffer() throws IOException
+   {
+      Random random = new Random(73452);
+      Path directory = Files.createTempDirectory("scs2-shared-buffer-test");
+
+      for (int i = 0; i < 10; i++)
+      {
+         YoRegistry rootRegistry = SharedMemoryRandomTools.nextYoRegistryTree(random, 10, 5)[0];
+         List<YoVariable> variables = rootRegistry.collectSubtreeVariables();
+         int initialSize = random.nextInt(500) + 2;
+         YoSharedBuffer expected = new YoSharedBuffer(rootRegistry, initialSize);
+         // Small files to exercise the allocation over multiple files.
+         SharedMemoryBufferStorage storage = new SharedMemoryBufferStorage(directory, random.nextInt(1 << 16) + 8);
+         YoSharedBuffer actual = new YoSharedBuffer(rootRegistry, initialSize, storage);
+         SharedMemoryBufferReader reader = new SharedMemoryBufferReader(directory);
+         assertTrue(reader.getColumns().isEmpty());
+
+         for (int j = 0; j < 300; j++)
+         {
+            SharedMemoryRandomTools.randomizeYoVariables(random, variables);
+            expected.writeBuffer();
+            actual.writeBuffer();
+            expected.incrementBufferIndex(true);
+            actual.incrementBufferIndex(true);
+
+            switch (random.nextInt(50))
+            {
+               case 0:
+                  int newSize = random.nextInt(1000) + 1;
+                  expected.resizeBuffer(newSize);
+                  actual.resizeBuffer(newSize);
+                  break;
+               case 1:
+                  int size = expected.getProperties().getSize();
+                  CropBufferRequest request = new CropBufferRequest(random.nextInt(size), random.nextInt(size));
+                  expected.cropBuffer(request);
+                  actual.cropBuffer(request);
+                  break;
+               default:
+                  break;
+            }
+
+            SharedMemoryTestTools.assertYoSharedBufferEquals(expected, actual, 0.0);
+
+            long previousGeneration = storage.getGeneration();
+            storage.publish(actual.getProperties());
+            assertTrue(reader.update());
+            assertFalse(reader.update());
+            assertEquals(storage.getGeneration(), reader.getGeneration());
+            if (j == 0)
+               assertTrue(reader.getGeneration() > previousGeneration);
+            assertReaderEquals(expected, reader);
+         }
+
+         expected.dispose();
+         actual.dispose();
+         assertTrue(reader.update());
+         assertTrue(reader.isClosed());
+         assertFalse(reader.update());
+         reader.close();
+      }
+
+      try (Stream<Path> files = Files.list(directory))
+      {
+         assertEquals(0, files.count());
+      }
+      Files.delete(directory);
+   }
+
+   @Test
+   public void testDefaultDirectory() throws IOException
+   {
+      Random random = new Random(2345);
+      YoRegistry rootRegistry = SharedMemoryRandomTools.nextYoRegistryTree(random, 5, 3)[0];
+      SharedMemoryBufferStorage storage = new SharedMemoryBufferStorage();
+      YoSharedBuffer buffer = new YoSharedBuffer(rootRegistry, 100, storage);
+      Path directory = storage.getDirectory();
+      assertTrue(Files.isDirectory(directory));
+
+      buffer.writeBuffer();
+      storage.publish(buffer.getProperties());
+
+      try (SharedMemoryBufferReader reader = new SharedMemoryBufferReader(directory))
+      {
+         assertEquals(rootRegistry.collectSubtreeVariables().size(), reader.getColumns().size());
+         assertReaderEquals(buffer, reader);
+      }
+
+      buffer.dispose();
+      assertFalse(Files.exists(directory));
+   }
+
+   @Test
+   public void testInvalidDirectory() throws IOException
+   {
+      Path directory = Files.createTempDirectory("scs2-shared-buffer-test");
+      Path header = directory.resolve(SharedMemoryBufferStorage.HEADER_FILE_NAME);
+      Files.write(header, new byte[SharedMemoryBufferStorage.HEADER_SIZE]);
+      assertThrows(IllegalArgumentException.class, () -> new SharedMemoryBufferReader(directory));
+      Files.delete(header);
+      Files.delete(directory);
+   }
+
+   private static void assertReaderEquals(YoSharedBuffer expected, SharedMemoryBufferReader reader)
+   {
+      assertEquals(expected.getProperties().getSize(), reader.getSize());
+      assertEquals(expected.getProperties().getCurrentIndex(), reader.getCurrentIndex());
+      assertEquals(expected.getProperties().getInPoint(), reader.getInPoint());
+      assertEquals(expected.getProperties().getOutPoint(), reader.getOutPoint());
+      assertNull(reader.findColumn("unknown"));
+
+      for (YoVariableBuffer<?> variableBuffer : expected.getRegistryBuffer().getYoVariableBuffers())
+      {
+         YoVariable variable = variableBuffer.getYoVariable();
+         ColumnView column = reader.findColumn(variable.getFullNameString());
+         assertNotNull(column, variable.getFullNameString());
+         assertEquals(variable.getType(), column.getType());
+         assertEquals(variable.getName(), column.getName());
+         if (variable instanceof YoEnum<?> yoEnum)
+            assertArrayEquals(yoEnum.getEnumValuesAsString(), column.getEnumConstants());
+         assertArrayEquals(variableBuffer.getAsDoubleBuffer(), column.getAsDoubleBuffer());
+      }
+   }
+}
@@ -0,0 +1,222 @@
+package us.ihmc.scs2.sharedMemory.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.scs2.sharedMemory.CropBufferRequest;
+import us.ihmc.scs2.sharedMemory.YoSharedBuffer;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryRandomTools;
+import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTestTools;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoDouble;
+import us.ihmc.yoVariables.variable.YoVariable;
+import us.ihmc.yoVariables.variable.YoVariableType;
+
+public class SparseBufferStorageTest
+{
+   private static final int ITERATIONS = 100;
+
+   @Test
+   public void testColumnsAgainstHeap()
+   {
+      Random random = new Random(34574);
+
+      for (int i = 0; i < ITERATIONS; i++)
+      {
+         YoVariableType type = YoVariableType.values()[random.nextInt(YoVariableType.values().length)];
+         SparseBufferStorage storage = new SparseBufferStorage(YoBufferStorage.HEAP, random.nextDouble() * 0.2 + 0.01);
+         int size = random.nextInt(2000) + 1;
+         BufferColumn expected = YoBufferStorage.HEAP.newColumn(type, size);
+         SparseBufferColumn actual = (SparseBufferColumn) storage.newColumn(type, size);
+         assertEquals(type, actual.getType());
+         assertEquals(size, actual.getSize());
+         assertColumnEquals(expected, actual);
+
+         // The probability for the value to change at each write, increasing until the column is promoted.
+         double changeProbability = 0.001;
+
+         for (int j = 0; j < 20; j++)
+         {
+            size = expected.getSize();
+            long value = nextLongBits(random, type);
+
+            switch (random.nextInt(4))
+            {
+               case 0:
+                  for (int k = random.nextInt(size); k >= 0; k--)
+                  {
+                     if (random.nextDouble() < changeProbability)
+                        value = nextLongBits(random, type);
+                     int index = random.nextInt(size);
+                     expected.setLongBits(index, value);
+                     actual.setLongBits(index, value);
+                  }
+                  break;
+               case 1:
+                  int start = random.nextInt(size);
+                  for (int k = 0; k < size; k++)
+                  {
+                     if (random.nextDouble() < changeProbability)
+                        value = nextLongBits(random, type);
+                     int index = (start + k) % size;
+                     expected.setLongBits(index, value);
+                     actual.setLongBits(index, value);
+                  }
+                  break;
+               case 2:
+                  int from = random.nextInt(size);
+                  int length = random.nextInt(size + 1);
+                  expected.fill(value, from, length);
+                  actual.fill(value, from, length);
+                  break;
+               default:
+                  from = random.nextInt(size);
+                  length = random.nextInt(2 * size) + 1;
+                  expected = expected.resize(from, length);
+                  assertTrue(actual == actual.resize(from, length));
+                  break;
+            }
+
+            assertColumnEquals(expected, actual);
+            int from = random.nextInt(actual.getSize());
+            int length = random.nextInt(actual.getSize()) + 1;
+            assertPrimitiveArrayEquals(expected.copy(from, length), actual.copy(from, length));
+
+            if (!actual.isDense())
+               assertTrue(actual.getNumberOfChanges() <= storage.getMaximumNumberOfChanges(actual.getSize()));
+            changeProbability *= 2.0;
+         }
+
+         int index = actual.getSize();
+         assertThrows(IndexOutOfBoundsException.class, () -> actual.getLongBits(index));
+         actual.dispose();
+      }
+   }
+
+   @Test
+   public void testConstantVariablesStaySparse()
+   {
+      YoRegistry rootRegistry = new YoRegistry("root");
+      YoDouble parameter = new YoDouble("parameter", rootRegistry);
+      YoDouble signal = new YoDouble("signal", rootRegistry);
+      YoSharedBuffer buffer = new YoSharedBuffer(rootRegistry, 10000, new SparseBufferStorage());
+
+      for (int i = 0; i < 20000; i++)
+      {
+         if (i % 5000 == 0)
+            parameter.set(i);
+         signal.set(Math.sin(0.01 * i));
+         buffer.incrementBufferIndex(true);
+         buffer.writeBuffer();
+      }
+
+      // The parameter changed 4 times, the signal at every tick and has been promoted.
+      assertTrue(buffer.getRegistryBuffer().findYoVariableBuffer(parameter).getBufferMemorySize() < 1000);
+      assertEquals(10000 * Double.BYTES, buffer.getRegistryBuffer().findYoVariableBuffer(signal).getBufferMemorySize());
+
+      SparseBufferColumn column = (SparseBufferColumn) new SparseBufferStorage().newColumn(YoVariableType.DOUBLE, 10000);
+      for (int i = 0; i < 10000; i++)
+         column.setLongBits(i, Double.doubleToRawLongBits(i / 2500));
+      assertFalse(column.isDense());
+      assertEquals(4, column.getNumberOfChanges());
+      column.fill(0L, 0, 10000);
+      assertEquals(1, column.getNumberOfChanges());
+      for (int i = 0; i < 10000; i++)
+         column.setLongBits(i, Double.doubleToRawLongBits(i));
+      assertTrue(column.isDense());
+      buffer.dispose();
+   }
+
+   @Test
+   public void testYoSharedBufferAgainstHeap()
+   {
+      Random random = new Random(4572);
+
+      for (int i = 0; i < 20; i++)
+      {
+         YoRegistry rootRegistry = SharedMemoryRandomTools.nextYoRegistryTree(random, 10, 5)[0];
+         List<YoVariable> variables = rootRegistry.collectSubtreeVariables();
+         int initialSize = random.nextInt(500) + 2;
+         YoSharedBuffer expected = new YoSharedBuffer(rootRegistry, initialSize);
+         YoSharedBuffer actual = new YoSharedBuffer(rootRegistry, initialSize, new SparseBufferStorage());
+
+         for (int j = 0; j < 500; j++)
+         {
+            // Only some of the variables change at each tick.
+            for (YoVariable variable : variables)
+            {
+               if (random.nextInt(20) == 0)
+                  SharedMemoryRandomTools.randomizeYoVariable(random, variable);
+            }
+            expected.writeBuffer();
+            actual.writeBuffer();
+            expected.incrementBufferIndex(true);
+            actual.incrementBufferIndex(true);
+
+            switch (random.nextInt(50))
+            {
+               case 0:
+                  int newSize = random.nextInt(1000) + 1;
+                  expected.resizeBuffer(newSize);
+                  actual.resizeBuffer(newSize);
+                  break;
+               case 1:
+                  int size = expected.getProperties().getSize();
+                  CropBufferRequest request = new CropBufferRequest(random.nextInt(size), random.nextInt(size));
+                  expected.cropBuffer(request);
+                  actual.cropBuffer(request);
+                  break;
+               default:
+                  break;
+            }
+
+            SharedMemoryTestTools.assertYoSharedBufferEquals(expected, actual, 0.0);
+         }
+
+         expected.dispose();
+         actual.dispose();
+      }
+   }
+
+   private static long nextLongBits(Random random, YoVariableType type)
+   {
+      switch (type)
+      {
+         case DOUBLE:
+            return Double.doubleToRawLongBits(random.nextDouble());
+         case LONG:
+            return random.nextLong();
+         case INTEGER:
+            return random.nextInt();
+         case BOOLEAN:
+            return random.nextBoolean() ? 1L : 0L;
+         case ENUM:
+            return random.nextInt(128) - 1;
+         default:
+            throw new IllegalStateException("Unexpected type: " + type);
+      }
+   }
+
+   private static void assertColumnEquals(BufferColumn expected, BufferColumn actual)
+   {
+      assertEquals(expected.getSize(), actual.getSize());
+      for (int i = 0; i < expected.getSize(); i++)
+         assertEquals(expected.getLongBits(i), actual.getLongBits(i));
+   }
+
+   private static void assertPrimitiveArrayEquals(Object expected, Object actual)
+   {
+      assertEquals(expected.getClass(), actual.getClass());
+      assertEquals(Array.getLength(expected), Array.getLength(actual));
+      for (int i = 0; i < Array.getLength(expected); i++)
+         assertEquals(Array.get(expected, i), Array.get(actual, i));
+   }
+}
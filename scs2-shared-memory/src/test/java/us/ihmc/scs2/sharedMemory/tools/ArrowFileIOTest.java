@@ -0,0 +1,501 @@
+package us.ihmc.scs2.sharedMemory.tools;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.scs2.sharedMemory.YoSharedBuffer;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoBoolean;
+import us.ihmc.yoVariables.variable.YoDouble;
+import us.ihmc.yoVariables.variable.YoEnum;
+import us.ihmc.yoVariables.variable.YoInteger;
+import us.ihmc.yoVariables.variable.YoLong;
+
+/**
+ * Tests {@link ArrowFileIO} against {@code arrow/golden.arrow}, a file written by another Arrow
+ * implementation, see {@code arrow/generateGoldenArrowFile.py} in the test resources.
+ */
+public class ArrowFileIOTest
+{
+   private static final int NUMBER_OF_ROWS = 8;
+   private static final double[] X = {0.0, 0.5, -1.25, 2.0, 1.0e-3, -0.0, 1.0e300, 7.0};
+   private static final double[] Y = {1.0, Double.NaN, 3.0, Double.NaN, 5.0, 6.0, 7.0, 8.0};
+   private static final long[] COUNT = {0L, 1L, -1L, 1L << 62, Long.MIN_VALUE, 5L, 6L, 7L};
+   private static final int[] INDEX = {0, -1, 2, Integer.MAX_VALUE, Integer.MIN_VALUE, 5, 6, 7};
+   private static final boolean[] FLAG = {true, false, true, true, false, false, false, true};
+   private static final GoldenMode[] MODE = {GoldenMode.STAND, null, GoldenMode.WALK, GoldenMode.STAND, null, GoldenMode.RUN, GoldenMode.WALK, GoldenMode.STAND};
+
+   private static final byte[] MAGIC = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+   private static final int CONTINUATION_MARKER = 0xFFFFFFFF;
+   private static final byte HEADER_SCHEMA = 1;
+   private static final byte HEADER_DICTIONARY_BATCH = 2;
+   private static final byte HEADER_RECORD_BATCH = 3;
+   private static final byte TYPE_INT = 2;
+   private static final byte TYPE_FLOATING_POINT = 3;
+   private static final byte TYPE_UTF8 = 5;
+   private static final byte TYPE_BOOL = 6;
+
+   /** The constants are not in the order of the dictionary of the golden file. */
+   private enum GoldenMode
+   {
+      WALK, RUN, STAND
+   }
+
+   private static class GoldenVariables
+   {
+      private final YoRegistry root = new YoRegistry("root");
+      private final YoRegistry golden = new YoRegistry("golden");
+      private final YoDouble x = new YoDouble("x", golden);
+      private final YoDouble y = new YoDouble("y", golden);
+      private final YoLong count = new YoLong("count", golden);
+      private final YoInteger index = new YoInteger("index", golden);
+      private final YoBoolean flag = new YoBoolean("flag", golden);
+      private final YoEnum<GoldenMode> mode = new YoEnum<>("mode", golden, GoldenMode.class, true);
+
+      GoldenVariables()
+      {
+         root.addChild(golden);
+      }
+   }
+
+   @Test
+   public void testImportGoldenFile() throws IOException, URISyntaxException
+   {
+      GoldenVariables variables = new GoldenVariables();
+      YoSharedBuffer buffer = SharedMemoryIOTools.importDataArrow(getGoldenFile(), variables.root);
+
+      assertEquals(NUMBER_OF_ROWS, buffer.getProperties().getActiveBufferLength());
+
+      for (int i = 0; i < NUMBER_OF_ROWS; i++)
+      {
+         buffer.setCurrentIndex(i);
+         buffer.readBuffer();
+
+         // Bit-exact, including -0.0 and the null values loaded as NaN.
+         assertEquals(Double.doubleToRawLongBits(X[i]), Double.doubleToRawLongBits(variables.x.getValue()), "row " + i);
+         assertEquals(Double.isNaN(Y[i]), Double.isNaN(variables.y.getValue()), "row " + i);
+         if (!Double.isNaN(Y[i]))
+            assertEquals(Y[i], variables.y.getValue(), "row " + i);
+         assertEquals(COUNT[i], variables.count.getValue(), "row " + i);
+         assertEquals(INDEX[i], variables.index.getValue(), "row " + i);
+         assertEquals(FLAG[i], variables.flag.getValue(), "row " + i);
+         // The dictionary is mapped by name onto the enum constants.
+         assertEquals(MODE[i], variables.mode.getValue(), "row " + i);
+      }
+
+      buffer.dispose();
+   }
+
+   @Test
+   public void testExportAgainstGoldenFile() throws IOException, URISyntaxException
+   {
+      File goldenFile = getGoldenFile();
+      GoldenVariables variables = new GoldenVariables();
+      YoSharedBuffer buffer = SharedMemoryIOTools.importDataArrow(goldenFile, variables.root);
+      File exportedFile = File.createTempFile("exported", ".arrow");
+      exportedFile.deleteOnExit();
+      SharedMemoryIOTools.exportDataArrow(buffer, exportedFile);
+      buffer.dispose();
+
+      ParsedArrowFile golden = new ParsedArrowFile(Files.readAllBytes(goldenFile.toPath()));
+      ParsedArrowFile exported = new ParsedArrowFile(Files.readAllBytes(exportedFile.toPath()));
+      exportedFile.delete();
+
+      // Footer
+      assertEquals(golden.footer.getShort(0, (short) 0), exported.footer.getShort(0, (short) 0), "metadata version");
+      assertEquals(golden.dictionaryBlocks.size(), exported.dictionaryBlocks.size());
+      assertEquals(1, exported.recordBatchBlocks.size());
+
+      // Schema: the footer repeats the schema of the first message.
+      assertEquals(golden.fields.size(), exported.fields.size());
+      for (ParsedArrowFile file : List.of(golden, exported))
+      {
+         List<ParsedField> schemaMessageFields = ParsedArrowFile.parseFields(file.schemaMessage);
+         assertEquals(file.fields.size(), schemaMessageFields.size());
+         for (int i = 0; i < file.fields.size(); i++)
+            assertEquals(file.fields.get(i).withDictionaryId(0), schemaMessageFields.get(i).withDictionaryId(0));
+      }
+
+      for (int i = 0; i < golden.fields.size(); i++)
+      {
+         ParsedField goldenField = golden.fields.get(i);
+         ParsedField exportedField = exported.fields.get(i);
+         boolean isDictionaryEncoded = goldenField.dictionaryId != -1L;
+         // The exported columns are only nullable for the enums.
+         assertEquals(isDictionaryEncoded, exportedField.nullable, goldenField.name);
+         assertEquals(goldenField.withDictionaryId(0).withNullable(true), exportedField.withDictionaryId(0).withNullable(true));
+         assertEquals(isDictionaryEncoded, exportedField.dictionaryId != -1L);
+      }
+
+      // Record batch
+      RecordBatch goldenBatch = golden.recordBatches.get(0);
+      RecordBatch exportedBatch = exported.recordBatches.get(0);
+      assertEquals(goldenBatch.length, exportedBatch.length);
+
+      for (int i = 0; i < golden.fields.size(); i++)
+      {
+         String name = golden.fields.get(i).name;
+         byte[] goldenData = goldenBatch.getBuffer(2 * i + 1);
+         byte[] exportedData = exportedBatch.getBuffer(2 * i + 1);
+
+         switch (name)
+         {
+            case "root.golden.x", "root.golden.count", "root.golden.index", "root.golden.flag" ->
+            {
+               assertEquals(0L, exportedBatch.getNullCount(i), name);
+               assertEquals(0, exportedBatch.getBufferLength(2 * i), name);
+               assertArrayEquals(goldenData, exportedData, name);
+            }
+            case "root.golden.y" ->
+            { // The null values are exported as NaN.
+               assertEquals(0L, exportedBatch.getNullCount(i), name);
+               for (int row = 0; row < NUMBER_OF_ROWS; row++)
+               {
+                  long exportedBits = ByteBuffer.wrap(exportedData).order(ByteOrder.LITTLE_ENDIAN).getLong(row * Long.BYTES);
+                  if (goldenBatch.isNull(i, row))
+                     assertTrue(Double.isNaN(Double.longBitsToDouble(exportedBits)), name);
+                  else
+                     assertEquals(ByteBuffer.wrap(goldenData).order(ByteOrder.LITTLE_ENDIAN).getLong(row * Long.BYTES), exportedBits, name);
+               }
+            }
+            case "root.golden.mode" ->
+            { // Same values, the indices differ as the dictionary is the enum constants.
+               assertEquals(goldenBatch.getNullCount(i), exportedBatch.getNullCount(i), name);
+               assertArrayEquals(goldenBatch.getBuffer(2 * i), exportedBatch.getBuffer(2 * i), name);
+               List<String> goldenDictionary = golden.dictionaries.get(golden.fields.get(i).dictionaryId);
+               List<String> exportedDictionary = exported.dictionaries.get(exported.fields.get(i).dictionaryId);
+               assertEquals(Arrays.stream(GoldenMode.values()).map(Enum::name).toList(), exportedDictionary);
+
+               for (int row = 0; row < NUMBER_OF_ROWS; row++)
+               {
+                  if (goldenBatch.isNull(i, row))
+                  {
+                     assertTrue(exportedBatch.isNull(i, row), name);
+                     assertNull(MODE[row]);
+                  }
+                  else
+                  {
+                     assertEquals(goldenDictionary.get(goldenData[row]), exportedDictionary.get(exportedData[row]), name);
+                     assertEquals(MODE[row].name(), exportedDictionary.get(exportedData[row]), name);
+                  }
+               }
+            }
+            default -> throw new IllegalStateException("Unexpected column: " + name);
+         }
+      }
+   }
+
+   private static File getGoldenFile() throws URISyntaxException
+   {
+      return new File(Objects.requireNonNull(ArrowFileIOTest.class.getClassLoader().getResource("arrow/golden.arrow")).toURI());
+   }
+
+   /**
+    * Parses an Arrow IPC file independently from {@link ArrowFileIO}, asserting the framing of the
+    * file along the way.
+    */
+   private static class ParsedArrowFile
+   {
+      private final FlatView footer;
+      private final FlatView schemaMessage;
+      private final List<ParsedField> fields;
+      private final List<FlatView> dictionaryBlocks = new ArrayList<>();
+      private final List<FlatView> recordBatchBlocks = new ArrayList<>();
+      private final Map<Long, List<String>> dictionaries = new HashMap<>();
+      private final List<RecordBatch> recordBatches = new ArrayList<>();
+
+      ParsedArrowFile(byte[] bytes)
+      {
+         ByteBuffer file = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+         int size = bytes.length;
+
+         // Leading magic padded to 8 bytes, trailing magic preceded by the footer length.
+         assertArrayEquals(MAGIC, Arrays.copyOfRange(bytes, 0, 6));
+         assertArrayEquals(new byte[2], Arrays.copyOfRange(bytes, 6, 8));
+         assertArrayEquals(MAGIC, Arrays.copyOfRange(bytes, size - 6, size));
+         int footerLength = file.getInt(size - 10);
+         int footerPosition = size - 10 - footerLength;
+         assertTrue(footerPosition > 8);
+         // End-of-stream marker just before the footer.
+         assertEquals(CONTINUATION_MARKER, file.getInt(footerPosition - 8));
+         assertEquals(0, file.getInt(footerPosition - 4));
+
+         footer = FlatView.root(slice(file, footerPosition, footerLength));
+         schemaMessage = readMessage(file, 8, HEADER_SCHEMA).getTable(2);
+         fields = parseFields(footer.getTable(1));
+
+         for (int i = 0; i < footer.getVectorLength(2); i++)
+         {
+            FlatView block = footer.getStruct(2, i, 24);
+            dictionaryBlocks.add(block);
+            FlatView message = readBlock(file, block, HEADER_DICTIONARY_BATCH);
+            FlatView dictionaryBatch = message.getTable(2);
+            RecordBatch data = new RecordBatch(dictionaryBatch.getTable(1), slice(file, bodyPosition(block), (int) message.getLong(3, 0L)));
+            ByteBuffer offsets = ByteBuffer.wrap(data.getBuffer(1)).order(ByteOrder.LITTLE_ENDIAN);
+            byte[] values = data.getBuffer(2);
+            List<String> dictionary = new ArrayList<>();
+            for (int j = 0; j < data.length; j++)
+               dictionary.add(new String(values, offsets.getInt(j * 4), offsets.getInt((j + 1) * 4) - offsets.getInt(j * 4), StandardCharsets.UTF_8));
+            dictionaries.put(dictionaryBatch.getLong(0, 0L), dictionary);
+         }
+
+         for (int i = 0; i < footer.getVectorLength(3); i++)
+         {
+            FlatView block = footer.getStruct(3, i, 24);
+            recordBatchBlocks.add(block);
+            FlatView message = readBlock(file, block, HEADER_RECORD_BATCH);
+            recordBatches.add(new RecordBatch(message.getTable(2), slice(file, bodyPosition(block), (int) message.getLong(3, 0L))));
+         }
+
+         for (ParsedField field : fields)
+         {
+            if (field.dictionaryId != -1L)
+               assertTrue(dictionaries.containsKey(field.dictionaryId), field.name);
+         }
+      }
+
+      static List<ParsedField> parseFields(FlatView schema)
+      {
+         // Little-endian, the default.
+         assertEquals(0, schema.getShort(0, (short) 0));
+         List<ParsedField> fields = new ArrayList<>();
+         for (int i = 0; i < schema.getVectorLength(1); i++)
+            fields.add(ParsedField.parse(schema.getTable(1, i)));
+         return fields;
+      }
+
+      private static FlatView readBlock(ByteBuffer file, FlatView block, byte expectedHeaderType)
+      {
+         long offset = block.buffer.getLong(block.position);
+         int metadataLength = block.buffer.getInt(block.position + 8);
+         long bodyLength = block.buffer.getLong(block.position + 16);
+         assertEquals(0L, offset % 8);
+         assertEquals(metadataLength, 8 + file.getInt((int) offset + 4));
+         FlatView message = readMessage(file, (int) offset, expectedHeaderType);
+         assertEquals(bodyLength, message.getLong(3, 0L));
+         return message;
+      }
+
+      private static long bodyPosition(FlatView block)
+      {
+         return block.buffer.getLong(block.position) + block.buffer.getInt(block.position + 8);
+      }
+
+      private static FlatView readMessage(ByteBuffer file, int position, byte expectedHeaderType)
+      {
+         assertEquals(CONTINUATION_MARKER, file.getInt(position));
+         int metadataLength = file.getInt(position + 4);
+         // The body starts on an 8-byte boundary.
+         assertEquals(0, (position + 8 + metadataLength) % 8);
+         FlatView message = FlatView.root(slice(file, position + 8, metadataLength));
+         assertEquals(4, message.getShort(0, (short) 0), "metadata version");
+         assertEquals(expectedHeaderType, message.getByte(1, (byte) 0));
+         return message;
+      }
+
+      private static ByteBuffer slice(ByteBuffer file, long position, int length)
+      {
+         return file.slice((int) position, length).order(ByteOrder.LITTLE_ENDIAN);
+      }
+   }
+
+   private record ParsedField(String name, boolean nullable, byte type, int bitWidth, boolean isSigned, short precision, long dictionaryId, int indexBitWidth,
+                              boolean isIndexSigned, int numberOfChildren)
+   {
+      static ParsedField parse(FlatView field)
+      {
+         byte type = field.getByte(2, (byte) 0);
+         FlatView typeTable = field.getTable(3);
+         FlatView dictionary = field.getTable(4);
+         FlatView indexType = dictionary == null ? null : dictionary.getTable(1);
+         return new ParsedField(field.getString(0),
+                                field.getBoolean(1),
+                                type,
+                                type == TYPE_INT ? typeTable.getInt(0, 0) : 0,
+                                type == TYPE_INT && typeTable.getBoolean(1),
+                                type == TYPE_FLOATING_POINT ? typeTable.getShort(0, (short) 0) : 0,
+                                dictionary == null ? -1L : dictionary.getLong(0, 0L),
+                                indexType == null ? 0 : indexType.getInt(0, 0),
+                                indexType != null && indexType.getBoolean(1),
+                                field.getVectorLength(5));
+      }
+
+      ParsedField withDictionaryId(long dictionaryId)
+      {
+         return new ParsedField(name, nullable, type, bitWidth, isSigned, precision, this.dictionaryId == -1L ? -1L : dictionaryId, indexBitWidth, isIndexSigned,
+                                numberOfChildren);
+      }
+
+      ParsedField withNullable(boolean nullable)
+      {
+         return new ParsedField(name, nullable, type, bitWidth, isSigned, precision, dictionaryId, indexBitWidth, isIndexSigned, numberOfChildren);
+      }
+
+      ParsedField
+      {
+         assertTrue(type == TYPE_INT || type == TYPE_FLOATING_POINT || type == TYPE_UTF8 || type == TYPE_BOOL, "type " + type);
+      }
+   }
+
+   private static class RecordBatch
+   {
+      private final FlatView recordBatch;
+      private final ByteBuffer body;
+      private final long length;
+
+      RecordBatch(FlatView recordBatch, ByteBuffer body)
+      {
+         this.recordBatch = recordBatch;
+         this.body = body;
+         length = recordBatch.getLong(0, 0L);
+         // Uncompressed
+         assertNull(recordBatch.getTable(3));
+
+         for (int i = 0; i < recordBatch.getVectorLength(2); i++)
+         {
+            FlatView buffer = recordBatch.getStruct(2, i, 16);
+            long offset = buffer.buffer.getLong(buffer.position);
+            long bufferLength = buffer.buffer.getLong(buffer.position + 8);
+            assertEquals(0L, offset % 8, "buffer " + i);
+            assertTrue(offset + bufferLength <= body.limit(), "buffer " + i);
+         }
+      }
+
+      long getNullCount(int column)
+      {
+         FlatView node = recordBatch.getStruct(1, column, 16);
+         return node.buffer.getLong(node.position + 8);
+      }
+
+      int getBufferLength(int index)
+      {
+         FlatView buffer = recordBatch.getStruct(2, index, 16);
+         return (int) buffer.buffer.getLong(buffer.position + 8);
+      }
+
+      byte[] getBuffer(int index)
+      {
+         FlatView buffer = recordBatch.getStruct(2, index, 16);
+         byte[] bytes = new byte[getBufferLength(index)];
+         body.get((int) buffer.buffer.getLong(buffer.position), bytes);
+         return bytes;
+      }
+
+      boolean isNull(int column, int row)
+      {
+         if (getNullCount(column) == 0L)
+            return false;
+         return (getBuffer(2 * column)[row >> 3] & (1 << (row & 7))) == 0;
+      }
+   }
+
+   /**
+    * Read-only view of a FlatBuffers table or struct.
+    */
+   private record FlatView(ByteBuffer buffer, int position)
+   {
+      static FlatView root(ByteBuffer buffer)
+      {
+         return new FlatView(buffer, buffer.getInt(0));
+      }
+
+      private int getFieldPosition(int slot)
+      {
+         // The vtable is located at the table position minus the signed offset stored in the table.
+         int vtable = position - buffer.getInt(position);
+         int entry = 4 + 2 * slot;
+         if (entry >= Short.toUnsignedInt(buffer.getShort(vtable)))
+            return -1;
+         int offset = Short.toUnsignedInt(buffer.getShort(vtable + entry));
+         return offset == 0 ? -1 : position + offset;
+      }
+
+      private int dereference(int fieldPosition)
+      {
+         return fieldPosition + buffer.getInt(fieldPosition);
+      }
+
+      boolean getBoolean(int slot)
+      {
+         return getByte(slot, (byte) 0) != 0;
+      }
+
+      byte getByte(int slot, byte defaultValue)
+      {
+         int fieldPosition = getFieldPosition(slot);
+         return fieldPosition == -1 ? defaultValue : buffer.get(fieldPosition);
+      }
+
+      short getShort(int slot, short defaultValue)
+      {
+         int fieldPosition = getFieldPosition(slot);
+         return fieldPosition == -1 ? defaultValue : buffer.getShort(fieldPosition);
+      }
+
+      int getInt(int slot, int defaultValue)
+      {
+         int fieldPosition = getFieldPosition(slot);
+         return fieldPosition == -1 ? defaultValue : buffer.getInt(fieldPosition);
+      }
+
+      long getLong(int slot, long defaultValue)
+      {
+         int fieldPosition = getFieldPosition(slot);
+         return fieldPosition == -1 ? defaultValue : buffer.getLong(fieldPosition);
+      }
+
+      String getString(int slot)
+      {
+         int stringPosition = dereference(getFieldPosition(slot));
+         byte[] bytes = new byte[buffer.getInt(stringPosition)];
+         buffer.get(stringPosition + 4, bytes);
+         // Null-terminated
+         assertEquals(0, buffer.get(stringPosition + 4 + bytes.length));
+         return new String(bytes, StandardCharsets.UTF_8);
+      }
+
+      FlatView getTable(int slot)
+      {
+         int fieldPosition = getFieldPosition(slot);
+         return fieldPosition == -1 ? null : new FlatView(buffer, dereference(fieldPosition));
+      }
+
+      int getVectorLength(int slot)
+      {
+         int fieldPosition = getFieldPosition(slot);
+         return fieldPosition == -1 ? 0 : buffer.getInt(dereference(fieldPosition));
+      }
+
+      FlatView getTable(int slot, int index)
+      {
+         int elementPosition = dereference(getFieldPosition(slot)) + 4 + 4 * index;
+         return new FlatView(buffer, dereference(elementPosition));
+      }
+
+      FlatView getStruct(int slot, int index, int structSize)
+      {
+         int elementPosition = dereference(getFieldPosition(slot)) + 4 + structSize * index;
+         // The structs used by Arrow hold 64-bit fields and are aligned on 8 bytes.
+         assertEquals(0, elementPosition % 8);
+         return new FlatView(buffer, elementPosition);
+      }
+   }
+}
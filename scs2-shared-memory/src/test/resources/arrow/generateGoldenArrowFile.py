@@ -0,0 +1,340 @@
+"""
+Generates golden.arrow, the reference Arrow IPC file loaded by ArrowFileIOTest.
+
+The file holds 8 rows and the columns:
+  root.golden.x      float64
+  root.golden.y      float64 with null values
+  root.golden.count  int64
+  root.golden.index  int32
+  root.golden.flag   bool
+  root.golden.mode   dictionary<int8, utf8> with null values, the dictionary is in order of first
+                     appearance which differs from the order of the enum constants in the test.
+
+When pyarrow is installed, the file is written with pyarrow. Otherwise, it is written with the
+standalone encoder below which follows the Arrow specification (Schema.fbs, Message.fbs, File.fbs)
+and the layout of the reference FlatBuffers builder used by Arrow C++: objects are written back to
+front, the vtables are deduplicated, and the default values are omitted.
+
+Usage: python3 generateGoldenArrowFile.py [output_file]
+"""
+
+import math
+import os
+import struct
+import sys
+
+NUMBER_OF_ROWS = 8
+X = [0.0, 0.5, -1.25, 2.0, 1.0e-3, -0.0, 1.0e300, 7.0]
+Y = [1.0, None, 3.0, None, 5.0, 6.0, 7.0, 8.0]
+COUNT = [0, 1, -1, 2 ** 62, -2 ** 63, 5, 6, 7]
+INDEX = [0, -1, 2, 2 ** 31 - 1, -2 ** 31, 5, 6, 7]
+FLAG = [True, False, True, True, False, False, False, True]
+MODE = ["STAND", None, "WALK", "STAND", None, "RUN", "WALK", "STAND"]
+
+
+def dictionary_encode(values):
+    dictionary = []
+    for value in values:
+        if value is not None and value not in dictionary:
+            dictionary.append(value)
+    return dictionary, [None if value is None else dictionary.index(value) for value in values]
+
+
+def write_with_pyarrow(output_file):
+    import pyarrow as pa
+
+    dictionary, indices = dictionary_encode(MODE)
+    table = pa.table({
+        "root.golden.x": pa.array(X, pa.float64()),
+        "root.golden.y": pa.array(Y, pa.float64()),
+        "root.golden.count": pa.array(COUNT, pa.int64()),
+        "root.golden.index": pa.array(INDEX, pa.int32()),
+        "root.golden.flag": pa.array(FLAG, pa.bool_()),
+        "root.golden.mode": pa.DictionaryArray.from_arrays(pa.array(indices, pa.int8()), pa.array(dictionary, pa.utf8())),
+    })
+    with pa.ipc.new_file(output_file, table.schema) as writer:
+        writer.write_table(table)
+
+
+class Builder:
+    """Minimal back-to-front FlatBuffers builder."""
+
+    def __init__(self):
+        self.data = bytearray()
+        self.min_alignment = 1
+        self.vtables = []
+        self.current_fields = None
+        self.object_end = 0
+
+    def offset(self):
+        return len(self.data)
+
+    def pad(self, n):
+        self.data[0:0] = bytes(n)
+
+    def prep(self, size, additional_bytes):
+        self.min_alignment = max(self.min_alignment, size)
+        self.pad((-(len(self.data) + additional_bytes)) % size)
+
+    def place(self, fmt, value):
+        self.data[0:0] = struct.pack("<" + fmt, value)
+
+    def prepend(self, fmt, value):
+        self.prep(struct.calcsize(fmt), 0)
+        self.place(fmt, value)
+
+    def prepend_offset(self, target):
+        self.prep(4, 0)
+        self.place("I", self.offset() - target + 4)
+
+    def create_string(self, value):
+        encoded = value.encode("utf-8")
+        self.prep(4, len(encoded) + 1)
+        self.data[0:0] = encoded + b"\0"
+        self.place("I", len(encoded))
+        return self.offset()
+
+    def create_offset_vector(self, targets):
+        self.prep(4, 4 * len(targets))
+        for target in reversed(targets):
+            self.prepend_offset(target)
+        self.place("I", len(targets))
+        return self.offset()
+
+    def create_struct_vector(self, structs, struct_size):
+        self.prep(4, struct_size * len(structs))
+        self.prep(8, struct_size * len(structs))
+        for encoded in reversed(structs):
+            self.data[0:0] = encoded
+        self.place("I", len(structs))
+        return self.offset()
+
+    def start_table(self, number_of_fields):
+        self.current_fields = [0] * number_of_fields
+        self.object_end = self.offset()
+
+    def add_scalar(self, slot, fmt, value, default):
+        if value != default:
+            self.prepend(fmt, value)
+            self.current_fields[slot] = self.offset()
+
+    def add_offset(self, slot, target):
+        self.prepend_offset(target)
+        self.current_fields[slot] = self.offset()
+
+    def end_table(self):
+        self.prepend("i", 0)
+        object_offset = self.offset()
+        entries = [object_offset - field if field != 0 else 0 for field in self.current_fields]
+        while entries and entries[-1] == 0:
+            entries.pop()
+        vtable = struct.pack("<%dH" % (2 + len(entries)), 4 + 2 * len(entries), object_offset - self.object_end, *entries)
+
+        existing = next((vtable_offset for vtable_offset, encoded in self.vtables if encoded == vtable), None)
+        table_position = len(self.data) - object_offset
+        if existing is None:
+            self.data[0:0] = vtable
+            existing = self.offset()
+            self.vtables.append((existing, vtable))
+            table_position = len(self.data) - object_offset
+        # soffset from the table to its vtable: vtable = table - soffset
+        struct.pack_into("<i", self.data, table_position, existing - object_offset)
+        self.current_fields = None
+        return object_offset
+
+    def finish(self, root):
+        self.prep(self.min_alignment, 4)
+        self.prepend_offset(root)
+        return bytes(self.data)
+
+
+METADATA_VERSION_V5 = 4
+HEADER_SCHEMA = 1
+HEADER_DICTIONARY_BATCH = 2
+HEADER_RECORD_BATCH = 3
+TYPE_INT = 2
+TYPE_FLOATING_POINT = 3
+TYPE_UTF8 = 5
+TYPE_BOOL = 6
+PRECISION_DOUBLE = 2
+
+
+def int_type(builder, bit_width, is_signed):
+    builder.start_table(2)
+    builder.add_scalar(0, "i", bit_width, 0)
+    builder.add_scalar(1, "B", 1 if is_signed else 0, 0)
+    return builder.end_table()
+
+
+def empty_table(builder):
+    builder.start_table(0)
+    return builder.end_table()
+
+
+def field(builder, name, type_id, type_builder, dictionary_id=None):
+    name_offset = builder.create_string(name)
+    type_offset = type_builder(builder)
+    dictionary_offset = None
+    if dictionary_id is not None:
+        index_type = int_type(builder, 8, True)
+        builder.start_table(4)
+        builder.add_scalar(0, "q", dictionary_id, 0)
+        builder.add_offset(1, index_type)
+        dictionary_offset = builder.end_table()
+    children_offset = builder.create_offset_vector([])
+    builder.start_table(7)
+    builder.add_offset(0, name_offset)
+    builder.add_scalar(1, "B", 1, 0)  # nullable
+    builder.add_scalar(2, "B", type_id, 0)
+    builder.add_offset(3, type_offset)
+    if dictionary_offset is not None:
+        builder.add_offset(4, dictionary_offset)
+    builder.add_offset(5, children_offset)
+    return builder.end_table()
+
+
+def floating_point(builder):
+    builder.start_table(1)
+    builder.add_scalar(0, "h", PRECISION_DOUBLE, 0)
+    return builder.end_table()
+
+
+def schema(builder):
+    fields = [field(builder, "root.golden.x", TYPE_FLOATING_POINT, floating_point),
+              field(builder, "root.golden.y", TYPE_FLOATING_POINT, floating_point),
+              field(builder, "root.golden.count", TYPE_INT, lambda b: int_type(b, 64, True)),
+              field(builder, "root.golden.index", TYPE_INT, lambda b: int_type(b, 32, True)),
+              field(builder, "root.golden.flag", TYPE_BOOL, empty_table),
+              field(builder, "root.golden.mode", TYPE_UTF8, empty_table, dictionary_id=0)]
+    fields_offset = builder.create_offset_vector(fields)
+    builder.start_table(4)
+    builder.add_offset(1, fields_offset)  # The endianness is little, the default.
+    return builder.end_table()
+
+
+def record_batch(builder, length, nodes, buffers):
+    nodes_offset = builder.create_struct_vector([struct.pack("<qq", *node) for node in nodes], 16)
+    buffers_offset = builder.create_struct_vector([struct.pack("<qq", *buffer) for buffer in buffers], 16)
+    builder.start_table(4)
+    builder.add_scalar(0, "q", length, 0)
+    builder.add_offset(1, nodes_offset)
+    builder.add_offset(2, buffers_offset)
+    return builder.end_table()
+
+
+def message(header_type, header_builder, body_length):
+    builder = Builder()
+    header = header_builder(builder)
+    builder.start_table(5)
+    builder.add_scalar(0, "h", METADATA_VERSION_V5, 0)
+    builder.add_scalar(1, "B", header_type, 0)
+    builder.add_offset(2, header)
+    builder.add_scalar(3, "q", body_length, 0)
+    encoded = builder.finish(builder.end_table())
+    padded_length = align(8 + len(encoded))
+    return struct.pack("<Ii", 0xFFFFFFFF, padded_length - 8) + encoded + bytes(padded_length - 8 - len(encoded))
+
+
+def align(length):
+    return (length + 7) // 8 * 8
+
+
+class Body:
+    def __init__(self):
+        self.data = bytearray()
+        self.buffers = []
+
+    def add(self, encoded):
+        self.buffers.append((len(self.data), len(encoded)))
+        self.data += encoded + bytes(align(len(encoded)) - len(encoded))
+
+
+def bitmap(bits):
+    encoded = bytearray((len(bits) + 7) // 8)
+    for i, bit in enumerate(bits):
+        if bit:
+            encoded[i // 8] |= 1 << (i % 8)
+    return bytes(encoded)
+
+
+def write_with_spec_encoder(output_file):
+    dictionary, indices = dictionary_encode(MODE)
+
+    dictionary_body = Body()
+    dictionary_body.add(b"")
+    encoded_values = [value.encode("utf-8") for value in dictionary]
+    offsets = [0]
+    for encoded in encoded_values:
+        offsets.append(offsets[-1] + len(encoded))
+    dictionary_body.add(struct.pack("<%di" % len(offsets), *offsets))
+    dictionary_body.add(b"".join(encoded_values))
+
+    def dictionary_batch(builder):
+        data = record_batch(builder, len(dictionary), [(len(dictionary), 0)], dictionary_body.buffers)
+        builder.start_table(3)
+        builder.add_scalar(0, "q", 0, 0)  # The dictionary id
+        builder.add_offset(1, data)
+        return builder.end_table()
+
+    body = Body()
+    nodes = []
+    columns = [([1] * NUMBER_OF_ROWS, struct.pack("<8d", *X)),
+               ([value is not None for value in Y], struct.pack("<8d", *[0.0 if value is None else value for value in Y])),
+               ([1] * NUMBER_OF_ROWS, struct.pack("<8q", *COUNT)),
+               ([1] * NUMBER_OF_ROWS, struct.pack("<8i", *INDEX)),
+               ([1] * NUMBER_OF_ROWS, bitmap(FLAG)),
+               ([value is not None for value in indices], struct.pack("<8b", *[0 if value is None else value for value in indices]))]
+    for validity, values in columns:
+        null_count = NUMBER_OF_ROWS - sum(1 for bit in validity if bit)
+        nodes.append((NUMBER_OF_ROWS, null_count))
+        body.add(bitmap(validity) if null_count > 0 else b"")
+        body.add(values)
+
+    output = bytearray(b"ARROW1\0\0")
+    output += message(HEADER_SCHEMA, schema, 0)
+
+    dictionary_block = (len(output), None, len(dictionary_body.data))
+    encoded = message(HEADER_DICTIONARY_BATCH, dictionary_batch, len(dictionary_body.data))
+    dictionary_block = (dictionary_block[0], len(encoded), dictionary_block[2])
+    output += encoded + dictionary_body.data
+
+    encoded = message(HEADER_RECORD_BATCH, lambda b: record_batch(b, NUMBER_OF_ROWS, nodes, body.buffers), len(body.data))
+    record_batch_block = (len(output), len(encoded), len(body.data))
+    output += encoded + body.data
+
+    output += struct.pack("<Ii", 0xFFFFFFFF, 0)
+
+    builder = Builder()
+    schema_offset = schema(builder)
+    dictionaries_offset = builder.create_struct_vector([struct.pack("<qiiq", block[0], block[1], 0, block[2]) for block in [dictionary_block]], 24)
+    record_batches_offset = builder.create_struct_vector([struct.pack("<qiiq", record_batch_block[0], record_batch_block[1], 0, record_batch_block[2])], 24)
+    builder.start_table(5)
+    builder.add_scalar(0, "h", METADATA_VERSION_V5, 0)
+    builder.add_offset(1, schema_offset)
+    builder.add_offset(2, dictionaries_offset)
+    builder.add_offset(3, record_batches_offset)
+    footer = builder.finish(builder.end_table())
+
+    output += footer + struct.pack("<i", len(footer)) + b"ARROW1"
+
+    with open(output_file, "wb") as file:
+        file.write(output)
+
+
+def main():
+    output_file = sys.argv[1] if len(sys.argv) > 1 else os.path.join(os.path.dirname(os.path.abspath(__file__)), "golden.arrow")
+    assert not any(value is not None and math.isnan(value) for value in Y)
+
+    try:
+        import pyarrow  # noqa: F401
+    except ImportError:
+        print("pyarrow not found, writing with the standalone encoder.")
+        write_with_spec_encoder(output_file)
+    else:
+        write_with_pyarrow(output_file)
+
+    print("Wrote", output_file)
+
+
+if __name__ == "__main__":
+    main()
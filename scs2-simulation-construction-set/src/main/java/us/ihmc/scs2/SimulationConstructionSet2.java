@@ -19,6 +19,8 @@ import us.ihmc.scs2.definition.yoSlider.YoSliderboardDefinition;
 import us.ihmc.scs2.definition.yoSlider.YoSliderboardListDefinition;
 import us.ihmc.scs2.definition.yoSlider.YoSliderboardType;
 import us.ihmc.scs2.session.Session;
+import us.ihmc.scs2.session.SessionBatchRunResult;
+import us.ihmc.scs2.session.SessionBufferStatisticsRequest;
 import us.ihmc.scs2.session.SessionDataExportRequest;
 import us.ihmc.scs2.session.SessionDataFilterParameters;
 import us.ihmc.scs2.session.SessionPropertiesHelper;
@@ -34,9 +36,11 @@ import us.ihmc.scs2.sessionVisualizer.jfx.properties.YoLongProperty;
 import us.ihmc.scs2.sessionVisualizer.jfx.tools.JavaFXMissingTools;
 import us.ihmc.scs2.sessionVisualizer.jfx.tools.ObservedAnimationTimer;
 import us.ihmc.scs2.sharedMemory.CropBufferRequest;
+import us.ihmc.scs2.sharedMemory.YoBufferStatistics;
 import us.ihmc.scs2.sharedMemory.YoSharedBuffer;
 import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
 import us.ihmc.scs2.simulation.SimulationSession;
+import us.ihmc.scs2.simulation.SimulationSessionCheckpoint;
 import us.ihmc.scs2.simulation.SimulationSessionControls;
 import us.ihmc.scs2.simulation.SimulationTerminalCondition;
 import us.ihmc.scs2.simulation.TimeConsumer;
@@ -790,6 +794,27 @@ public class SimulationConstructionSet2 implements YoVariableHolder, SimulationS
       return simulationSessionControls.simulateNow(numberOfTicks);
    }
 
+   /** {@inheritDoc} */
+   @Override
+   public SessionBatchRunResult simulateBatch(long numberOfTicks)
+   {
+      return simulationSessionControls.simulateBatch(numberOfTicks);
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public SimulationSessionCheckpoint createCheckpoint()
+   {
+      return simulationSessionControls.createCheckpoint();
+   }
+
+   /** {@inheritDoc} */
+   @Override
+   public boolean restoreCheckpoint(SimulationSessionCheckpoint checkpoint)
+   {
+      return simulationSessionControls.restoreCheckpoint(checkpoint);
+   }
+
    /** {@inheritDoc} */
    @Override
    public void addSimulationThrowableListener(Consumer<Throwable> listener)
@@ -889,6 +914,13 @@ public class SimulationConstructionSet2 implements YoVariableHolder, SimulationS
       simulationSessionControls.gotoBufferIndex(bufferIndexRequest);
    }
 
+   /** {@inheritDoc} */
+   @Override
+   public void gotoBufferTime(double time)
+   {
+      simulationSessionControls.gotoBufferTime(time);
+   }
+
    /** {@inheritDoc} */
    @Override
    public void setBufferInPoint(int index)
@@ -945,6 +977,13 @@ public class SimulationConstructionSet2 implements YoVariableHolder, SimulationS
       simulationSessionControls.applyBufferProcessor(processor);
    }
 
+   /** {@inheritDoc} */
+   @Override
+   public List<YoBufferStatistics> computeBufferStatistics(SessionBufferStatisticsRequest request)
+   {
+      return simulationSessionControls.computeBufferStatistics(request);
+   }
+
    // ------------------------------------------------------------------------------- //
    // ---------------------------- Misc Controls ------------------------------------ //
    // ------------------------------------------------------------------------------- //
@@ -10,7 +10,6 @@ import us.ihmc.scs2.session.Session;
 import us.ihmc.scs2.session.SessionIOTools;
 import us.ihmc.scs2.session.SessionMode;
 import us.ihmc.scs2.sharedMemory.tools.SharedMemoryIOTools;
-import us.ihmc.scs2.sharedMemory.tools.SharedMemoryIOTools.DataFormat;
 import us.ihmc.scs2.sharedMemory.tools.SharedMemoryTools;
 import us.ihmc.scs2.simulation.robot.Robot;
 
@@ -83,21 +82,7 @@ public class SimulationDataSession extends Session
          File dataFile = new File(dataDirectory, sessionInfo.getDataFileName());
 
          sharedBuffer.resizeBuffer(1); // Let the data importer configure the buffer size.
-
-         switch (DataFormat.fromFilename(dataFile.getName()))
-         {
-            case ASCII:
-               SharedMemoryIOTools.importDataASCII(new FileInputStream(dataFile), sharedBuffer);
-               break;
-            case CSV:
-               SharedMemoryIOTools.importDataCSV(new FileInputStream(dataFile), sharedBuffer);
-               break;
-            case MATLAB:
-               SharedMemoryIOTools.importDataMatlab(dataFile, sharedBuffer);
-               break;
-            default:
-               throw new IllegalStateException("Unhandled data format: " + dataFile.getName());
-         }
+         SharedMemoryIOTools.importData(dataFile, sharedBuffer);
       }
 
       hasBufferSizeBeenInitialized = true;
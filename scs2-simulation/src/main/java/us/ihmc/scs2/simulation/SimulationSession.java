@@ -3,6 +3,7 @@ package us.ihmc.scs2.simulation;
 import us.ihmc.commons.Conversions;
 import us.ihmc.euclid.referenceFrame.ReferenceFrame;
 import us.ihmc.euclid.referenceFrame.tools.ReferenceFrameTools;
+import us.ihmc.log.LogTools;
 import us.ihmc.messager.Messager;
 import us.ihmc.messager.TopicListener;
 import us.ihmc.scs2.definition.robot.CameraSensorDefinition;
@@ -12,14 +13,18 @@ import us.ihmc.scs2.definition.terrain.TerrainObjectDefinition;
 import us.ihmc.scs2.definition.yoGraphic.YoGraphicDefinition;
 import us.ihmc.scs2.session.DaemonThreadFactory;
 import us.ihmc.scs2.session.Session;
+import us.ihmc.scs2.session.SessionBatchRunResult;
+import us.ihmc.scs2.session.SessionBufferStatisticsRequest;
 import us.ihmc.scs2.session.SessionDataExportRequest;
 import us.ihmc.scs2.session.SessionMessagerAPI;
 import us.ihmc.scs2.session.SessionMessagerAPI.Sensors.SensorMessage;
 import us.ihmc.scs2.session.SessionMode;
 import us.ihmc.scs2.sharedMemory.CropBufferRequest;
+import us.ihmc.scs2.sharedMemory.YoBufferStatistics;
 import us.ihmc.scs2.sharedMemory.YoSharedBuffer;
 import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
 import us.ihmc.scs2.simulation.SimulationTerminalCondition.TerminalState;
+import us.ihmc.scs2.simulation.collision.CollisionShapeCache;
 import us.ihmc.scs2.simulation.physicsEngine.PhysicsEngine;
 import us.ihmc.scs2.simulation.physicsEngine.PhysicsEngineFactory;
 import us.ihmc.scs2.simulation.robot.Robot;
@@ -40,6 +45,7 @@ import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
@@ -63,6 +69,7 @@ public class SimulationSession extends Session
    private final List<Runnable> cleanupActions = new ArrayList<>();
 
    private SimulationSessionControlsImpl controls = null;
+   private CollisionShapeCache collisionShapeCache = null;
 
    public SimulationSession()
    {
@@ -178,7 +185,11 @@ public class SimulationSession extends Session
 
    public Robot addRobot(RobotDefinition robotDefinition)
    {
-      Robot robot = new Robot(robotDefinition, inertialFrame);
+      Robot robot;
+      if (collisionShapeCache == null)
+         robot = new Robot(robotDefinition, inertialFrame);
+      else
+         robot = new Robot(robotDefinition, inertialFrame, Robot.DEFAULT_JOINT_BUILDER, collisionShapeCache.getRigidBodyBuilder(), true);
       configureCameraSensors(robot);
       addRobot(robot);
       return robot;
@@ -278,6 +289,27 @@ public class SimulationSession extends Session
       return physicsEngine;
    }
 
+   /**
+    * Sets the cache to use when creating the collision shapes of the robots and terrain objects added
+    * afterward from their definitions.
+    * <p>
+    * Sharing the same cache across sessions created from the same definitions allows to load the
+    * model files and compute the convex hulls only once, see {@link CollisionShapeCache}.
+    * </p>
+    *
+    * @param collisionShapeCache the cache, can be {@code null} to create the shapes without cache.
+    */
+   public void setCollisionShapeCache(CollisionShapeCache collisionShapeCache)
+   {
+      this.collisionShapeCache = collisionShapeCache;
+      physicsEngine.setCollisionShapeCache(collisionShapeCache);
+   }
+
+   public CollisionShapeCache getCollisionShapeCache()
+   {
+      return collisionShapeCache;
+   }
+
    @Override
    public List<RobotDefinition> getRobotDefinitions()
    {
@@ -305,6 +337,62 @@ public class SimulationSession extends Session
          return physicsEngine.getCurrentRobotStateDefinitions();
    }
 
+   /**
+    * Creates an in-memory checkpoint of the current state of this simulation.
+    * <p>
+    * The checkpoint can later be restored into this session or into a clone of it, e.g. to simulate
+    * several continuations from the same state, see {@link #restoreCheckpoint(SimulationSessionCheckpoint)}.
+    * </p>
+    * <p>
+    * The warm-start data of the physics engine is cleared, see
+    * {@link PhysicsEngine#resetWarmStartState()}.
+    * </p>
+    *
+    * @return the new checkpoint.
+    * @throws IllegalStateException if the simulation thread is running, see
+    *                               {@link SimulationSessionControls#createCheckpoint()}.
+    */
+   public SimulationSessionCheckpoint createCheckpoint()
+   {
+      if (hasSessionStarted())
+         throw new IllegalStateException("Cannot create a checkpoint while the simulation thread is running.");
+
+      // The warm-start data is not captured, clearing it such that this session continues as a restored clone would.
+      physicsEngine.resetWarmStartState();
+      return new SimulationSessionCheckpoint(rootRegistry, time.getValue(), physicsEngine.getCurrentRobotStateDefinitions());
+   }
+
+   /**
+    * Restores the state of this simulation from a checkpoint.
+    * <p>
+    * The checkpoint has to be created from this session or from a session created with the same robots
+    * and controllers. The variables of this session that are not in the checkpoint are left untouched,
+    * and the warm-start data of the physics engine is cleared as it was when creating the checkpoint.
+    * The buffer is updated at its current index.
+    * </p>
+    *
+    * @param checkpoint the checkpoint to restore.
+    * @throws IllegalStateException if the simulation thread is running, see
+    *                               {@link SimulationSessionControls#restoreCheckpoint(SimulationSessionCheckpoint)}.
+    */
+   public void restoreCheckpoint(SimulationSessionCheckpoint checkpoint)
+   {
+      if (hasSessionStarted())
+         throw new IllegalStateException("Cannot restore a checkpoint while the simulation thread is running.");
+
+      // Initializes the session first, the physics engine would otherwise reset the robots at the next tick.
+      doGeneric(getActiveMode());
+
+      int numberOfMissingVariables = checkpoint.restore(rootRegistry);
+      if (numberOfMissingVariables > 0)
+         LogTools.warn("{} variables of the session {} were not found in the checkpoint.", numberOfMissingVariables, getSessionName());
+
+      physicsEngine.resetWarmStartState();
+      // Updates the frames and sensors of the robots from the restored joint states.
+      physicsEngine.pause();
+      sharedBuffer.writeBuffer();
+   }
+
    public void setGravity(double x, double y, double z)
    {
       this.gravity.set(x, y, z);
@@ -589,6 +677,108 @@ public class SimulationSession extends Session
          }
       }
 
+      /** {@inheritDoc} */
+      @Override
+      public SessionBatchRunResult simulateBatch(long numberOfTicks)
+      {
+         if (isSessionShutdown())
+            return new SessionBatchRunResult(0L, 0L, 0.0, false);
+
+         boolean sessionStartedInitialValue = isSimulationThreadRunning();
+
+         if (sessionStartedInitialValue)
+         {
+            if (!stopSimulationThread())
+               return new SessionBatchRunResult(0L, 0L, 0.0, false); // Could not stop the thread, abort.
+         }
+
+         SessionMode activeModeInitialValue = getActiveMode();
+         long maxDurationInitialValue = getRunMaxDuration();
+         submitRunMaxDuration(-1L); // Make sure the max duration does not interfere with the number of ticks.
+
+         try
+         {
+            AtomicReference<TerminalState> terminalState = new AtomicReference<>(null);
+            BooleanSupplier terminalCondition = terminalConditions.isEmpty() ? null : () ->
+            {
+               terminalState.set(testTerminalConditions());
+               return terminalState.get() != null;
+            };
+
+            SessionBatchRunResult result = runBatch(numberOfTicks == -1L ? Long.MAX_VALUE : numberOfTicks, terminalCondition);
+
+            if (terminalState.get() == TerminalState.FAILURE)
+               result = result.toFailure();
+            return result;
+         }
+         finally
+         {
+            // This ensures that the controller is being pause.
+            physicsEngine.pause();
+            submitRunMaxDuration(maxDurationInitialValue); // Restore the max duration.
+            requestBufferListenerForceUpdate();
+
+            if (sessionStartedInitialValue)
+               startSessionThread();
+            setSessionMode(activeModeInitialValue);
+         }
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public SimulationSessionCheckpoint createCheckpoint()
+      {
+         boolean sessionStartedInitialValue = isSimulationThreadRunning();
+
+         if (sessionStartedInitialValue)
+         {
+            if (!stopSimulationThread())
+               return null; // Could not stop the thread, abort.
+         }
+
+         try
+         {
+            return SimulationSession.this.createCheckpoint();
+         }
+         finally
+         {
+            if (sessionStartedInitialValue)
+               startSessionThread();
+         }
+      }
+
+      /** {@inheritDoc} */
+      @Override
+      public boolean restoreCheckpoint(SimulationSessionCheckpoint checkpoint)
+      {
+         if (isSessionShutdown())
+            return false;
+
+         boolean sessionStartedInitialValue = isSimulationThreadRunning();
+
+         if (sessionStartedInitialValue)
+         {
+            if (!stopSimulationThread())
+               return false; // Could not stop the thread, abort.
+         }
+
+         SessionMode activeModeInitialValue = getActiveMode();
+
+         try
+         {
+            SimulationSession.this.restoreCheckpoint(checkpoint);
+            return true;
+         }
+         finally
+         {
+            requestBufferListenerForceUpdate();
+
+            if (sessionStartedInitialValue)
+               startSessionThread();
+            setSessionMode(activeModeInitialValue);
+         }
+      }
+
       private boolean handleVisualizerSessionModeRequests()
       {
          if (isSimulating() || !hasWrittenBufferInLastRunTick())
@@ -755,6 +945,13 @@ public class SimulationSession extends Session
          submitBufferIndexRequestAndWait(bufferIndexRequest);
       }
 
+      /** {@inheritDoc} */
+      @Override
+      public void gotoBufferTime(double time)
+      {
+         submitBufferTimeRequestAndWait(time);
+      }
+
       /** {@inheritDoc} */
       @Override
       public void setBufferInPoint(int index)
@@ -823,6 +1020,14 @@ public class SimulationSession extends Session
          }
       }
 
+      /** {@inheritDoc} */
+      @Override
+      public List<YoBufferStatistics> computeBufferStatistics(SessionBufferStatisticsRequest request)
+      {
+         submitBufferStatisticsRequestAndWait(request);
+         return request.getStatistics();
+      }
+
       // ------------------------------------------------------------------------------- //
       // ---------------------------- Misc Controls ------------------------------------ //
       // ------------------------------------------------------------------------------- //
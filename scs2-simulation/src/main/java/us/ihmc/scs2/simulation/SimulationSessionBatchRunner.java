@@ -0,0 +1,384 @@
+package us.ihmc.scs2.simulation;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import us.ihmc.euclid.referenceFrame.ReferenceFrame;
+import us.ihmc.euclid.referenceFrame.tools.ReferenceFrameTools;
+import us.ihmc.scs2.definition.robot.RobotDefinition;
+import us.ihmc.scs2.session.DaemonThreadFactory;
+import us.ihmc.scs2.session.SessionBatchRunResult;
+import us.ihmc.scs2.session.SessionDataExportRequest;
+import us.ihmc.scs2.session.SessionIOTools;
+import us.ihmc.scs2.sharedMemory.YoSharedBuffer;
+import us.ihmc.scs2.sharedMemory.YoVariableBuffer;
+import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
+import us.ihmc.scs2.simulation.collision.CollisionShapeCache;
+import us.ihmc.scs2.simulation.physicsEngine.PhysicsEngineFactory;
+import us.ihmc.yoVariables.variable.YoVariable;
+
+/**
+ * Runs many headless {@link SimulationSession}s in parallel within the same JVM, e.g. for parameter
+ * sweeps or Monte-Carlo runs with different seeds.
+ * <p>
+ * The definitions, e.g. {@link RobotDefinition}s parsed once from URDF files, can be shared across
+ * the runs as long as they are not modified. Each run creates its own session which is configured and
+ * simulated using {@link SimulationSessionControls#simulateBatch(long)} on a worker of a bounded
+ * pool, the result of the run is then collected and the session is shutdown to release its buffer.
+ * </p>
+ * <p>
+ * Each session is created with its own root frame such that the sessions do not share any frame, note
+ * that sessions sharing {@link SimulationSession#DEFAULT_INERTIAL_FRAME} would clear each other's
+ * frame tree on shutdown. The sessions share the runner's {@link CollisionShapeCache} such that the
+ * collision shapes expensive to create, e.g. from meshes, are only computed once across the runs.
+ * </p>
+ * <p>
+ * Memory back-pressure: there is at most one live session per worker, and a new session is only
+ * created once the heap usage is below {@link #setMaxHeapUsageRatio(double)} or when no other session
+ * is alive.
+ * </p>
+ */
+public class SimulationSessionBatchRunner
+{
+   /** Period in milliseconds at which the heap usage is polled when waiting for memory. */
+   private static final long MEMORY_POLL_PERIOD = 100L;
+
+   /**
+    * Configures a new session, e.g. adds the robots, controllers, and terminal conditions.
+    */
+   @FunctionalInterface
+   public interface SessionConfigurator
+   {
+      /**
+       * Configures the session for a run.
+       * <p>
+       * This is called concurrently from the workers of the runner, the configurator has to be
+       * thread-safe.
+       * </p>
+       *
+       * @param session  the new session to configure.
+       * @param runIndex the index of the run, can be used to select parameters or seed random
+       *                 generators.
+       * @throws Exception if the configuration failed, the run is then aborted.
+       */
+      void configure(SimulationSession session, int runIndex) throws Exception;
+   }
+
+   /**
+    * Extracts the result of a run from its session before it is shutdown.
+    *
+    * @param <R> the type of the result.
+    */
+   @FunctionalInterface
+   public interface ResultCollector<R>
+   {
+      /**
+       * Collects the result of a run.
+       *
+       * @param session     the session that was simulated.
+       * @param runIndex    the index of the run.
+       * @param batchResult the outcome of the simulation.
+       * @return the result of the run.
+       * @throws Exception if the collection failed.
+       */
+      R collect(SimulationSession session, int runIndex, SessionBatchRunResult batchResult) throws Exception;
+   }
+
+   /**
+    * Outcome of a single run.
+    *
+    * @param <R>         the type of the collected result.
+    * @param runIndex    the index of the run.
+    * @param batchResult the outcome of the simulation, {@code null} if the run failed before
+    *                    simulating.
+    * @param result      the collected result, {@code null} if the run failed.
+    * @param exception   the exception that aborted the run, {@code null} if none.
+    */
+   public record RunResult<R>(int runIndex, SessionBatchRunResult batchResult, R result, Throwable exception)
+   {
+      /**
+       * Whether the run was simulated without error and its result collected.
+       *
+       * @return {@code true} if the run succeeded.
+       */
+      public boolean isSuccessful()
+      {
+         return exception == null && batchResult != null && batchResult.success();
+      }
+   }
+
+   private final String name;
+   private final int parallelism;
+   private PhysicsEngineFactory physicsEngineFactory = PhysicsEngineFactory.newImpulseBasedPhysicsEngineFactory();
+   private long numberOfTicks = -1L;
+   private double simulationDuration = -1.0;
+   private int bufferSize = -1;
+   private double maxHeapUsageRatio = 0.8;
+   private final CollisionShapeCache collisionShapeCache = new CollisionShapeCache();
+
+   private final Object memoryMonitor = new Object();
+   private int numberOfLiveSessions = 0;
+
+   /**
+    * Creates a new runner using one worker per available processor.
+    *
+    * @param name the name used for the sessions and the worker threads.
+    */
+   public SimulationSessionBatchRunner(String name)
+   {
+      this(name, Runtime.getRuntime().availableProcessors());
+   }
+
+   /**
+    * Creates a new runner.
+    *
+    * @param name        the name used for the sessions and the worker threads.
+    * @param parallelism the number of runs to simulate in parallel.
+    */
+   public SimulationSessionBatchRunner(String name, int parallelism)
+   {
+      if (parallelism < 1)
+         throw new IllegalArgumentException("The parallelism has to be at least 1, was: " + parallelism);
+      this.name = name;
+      this.parallelism = parallelism;
+   }
+
+   /**
+    * Sets the factory used to create the physics engine of each session.
+    *
+    * @param physicsEngineFactory the factory. Default value is the impulse-based physics engine.
+    */
+   public void setPhysicsEngineFactory(PhysicsEngineFactory physicsEngineFactory)
+   {
+      this.physicsEngineFactory = physicsEngineFactory;
+   }
+
+   /**
+    * Sets the number of ticks to simulate for each run.
+    *
+    * @param numberOfTicks the number of ticks, use {@code -1} to simulate until a terminal condition
+    *                      is met. Default value {@code -1}.
+    */
+   public void setNumberOfTicks(long numberOfTicks)
+   {
+      this.numberOfTicks = numberOfTicks;
+      simulationDuration = -1.0;
+   }
+
+   /**
+    * Sets the duration to simulate for each run, the number of ticks is computed from the session's
+    * DT once configured.
+    *
+    * @param simulationDuration the duration in seconds.
+    */
+   public void setSimulationDuration(double simulationDuration)
+   {
+      this.simulationDuration = simulationDuration;
+      numberOfTicks = -1L;
+   }
+
+   /**
+    * Sets the size of the buffer of each session.
+    * <p>
+    * The buffer is the main memory cost of a session, it should be sized to fit the recorded part of
+    * the run only.
+    * </p>
+    *
+    * @param bufferSize the buffer size, use {@code -1} to use the session's default.
+    */
+   public void setBufferSize(int bufferSize)
+   {
+      this.bufferSize = bufferSize;
+   }
+
+   /**
+    * Sets the heap usage above which the creation of new sessions is delayed until the other sessions
+    * are shutdown.
+    *
+    * @param maxHeapUsageRatio the ratio of the maximum heap size in [0, 1]. Default value
+    *                          {@code 0.8}.
+    */
+   public void setMaxHeapUsageRatio(double maxHeapUsageRatio)
+   {
+      this.maxHeapUsageRatio = maxHeapUsageRatio;
+   }
+
+   /**
+    * Gets the cache of collision shapes shared by the sessions of this runner.
+    *
+    * @return the collision shape cache.
+    */
+   public CollisionShapeCache getCollisionShapeCache()
+   {
+      return collisionShapeCache;
+   }
+
+   /**
+    * Performs the runs and waits for all of them to complete.
+    * <p>
+    * A run that fails does not abort the other runs, the exception is reported in its result.
+    * </p>
+    *
+    * @param <R>          the type of the collected results.
+    * @param numberOfRuns the number of runs to perform.
+    * @param configurator the configurator invoked to set up each session. It is called concurrently,
+    *                     expensive initializations are best performed once beforehand.
+    * @param collector    the collector invoked to extract the result of each run, can be
+    *                     {@code null}.
+    * @return the results ordered by run index.
+    * @throws InterruptedException if the calling thread was interrupted while waiting, the remaining
+    *                              runs are cancelled.
+    */
+   public <R> List<RunResult<R>> run(int numberOfRuns, SessionConfigurator configurator, ResultCollector<R> collector) throws InterruptedException
+   {
+      ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, numberOfRuns)),
+                                                              new DaemonThreadFactory("SCS2-Batch-Runner-" + name));
+
+      try
+      {
+         List<Future<RunResult<R>>> futures = new ArrayList<>(numberOfRuns);
+
+         for (int i = 0; i < numberOfRuns; i++)
+         {
+            int runIndex = i;
+            futures.add(executor.submit(() -> runSingle(runIndex, configurator, collector)));
+         }
+
+         List<RunResult<R>> results = new ArrayList<>(numberOfRuns);
+
+         for (int i = 0; i < numberOfRuns; i++)
+         {
+            try
+            {
+               results.add(futures.get(i).get());
+            }
+            catch (ExecutionException e)
+            {
+               results.add(new RunResult<>(i, null, null, e.getCause()));
+            }
+         }
+
+         return results;
+      }
+      finally
+      {
+         executor.shutdownNow();
+      }
+   }
+
+   private <R> RunResult<R> runSingle(int runIndex, SessionConfigurator configurator, ResultCollector<R> collector)
+   {
+      SimulationSession session = null;
+
+      try
+      {
+         acquireSessionSlot();
+
+         try
+         {
+            ReferenceFrame inertialFrame = ReferenceFrameTools.constructARootFrame(name + "WorldFrame" + runIndex);
+            session = new SimulationSession(inertialFrame, name + "-" + runIndex, physicsEngineFactory);
+            session.setCollisionShapeCache(collisionShapeCache);
+            if (bufferSize > 0)
+               session.submitBufferSizeRequestAndWait(bufferSize);
+            configurator.configure(session, runIndex);
+
+            long ticks = simulationDuration > 0.0 ? Math.round(simulationDuration / session.getSessionDTSeconds()) : numberOfTicks;
+            SessionBatchRunResult batchResult = session.getSimulationSessionControls().simulateBatch(ticks);
+            R result = collector == null ? null : collector.collect(session, runIndex, batchResult);
+            return new RunResult<>(runIndex, batchResult, result, null);
+         }
+         finally
+         {
+            if (session != null)
+               session.shutdownSession();
+            releaseSessionSlot();
+         }
+      }
+      catch (Throwable e)
+      {
+         return new RunResult<>(runIndex, null, null, e);
+      }
+   }
+
+   private void acquireSessionSlot() throws InterruptedException
+   {
+      synchronized (memoryMonitor)
+      {
+         while (numberOfLiveSessions > 0 && isHeapUsageAboveLimit())
+            memoryMonitor.wait(MEMORY_POLL_PERIOD);
+         numberOfLiveSessions++;
+      }
+   }
+
+   private void releaseSessionSlot()
+   {
+      synchronized (memoryMonitor)
+      {
+         numberOfLiveSessions--;
+         memoryMonitor.notifyAll();
+      }
+   }
+
+   private boolean isHeapUsageAboveLimit()
+   {
+      Runtime runtime = Runtime.getRuntime();
+      long usedMemory = runtime.totalMemory() - runtime.freeMemory();
+      return usedMemory > maxHeapUsageRatio * runtime.maxMemory();
+   }
+
+   /**
+    * Creates a collector that copies the history of the given variables over the active part of the
+    * session's buffer.
+    *
+    * @param variableNames the names or full names of the variables to collect.
+    * @return the collector returning the histories indexed by the given variable names.
+    */
+   public static ResultCollector<Map<String, double[]>> variableHistories(String... variableNames)
+   {
+      return (session, runIndex, batchResult) ->
+      {
+         YoSharedBuffer buffer = session.getBuffer();
+         YoBufferPropertiesReadOnly properties = buffer.getProperties();
+         Map<String, double[]> histories = new LinkedHashMap<>();
+
+         for (String variableName : variableNames)
+         {
+            YoVariable variable = session.getRootRegistry().findVariable(variableName);
+            if (variable == null)
+               throw new IllegalArgumentException("Could not find the variable: " + variableName);
+
+            YoVariableBuffer<?> variableBuffer = buffer.getRegistryBuffer().findYoVariableBuffer(variable);
+            double[] history = new double[properties.getActiveBufferLength()];
+            variableBuffer.getValuesAsDouble(properties.getInPoint(), history.length, history, 0);
+            histories.put(variableName, history);
+         }
+
+         return histories;
+      };
+   }
+
+   /**
+    * Creates a collector that exports the data of each session, e.g. to analyze the runs offline.
+    *
+    * @param exportRequestFactory the factory creating the export request for a given run index.
+    * @return the collector returning the directory where the data of the run was exported.
+    */
+   public static ResultCollector<File> exportSessionData(IntFunction<SessionDataExportRequest> exportRequestFactory)
+   {
+      return (session, runIndex, batchResult) ->
+      {
+         SessionDataExportRequest request = exportRequestFactory.apply(runIndex);
+         SessionIOTools.exportSessionData(session, request);
+         return request.getFile();
+      };
+   }
+}
@@ -0,0 +1,117 @@
+package us.ihmc.scs2.simulation;
+
+import java.util.Collections;
+import java.util.List;
+
+import gnu.trove.map.hash.TObjectIntHashMap;
+import us.ihmc.scs2.definition.robot.RobotStateDefinition;
+import us.ihmc.scs2.simulation.physicsEngine.PhysicsEngine;
+import us.ihmc.yoVariables.registry.YoRegistry;
+import us.ihmc.yoVariables.variable.YoVariable;
+
+/**
+ * In-memory snapshot of the state of a {@link SimulationSession}, see
+ * {@link SimulationSession#createCheckpoint()}.
+ * <p>
+ * The state of the simulation is held in the {@link YoVariable}s of the session: the time, the joint
+ * states of the robots, the controller variables, and the physics engine variables. A checkpoint is
+ * therefore a copy of the raw values of all the variables, which makes it cheap to create and to
+ * restore. The robot states are also captured as definitions for convenience, see
+ * {@link #getRobotStates()}, they are not used when restoring.
+ * </p>
+ * <p>
+ * The physics engine also keeps some warm-start data from one tick to the next that is not backed
+ * by {@link YoVariable}s, e.g. the collision results of the previous tick that are reused by the
+ * collision detection. Instead of being captured, this data is cleared when creating and when
+ * restoring a checkpoint, see {@link PhysicsEngine#resetWarmStartState()}, such that simulating
+ * from a restored checkpoint is identical to simulating from the original session right after the
+ * checkpoint was created.
+ * </p>
+ * <p>
+ * A checkpoint is immutable and can be restored concurrently into several sessions, e.g. to
+ * simulate many continuations from the same state. It can be restored into the session it was
+ * created from, or into a clone of it, i.e. a session created with the same robots, controllers,
+ * and terrain. In both cases, the variables are matched by full name such that the checkpoint does
+ * not hold on to the session it was created from.
+ * </p>
+ * <p>
+ * The state of a controller that is not backed by {@link YoVariable}s is not captured.
+ * </p>
+ */
+public class SimulationSessionCheckpoint
+{
+   private final long[] values;
+   private final TObjectIntHashMap<String> fullNameToIndexMap;
+   private final double time;
+   private final List<RobotStateDefinition> robotStates;
+
+   SimulationSessionCheckpoint(YoRegistry rootRegistry, double time, List<RobotStateDefinition> robotStates)
+   {
+      this.time = time;
+      this.robotStates = Collections.unmodifiableList(robotStates);
+      List<YoVariable> variables = rootRegistry.collectSubtreeVariables();
+      values = new long[variables.size()];
+      fullNameToIndexMap = new TObjectIntHashMap<>(variables.size(), 0.5f, -1);
+
+      for (int i = 0; i < variables.size(); i++)
+      {
+         YoVariable variable = variables.get(i);
+         values[i] = variable.getValueAsLongBits();
+         fullNameToIndexMap.put(variable.getFullNameString(), i);
+      }
+   }
+
+   /**
+    * Writes the values of this checkpoint into the variables of the given registry.
+    *
+    * @param targetRootRegistry the root registry of the session to restore.
+    * @return the number of variables of the target registry that could not be found in this
+    *         checkpoint, {@code 0} when restoring into the original session.
+    */
+   int restore(YoRegistry targetRootRegistry)
+   {
+      int numberOfMissingVariables = 0;
+
+      for (YoVariable variable : targetRootRegistry.collectSubtreeVariables())
+      {
+         int index = fullNameToIndexMap.get(variable.getFullNameString());
+
+         if (index == -1)
+            numberOfMissingVariables++;
+         else
+            variable.setValueFromLongBits(values[index], true);
+      }
+
+      return numberOfMissingVariables;
+   }
+
+   /**
+    * Gets the session time at which this checkpoint was created.
+    *
+    * @return the time in seconds.
+    */
+   public double getTime()
+   {
+      return time;
+   }
+
+   /**
+    * Gets the state of the robots at the time this checkpoint was created.
+    *
+    * @return the robot states.
+    */
+   public List<RobotStateDefinition> getRobotStates()
+   {
+      return robotStates;
+   }
+
+   /**
+    * Gets the number of variables captured in this checkpoint.
+    *
+    * @return the number of variables.
+    */
+   public int getNumberOfVariables()
+   {
+      return values.length;
+   }
+}
@@ -1,10 +1,14 @@
 package us.ihmc.scs2.simulation;
 
+import java.util.List;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
+import us.ihmc.scs2.session.SessionBatchRunResult;
+import us.ihmc.scs2.session.SessionBufferStatisticsRequest;
 import us.ihmc.scs2.session.SessionDataExportRequest;
 import us.ihmc.scs2.sharedMemory.CropBufferRequest;
+import us.ihmc.scs2.sharedMemory.YoBufferStatistics;
 import us.ihmc.scs2.sharedMemory.YoSharedBuffer;
 import us.ihmc.scs2.sharedMemory.interfaces.YoBufferPropertiesReadOnly;
 import us.ihmc.scs2.simulation.SimulationTerminalCondition.TerminalState;
@@ -267,6 +271,57 @@ public interface SimulationSessionControls
       return simulateNow(-1L);
    }
 
+   /**
+    * Requests to simulate for a given number of simulation ticks favoring throughput. (synchronous)
+    * <p>
+    * This is meant for headless simulations, e.g. CI or parameter sweeps. Unlike
+    * {@link #simulateNow(long)}, the ticks run in a tight loop without updating the per-tick timers,
+    * and the buffer is only published to the visualizer at the end of the batch. The buffer is still
+    * written at the record period and the terminal conditions are still evaluated every tick.
+    * </p>
+    * <p>
+    * As with {@link #simulateNow(long)}, the maximum run duration set for instance with
+    * {@link #simulate(double)} is disabled for the duration of the batch such that it does not
+    * interfere with the given number of ticks, and restored once done.
+    * </p>
+    * <p>
+    * The simulation thread, if running, is stopped for the duration of the batch and restarted once
+    * done.
+    * </p>
+    *
+    * @param numberOfTicks the number of simulation ticks to perform, use {@code -1} to simulate until
+    *                      a terminal condition is met.
+    * @return the result of the batch including the achieved number of ticks per second, see
+    *         {@link SessionBatchRunResult#success()} for whether the simulation was successful.
+    */
+   SessionBatchRunResult simulateBatch(long numberOfTicks);
+
+   /**
+    * Creates an in-memory checkpoint of the current state of the simulation. (synchronous)
+    * <p>
+    * The simulation thread, if running, is stopped while creating the checkpoint and restarted once
+    * done.
+    * </p>
+    *
+    * @return the new checkpoint, or {@code null} if the simulation thread could not be stopped.
+    * @see SimulationSession#createCheckpoint()
+    */
+   SimulationSessionCheckpoint createCheckpoint();
+
+   /**
+    * Restores the state of the simulation from a checkpoint. (synchronous)
+    * <p>
+    * The simulation thread, if running, is stopped while restoring the checkpoint and restarted once
+    * done.
+    * </p>
+    *
+    * @param checkpoint the checkpoint to restore.
+    * @return {@code true} if the checkpoint was restored, {@code false} if the session is shutdown or
+    *         the simulation thread could not be stopped.
+    * @see SimulationSession#restoreCheckpoint(SimulationSessionCheckpoint)
+    */
+   boolean restoreCheckpoint(SimulationSessionCheckpoint checkpoint);
+
    /**
     * Adds a listener to be notified of any exception thrown during a simulation tick.
     * 
@@ -578,6 +633,22 @@ public interface SimulationSessionControls
     */
    void gotoBufferIndex(int bufferIndexRequest);
 
+   /**
+    * Requests to move the current buffer index to the sample which time is the closest to the given
+    * time.
+    * <p>
+    * This is a blocking request which will return only when the operation has completed.
+    * </p>
+    * <p>
+    * This request is only processed if the simulation is paused, it will be ignored otherwise. When
+    * the simulation has been reinitialized, i.e. the time goes backward in the buffer, the most recent
+    * part of the buffer covering the requested time is used.
+    * </p>
+    *
+    * @param time the time to go to.
+    */
+   void gotoBufferTime(double time);
+
    /**
     * Requests moving the current index to go to the in-point. (synchronous)
     * <p>
@@ -804,6 +875,56 @@ public interface SimulationSessionControls
     */
    void applyBufferProcessor(YoBufferProcessor processor);
 
+   /**
+    * Computes the statistics of a variable from the in-point to the out-point of the buffer.
+    * (synchronous)
+    * <p>
+    * This is a blocking request which will return only when the operation has completed.
+    * </p>
+    *
+    * @param variable         the variable to compute the statistics of.
+    * @param percentileLevels the levels, in [0, 100], of the percentiles to compute.
+    * @return the statistics of the variable, or {@code null} if it is not recorded in the buffer.
+    * @see #computeBufferStatistics(SessionBufferStatisticsRequest)
+    */
+   default YoBufferStatistics computeBufferStatistics(YoVariable variable, double... percentileLevels)
+   {
+      return computeBufferStatistics(List.of(variable), percentileLevels).get(0);
+   }
+
+   /**
+    * Computes the statistics of variables from the in-point to the out-point of the buffer.
+    * (synchronous)
+    * <p>
+    * The statistics are computed directly from the buffer, processing the variables in parallel.
+    * This is a blocking request which will return only when the operation has completed.
+    * </p>
+    *
+    * @param variables        the variables to compute the statistics of.
+    * @param percentileLevels the levels, in [0, 100], of the percentiles to compute.
+    * @return the statistics of each variable, in the same order as {@code variables}. An element is
+    *         {@code null} if the corresponding variable is not recorded in the buffer.
+    * @see #computeBufferStatistics(SessionBufferStatisticsRequest)
+    */
+   default List<YoBufferStatistics> computeBufferStatistics(List<? extends YoVariable> variables, double... percentileLevels)
+   {
+      SessionBufferStatisticsRequest request = new SessionBufferStatisticsRequest(variables);
+      request.setPercentileLevels(percentileLevels);
+      return computeBufferStatistics(request);
+   }
+
+   /**
+    * Computes the statistics of variables over the buffer. (synchronous)
+    * <p>
+    * This request is processed whether the simulation is running or paused, the buffer is not
+    * modified.
+    * </p>
+    *
+    * @param request the request defining the variables, range, and percentiles.
+    * @return the statistics of each variable, see {@link SessionBufferStatisticsRequest#getStatistics()}.
+    */
+   List<YoBufferStatistics> computeBufferStatistics(SessionBufferStatisticsRequest request);
+
    // ------------------------------------------------------------------------------- //
    // ---------------------------- Misc Controls ------------------------------------ //
    // ------------------------------------------------------------------------------- //
@@ -0,0 +1,123 @@
+package us.ihmc.scs2.simulation.collision;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import us.ihmc.euclid.referenceFrame.ReferenceFrame;
+import us.ihmc.euclid.referenceFrame.interfaces.FrameShape3DReadOnly;
+import us.ihmc.euclid.referenceFrame.polytope.FrameConvexPolytope3D;
+import us.ihmc.euclid.shape.convexPolytope.ConvexPolytope3D;
+import us.ihmc.scs2.definition.collision.CollisionShapeDefinition;
+import us.ihmc.scs2.definition.geometry.Cone3DDefinition;
+import us.ihmc.scs2.definition.geometry.ConvexPolytope3DDefinition;
+import us.ihmc.scs2.definition.geometry.GeometryDefinition;
+import us.ihmc.scs2.definition.geometry.ModelFileGeometryDefinition;
+import us.ihmc.scs2.definition.robot.RigidBodyDefinition;
+import us.ihmc.scs2.simulation.robot.Robot.RigidBodyBuilderFromDefinition;
+import us.ihmc.scs2.simulation.robot.multiBodySystem.SimRigidBody;
+import us.ihmc.scs2.simulation.robot.multiBodySystem.interfaces.SimJointBasics;
+import us.ihmc.yoVariables.registry.YoRegistry;
+
+/**
+ * Thread-safe cache of the collision shapes that are expensive to create, i.e. the convex polytopes
+ * computed from model files, cones, and vertex sets.
+ * <p>
+ * A cache can be shared across sessions created from the same definitions, e.g. using
+ * {@link us.ihmc.scs2.simulation.SimulationSession#setCollisionShapeCache(CollisionShapeCache)}, such
+ * that the model files are loaded and the convex hulls computed only once. Each session still gets
+ * its own copy of the shape attached to its own frames. The other geometries are cheap to create and
+ * are not cached.
+ * </p>
+ * <p>
+ * The shapes are indexed by their {@link CollisionShapeDefinition}, the definitions should not be
+ * modified once used with a cache.
+ * </p>
+ */
+public class CollisionShapeCache
+{
+   private final Map<CollisionShapeDefinition, ConvexPolytope3D> convexPolytopes = new ConcurrentHashMap<>();
+   private final RigidBodyBuilderFromDefinition rigidBodyBuilder = new RigidBodyBuilderFromDefinition()
+   {
+      @Override
+      public SimRigidBody rootFromDefinition(RigidBodyDefinition rootBodyDefinition,
+                                             ReferenceFrame inertialFrame,
+                                             YoRegistry registry,
+                                             YoRegistry secondaryRegistry)
+      {
+         return new SimRigidBody(rootBodyDefinition, inertialFrame, registry, secondaryRegistry, CollisionShapeCache.this);
+      }
+
+      @Override
+      public SimRigidBody fromDefinition(RigidBodyDefinition rigidBodyDefinition, SimJointBasics parentJoint)
+      {
+         return new SimRigidBody(rigidBodyDefinition, parentJoint, CollisionShapeCache.this);
+      }
+   };
+
+   /**
+    * Creates the shape described by the given definition, the shape is only computed the first time
+    * for the geometries that are cached.
+    *
+    * @param definition     the definition of the collision shape.
+    * @param referenceFrame the frame the new shape is expressed in.
+    * @return the new shape, or {@code null} if the geometry is not supported.
+    */
+   public FrameShape3DReadOnly toFrameShape3D(CollisionShapeDefinition definition, ReferenceFrame referenceFrame)
+   {
+      if (!isCached(definition.getGeometryDefinition()))
+         return CollisionTools.toFrameShape3D(definition.getOriginPose(), referenceFrame, definition.getGeometryDefinition());
+
+      ConvexPolytope3D convexPolytope = convexPolytopes.computeIfAbsent(definition, CollisionShapeCache::computeConvexPolytope3D);
+
+      synchronized (convexPolytope)
+      { // The polytope may update some of its properties lazily while being copied.
+         return new FrameConvexPolytope3D(referenceFrame, convexPolytope);
+      }
+   }
+
+   private static boolean isCached(GeometryDefinition definition)
+   {
+      return definition instanceof ModelFileGeometryDefinition || definition instanceof Cone3DDefinition || definition instanceof ConvexPolytope3DDefinition;
+   }
+
+   private static ConvexPolytope3D computeConvexPolytope3D(CollisionShapeDefinition definition)
+   {
+      GeometryDefinition geometryDefinition = definition.getGeometryDefinition();
+
+      if (geometryDefinition instanceof ModelFileGeometryDefinition modelFileGeometryDefinition)
+         return CollisionTools.toConvexPolytope3D(definition.getOriginPose(), modelFileGeometryDefinition);
+      else if (geometryDefinition instanceof Cone3DDefinition cone3DDefinition)
+         return CollisionTools.toConvexPolytope3D(definition.getOriginPose(), cone3DDefinition);
+      else
+         return CollisionTools.toConvexPolytope3D(definition.getOriginPose(), (ConvexPolytope3DDefinition) geometryDefinition);
+   }
+
+   /**
+    * Gets the builder to use when creating a {@link us.ihmc.scs2.simulation.robot.Robot} such that the
+    * collision shapes of its rigid-bodies are created using this cache.
+    *
+    * @return the rigid-body builder using this cache.
+    */
+   public RigidBodyBuilderFromDefinition getRigidBodyBuilder()
+   {
+      return rigidBodyBuilder;
+   }
+
+   /**
+    * Gets the number of shapes currently cached.
+    *
+    * @return the number of cached shapes.
+    */
+   public int size()
+   {
+      return convexPolytopes.size();
+   }
+
+   /**
+    * Clears the cache, the shapes already created are not affected.
+    */
+   public void clear()
+   {
+      convexPolytopes.clear();
+   }
+}
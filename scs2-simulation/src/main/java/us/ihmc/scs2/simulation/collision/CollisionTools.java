@@ -74,19 +74,33 @@ public class CollisionTools
    }
 
    public static List<Collidable> toCollidableRigidBody(RigidBodyDefinition definition, SimRigidBodyBasics rigidBodyInstance)
+   {
+      return toCollidableRigidBody(definition, rigidBodyInstance, null);
+   }
+
+   /**
+    * Creates the collidables of a rigid-body from its definition.
+    *
+    * @param definition        the definition of the rigid-body.
+    * @param rigidBodyInstance the rigid-body the collidables are attached to.
+    * @param shapeCache        [Optional] the cache used to create the expensive shapes once across
+    *                          robots created from the same definition. Can be {@code null}.
+    * @return the collidables of the rigid-body.
+    */
+   public static List<Collidable> toCollidableRigidBody(RigidBodyDefinition definition, SimRigidBodyBasics rigidBodyInstance, CollisionShapeCache shapeCache)
    {
       return definition.getCollisionShapeDefinitions()
                        .stream()
-                       .map(collisionShapeDefinition -> toCollidable(collisionShapeDefinition, rigidBodyInstance))
+                       .map(collisionShapeDefinition -> toCollidable(collisionShapeDefinition, rigidBodyInstance, shapeCache))
                        .filter(Objects::nonNull)
                        .collect(Collectors.toList());
    }
 
-   private static Collidable toCollidable(CollisionShapeDefinition definition, SimRigidBodyBasics rigidBody)
+   private static Collidable toCollidable(CollisionShapeDefinition definition, SimRigidBodyBasics rigidBody, CollisionShapeCache shapeCache)
    {
       ReferenceFrame shapeFrame = rigidBody.isRootBody() ? rigidBody.getBodyFixedFrame() : rigidBody.getParentJoint().getFrameAfterJoint();
 
-      FrameShape3DReadOnly shape = toFrameShape3D(definition.getOriginPose(), shapeFrame, definition.getGeometryDefinition());
+      FrameShape3DReadOnly shape = toFrameShape3D(definition, shapeFrame, shapeCache);
 
       if (shape == null)
          return null;
@@ -98,16 +112,30 @@ public class CollisionTools
    }
 
    public static List<Collidable> toCollisionShape(TerrainObjectDefinition definition, ReferenceFrame worldFrame)
+   {
+      return toCollisionShape(definition, worldFrame, null);
+   }
+
+   /**
+    * Creates the static collidables of a terrain object from its definition.
+    *
+    * @param definition the definition of the terrain object.
+    * @param worldFrame the frame the collidables are expressed in.
+    * @param shapeCache [Optional] the cache used to create the expensive shapes once across sessions
+    *                   created from the same definition. Can be {@code null}.
+    * @return the collidables of the terrain object.
+    */
+   public static List<Collidable> toCollisionShape(TerrainObjectDefinition definition, ReferenceFrame worldFrame, CollisionShapeCache shapeCache)
    {
       return definition.getCollisionShapeDefinitions()
                        .stream()
-                       .map(collisionShapeDefinition -> toStaticCollidable(collisionShapeDefinition, worldFrame))
+                       .map(collisionShapeDefinition -> toStaticCollidable(collisionShapeDefinition, worldFrame, shapeCache))
                        .collect(Collectors.toList());
    }
 
-   private static Collidable toStaticCollidable(CollisionShapeDefinition definition, ReferenceFrame worldFrame)
+   private static Collidable toStaticCollidable(CollisionShapeDefinition definition, ReferenceFrame worldFrame, CollisionShapeCache shapeCache)
    {
-      FrameShape3DReadOnly shape = toFrameShape3D(definition.getOriginPose(), worldFrame, definition.getGeometryDefinition());
+      FrameShape3DReadOnly shape = toFrameShape3D(definition, worldFrame, shapeCache);
 
       long collisionMask = definition.getCollisionMask();
       long collisionGroup = definition.getCollisionGroup();
@@ -115,6 +143,14 @@ public class CollisionTools
       return new Collidable(null, collisionMask, collisionGroup, shape);
    }
 
+   private static FrameShape3DReadOnly toFrameShape3D(CollisionShapeDefinition definition, ReferenceFrame referenceFrame, CollisionShapeCache shapeCache)
+   {
+      if (shapeCache != null)
+         return shapeCache.toFrameShape3D(definition, referenceFrame);
+      else
+         return toFrameShape3D(definition.getOriginPose(), referenceFrame, definition.getGeometryDefinition());
+   }
+
    public static Shape3DReadOnly toShape3D(RigidBodyTransformReadOnly originPose, GeometryDefinition definition)
    {
       if (definition instanceof STPBox3DDefinition)
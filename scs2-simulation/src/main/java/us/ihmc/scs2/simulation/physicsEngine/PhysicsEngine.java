@@ -9,6 +9,7 @@ import us.ihmc.euclid.tuple3D.interfaces.Vector3DReadOnly;
 import us.ihmc.scs2.definition.robot.RobotDefinition;
 import us.ihmc.scs2.definition.robot.RobotStateDefinition;
 import us.ihmc.scs2.definition.terrain.TerrainObjectDefinition;
+import us.ihmc.scs2.simulation.collision.CollisionShapeCache;
 import us.ihmc.scs2.simulation.robot.Robot;
 import us.ihmc.yoVariables.registry.YoRegistry;
 
@@ -39,6 +40,29 @@ public interface PhysicsEngine
 
    void addTerrainObject(TerrainObjectDefinition terrainObjectDefinition);
 
+   /**
+    * Sets the cache to use when creating the collision shapes of the terrain objects added afterward.
+    *
+    * @param shapeCache the cache, can be {@code null} to create the shapes without cache.
+    */
+   default void setCollisionShapeCache(CollisionShapeCache shapeCache)
+   {
+      // Override when the engine creates collision shapes.
+   }
+
+   /**
+    * Clears the data the engine keeps from one tick to the next to warm-start the next tick and that
+    * is not backed by {@code YoVariable}s, e.g. the previous collision results.
+    * <p>
+    * This is used when creating and restoring a checkpoint such that the next tick only depends on the
+    * state held in the {@code YoVariable}s.
+    * </p>
+    */
+   default void resetWarmStartState()
+   {
+      // Override when the engine keeps such data.
+   }
+
    ReferenceFrame getInertialFrame();
 
    List<? extends Robot> getRobots();
@@ -10,6 +10,7 @@ import us.ihmc.scs2.definition.robot.RobotStateDefinition;
 import us.ihmc.scs2.definition.terrain.TerrainObjectDefinition;
 import us.ihmc.scs2.simulation.RobotJointWrenchCalculator;
 import us.ihmc.scs2.simulation.collision.Collidable;
+import us.ihmc.scs2.simulation.collision.CollisionShapeCache;
 import us.ihmc.scs2.simulation.collision.CollisionTools;
 import us.ihmc.scs2.simulation.parameters.ContactPointBasedContactParametersReadOnly;
 import us.ihmc.scs2.simulation.physicsEngine.PhysicsEngine;
@@ -48,6 +49,7 @@ public class ContactPointBasedPhysicsEngine implements PhysicsEngine
    private final List<ContactPointBasedRobot> robotList = new ArrayList<>();
    private final List<TerrainObjectDefinition> terrainObjectDefinitions = new ArrayList<>();
    private final List<Collidable> environmentCollidables = new ArrayList<>();
+   private CollisionShapeCache collisionShapeCache = null;
 
    private final ContactPointBasedForceCalculator forceCalculator;
 
@@ -208,7 +210,13 @@ public class ContactPointBasedPhysicsEngine implements PhysicsEngine
    public void addTerrainObject(TerrainObjectDefinition terrainObjectDefinition)
    {
       terrainObjectDefinitions.add(terrainObjectDefinition);
-      environmentCollidables.addAll(CollisionTools.toCollisionShape(terrainObjectDefinition, inertialFrame));
+      environmentCollidables.addAll(CollisionTools.toCollisionShape(terrainObjectDefinition, inertialFrame, collisionShapeCache));
+   }
+
+   @Override
+   public void setCollisionShapeCache(CollisionShapeCache shapeCache)
+   {
+      collisionShapeCache = shapeCache;
    }
 
    @Override
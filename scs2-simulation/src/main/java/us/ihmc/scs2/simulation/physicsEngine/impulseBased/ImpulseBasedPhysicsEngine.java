@@ -12,6 +12,7 @@ import us.ihmc.scs2.definition.terrain.TerrainObjectDefinition;
 import us.ihmc.scs2.session.YoTimer;
 import us.ihmc.scs2.simulation.RobotJointWrenchCalculator;
 import us.ihmc.scs2.simulation.collision.Collidable;
+import us.ihmc.scs2.simulation.collision.CollisionShapeCache;
 import us.ihmc.scs2.simulation.collision.CollisionTools;
 import us.ihmc.scs2.simulation.parameters.ConstraintParametersReadOnly;
 import us.ihmc.scs2.simulation.parameters.ContactParametersReadOnly;
@@ -74,6 +75,7 @@ public class ImpulseBasedPhysicsEngine implements PhysicsEngine
 
    private final List<TerrainObjectDefinition> terrainObjectDefinitions = new ArrayList<>();
    private final List<Collidable> environmentCollidables = new ArrayList<>();
+   private CollisionShapeCache collisionShapeCache = null;
 
    private final SimpleCollisionDetection collisionDetectionPlugin;
 
@@ -136,7 +138,13 @@ public class ImpulseBasedPhysicsEngine implements PhysicsEngine
    public void addTerrainObject(TerrainObjectDefinition terrainObjectDefinition)
    {
       terrainObjectDefinitions.add(terrainObjectDefinition);
-      environmentCollidables.addAll(CollisionTools.toCollisionShape(terrainObjectDefinition, inertialFrame));
+      environmentCollidables.addAll(CollisionTools.toCollisionShape(terrainObjectDefinition, inertialFrame, collisionShapeCache));
+   }
+
+   @Override
+   public void setCollisionShapeCache(CollisionShapeCache shapeCache)
+   {
+      collisionShapeCache = shapeCache;
    }
 
    @Override
@@ -183,6 +191,13 @@ public class ImpulseBasedPhysicsEngine implements PhysicsEngine
       hasBeenInitialized = true;
    }
 
+   @Override
+   public void resetWarmStartState()
+   {
+      // The impulse calculators reset their previous impulses when initialized at every tick, only the collision results carry over.
+      collisionDetectionPlugin.clear();
+   }
+
    private final YoTimer initialPhaseTimer = new YoTimer("initialPhaseTimer", TimeUnit.MILLISECONDS, physicsEngineStatisticsRegistry);
    private final YoTimer detectCollisionsTimer = new YoTimer("detectCollisionsTimer", TimeUnit.MILLISECONDS, physicsEngineStatisticsRegistry);
    private final YoTimer configureCollisionHandlersTimer = new YoTimer("configureCollisionHandlersTimer",
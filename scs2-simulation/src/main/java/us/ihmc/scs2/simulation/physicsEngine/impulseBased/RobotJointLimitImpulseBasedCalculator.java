@@ -120,6 +120,9 @@ public class RobotJointLimitImpulseBasedCalculator implements ImpulseBasedConstr
       impulse.reshape(jointsAtLimit.size(), 1);
       impulsePrevious.reshape(jointsAtLimit.size(), 1);
       impulseUpdate.reshape(jointsAtLimit.size(), 1);
+      // Only used between iterations of the same tick, the joints at limit may differ from the previous tick.
+      jointVelocityPrevious.zero();
+      impulsePrevious.zero();
 
       for (int i = 0; i < jointsAtLimit.size(); i++)
       {
@@ -236,6 +236,9 @@ public class SingleContactImpulseCalculator implements ImpulseBasedConstraintCal
       }
 
       velocitySolverInput.setToZero(contactFrame);
+      // Only used between iterations of the same tick, nothing carries over from the previous tick.
+      impulsePreviousA.setToZero(bodyFrameA, contactFrame);
+      velocityRelativePrevious.setToZero(contactFrame);
 
       isFirstUpdate = true;
       wasMomentFrictionZero = true;
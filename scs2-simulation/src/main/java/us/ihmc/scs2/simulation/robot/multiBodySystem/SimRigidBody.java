@@ -19,6 +19,7 @@ import us.ihmc.mecano.multiBodySystem.iterators.SubtreeStreams;
 import us.ihmc.mecano.yoVariables.multiBodySystem.YoRigidBody;
 import us.ihmc.scs2.definition.robot.RigidBodyDefinition;
 import us.ihmc.scs2.simulation.collision.Collidable;
+import us.ihmc.scs2.simulation.collision.CollisionShapeCache;
 import us.ihmc.scs2.simulation.collision.CollisionTools;
 import us.ihmc.scs2.simulation.robot.multiBodySystem.interfaces.SimJointBasics;
 import us.ihmc.scs2.simulation.robot.multiBodySystem.interfaces.SimRigidBodyBasics;
@@ -60,19 +61,33 @@ public class SimRigidBody extends YoRigidBody implements SimRigidBodyBasics
    }
 
    public SimRigidBody(RigidBodyDefinition definition, ReferenceFrame parentStationaryFrame, YoRegistry registry, YoRegistry secondaryRegistry)
+   {
+      this(definition, parentStationaryFrame, registry, secondaryRegistry, null);
+   }
+
+   public SimRigidBody(RigidBodyDefinition definition,
+                       ReferenceFrame parentStationaryFrame,
+                       YoRegistry registry,
+                       YoRegistry secondaryRegistry,
+                       CollisionShapeCache shapeCache)
    {
       super(definition.getName(), new RigidBodyTransform(), parentStationaryFrame);
       this.registry = registry;
       this.secondaryRegistry = secondaryRegistry;
-      collidables.addAll(CollisionTools.toCollidableRigidBody(definition, this));
+      collidables.addAll(CollisionTools.toCollidableRigidBody(definition, this, shapeCache));
    }
 
    public SimRigidBody(RigidBodyDefinition definition, SimJointBasics parentJoint)
+   {
+      this(definition, parentJoint, null);
+   }
+
+   public SimRigidBody(RigidBodyDefinition definition, SimJointBasics parentJoint, CollisionShapeCache shapeCache)
    {
       super(definition.getName(), parentJoint, definition.getMomentOfInertia(), definition.getMass(), definition.getInertiaPose(), parentJoint.getSecondaryRegistry());
       this.registry = parentJoint.getRegistry();
       this.secondaryRegistry = parentJoint.getSecondaryRegistry();
-      collidables.addAll(CollisionTools.toCollidableRigidBody(definition, this));
+      collidables.addAll(CollisionTools.toCollidableRigidBody(definition, this, shapeCache));
    }
 
    @Override
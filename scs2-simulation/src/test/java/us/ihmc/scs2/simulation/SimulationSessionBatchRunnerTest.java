@@ -0,0 +1,236 @@
+package us.ihmc.scs2.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.referenceFrame.ReferenceFrame;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+import us.ihmc.euclid.tuple3D.Point3D;
+import us.ihmc.euclid.tuple3D.Vector3D;
+import us.ihmc.euclid.tuple4D.Quaternion;
+import us.ihmc.scs2.definition.collision.CollisionShapeDefinition;
+import us.ihmc.scs2.definition.geometry.Box3DDefinition;
+import us.ihmc.scs2.definition.geometry.Cone3DDefinition;
+import us.ihmc.scs2.definition.robot.RigidBodyDefinition;
+import us.ihmc.scs2.definition.robot.RobotDefinition;
+import us.ihmc.scs2.definition.robot.SixDoFJointDefinition;
+import us.ihmc.scs2.definition.state.SixDoFJointState;
+import us.ihmc.scs2.definition.terrain.TerrainObjectDefinition;
+import us.ihmc.scs2.simulation.SimulationSessionBatchRunner.RunResult;
+import us.ihmc.scs2.simulation.robot.Robot;
+import us.ihmc.yoVariables.variable.YoVariable;
+
+public class SimulationSessionBatchRunnerTest
+{
+   private static final int NUMBER_OF_RUNS = 8;
+   private static final int PARALLELISM = 4;
+   private static final long NUMBER_OF_TICKS = 300;
+   private static final double DT = 0.001;
+
+   /** Shared across all the runs, never modified once created. */
+   private static final RobotDefinition ROBOT_DEFINITION = newTumblingBoxDefinition();
+   private static final TerrainObjectDefinition GROUND_DEFINITION = newGroundDefinition();
+
+   @Test
+   public void testResultsPerRunIndex() throws Exception
+   {
+      int failingRunIndex = 2;
+      Set<String> workerNames = ConcurrentHashMap.newKeySet();
+
+      SimulationSessionBatchRunner runner = new SimulationSessionBatchRunner("testResults", PARALLELISM);
+      runner.setNumberOfTicks(NUMBER_OF_TICKS);
+      List<RunResult<RunInfo>> results = runner.run(NUMBER_OF_RUNS, (session, runIndex) ->
+      {
+         if (runIndex == failingRunIndex)
+            throw new IllegalStateException("Failing on purpose");
+         configureTumblingBox(session, runIndex);
+      }, (session, runIndex, batchResult) ->
+      {
+         workerNames.add(Thread.currentThread().getName());
+         return new RunInfo(runIndex, session.getSessionName(), session.getPhysicsEngine().getInertialFrame());
+      });
+
+      assertEquals(NUMBER_OF_RUNS, results.size());
+      // The failing run does not abort the other runs.
+      assertFalse(results.get(failingRunIndex).isSuccessful());
+      assertTrue(results.get(failingRunIndex).exception() instanceof IllegalStateException);
+      assertNull(results.get(failingRunIndex).result());
+
+      Set<ReferenceFrame> inertialFrames = new HashSet<>();
+
+      for (int runIndex = 0; runIndex < NUMBER_OF_RUNS; runIndex++)
+      {
+         RunResult<RunInfo> result = results.get(runIndex);
+         assertEquals(runIndex, result.runIndex());
+
+         if (runIndex == failingRunIndex)
+            continue;
+
+         assertTrue(result.isSuccessful(), "Run " + runIndex + ": " + result.exception());
+         assertEquals(NUMBER_OF_TICKS, result.batchResult().numberOfTicks());
+         assertEquals(runIndex, result.result().runIndex());
+         assertEquals("testResults-" + runIndex, result.result().sessionName());
+         // Each session has its own root frame.
+         assertTrue(result.result().inertialFrame().isRootFrame());
+         assertTrue(inertialFrames.add(result.result().inertialFrame()));
+      }
+
+      assertTrue(workerNames.size() <= PARALLELISM, workerNames.toString());
+   }
+
+   @Test
+   public void testBackPressure() throws Exception
+   {
+      for (double maxHeapUsageRatio : new double[] {0.0, 1.0})
+      {
+         AtomicInteger numberOfLiveSessions = new AtomicInteger();
+         AtomicInteger maxNumberOfLiveSessions = new AtomicInteger();
+
+         SimulationSessionBatchRunner runner = new SimulationSessionBatchRunner("testBackPressure", PARALLELISM);
+         runner.setNumberOfTicks(NUMBER_OF_TICKS);
+         runner.setMaxHeapUsageRatio(maxHeapUsageRatio);
+         List<RunResult<Object>> results = runner.run(NUMBER_OF_RUNS, (session, runIndex) ->
+         {
+            maxNumberOfLiveSessions.accumulateAndGet(numberOfLiveSessions.incrementAndGet(), Math::max);
+            configureTumblingBox(session, runIndex);
+            Thread.sleep(20); // Widening the window during which the sessions would overlap.
+         }, (session, runIndex, batchResult) ->
+         {
+            numberOfLiveSessions.decrementAndGet();
+            return null;
+         });
+
+         for (RunResult<Object> result : results)
+            assertTrue(result.isSuccessful(), "Run " + result.runIndex() + ": " + result.exception());
+
+         if (maxHeapUsageRatio == 0.0)
+         { // The heap usage is always above the limit: a session is only created once the previous one is shutdown.
+            assertEquals(1, maxNumberOfLiveSessions.get());
+         }
+         else
+         { // At most one session per worker.
+            assertTrue(maxNumberOfLiveSessions.get() <= PARALLELISM, "Max live sessions: " + maxNumberOfLiveSessions.get());
+         }
+      }
+   }
+
+   @Test
+   public void testDeterministicRuns() throws Exception
+   {
+      List<RunResult<Map<String, double[]>>> parallelResults = runTumblingBoxes(PARALLELISM);
+      List<RunResult<Map<String, double[]>>> serialResults = runTumblingBoxes(1);
+
+      for (int runIndex = 0; runIndex < NUMBER_OF_RUNS; runIndex++)
+      {
+         Map<String, double[]> parallelHistories = parallelResults.get(runIndex).result();
+         Map<String, double[]> serialHistories = serialResults.get(runIndex).result();
+         assertEquals(serialHistories.keySet(), parallelHistories.keySet());
+
+         for (String variableName : serialHistories.keySet())
+         { // Bit-identical regardless of the other runs simulated concurrently.
+            assertArrayEquals(serialHistories.get(variableName), parallelHistories.get(variableName), "Run " + runIndex + ", variable " + variableName);
+         }
+      }
+
+      // Sanity check: the seed does affect the outcome of a run.
+      Map<String, double[]> firstRun = serialResults.get(0).result();
+      Map<String, double[]> secondRun = serialResults.get(1).result();
+      assertFalse(firstRun.keySet().stream().allMatch(name -> Arrays.equals(firstRun.get(name), secondRun.get(name))));
+   }
+
+   @Test
+   public void testSharedCollisionShapes() throws Exception
+   {
+      SimulationSessionBatchRunner runner = new SimulationSessionBatchRunner("testShapes", PARALLELISM);
+      runner.setNumberOfTicks(NUMBER_OF_TICKS);
+      List<RunResult<Object>> results = runner.run(NUMBER_OF_RUNS, (session, runIndex) ->
+      {
+         configureTumblingBox(session, runIndex);
+         assertSame(runner.getCollisionShapeCache(), session.getCollisionShapeCache());
+      }, null);
+
+      for (RunResult<Object> result : results)
+         assertTrue(result.isSuccessful(), "Run " + result.runIndex() + ": " + result.exception());
+      // Only the cone is cached and its polytope is computed once for all the runs.
+      assertEquals(1, runner.getCollisionShapeCache().size());
+   }
+
+   private static List<RunResult<Map<String, double[]>>> runTumblingBoxes(int parallelism) throws InterruptedException
+   {
+      SimulationSessionBatchRunner runner = new SimulationSessionBatchRunner("testDeterminism", parallelism);
+      runner.setNumberOfTicks(NUMBER_OF_TICKS);
+      List<RunResult<Map<String, double[]>>> results = runner.run(NUMBER_OF_RUNS, SimulationSessionBatchRunnerTest::configureTumblingBox, (session, runIndex, batchResult) ->
+      {
+         Robot robot = session.getPhysicsEngine().getRobots().get(0);
+         String[] variableNames = robot.getRegistry().collectSubtreeVariables().stream().map(YoVariable::getFullNameString).toArray(String[]::new);
+         return SimulationSessionBatchRunner.variableHistories(variableNames).collect(session, runIndex, batchResult);
+      });
+
+      for (RunResult<Map<String, double[]>> result : results)
+      {
+         assertTrue(result.isSuccessful(), "Run " + result.runIndex() + ": " + result.exception());
+         assertNotNull(result.result());
+      }
+      return results;
+   }
+
+   /**
+    * The definitions are shared across the runs, the seed only affects the direction of the gravity
+    * such that each run is different.
+    */
+   private static void configureTumblingBox(SimulationSession session, int runIndex)
+   {
+      Random random = new Random(runIndex);
+      session.setSessionDTSeconds(DT);
+      session.setGravity(random.nextDouble() - 0.5, random.nextDouble() - 0.5, -9.81);
+      session.addRobot(ROBOT_DEFINITION);
+      session.addTerrainObject(GROUND_DEFINITION);
+   }
+
+   private static RobotDefinition newTumblingBoxDefinition()
+   {
+      RobotDefinition robotDefinition = new RobotDefinition("tumblingBox");
+      RigidBodyDefinition elevator = new RigidBodyDefinition("elevator");
+      SixDoFJointDefinition rootJoint = new SixDoFJointDefinition("rootJoint");
+      RigidBodyDefinition body = new RigidBodyDefinition("body");
+      body.setMass(1.0);
+      body.getMomentOfInertia().setToDiagonal(0.01, 0.01, 0.01);
+      body.addCollisionShapeDefinition(new CollisionShapeDefinition(new Box3DDefinition(0.2, 0.2, 0.2)));
+      RigidBodyTransform conePose = new RigidBodyTransform(new Quaternion(), new Vector3D(0.0, 0.0, 0.1));
+      body.addCollisionShapeDefinition(new CollisionShapeDefinition(conePose, new Cone3DDefinition(0.1, 0.05)));
+
+      robotDefinition.setRootBodyDefinition(elevator);
+      elevator.addChildJoint(rootJoint);
+      rootJoint.setSuccessor(body);
+      rootJoint.setInitialJointState(new SixDoFJointState(new Quaternion(0.1, 0.2, 0.0), new Point3D(0.0, 0.0, 0.15)));
+      return robotDefinition;
+   }
+
+   private static TerrainObjectDefinition newGroundDefinition()
+   {
+      TerrainObjectDefinition ground = new TerrainObjectDefinition();
+      RigidBodyTransform groundPose = new RigidBodyTransform(new Quaternion(), new Vector3D(0.0, 0.0, -0.05));
+      ground.addCollisionShapeDefinition(new CollisionShapeDefinition(groundPose, new Box3DDefinition(5.0, 5.0, 0.1)));
+      return ground;
+   }
+
+   private static record RunInfo(int runIndex, String sessionName, ReferenceFrame inertialFrame)
+   {
+   }
+}
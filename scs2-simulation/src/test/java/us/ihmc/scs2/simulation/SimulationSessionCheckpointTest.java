@@ -0,0 +1,161 @@
+package us.ihmc.scs2.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import us.ihmc.euclid.referenceFrame.tools.ReferenceFrameTools;
+import us.ihmc.euclid.transform.RigidBodyTransform;
+import us.ihmc.euclid.tuple3D.Point3D;
+import us.ihmc.euclid.tuple3D.Vector3D;
+import us.ihmc.euclid.tuple4D.Quaternion;
+import us.ihmc.scs2.definition.collision.CollisionShapeDefinition;
+import us.ihmc.scs2.definition.geometry.Box3DDefinition;
+import us.ihmc.scs2.definition.geometry.Cone3DDefinition;
+import us.ihmc.scs2.definition.robot.RigidBodyDefinition;
+import us.ihmc.scs2.definition.robot.RobotDefinition;
+import us.ihmc.scs2.definition.robot.SixDoFJointDefinition;
+import us.ihmc.scs2.definition.state.SixDoFJointState;
+import us.ihmc.scs2.definition.terrain.TerrainObjectDefinition;
+import us.ihmc.scs2.session.SessionBatchRunResult;
+import us.ihmc.yoVariables.variable.YoVariable;
+
+public class SimulationSessionCheckpointTest
+{
+   private static final long TICKS_BEFORE_CHECKPOINT = 200;
+   private static final long TICKS_AFTER_CHECKPOINT = 300;
+   private static final double DT = 0.001;
+
+   private static final RobotDefinition ROBOT_DEFINITION = newTumblingBoxDefinition();
+   private static final TerrainObjectDefinition GROUND_DEFINITION = newGroundDefinition();
+
+   @Test
+   public void testRestoreIntoClone()
+   {
+      // Reference: simulating from A to B without interruption.
+      SimulationSession uninterruptedSession = newTumblingBoxSession("uninterrupted");
+      simulate(uninterruptedSession, TICKS_BEFORE_CHECKPOINT + TICKS_AFTER_CHECKPOINT);
+      Map<String, Long> expectedState = collectState(uninterruptedSession);
+      uninterruptedSession.shutdownSession();
+
+      // Simulating from A to B with a checkpoint at A.
+      SimulationSession originalSession = newTumblingBoxSession("original");
+      simulate(originalSession, TICKS_BEFORE_CHECKPOINT);
+      SimulationSessionCheckpoint checkpoint = originalSession.getSimulationSessionControls().createCheckpoint();
+      assertEquals(TICKS_BEFORE_CHECKPOINT * DT, checkpoint.getTime(), 1.0e-9);
+      assertEquals(1, checkpoint.getRobotStates().size());
+      simulate(originalSession, TICKS_AFTER_CHECKPOINT);
+      // Creating the checkpoint does not affect the simulation.
+      assertStateEquals(expectedState, collectState(originalSession));
+      originalSession.shutdownSession();
+
+      // Restoring the checkpoint at A into a clone and simulating to B.
+      SimulationSession clonedSession = newTumblingBoxSession("clone");
+      assertTrue(clonedSession.getSimulationSessionControls().restoreCheckpoint(checkpoint));
+      assertEquals(checkpoint.getTime(), clonedSession.getTime().getValue());
+      simulate(clonedSession, TICKS_AFTER_CHECKPOINT);
+      assertStateEquals(expectedState, collectState(clonedSession));
+      clonedSession.shutdownSession();
+   }
+
+   @Test
+   public void testRestoreIntoSameSession()
+   {
+      SimulationSession session = newTumblingBoxSession("rewind");
+      simulate(session, TICKS_BEFORE_CHECKPOINT);
+      Map<String, Long> stateAtCheckpoint = collectState(session);
+      SimulationSessionCheckpoint checkpoint = session.getSimulationSessionControls().createCheckpoint();
+
+      simulate(session, TICKS_AFTER_CHECKPOINT);
+      Map<String, Long> expectedState = collectState(session);
+      assertNotEquals(stateAtCheckpoint, expectedState);
+
+      assertTrue(session.getSimulationSessionControls().restoreCheckpoint(checkpoint));
+      assertStateEquals(stateAtCheckpoint, collectState(session));
+      simulate(session, TICKS_AFTER_CHECKPOINT);
+      assertStateEquals(expectedState, collectState(session));
+      session.shutdownSession();
+   }
+
+   private static void simulate(SimulationSession session, long numberOfTicks)
+   {
+      SessionBatchRunResult result = session.getSimulationSessionControls().simulateBatch(numberOfTicks);
+      assertTrue(result.success());
+      assertEquals(numberOfTicks, result.numberOfTicks());
+   }
+
+   /**
+    * Collects the raw values of the variables describing the state of the simulation, i.e. the time,
+    * the robot variables, and the physics engine variables except for the timers.
+    */
+   private static Map<String, Long> collectState(SimulationSession session)
+   {
+      List<YoVariable> variables = new ArrayList<>();
+      variables.add(session.getTime());
+      variables.addAll(session.getPhysicsEngine().getRobots().get(0).getRegistry().collectSubtreeVariables());
+      for (YoVariable variable : session.getPhysicsEngine().getPhysicsEngineRegistry().collectSubtreeVariables())
+      {
+         if (!variable.getFullNameString().contains(".physicsEngineStatistics."))
+            variables.add(variable);
+      }
+
+      Map<String, Long> state = new LinkedHashMap<>();
+      for (YoVariable variable : variables)
+         state.put(variable.getFullNameString(), variable.getValueAsLongBits());
+      return state;
+   }
+
+   private static void assertStateEquals(Map<String, Long> expected, Map<String, Long> actual)
+   {
+      assertEquals(expected.keySet(), actual.keySet());
+
+      for (String variableName : expected.keySet())
+      { // Bit-identical, including the NaNs.
+         assertEquals(expected.get(variableName), actual.get(variableName), variableName);
+      }
+   }
+
+   private static SimulationSession newTumblingBoxSession(String name)
+   {
+      SimulationSession session = new SimulationSession(ReferenceFrameTools.constructARootFrame(name + "WorldFrame"), name);
+      session.setSessionDTSeconds(DT);
+      session.setGravity(0.1, -0.2, -9.81);
+      session.addRobot(ROBOT_DEFINITION);
+      session.addTerrainObject(GROUND_DEFINITION);
+      return session;
+   }
+
+   private static RobotDefinition newTumblingBoxDefinition()
+   {
+      RobotDefinition robotDefinition = new RobotDefinition("tumblingBox");
+      RigidBodyDefinition elevator = new RigidBodyDefinition("elevator");
+      SixDoFJointDefinition rootJoint = new SixDoFJointDefinition("rootJoint");
+      RigidBodyDefinition body = new RigidBodyDefinition("body");
+      body.setMass(1.0);
+      body.getMomentOfInertia().setToDiagonal(0.01, 0.01, 0.01);
+      body.addCollisionShapeDefinition(new CollisionShapeDefinition(new Box3DDefinition(0.2, 0.2, 0.2)));
+      RigidBodyTransform conePose = new RigidBodyTransform(new Quaternion(), new Vector3D(0.0, 0.0, 0.1));
+      body.addCollisionShapeDefinition(new CollisionShapeDefinition(conePose, new Cone3DDefinition(0.1, 0.05)));
+
+      robotDefinition.setRootBodyDefinition(elevator);
+      elevator.addChildJoint(rootJoint);
+      rootJoint.setSuccessor(body);
+      rootJoint.setInitialJointState(new SixDoFJointState(new Quaternion(0.1, 0.2, 0.0), new Point3D(0.0, 0.0, 0.15)));
+      return robotDefinition;
+   }
+
+   private static TerrainObjectDefinition newGroundDefinition()
+   {
+      TerrainObjectDefinition ground = new TerrainObjectDefinition();
+      RigidBodyTransform groundPose = new RigidBodyTransform(new Quaternion(), new Vector3D(0.0, 0.0, -0.05));
+      ground.addCollisionShapeDefinition(new CollisionShapeDefinition(groundPose, new Box3DDefinition(5.0, 5.0, 0.1)));
+      return ground;
+   }
+}
@@ -162,7 +162,7 @@ public class Equation
       {
          builder.getAliasManager().setHistoryIndex(historyIndex);
 
-         double time = timeBuffer.getBuffer()[historyIndex];
+         double time = timeBuffer.getValueAt(historyIndex);
          operations.forEach(equationOperation -> equationOperation.updateValue(time));
          operations.forEach(equationOperation -> equationOperation.updatePreviousValue());
 
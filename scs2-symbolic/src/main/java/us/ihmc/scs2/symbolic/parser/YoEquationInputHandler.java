@@ -408,7 +408,7 @@ public class YoEquationInputHandler
          this.time = time;
          this.value = value;
          if (historyUpdateEnabled)
-            ((double[]) yoBuffer.getBuffer())[historyIndex] = value;
+            ((YoDoubleBuffer) yoBuffer).setValueAt(historyIndex, value);
          else
             yoBuffer.getYoVariable().set(value);
       }
@@ -417,7 +417,7 @@ public class YoEquationInputHandler
       public double getValue()
       {
          if (historyUpdateEnabled)
-            value = ((double[]) yoBuffer.getBuffer())[historyIndex];
+            value = ((YoDoubleBuffer) yoBuffer).getValueAt(historyIndex);
          else
             value = yoBuffer.getYoVariable().getValue();
          return value;
@@ -452,7 +452,7 @@ public class YoEquationInputHandler
       {
          int currentValue;
          if (historyUpdateEnabled)
-            currentValue = ((int[]) yoBuffer.getBuffer())[historyIndex];
+            currentValue = ((YoIntegerBuffer) yoBuffer).getValueAt(historyIndex);
          else
             currentValue = yoBuffer.getYoVariable().getValue();
 
@@ -468,7 +468,7 @@ public class YoEquationInputHandler
       {
          this.time = time;
          if (historyUpdateEnabled)
-            ((int[]) yoBuffer.getBuffer())[historyIndex] = value;
+            ((YoIntegerBuffer) yoBuffer).setValueAt(historyIndex, value);
          else
             yoBuffer.getYoVariable().set(value);
       }
@@ -477,7 +477,7 @@ public class YoEquationInputHandler
       public int getValue()
       {
          if (historyUpdateEnabled)
-            return ((int[]) yoBuffer.getBuffer())[historyIndex];
+            return ((YoIntegerBuffer) yoBuffer).getValueAt(historyIndex);
          else
             return yoBuffer.getYoVariable().getValue();
       }